@@ -0,0 +1,296 @@
+package com.faturalab.automation.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.faturalab.automation.config.ConfigReader;
+import com.faturalab.automation.config.EnvironmentManager;
+import com.faturalab.automation.models.auction.AuctionDetailRequest;
+import com.faturalab.automation.models.auction.RejectAuctionRequest;
+import com.faturalab.automation.models.auction.UploadAuctionRequest;
+import com.faturalab.automation.models.auth.AuthenticateResponse;
+import com.faturalab.automation.models.common.ApiResponse;
+import com.faturalab.automation.models.invoice.DeleteInvoiceRequest;
+import com.faturalab.automation.models.invoice.InvoiceHistoryRequest;
+import com.faturalab.automation.models.invoice.UploadInvoiceRequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Buyer v0 entegrasyon API'sinin asenkron istemcisi (java.net.http.HttpClient).
+ *
+ * FaturalabAPI / AuctionAPI'den farkı: paylaşılan {@code lastResponse} yok, her çağrı kendi
+ * {@code CompletableFuture<ApiResponse<T>>}'sini döner. Bir step yüzlerce yüklemeyi aynı anda
+ * başlatıp {@link #allOf(Collection)} ile grup olarak bekleyebilir.
+ *
+ * Tek durum oturum bilgisidir: {@link #authenticate()} başarılı olunca sessionId saklanır ve
+ * sonraki çağrıların FLINTEGRATIONHEADERPARAMS başlığına eklenir.
+ *
+ * HttpClient JVM genelinde tektir (bağlantılar / HTTP2 akışları paylaşılır), TLS ayarı
+ * {@link ApiTransport} ile aynıdır. Sunucuya aynı anda giden istek sayısı
+ * {@code api.async.max.in.flight} ile sınırlanır; fazlası sırada bekler, çağıran thread bloklanmaz.
+ *
+ * Sunucu JSON dışı bir cevap dönerse future {@link CallException} ile tamamlanır
+ * (HTTP durum kodu ve gövde içinde).
+ *
+ * Ayar: api.async.max.in.flight=64 (zaman aşımları api.http.connect/read.timeout.ms)
+ */
+public class AsyncIntegrationAPI {
+
+    private static final Logger log = LogManager.getLogger(AsyncIntegrationAPI.class);
+
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded; charset=UTF-8";
+    private static final String HEADER_PARAMS = "FLINTEGRATIONHEADERPARAMS";
+
+    private static final int MAX_IN_FLIGHT = Math.max(1, ConfigReader.getInt("api.async.max.in.flight", 64));
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(ApiTransport.defaultTimeouts().connectMillis()))
+            .sslContext(ApiTransport.sslContext())
+            .build();
+
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final Queue<Runnable> WAITING = new ConcurrentLinkedQueue<>();
+    /** drain() istek sayacı: sıfırdan büyükse bir çağrı zaten boşaltıyor, yenisi yalnızca sayacı artırır. */
+    private static final AtomicInteger DRAIN_REQUESTS = new AtomicInteger();
+
+    private final EnvironmentManager.EnvironmentConfig environment;
+    private final Duration requestTimeout;
+    private volatile String sessionId;
+
+    public AsyncIntegrationAPI(EnvironmentManager.EnvironmentConfig environment) {
+        this(environment, null);
+    }
+
+    /** Önceden alınmış oturumla (ör. FaturalabAPI.getSessionId()) başlatır. */
+    public AsyncIntegrationAPI(EnvironmentManager.EnvironmentConfig environment, String sessionId) {
+        this.environment = environment;
+        this.sessionId = sessionId;
+        this.requestTimeout = Duration.ofMillis(ApiTransport.defaultTimeouts().readMillis());
+    }
+
+    public CompletableFuture<ApiResponse<AuthenticateResponse>> authenticate() {
+        ObjectNode param = JsonCodec.createObjectNode();
+        param.put("alias", environment.getAlias());
+        param.put("password", environment.getPassword());
+        param.put("taxNumber", environment.getTaxNumber());
+        CompletableFuture<ApiResponse<AuthenticateResponse>> future =
+                post("/authenticate", "authenticateParam", param, JsonCodec.JSON, JsonCodec.AUTH_RESPONSE);
+        return future.thenApply(response -> {
+            if (response.isSuccess() && response.getResult() != null) {
+                this.sessionId = response.getResult().getSessionId();
+                log.info("AsyncIntegrationAPI oturumu alındı ({})", environment.getAlias());
+            }
+            return response;
+        });
+    }
+
+    public CompletableFuture<ApiResponse<JsonNode>> uploadInvoice(UploadInvoiceRequest request) {
+        return post("/invoice/upload", "uploadInvoiceParam", request, JsonCodec.UPLOAD_INVOICE, JsonCodec.JSON_RESPONSE);
+    }
+
+    public CompletableFuture<ApiResponse<JsonNode>> getInvoiceHistory(InvoiceHistoryRequest request) {
+        return post("/invoice/history", "invoiceHistoryParam", request, JsonCodec.INVOICE_HISTORY, JsonCodec.JSON_RESPONSE);
+    }
+
+    public CompletableFuture<ApiResponse<JsonNode>> deleteInvoice(DeleteInvoiceRequest request) {
+        return post("/invoice/delete", "deleteInvoiceParam", request, JsonCodec.DELETE_INVOICE, JsonCodec.JSON_RESPONSE);
+    }
+
+    public CompletableFuture<ApiResponse<JsonNode>> uploadAuction(UploadAuctionRequest request) {
+        return post("/auction", "uploadAuctionParam", request, JsonCodec.UPLOAD_AUCTION, JsonCodec.JSON_RESPONSE);
+    }
+
+    public CompletableFuture<ApiResponse<JsonNode>> getAuctionDetail(AuctionDetailRequest request) {
+        return post("/auction/detail", "auctionDetailParam", request, JsonCodec.AUCTION_DETAIL, JsonCodec.JSON_RESPONSE);
+    }
+
+    public CompletableFuture<ApiResponse<JsonNode>> rejectAuction(RejectAuctionRequest request) {
+        return post("/auction/reject", "rejectAuctionParam", request, JsonCodec.REJECT_AUCTION, JsonCodec.JSON_RESPONSE);
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public EnvironmentManager.EnvironmentConfig getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Tüm future'lar bitince sonuçları verilen sırayla döner; biri hata verirse
+     * dönen future da (diğerleri bittikten sonra) o hatayla tamamlanır.
+     */
+    public static <T> CompletableFuture<List<T>> allOf(Collection<? extends CompletableFuture<? extends T>> futures) {
+        List<CompletableFuture<? extends T>> list = new ArrayList<>(futures);
+        return CompletableFuture.allOf(list.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<T> results = new ArrayList<>(list.size());
+                    for (CompletableFuture<? extends T> f : list) {
+                        results.add(f.join());
+                    }
+                    return results;
+                });
+    }
+
+    /** Şu an sunucuda olan / sırada bekleyen istek sayısı. */
+    public static int inFlight() {
+        return IN_FLIGHT.get();
+    }
+
+    public static int waiting() {
+        return WAITING.size();
+    }
+
+    private <T> CompletableFuture<ApiResponse<T>> post(String path, String paramName, Object param,
+                                                      ObjectWriter writer, ObjectReader responseType) {
+        Thread caller = Thread.currentThread();
+        return submit(() -> {
+            HttpRequest request;
+            String json;
+            String headerValue;
+            try {
+                json = writer.writeValueAsString(param);
+                headerValue = headerParams();
+                String body = paramName + "=" + URLEncoder.encode(json, StandardCharsets.UTF_8);
+                request = HttpRequest.newBuilder(URI.create(environment.getHost() + path))
+                        .timeout(requestTimeout)
+                        .header("Content-Type", FORM_CONTENT_TYPE)
+                        .header("Accept", "application/json")
+                        .header(HEADER_PARAMS, headerValue)
+                        .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                        .build();
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            long start = System.nanoTime();
+            return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                    .whenComplete((response, error) -> {
+                        long elapsed = System.nanoTime() - start;
+                        log.debug("AsyncIntegrationAPI: POST {} → {} ({} ms)", path,
+                                response == null ? error : response.statusCode(), elapsed / 1_000_000);
+                        if (ExchangeCapture.isEnabled()) {
+                            ExchangeCapture.record("POST", request.uri().toString(),
+                                    Map.of(HEADER_PARAMS, headerValue), Map.of(paramName, json),
+                                    response == null ? -1 : response.statusCode(),
+                                    response == null ? null : response.headers().firstValue("Content-Type").orElse(null),
+                                    response == null ? null : response.body().getBytes(StandardCharsets.UTF_8),
+                                    elapsed, error, caller);
+                        }
+                    })
+                    .thenApply(response -> parse(path, response, responseType));
+        });
+    }
+
+    private String headerParams() {
+        return JsonCodec.headerParams(environment.getApiKey(), sessionId);
+    }
+
+    private static <T> ApiResponse<T> parse(String path, HttpResponse<String> response, ObjectReader type) {
+        try {
+            return type.readValue(response.body());
+        } catch (Exception e) {
+            throw new CallException(path, response.statusCode(), response.body(), e);
+        }
+    }
+
+    /**
+     * Sunucuya aynı anda en fazla MAX_IN_FLIGHT istek gönderir; kalanlar kuyruğa girer ve
+     * biten her istek sıradakini başlatır.
+     */
+    private static <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        WAITING.add(() -> {
+            CompletableFuture<T> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            started.whenComplete((value, error) -> {
+                IN_FLIGHT.decrementAndGet();
+                drain();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        drain();
+        return result;
+    }
+
+    /**
+     * Kuyruktan kapasite kadar istek başlatır. Senkron biten (hemen hata veren) istekler
+     * whenComplete içinden tekrar drain() çağırır; iç içe çağrı yığını büyütmesin diye o çağrı
+     * yalnızca sayacı artırıp döner, boşaltmayı süren döngü bir tur daha atar.
+     */
+    private static void drain() {
+        if (DRAIN_REQUESTS.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            drainOnce();
+            missed = DRAIN_REQUESTS.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private static void drainOnce() {
+        while (!WAITING.isEmpty()) {
+            int current = IN_FLIGHT.get();
+            if (current >= MAX_IN_FLIGHT) {
+                return;
+            }
+            if (!IN_FLIGHT.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable next = WAITING.poll();
+            if (next == null) {
+                IN_FLIGHT.decrementAndGet();
+                continue;
+            }
+            next.run();
+        }
+    }
+
+    /** Cevap ApiResponse olarak okunamadı (HTML hata sayfası, boş gövde vb.). */
+    public static class CallException extends RuntimeException {
+        private final int statusCode;
+        private final String body;
+
+        public CallException(String path, int statusCode, String body, Throwable cause) {
+            super("POST " + path + " → HTTP " + statusCode + ", cevap okunamadı: "
+                    + (body == null ? "" : body.substring(0, Math.min(200, body.length()))), cause);
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.faturalab.automation.api;
+
+import com.faturalab.automation.config.ConfigReader;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Son N API çağrısının (istek + cevap) sınırlı halka tamponu.
+ *
+ * Her çağrıda yalnızca gövdelerin ilk {@code api.capture.body.max.bytes} baytı kopyalanır;
+ * metne çevirme ve maskeleme (password / apiKey / sessionId) ancak {@link #render} çağrılınca,
+ * yani senaryo başarısız olduğunda veya rapora eklenirken yapılır. Normal akışta log'a gövde yazılmaz.
+ *
+ * Halka tüm thread'lerce paylaşılır (kilitsiz: sıra numarası % kapasite); {@link #since(long)}
+ * yalnızca çağıran thread'in kayıtlarını döner, paralel senaryolar birbirinin çağrılarını görmez.
+ *
+ * Ayarlar: api.capture.enabled=true, api.capture.size=64, api.capture.body.max.bytes=4096
+ */
+public final class ExchangeCapture {
+
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(ConfigReader.getProperty("api.capture.enabled", "true").trim());
+    private static final int CAPACITY = Math.max(1, ConfigReader.getInt("api.capture.size", 64));
+    private static final int MAX_BODY_BYTES = Math.max(256, ConfigReader.getInt("api.capture.body.max.bytes", 4096));
+
+    private static final String MASK = "***";
+    // JSON alanı ("password":"..."), form/query (password=...) ve header JSON'u için
+    private static final Pattern SECRET_JSON = Pattern.compile(
+            "(\"(?:password|apiKey|sessionId|sifre)\"\\s*:\\s*\")([^\"]*)(\")", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SECRET_PARAM = Pattern.compile(
+            "((?:^|[&?])(?:password|apiKey|sessionId)=)([^&]*)", Pattern.CASE_INSENSITIVE);
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final AtomicReferenceArray<Exchange> RING = new AtomicReferenceArray<>(CAPACITY);
+
+    private ExchangeCapture() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Bir çağrıyı kaydeder. Gövdeler kesilerek kopyalanır; maskeleme render sırasında yapılır.
+     *
+     * @param requestParams form parametreleri (ad → değer), yoksa boş
+     * @param responseBody  cevap gövdesi, hata durumunda null
+     * @param failure       bağlantı / zaman aşımı hatası, yoksa null
+     * @param owner         çağrıyı başlatan thread (asenkron istemcide cevabı işleyen thread'den farklı)
+     */
+    static void record(String method, String uri, Map<String, String> requestHeaders,
+                       Map<String, String> requestParams, int status, String contentType,
+                       byte[] responseBody, long elapsedNanos, Throwable failure, Thread owner) {
+        if (!ENABLED) {
+            return;
+        }
+        long seq = SEQUENCE.incrementAndGet();
+        Map<String, String> params = new LinkedHashMap<>();
+        if (requestParams != null) {
+            requestParams.forEach((k, v) -> params.put(k, truncate(v)));
+        }
+        byte[] body = null;
+        int bodyLength = 0;
+        if (responseBody != null) {
+            bodyLength = responseBody.length;
+            body = responseBody.length <= MAX_BODY_BYTES ? responseBody
+                    : Arrays.copyOf(responseBody, MAX_BODY_BYTES);
+        }
+        Exchange exchange = new Exchange(seq, System.currentTimeMillis(), owner.getId(), owner.getName(), method, uri,
+                requestHeaders == null ? Collections.emptyMap() : new LinkedHashMap<>(requestHeaders),
+                params, status, contentType, body, bodyLength, elapsedNanos,
+                failure == null ? null : failure.toString());
+        RING.set((int) (seq % CAPACITY), exchange);
+    }
+
+    /** Şu anki sıra numarası; {@link #since(long)} ile bu noktadan sonraki çağrılar alınır. */
+    public static long mark() {
+        return SEQUENCE.get();
+    }
+
+    /** {@code mark}'tan sonra çağıran thread'in yaptığı ve halkada hâlâ duran çağrılar (eskiden yeniye). */
+    public static List<Exchange> since(long mark) {
+        long threadId = Thread.currentThread().getId();
+        long last = SEQUENCE.get();
+        long first = Math.max(mark + 1, last - CAPACITY + 1);
+        List<Exchange> out = new ArrayList<>();
+        for (long seq = first; seq <= last; seq++) {
+            Exchange e = RING.get((int) (seq % CAPACITY));
+            if (e != null && e.sequence == seq && e.threadId == threadId) {
+                out.add(e);
+            }
+        }
+        return out;
+    }
+
+    /** Çağıran thread'in halkadaki son çağrısı, yoksa null. */
+    public static Exchange last() {
+        List<Exchange> mine = since(0);
+        return mine.isEmpty() ? null : mine.get(mine.size() - 1);
+    }
+
+    /** Okunabilir, maskelenmiş döküm (senaryo raporu / hata eki için). */
+    public static String render(List<Exchange> exchanges) {
+        if (exchanges.isEmpty()) {
+            return "(kayıtlı API çağrısı yok)";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Exchange e : exchanges) {
+            e.appendTo(sb);
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** password / apiKey / sessionId değerlerini maskeler (JSON alanı veya form parametresi). */
+    public static String redact(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        String masked = SECRET_JSON.matcher(text).replaceAll("$1" + MASK + "$3");
+        Matcher m = SECRET_PARAM.matcher(masked);
+        return m.find() ? m.replaceAll("$1" + MASK) : masked;
+    }
+
+    private static String truncate(String value) {
+        if (value == null || value.length() <= MAX_BODY_BYTES) {
+            return value;
+        }
+        return value.substring(0, MAX_BODY_BYTES) + "… (" + value.length() + " karakter)";
+    }
+
+    /** Tek bir istek / cevap kaydı. Gövdeler kesilmiş ham halde tutulur. */
+    public static final class Exchange {
+        private final long sequence;
+        private final long timestamp;
+        private final long threadId;
+        private final String threadName;
+        private final String method;
+        private final String uri;
+        private final Map<String, String> requestHeaders;
+        private final Map<String, String> requestParams;
+        private final int status;
+        private final String contentType;
+        private final byte[] responseBody;
+        private final int responseLength;
+        private final long elapsedNanos;
+        private final String failure;
+
+        private Exchange(long sequence, long timestamp, long threadId, String threadName, String method, String uri,
+                         Map<String, String> requestHeaders, Map<String, String> requestParams, int status,
+                         String contentType, byte[] responseBody, int responseLength, long elapsedNanos,
+                         String failure) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.threadId = threadId;
+            this.threadName = threadName;
+            this.method = method;
+            this.uri = uri;
+            this.requestHeaders = requestHeaders;
+            this.requestParams = requestParams;
+            this.status = status;
+            this.contentType = contentType;
+            this.responseBody = responseBody;
+            this.responseLength = responseLength;
+            this.elapsedNanos = elapsedNanos;
+            this.failure = failure;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+
+        /** Maskelenmiş (ve kesilmiş) cevap gövdesi. */
+        public String responseBody() {
+            if (responseBody == null) {
+                return "";
+            }
+            String text = new String(responseBody, StandardCharsets.UTF_8);
+            if (responseLength > responseBody.length) {
+                text += "… (" + responseLength + " bayt)";
+            }
+            return redact(text);
+        }
+
+        void appendTo(StringBuilder sb) {
+            sb.append("#").append(sequence).append(' ').append(Instant.ofEpochMilli(timestamp))
+                    .append(" [").append(threadName).append("] ")
+                    .append(method).append(' ').append(uri).append(" → ")
+                    .append(failure != null ? failure : "HTTP " + status)
+                    .append(" (").append(getElapsedMillis()).append(" ms)\n");
+            requestHeaders.forEach((k, v) -> sb.append("  > ").append(k).append(": ").append(redact(v)).append('\n'));
+            requestParams.forEach((k, v) -> sb.append("  > ").append(k).append('=').append(redact(v)).append('\n'));
+            if (responseBody != null) {
+                if (contentType != null) {
+                    sb.append("  < Content-Type: ").append(contentType).append('\n');
+                }
+                sb.append("  < ").append(responseBody()).append('\n');
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            appendTo(sb);
+            return sb.toString();
+        }
+    }
+}
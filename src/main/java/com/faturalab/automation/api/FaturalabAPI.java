@@ -1,140 +1,184 @@
 package com.faturalab.automation.api;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.faturalab.automation.api.auction.AuctionAPI;
+import com.faturalab.automation.config.ConfigReader;
 import com.faturalab.automation.config.EnvironmentManager;
 import com.faturalab.automation.models.common.*;
 import com.faturalab.automation.models.auth.*;
 import com.faturalab.automation.models.invoice.*;
 import com.faturalab.automation.models.auction.*;
-import io.restassured.RestAssured;
+import com.faturalab.automation.utils.BusinessCalendar;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Set;
 
 public class FaturalabAPI {
     
     private static final Logger log = LogManager.getLogger(FaturalabAPI.class);
-    private final ObjectMapper objectMapper;
+    private static final DateTimeFormatter HISTORY_DATE = BusinessCalendar.API_DATE_TIME;
+    private static final long HISTORY_OVERLAP_SECONDS =
+            ConfigReader.getLong("invoice.history.refresh.overlap.seconds", 300);
+    // HTTP 401 always counts as a rejected session; api.session.rejected.codes lists errorCodes the
+    // server returns with HTTP 200 + success=false for an expired sessionId (empty: status only)
+    private static final Set<String> SESSION_REJECTED_CODES = codeSet(ConfigReader.getProperty("api.session.rejected.codes", ""));
     private final EnvironmentManager.EnvironmentConfig environment;
     private String sessionId;
     private Response lastResponse;
+    private final InvoiceHistoryIndex historyIndex = new InvoiceHistoryIndex();
+    private boolean historyIndexValid;
+    // Session comes from SessionCache (ensureSession/authenticate), so it may be refreshed and renewed
+    private boolean sessionFromCache;
     
     // Auction API delegate
     private AuctionAPI auctionAPI;
     
     public FaturalabAPI(EnvironmentManager.EnvironmentConfig environment) {
         this.environment = environment;
-        this.objectMapper = new ObjectMapper();
-        
-        // Configure RestAssured
-        RestAssured.baseURI = environment.getHost();
-        RestAssured.basePath = "/app/api/integration/buyer/v0";
-        // Ignore SSL certificate errors for server environment
-        RestAssured.useRelaxedHTTPSValidation();
-        
-        RestAssured.config = RestAssured.config()
-                .encoderConfig(RestAssured.config().getEncoderConfig().defaultContentCharset("UTF-8"));
         
+        // HTTP: shared pooled transport (UTF-8, relaxed TLS, timeouts) - no global RestAssured state
         log.info("FaturalabAPI initialized for environment: {}", environment.getHost());
     }
     
+    /**
+     * Starts with an already obtained session (e.g. load test workers sharing one login).
+     */
+    public FaturalabAPI(EnvironmentManager.EnvironmentConfig environment, String sessionId) {
+        this(environment);
+        this.sessionId = sessionId;
+    }
+    
     private RequestSpecification getBaseRequest() {
-        return RestAssured.given()
-                .baseUri(environment.getHost())
+        return ApiTransport.request(environment.getHost())
                 .header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8")
                 .header("Accept", "application/json");
     }
     
     private RequestSpecification getAuthenticatedRequest() {
-        Map<String, String> headerParams = new HashMap<>();
-        headerParams.put("apiKey", environment.getApiKey());
-        
-        if (sessionId != null && !sessionId.isEmpty()) {
-            headerParams.put("sessionId", sessionId);
+        return getBaseRequest()
+                .header("FLINTEGRATIONHEADERPARAMS", JsonCodec.headerParams(environment.getApiKey(), sessionId));
+    }
+    
+    /**
+     * Reuses the process-wide session for this host/alias/taxNumber ({@link SessionCache});
+     * authenticates only when none is cached or it is about to expire.
+     */
+    public String ensureSession() {
+        sessionId = SessionCache.get(environment, () -> login(environment));
+        sessionFromCache = true;
+        environment.setSessionId(sessionId);
+        return sessionId;
+    }
+    
+    /**
+     * Posts a session-bound integration call. If the server rejects a cached session, the
+     * session is renewed once (shared with concurrent callers) and the call is replayed.
+     */
+    private Response postWithSession(String path, String paramName, String requestParam) {
+        if (sessionFromCache) {
+            sessionId = SessionCache.get(environment, () -> login(environment));
         }
-        
-        try {
-            String headerValue = objectMapper.writeValueAsString(headerParams);
-            return getBaseRequest()
-                    .header("FLINTEGRATIONHEADERPARAMS", headerValue);
-        } catch (Exception e) {
-            log.error("Error creating authenticated request", e);
-            throw new RuntimeException("Failed to create authenticated request", e);
+        Response response = postIntegration(path, paramName, requestParam);
+        if (sessionFromCache && isSessionRejected(response)) {
+            log.warn("Session rejected on {}, re-authenticating and retrying once", path);
+            sessionId = SessionCache.renew(environment, sessionId, () -> login(environment));
+            environment.setSessionId(sessionId);
+            if (auctionAPI != null) {
+                auctionAPI = new AuctionAPI(environment, sessionId);
+            }
+            response = postIntegration(path, paramName, requestParam);
+        }
+        return response;
+    }
+    
+    private Response postIntegration(String path, String paramName, String requestParam) {
+        return ApiTransport.request(environment.getHost())
+                .contentType("application/x-www-form-urlencoded; charset=UTF-8")
+                .accept("application/json")
+                .header("FLINTEGRATIONHEADERPARAMS", JsonCodec.headerParams(environment.getApiKey(), sessionId))
+                .formParam(paramName, requestParam)
+                .when()
+                .post(path);
+    }
+    
+    private boolean isSessionRejected(Response response) {
+        if (response.getStatusCode() == 401) {
+            return true;
         }
+        // Rejections are short error envelopes; don't decode large successful bodies
+        if (SESSION_REJECTED_CODES.isEmpty() || response.getStatusCode() != 200 || response.asByteArray().length > 2048) {
+            return false;
+        }
+        ParsedResponse parsed = ParsedResponse.of(response);
+        return parsed.isJson() && !parsed.isSuccess() && SESSION_REJECTED_CODES.contains(parsed.getErrorCode());
+    }
+    
+    private static Set<String> codeSet(String commaSeparated) {
+        Set<String> codes = new HashSet<>();
+        for (String code : commaSeparated.split(",")) {
+            if (!code.trim().isEmpty()) {
+                codes.add(code.trim());
+            }
+        }
+        return codes;
+    }
+    
+    private static String login(EnvironmentManager.EnvironmentConfig environment) {
+        FaturalabAPI api = new FaturalabAPI(environment.copy());
+        Response response = api.authenticate();
+        if (api.sessionId == null || api.sessionId.isEmpty()) {
+            throw new IllegalStateException("Authentication failed for " + environment.getAlias()
+                    + ": HTTP " + response.getStatusCode());
+        }
+        return api.sessionId;
     }
     
     public Response authenticate() {
         log.info("Authenticating with environment: {}", environment.getAlias());
         
         try {
-            Map<String, String> headerParams = new HashMap<>();
-            headerParams.put("apiKey", environment.getApiKey());
-            String headerValue = objectMapper.writeValueAsString(headerParams);
+            String headerValue = JsonCodec.headerParams(environment.getApiKey(), null);
             
             // Create JSON payload exactly like cURL - UTF-8 safe
-            com.fasterxml.jackson.databind.node.ObjectNode jsonNode = objectMapper.createObjectNode();
+            com.fasterxml.jackson.databind.node.ObjectNode jsonNode = JsonCodec.createObjectNode();
             jsonNode.put("alias", environment.getAlias());
             jsonNode.put("password", environment.getPassword());
             jsonNode.put("taxNumber", environment.getTaxNumber());
-            String requestParam = objectMapper.writeValueAsString(jsonNode);
-            
-            log.info("=== AUTHENTICATION REQUEST ===");
-            log.info("Endpoint: POST {}/authenticate", environment.getHost());
-            log.info("Headers:");
-            log.info("  Content-Type: application/x-www-form-urlencoded; charset=UTF-8");
-            log.info("  Accept: application/json");
-            log.info("  FLINTEGRATIONHEADERPARAMS: {}", headerValue);
-            log.info("Request Body:");
-            log.info("  authenticateParam={}", requestParam);
-            log.info("🔍 ACTUAL REQUEST PAYLOAD: {}", requestParam);
-            log.info("Environment Details:");
-            log.info("  Alias: '{}'", environment.getAlias());
-            log.info("  Password: '{}'", environment.getPassword());
-            log.info("  Tax Number: '{}'", environment.getTaxNumber());
-            log.info("  API Key: '{}'", environment.getApiKey());
-            log.info("================================");
-            
-            // Send request with EXACT UTF-8 encoding like cURL
-            log.info("Sending authentication request with UTF-8 encoding (cURL compatible)...");
-            log.info("🚀 FULL URL: {}/authenticate", environment.getHost());
+            String requestParam = JsonCodec.JSON.writeValueAsString(jsonNode);
             
-            lastResponse = RestAssured.given()
-                    .log().all() // LOG EVERYTHING!
+            // Send request with EXACT UTF-8 encoding like cURL.
+            // Full request/response (credentials masked) is kept in ExchangeCapture, not logged.
+            lastResponse = ApiTransport.request(environment.getHost())
                     .contentType("application/x-www-form-urlencoded; charset=UTF-8")
                     .accept("application/json")
                     .header("FLINTEGRATIONHEADERPARAMS", headerValue)
                     .formParam("authenticateParam", requestParam)
                     .when()
-                    .post(environment.getHost() + "/authenticate");
-                    
-            log.info("=== AUTHENTICATION RESPONSE ===");
-            log.info("Status Code: {}", lastResponse.getStatusCode());
-            log.info("Response Headers: {}", lastResponse.getHeaders());
-            log.info("Response Body: {}", lastResponse.getBody().asString());
-            log.info("==================================");
+                    .post("/authenticate");
+            log.info("Authentication response: HTTP {} ({} ms)", lastResponse.getStatusCode(), lastResponse.getTime());
                     
             // Extract sessionId if successful
             if (lastResponse.getStatusCode() == 200) {
                 try {
-                    ApiResponse<AuthenticateResponse> apiResponse = objectMapper.readValue(
-                            lastResponse.getBody().asString(),
-                            new com.fasterxml.jackson.core.type.TypeReference<ApiResponse<AuthenticateResponse>>() {}
-                    );
+                    ApiResponse<AuthenticateResponse> apiResponse = ParsedResponse.of(lastResponse).as(JsonCodec.AUTH_RESPONSE);
                     
                     if (apiResponse.isSuccess() && apiResponse.getResult() != null) {
                         this.sessionId = apiResponse.getResult().getSessionId();
                         environment.setSessionId(this.sessionId);
-                        log.info("✅ Session ID extracted: {}", sessionId);
+                        SessionCache.put(environment, this.sessionId);
+                        sessionFromCache = true;
+                        log.info("✅ Session established for {}", environment.getAlias());
+                    } else {
+                        log.warn("Authentication rejected: {} {}", apiResponse.getErrorCode(), apiResponse.getErrorMessage());
                     }
                 } catch (Exception e) {
                     log.error("Error parsing authentication response", e);
@@ -150,60 +194,13 @@ public class FaturalabAPI {
     }
     
     public Response uploadInvoice(UploadInvoiceRequest request) {
-        log.info("Uploading invoice: {}", request.getInvoiceNo());
+        log.debug("Uploading invoice: {}", request.getInvoiceNo());
         
         try {
-            String requestParam = objectMapper.writeValueAsString(request);
-            
-            log.info("=== UPLOAD INVOICE REQUEST ===");
-            log.info("Endpoint: POST {}/invoice/upload", environment.getHost());
-            log.info("Headers:");
-            log.info("  Content-Type: application/x-www-form-urlencoded; charset=UTF-8");
-            log.info("  Accept: application/json");
-            Map<String, String> headerParams = new HashMap<>();
-            headerParams.put("apiKey", environment.getApiKey());
-            if (sessionId != null && !sessionId.isEmpty()) {
-                headerParams.put("sessionId", sessionId);
-            }
-            log.info("  FLINTEGRATIONHEADERPARAMS: {}", objectMapper.writeValueAsString(headerParams));
-            log.info("Request Body:");
-            log.info("  uploadInvoiceParam={}", requestParam);
-            log.info("🔍 ACTUAL REQUEST PAYLOAD: {}", requestParam);
-            log.info("Request Object Details:");
-            log.info("  Invoice No: {}", request.getInvoiceNo());
-            log.info("  Supplier Tax No: {}", request.getSupplierTaxNo());
-            log.info("  Invoice Amount: {}", request.getInvoiceAmount());
-            log.info("  Invoice Type: {}", request.getInvoiceType());
-            log.info("  Currency: {}", request.getCurrencyType());
-            log.info("  Invoice Date: {}", request.getInvoiceDate());
-            log.info("  Due Date: {}", request.getDueDate());
-            log.info("🚀 FULL URL: {}/invoice/upload", environment.getHost());
-            log.info("================================");
-            
-            // Create headers manually like in authenticate()
-            Map<String, String> requestHeaders = new HashMap<>();
-            requestHeaders.put("apiKey", environment.getApiKey());
-            if (sessionId != null && !sessionId.isEmpty()) {
-                requestHeaders.put("sessionId", sessionId);
-            }
-            String headerValue = objectMapper.writeValueAsString(requestHeaders);
+            lastResponse = postWithSession("/invoice/upload", "uploadInvoiceParam", JsonCodec.UPLOAD_INVOICE.writeValueAsString(request));
             
-            lastResponse = RestAssured.given()
-                    .log().all() // LOG EVERYTHING!
-                    .contentType("application/x-www-form-urlencoded; charset=UTF-8")
-                    .accept("application/json")
-                    .header("FLINTEGRATIONHEADERPARAMS", headerValue)
-                    .formParam("uploadInvoiceParam", requestParam)
-                    .when()
-                    .post(environment.getHost() + "/invoice/upload");
-                    
-            log.info("=== UPLOAD INVOICE RESPONSE ===");
-            log.info("Status Code: {}", lastResponse.getStatusCode());
-            log.info("Response Headers: {}", lastResponse.getHeaders());
-            log.info("Response Body: {}", lastResponse.getBody().asString());
-            log.info("==================================");
-                    
-            log.info("Upload invoice response status: {}", lastResponse.getStatusCode());
+            log.info("Upload invoice {} response: HTTP {} ({} ms)", request.getInvoiceNo(),
+                    lastResponse.getStatusCode(), lastResponse.getTime());
             return lastResponse;
             
         } catch (Exception e) {
@@ -212,57 +209,66 @@ public class FaturalabAPI {
         }
     }
     
+    /**
+     * Fetches the history window and rebuilds {@link #getInvoiceHistoryIndex()} from it.
+     */
     public Response getInvoiceHistory(InvoiceHistoryRequest request) {
-        log.info("Getting invoice history from: {}", request.getFromDate());
+        fetchInvoiceHistory(request);
+        indexHistory(request, true);
+        return lastResponse;
+    }
+    
+    /**
+     * Incremental refresh: fetches only the window since the last indexed {@code toDate}
+     * (minus {@code invoice.history.refresh.overlap.seconds}) up to now and merges it into the index.
+     * Starts from today 00:00 when nothing has been indexed yet.
+     */
+    public InvoiceHistoryIndex refreshInvoiceHistory() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime from = now.truncatedTo(ChronoUnit.DAYS);
+        if (historyIndex.getCoveredTo() != null) {
+            try {
+                from = OffsetDateTime.parse(historyIndex.getCoveredTo(), HISTORY_DATE).minusSeconds(HISTORY_OVERLAP_SECONDS);
+            } catch (DateTimeParseException e) {
+                log.warn("Unparseable history window end '{}', refreshing from today", historyIndex.getCoveredTo());
+            }
+        }
+        InvoiceHistoryRequest window = new InvoiceHistoryRequest(HISTORY_DATE.format(from), HISTORY_DATE.format(now), true);
+        fetchInvoiceHistory(window);
+        indexHistory(window, !historyIndexValid);
+        return historyIndex;
+    }
+    
+    /** Index of the last fetched history window(s); lookups are O(1). */
+    public InvoiceHistoryIndex getInvoiceHistoryIndex() {
+        return historyIndex;
+    }
+    
+    private void indexHistory(InvoiceHistoryRequest request, boolean reset) {
+        if (lastResponse.getStatusCode() != 200) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            int count = reset ? historyIndex.replace(lastResponse.asByteArray()) : historyIndex.merge(lastResponse.asByteArray());
+            historyIndex.cover(request.getFromDate(), request.getToDate() != null ? request.getToDate() : getCurrentDateTimeISO(), reset);
+            historyIndexValid = true;
+            log.debug("Indexed {} history rows ({} invoices) in {} µs", count, historyIndex.size(),
+                    (System.nanoTime() - start) / 1_000);
+        } catch (IOException e) {
+            historyIndexValid = false;
+            log.warn("Invoice history response could not be indexed: {}", e.getMessage());
+        }
+    }
+    
+    private void fetchInvoiceHistory(InvoiceHistoryRequest request) {
+        log.debug("Getting invoice history from: {}", request.getFromDate());
         
         try {
-            String requestParam = objectMapper.writeValueAsString(request);
-            
-            log.info("=== GET INVOICE HISTORY REQUEST ===");
-            log.info("Endpoint: POST {}/invoice/history", environment.getHost());
-            log.info("Headers:");
-            log.info("  Content-Type: application/x-www-form-urlencoded; charset=UTF-8");
-            log.info("  Accept: application/json");
-            Map<String, String> headerParams = new HashMap<>();
-            headerParams.put("apiKey", environment.getApiKey());
-            if (sessionId != null && !sessionId.isEmpty()) {
-                headerParams.put("sessionId", sessionId);
-            }
-            log.info("  FLINTEGRATIONHEADERPARAMS: {}", objectMapper.writeValueAsString(headerParams));
-            log.info("Request Body:");
-            log.info("  invoiceHistoryParam={}", requestParam);
-            log.info("Request Object Details:");
-            log.info("  From Date: {}", request.getFromDate());
-            log.info("  To Date: {}", request.getToDate());
-            log.info("  Only Last State: {}", request.isOnlyLastState());
-            log.info("🚀 FULL URL: {}/invoice/history", environment.getHost());
-            log.info("================================");
+            lastResponse = postWithSession("/invoice/history", "invoiceHistoryParam", JsonCodec.INVOICE_HISTORY.writeValueAsString(request));
             
-            // Create headers manually like in authenticate()
-            Map<String, String> historyHeaders = new HashMap<>();
-            historyHeaders.put("apiKey", environment.getApiKey());
-            if (sessionId != null && !sessionId.isEmpty()) {
-                historyHeaders.put("sessionId", sessionId);
-            }
-            String headerValue = objectMapper.writeValueAsString(historyHeaders);
-            
-            lastResponse = RestAssured.given()
-                    .log().all() // LOG EVERYTHING!
-                    .contentType("application/x-www-form-urlencoded; charset=UTF-8")
-                    .accept("application/json")
-                    .header("FLINTEGRATIONHEADERPARAMS", headerValue)
-                    .formParam("invoiceHistoryParam", requestParam)
-                    .when()
-                    .post(environment.getHost() + "/invoice/history");
-                    
-            log.info("=== GET INVOICE HISTORY RESPONSE ===");
-            log.info("Status Code: {}", lastResponse.getStatusCode());
-            log.info("Response Headers: {}", lastResponse.getHeaders());
-            log.info("Response Body: {}", lastResponse.getBody().asString());
-            log.info("==================================");
-                    
-            log.info("Invoice history response status: {}", lastResponse.getStatusCode());
-            return lastResponse;
+            log.info("Invoice history response: HTTP {} ({} ms, {} bytes)", lastResponse.getStatusCode(),
+                    lastResponse.getTime(), lastResponse.asByteArray().length);
             
         } catch (Exception e) {
             log.error("Failed to get invoice history", e);
@@ -271,48 +277,13 @@ public class FaturalabAPI {
     }
     
     public Response deleteInvoice(DeleteInvoiceRequest request) {
-        log.info("Deleting invoice: {}", request.getInvoiceNo());
+        log.debug("Deleting invoice: {}", request.getInvoiceNo());
         
         try {
-            String requestParam = objectMapper.writeValueAsString(request);
-            
-            log.info("=== DELETE INVOICE REQUEST ===");
-            log.info("Endpoint: POST {}/invoice/delete", environment.getHost());
-            log.info("Headers:");
-            log.info("  Content-Type: application/x-www-form-urlencoded; charset=UTF-8");
-            log.info("  Accept: application/json");
-            Map<String, String> headerParams = new HashMap<>();
-            headerParams.put("apiKey", environment.getApiKey());
-            if (sessionId != null && !sessionId.isEmpty()) {
-                headerParams.put("sessionId", sessionId);
-            }
-            log.info("  FLINTEGRATIONHEADERPARAMS: {}", objectMapper.writeValueAsString(headerParams));
-            log.info("Request Body:");
-            log.info("  deleteInvoiceParam={}", requestParam);
-            log.info("Request Object Details:");
-            log.info("  Invoice No: {}", request.getInvoiceNo());
-            log.info("  Supplier Tax No: {}", request.getSupplierTaxNo());
-            log.info("🚀 FULL URL: {}/invoice/delete", environment.getHost());
-            log.info("================================");
-            
-            String headerValue = objectMapper.writeValueAsString(headerParams);
+            lastResponse = postWithSession("/invoice/delete", "deleteInvoiceParam", JsonCodec.DELETE_INVOICE.writeValueAsString(request));
             
-            lastResponse = RestAssured.given()
-                    .log().all() // LOG EVERYTHING!
-                    .contentType("application/x-www-form-urlencoded; charset=UTF-8")
-                    .accept("application/json")
-                    .header("FLINTEGRATIONHEADERPARAMS", headerValue)
-                    .formParam("deleteInvoiceParam", requestParam)
-                    .when()
-                    .post(environment.getHost() + "/invoice/delete");
-                    
-            log.info("=== DELETE INVOICE RESPONSE ===");
-            log.info("Status Code: {}", lastResponse.getStatusCode());
-            log.info("Response Headers: {}", lastResponse.getHeaders());
-            log.info("Response Body: {}", lastResponse.getBody().asString());
-            log.info("==================================");
-                    
-            log.info("Delete invoice response status: {}", lastResponse.getStatusCode());
+            log.info("Delete invoice {} response: HTTP {} ({} ms)", request.getInvoiceNo(),
+                    lastResponse.getStatusCode(), lastResponse.getTime());
             return lastResponse;
             
         } catch (Exception e) {
@@ -339,15 +310,18 @@ public class FaturalabAPI {
     }
     
     public String getCurrentDateTimeISO() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXX");  // XX = +0300, XXX = +03:00
-        return sdf.format(new Date());
+        return OffsetDateTime.now().format(HISTORY_DATE);
     }
     
     public boolean isInvoiceInHistory(String invoiceNo) {
+        if (historyIndexValid) {
+            return historyIndex.contains(invoiceNo);
+        }
         if (lastResponse == null) {
             return false;
         }
         
+        // History response could not be indexed (unexpected shape) - fall back to a text search
         try {
             String responseBody = lastResponse.getBody().asString();
             return responseBody.contains(invoiceNo);
@@ -362,73 +336,44 @@ public class FaturalabAPI {
             return false;
         }
         
-        try {
-            String responseBody = lastResponse.getBody().asString();
-            ApiResponse<?> apiResponse = objectMapper.readValue(responseBody, ApiResponse.class);
-            return apiResponse.isSuccess();
-        } catch (Exception e) {
-            log.error("Error checking response success", e);
-            return false;
+        ParsedResponse parsed = ParsedResponse.of(lastResponse);
+        if (!parsed.isJson()) {
+            log.error("Error checking response success: response is not JSON (HTTP {})", parsed.getStatusCode());
         }
+        return parsed.isSuccess();
     }
     
     // ============== AUCTION APIs ==============
     
     public Response authenticateUser(AuthenticateRequest request) {
         try {
-            String requestParam = objectMapper.writeValueAsString(request);
+            String requestParam = JsonCodec.AUTHENTICATE.writeValueAsString(request);
+            String headerValue = JsonCodec.headerParams(environment.getApiKey(), null);
             
-            log.info("=== USER AUTHENTICATION ===");
-            log.info("Endpoint: POST {}/authentication", environment.getHost());
-            log.info("Headers:");
-            log.info("  Content-Type: application/x-www-form-urlencoded; charset=UTF-8");
-            log.info("  Accept: application/json");
-            Map<String, String> headerParams = new HashMap<>();
-            headerParams.put("apiKey", environment.getApiKey());
-            log.info("  FLINTEGRATIONHEADERPARAMS: {}", objectMapper.writeValueAsString(headerParams));
-            log.info("Request Body:");
-            log.info("  authenticateParam={}", requestParam);
-            log.info("Request Object Details:");
-            log.info("  User Alias: {}", request.getAlias()); // AuthenticateRequest uses getAlias() not getUserEmail()
-            log.info("  Password: {}", "****");
-            log.info("🚀 FULL URL: {}/authentication", environment.getHost());
-            log.info("================================");
-            
-            String headerValue = objectMapper.writeValueAsString(headerParams);
-            
-            lastResponse = RestAssured.given()
-                    .log().all() // LOG EVERYTHING!
+            lastResponse = ApiTransport.request(environment.getHost())
                     .contentType("application/x-www-form-urlencoded; charset=UTF-8")
                     .accept("application/json")
                     .header("FLINTEGRATIONHEADERPARAMS", headerValue)
                     .formParam("authenticateParam", requestParam)
                     .when()
-                    .post(environment.getHost() + "/authentication");
-                    
-            log.info("=== USER AUTHENTICATION RESPONSE ===");
-            log.info("Status Code: {}", lastResponse.getStatusCode());
-            log.info("Response Headers: {}", lastResponse.getHeaders());
-            log.info("Response Body: {}", lastResponse.getBody().asString());
-            log.info("====================================");
+                    .post("/authentication");
+            log.info("User authentication response: HTTP {} ({} ms)", lastResponse.getStatusCode(), lastResponse.getTime());
             
             if (lastResponse.getStatusCode() == 200) {
                 // Parse authentication response to get session ID
                 try {
-                    ApiResponse<AuthenticateResponse> apiResponse = objectMapper.readValue(
-                            lastResponse.getBody().asString(),
-                            new com.fasterxml.jackson.core.type.TypeReference<ApiResponse<AuthenticateResponse>>() {}
-                    );
+                    ApiResponse<AuthenticateResponse> apiResponse = ParsedResponse.of(lastResponse).as(JsonCodec.AUTH_RESPONSE);
                     
                     if (apiResponse.isSuccess() && apiResponse.getResult() != null) {
                         this.sessionId = apiResponse.getResult().getSessionId();
-                        log.info("Authentication successful. Session ID: {}", sessionId);
+                        log.info("Authentication successful for {}", request.getAlias());
                         
                         // Initialize AuctionAPI with session ID
                         this.auctionAPI = new AuctionAPI(environment, sessionId);
                         log.info("AuctionAPI initialized with session ID");
                         
                     } else {
-                        log.error("Authentication failed. Response: {}", lastResponse.getBody().asString());
+                        log.error("Authentication failed: {} {}", apiResponse.getErrorCode(), apiResponse.getErrorMessage());
                     }
                 } catch (Exception e) {
                     log.error("Failed to parse authentication response", e);
@@ -449,15 +394,9 @@ public class FaturalabAPI {
      * Upload auction invoices - delegates to AuctionAPI
      */
     public Response uploadAuction(UploadAuctionRequest request) {
-        log.info("=== AUCTION UPLOAD REQUEST ===");
-        log.info("SessionID: {}", sessionId);
-        log.info("AuctionAPI instance: {}", auctionAPI);
-        log.info("Environment: {}", environment.getAlias());
-        
         if (auctionAPI == null) {
             log.error("❌ AuctionAPI is null! This means authentication was not successful or AuctionAPI initialization failed.");
-            log.error("Current sessionId: {}", sessionId);
-            log.error("Current environment: {}", environment.getAlias());
+            log.error("Session present: {}, environment: {}", sessionId != null && !sessionId.isEmpty(), environment.getAlias());
             
             // Try to initialize AuctionAPI manually if we have sessionId
             if (sessionId != null && !sessionId.isEmpty()) {
@@ -543,27 +482,11 @@ public class FaturalabAPI {
             return null;
         }
         
-        try {
-            String responseBody = lastResponse.getBody().asString();
-            if (responseBody.contains("\"success\":true")) {
-                return "UPLOADED";
-            }
-            return null;
-        } catch (Exception e) {
-            log.error("Error in fallback status extraction", e);
-            return null;
-        }
+        return ParsedResponse.of(lastResponse).isSuccess() ? "UPLOADED" : null;
     }
-    
-    /**
-     * Helper method to extract field value with multiple possible field names
-     */
-    private String extractFieldAsString(com.fasterxml.jackson.databind.JsonNode node, String... fieldNames) {
-        for (String fieldName : fieldNames) {
-            if (node.has(fieldName) && !node.get(fieldName).isNull()) {
-                return node.get(fieldName).asText();
-            }
-        }
-        return null;
+
+    /** Last response decoded once; shared with AuctionAPI and step definitions on this thread. */
+    public ParsedResponse getParsedResponse() {
+        return lastResponse == null ? null : ParsedResponse.of(lastResponse);
     }
 }
\ No newline at end of file
@@ -0,0 +1,326 @@
+package com.faturalab.automation.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.faturalab.automation.config.ConfigReader;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * /invoice/history cevabının fatura numarasına göre indekslenmiş, sıkıştırılmış görünümü.
+ *
+ * Cevap Jackson streaming ile tek geçişte okunur (ağaç kurulmaz); her fatura için yalnızca
+ * invoiceNo, supplierTaxNo, son durum ve tarih tutulur. Aramalar O(1)'dir. Kayıt sayısı
+ * {@code invoice.history.index.max.entries} ile sınırlıdır; aşılırsa en eski eklenen düşer.
+ *
+ * {@link #merge(byte[])} aynı faturanın daha yeni durumunu üzerine yazar, böylece tarih penceresi
+ * bazında artımlı yenileme yapılabilir ({@link FaturalabAPI#refreshInvoiceHistory()}).
+ * {@link #replace(byte[])} ise tek bir pencerenin anlık görüntüsünü kurar (silinen fatura tamamen
+ * listeden düşmüşse artımlı birleştirme bunu göremez).
+ *
+ * Thread-safe değildir; her FaturalabAPI örneği kendi indeksini tutar.
+ */
+public final class InvoiceHistoryIndex {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int MAX_ENTRIES = Math.max(1, ConfigReader.getInt("invoice.history.index.max.entries", 100_000));
+    // Entry içinde gömülü nesne (ör. "invoice": {...}) varsa bu derinliğe kadar skaler alanlar okunur
+    private static final int MAX_DEPTH = 2;
+
+    private final Map<String, Entry> byInvoiceNo = new LinkedHashMap<>(256, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, InvoiceHistoryIndex.Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // Durum kodları (az sayıda, yüzlerce kez tekrar eder) tek kopya tutulur. Açıklama satıra özgü
+    // serbest metindir, burada tutulmaz: tablo LRU tahliyesinde temizlenmediğinden sınırsız büyürdü
+    private final Map<String, String> states = new HashMap<>();
+    private String coveredFrom;
+    private String coveredTo;
+
+    /** Tek cevaptan indeks kurar. */
+    public static InvoiceHistoryIndex of(byte[] responseBody) throws IOException {
+        InvoiceHistoryIndex index = new InvoiceHistoryIndex();
+        index.merge(responseBody);
+        return index;
+    }
+
+    /** İndeksi boşaltıp verilen cevapla yeniden kurar. Cevap okunamazsa mevcut içerik korunur. */
+    public int replace(byte[] responseBody) throws IOException {
+        InvoiceHistoryIndex fresh = of(responseBody);
+        byInvoiceNo.clear();
+        byInvoiceNo.putAll(fresh.byInvoiceNo);
+        states.clear();
+        states.putAll(fresh.states);
+        return byInvoiceNo.size();
+    }
+
+    /**
+     * Cevaptaki faturaları indekse ekler / günceller.
+     *
+     * @return okunan fatura kaydı sayısı
+     * @throws JsonParseException cevap beklenen {"success":..,"result":[..]} yapısında değilse
+     */
+    public int merge(byte[] responseBody) throws IOException {
+        int count = 0;
+        try (JsonParser p = JSON.createParser(responseBody)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(p, "Invoice history response is not a JSON object");
+            }
+            boolean sawResult = false;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.getCurrentName();
+                JsonToken value = p.nextToken();
+                if ("success".equals(field) && value == JsonToken.VALUE_FALSE) {
+                    throw new JsonParseException(p, "Invoice history response has success=false");
+                }
+                if ("result".equals(field)) {
+                    sawResult = true;
+                    count += readResult(p, value);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            if (!sawResult) {
+                throw new JsonParseException(p, "Invoice history response has no result field");
+            }
+        }
+        return count;
+    }
+
+    public boolean contains(String invoiceNo) {
+        return byInvoiceNo.containsKey(invoiceNo);
+    }
+
+    /** Numaranın son durumu; aynı numara birden fazla tedarikçide varsa en son görülen. */
+    public Entry get(String invoiceNo) {
+        return byInvoiceNo.get(invoiceNo);
+    }
+
+    public Entry get(String supplierTaxNo, String invoiceNo) {
+        for (Entry e = byInvoiceNo.get(invoiceNo); e != null; e = e.next) {
+            if (e.supplierTaxNo.equals(supplierTaxNo)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return byInvoiceNo.size();
+    }
+
+    public String getCoveredFrom() {
+        return coveredFrom;
+    }
+
+    public String getCoveredTo() {
+        return coveredTo;
+    }
+
+    /** İndeksin kapsadığı tarih penceresi (artımlı yenilemede sonraki pencerenin başlangıcı için). */
+    void cover(String fromDate, String toDate, boolean reset) {
+        if (reset || coveredFrom == null) {
+            coveredFrom = fromDate;
+        }
+        coveredTo = toDate;
+    }
+
+    private int readResult(JsonParser p, JsonToken token) throws IOException {
+        if (token == JsonToken.START_ARRAY) {
+            return readArray(p);
+        }
+        if (token == JsonToken.START_OBJECT) {
+            // Sayfalı cevap: {"result": {"invoices": [...], "total": n}} — ilk nesne dizisi okunur
+            int count = 0;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                if (p.nextToken() == JsonToken.START_ARRAY && count == 0) {
+                    count = readArray(p);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return count;
+        }
+        return 0;
+    }
+
+    private int readArray(JsonParser p) throws IOException {
+        int count = 0;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            Fields fields = new Fields();
+            readObject(p, fields, 1);
+            if (fields.invoiceNo != null) {
+                put(fields);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void readObject(JsonParser p, Fields fields, int depth) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.getCurrentName();
+            JsonToken value = p.nextToken();
+            if (value == JsonToken.START_OBJECT && depth < MAX_DEPTH) {
+                readObject(p, fields, depth + 1);
+            } else if (value.isScalarValue()) {
+                fields.accept(field, p.getText(), depth);
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    private void put(Fields f) {
+        String supplier = f.supplierTaxNo != null ? f.supplierTaxNo : "";
+        Entry head = byInvoiceNo.get(f.invoiceNo);
+        Entry existing = null;
+        for (Entry e = head; e != null; e = e.next) {
+            if (e.supplierTaxNo.equals(supplier)) {
+                existing = e;
+                break;
+            }
+        }
+        // onlyLastState=false iken aynı fatura birden çok satırda gelir; tarihi eski olan satır yazmaz
+        if (existing != null && existing.date != null && f.date != null && existing.date.compareTo(f.date) > 0) {
+            return;
+        }
+        Entry entry = new Entry(f.invoiceNo, supplier, intern(f.state), f.description, f.date);
+        Entry rest = head;
+        if (existing != null) {
+            rest = unlink(head, existing);
+        }
+        entry.next = rest;
+        byInvoiceNo.remove(f.invoiceNo);   // yeniden ekleyerek "en eski" sırasını güncelle
+        byInvoiceNo.put(f.invoiceNo, entry);
+    }
+
+    private static Entry unlink(Entry head, Entry target) {
+        if (head == target) {
+            return head.next;
+        }
+        for (Entry e = head; e.next != null; e = e.next) {
+            if (e.next == target) {
+                e.next = target.next;
+                break;
+            }
+        }
+        return head;
+    }
+
+    private String intern(String value) {
+        return value == null ? null : states.computeIfAbsent(value, v -> v);
+    }
+
+    /** Bir satırdan okunan alanlar; üst seviyedeki değer gömülü nesnedekine tercih edilir. */
+    private static final class Fields {
+        String invoiceNo;
+        String supplierTaxNo;
+        String state;
+        String description;
+        String date;
+        private int stateDepth = Integer.MAX_VALUE;
+
+        void accept(String field, String value, int depth) {
+            switch (field) {
+                case "invoiceNo":
+                    if (invoiceNo == null) invoiceNo = value;
+                    break;
+                case "supplierTaxNo":
+                case "supplierTaxNumber":
+                    if (supplierTaxNo == null) supplierTaxNo = value;
+                    break;
+                case "invoiceHistoryState":
+                case "invoiceState":
+                case "status":
+                case "state":
+                    if (depth < stateDepth) {
+                        state = value;
+                        stateDepth = depth;
+                    }
+                    break;
+                case "invoiceHistoryDescription":
+                    description = value;
+                    break;
+                case "historyDate":
+                case "updateDate":
+                case "createDate":
+                case "uploadDate":
+                    if (date == null || value.compareTo(date) > 0) date = value;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /** Bir faturanın indeksteki son durumu. */
+    public static final class Entry {
+        private final String invoiceNo;
+        private final String supplierTaxNo;
+        private final String state;
+        private final String description;
+        private final String date;
+        private Entry next;
+
+        private Entry(String invoiceNo, String supplierTaxNo, String state, String description, String date) {
+            this.invoiceNo = invoiceNo;
+            this.supplierTaxNo = supplierTaxNo;
+            this.state = state;
+            this.description = description;
+            this.date = date;
+        }
+
+        public String getInvoiceNo() {
+            return invoiceNo;
+        }
+
+        public String getSupplierTaxNo() {
+            return supplierTaxNo;
+        }
+
+        public String getState() {
+            return state;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getDate() {
+            return date;
+        }
+
+        /** Durum veya açıklama "Silinmiş" / DELETED ise true. */
+        public boolean isDeleted() {
+            return isDeletedText(state) || isDeletedText(description);
+        }
+
+        private static boolean isDeletedText(String text) {
+            if (text == null) {
+                return false;
+            }
+            String upper = text.toUpperCase(Locale.ROOT);
+            return upper.contains("SILINM") || upper.contains("SİLİNM") || upper.contains("DELET");
+        }
+
+        @Override
+        public String toString() {
+            return invoiceNo + "/" + supplierTaxNo + " " + (description != null ? description : state)
+                    + (date != null ? " @" + date : "");
+        }
+    }
+}
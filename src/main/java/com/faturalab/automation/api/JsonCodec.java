@@ -0,0 +1,76 @@
+package com.faturalab.automation.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.faturalab.automation.models.auction.AuctionDetailRequest;
+import com.faturalab.automation.models.auction.RejectAuctionRequest;
+import com.faturalab.automation.models.auction.UploadAuctionRequest;
+import com.faturalab.automation.models.auth.AuthenticateRequest;
+import com.faturalab.automation.models.auth.AuthenticateResponse;
+import com.faturalab.automation.models.common.ApiResponse;
+import com.faturalab.automation.models.invoice.DeleteInvoiceRequest;
+import com.faturalab.automation.models.invoice.InvoiceHistoryRequest;
+import com.faturalab.automation.models.invoice.UploadInvoiceRequest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entegrasyon API'lerinin ortak JSON okuyucu / yazıcıları. Her model için tip çözümlemesi ve
+ * serializer araması bir kez yapılır; ObjectReader / ObjectWriter değişmez olduğundan tüm thread'ler
+ * aynı örnekleri paylaşır (API nesnesi başına ObjectMapper kurulmaz).
+ *
+ * Müzayede istekleri null alanlar olmadan yazılır ("invoiceNo": null gönderilmez — başarılı cURL
+ * gövdesiyle aynı). Cevapların tek seferde okunması için {@link ParsedResponse}.
+ */
+public final class JsonCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectMapper NON_NULL_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    // ---- okuyucular ----
+    public static final ObjectReader TREE = MAPPER.reader();
+    public static final ObjectReader AUTH_RESPONSE =
+            MAPPER.readerFor(new TypeReference<ApiResponse<AuthenticateResponse>>() {});
+    public static final ObjectReader JSON_RESPONSE =
+            MAPPER.readerFor(new TypeReference<ApiResponse<JsonNode>>() {});
+
+    // ---- yazıcılar ----
+    public static final ObjectWriter JSON = MAPPER.writer();
+    public static final ObjectWriter HEADER_PARAMS = MAPPER.writerFor(new TypeReference<Map<String, String>>() {});
+    public static final ObjectWriter AUTHENTICATE = MAPPER.writerFor(AuthenticateRequest.class);
+    public static final ObjectWriter UPLOAD_INVOICE = MAPPER.writerFor(UploadInvoiceRequest.class);
+    public static final ObjectWriter INVOICE_HISTORY = MAPPER.writerFor(InvoiceHistoryRequest.class);
+    public static final ObjectWriter DELETE_INVOICE = MAPPER.writerFor(DeleteInvoiceRequest.class);
+    public static final ObjectWriter UPLOAD_AUCTION = NON_NULL_MAPPER.writerFor(UploadAuctionRequest.class);
+    public static final ObjectWriter AUCTION_DETAIL = NON_NULL_MAPPER.writerFor(AuctionDetailRequest.class);
+    public static final ObjectWriter REJECT_AUCTION = NON_NULL_MAPPER.writerFor(RejectAuctionRequest.class);
+
+    private JsonCodec() {
+    }
+
+    public static ObjectNode createObjectNode() {
+        return MAPPER.createObjectNode();
+    }
+
+    /** FLINTEGRATIONHEADERPARAMS değeri: {"apiKey":..., "sessionId":...} (sessionId boşsa yazılmaz). */
+    public static String headerParams(String apiKey, String sessionId) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("apiKey", apiKey);
+        if (sessionId != null && !sessionId.isEmpty()) {
+            params.put("sessionId", sessionId);
+        }
+        try {
+            return HEADER_PARAMS.writeValueAsString(params);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Header parametreleri yazılamadı", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.faturalab.automation.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bir cevabın gövdesi tek kez ağaca okunur; success / errorCode, tipli dönüşümler
+ * ({@link JsonCodec} okuyucularıyla) ve türetilmiş sonuçlar (ör. AuctionStatusInfo) bu ağaçtan
+ * üretilip saklanır. Aynı cevabı soran tüm erişimciler aynı sonucu paylaşır.
+ *
+ * {@link #of(Response)} thread başına son cevabı hatırlar: FaturalabAPI, AuctionAPI ve step'ler
+ * aynı Response nesnesi için ayrı ayrı parse etmez. Thread-safe değildir (Response gibi, thread'e ait).
+ */
+public final class ParsedResponse {
+
+    private static final ThreadLocal<ParsedResponse> LAST = new ThreadLocal<>();
+
+    private final Response response;
+    private JsonNode tree;
+    private boolean json;
+    private final Map<Object, Object> memo = new IdentityHashMap<>();
+
+    private ParsedResponse(Response response) {
+        this.response = response;
+    }
+
+    /** Bu thread'de aynı Response için daha önce oluşturulmuş örneği döner; yoksa yenisini. */
+    public static ParsedResponse of(Response response) {
+        ParsedResponse last = LAST.get();
+        if (last != null && last.response == response) {
+            return last;
+        }
+        ParsedResponse parsed = new ParsedResponse(response);
+        LAST.set(parsed);
+        return parsed;
+    }
+
+    public Response getResponse() {
+        return response;
+    }
+
+    public int getStatusCode() {
+        return response.getStatusCode();
+    }
+
+    /** Gövde ağacı; JSON değilse (HTML hata sayfası, boş gövde) MissingNode. */
+    public JsonNode tree() {
+        if (tree == null) {
+            try {
+                JsonNode node = JsonCodec.TREE.readTree(response.asByteArray());
+                json = node != null && !node.isMissingNode();
+                tree = json ? node : MissingNode.getInstance();
+            } catch (IOException e) {
+                tree = MissingNode.getInstance();
+            }
+        }
+        return tree;
+    }
+
+    public boolean isJson() {
+        tree();
+        return json;
+    }
+
+    public boolean isSuccess() {
+        return tree().path("success").asBoolean(false);
+    }
+
+    public String getErrorCode() {
+        return text(tree(), "errorCode");
+    }
+
+    /** Ağacı okuyucunun tipine çevirir; aynı okuyucu için sonuç saklanır. Gövde JSON değilse IOException. */
+    @SuppressWarnings("unchecked")
+    public <T> T as(ObjectReader reader) throws IOException {
+        Object value = memo.get(reader);
+        if (value == null) {
+            if (!isJson()) {
+                throw new IOException("Cevap JSON değil (HTTP " + getStatusCode() + ")");
+            }
+            value = reader.readValue(tree);
+            memo.put(reader, value);
+        }
+        return (T) value;
+    }
+
+    /** Ağaçtan türetilen sonucu {@code key} başına bir kez hesaplar (key: sabit bir nesne, ör. sınıf). */
+    @SuppressWarnings("unchecked")
+    public <T> T derive(Object key, Function<ParsedResponse, T> builder) {
+        Object value = memo.get(key);
+        if (value == null && !memo.containsKey(key)) {
+            value = builder.apply(this);
+            memo.put(key, value);
+        }
+        return (T) value;
+    }
+
+    /** Verilen alanlardan null olmayan ilkinin metni; hiçbiri yoksa null. */
+    public static String text(JsonNode node, String... fieldNames) {
+        for (String fieldName : fieldNames) {
+            JsonNode value = node.get(fieldName);
+            if (value != null && !value.isNull()) {
+                return value.asText();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.faturalab.automation.api;
+
+import com.faturalab.automation.config.ConfigReader;
+import com.faturalab.automation.config.EnvironmentManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Entegrasyon oturumlarının süreç genelindeki önbelleği (anahtar: host + alias + taxNumber).
+ *
+ * <ul>
+ *   <li>Tek uçuş: aynı anahtar için eşzamanlı çağıranlar tek bir authenticate isteğini paylaşır.</li>
+ *   <li>Proaktif yenileme: süre dolmadan {@code api.session.refresh.ahead.seconds} önce arka planda
+ *       yeni oturum alınır; bu sırada çağıranlar hâlâ geçerli olan eski oturumu kullanır.</li>
+ *   <li>{@link #renew}: sunucu oturumu reddederse yalnızca o oturum düşürülür ve yenisi alınır;
+ *       aynı anda reddedilen çağrılar yine tek login'i bekler.</li>
+ * </ul>
+ *
+ * Sunucu oturum süresini bildirmediği için süre {@code api.session.ttl.seconds} ile verilir.
+ * Ayarlar: api.session.cache.enabled=true, api.session.ttl.seconds=1800, api.session.refresh.ahead.seconds=120
+ */
+public final class SessionCache {
+
+    private static final Logger log = LogManager.getLogger(SessionCache.class);
+
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(ConfigReader.getProperty("api.session.cache.enabled", "true").trim());
+    private static final long TTL_MILLIS = TimeUnit.SECONDS.toMillis(ConfigReader.getLong("api.session.ttl.seconds", 1800));
+    private static final long REFRESH_AHEAD_MILLIS =
+            Math.min(TTL_MILLIS / 2, TimeUnit.SECONDS.toMillis(ConfigReader.getLong("api.session.refresh.ahead.seconds", 120)));
+
+    private static final Map<String, Slot> SLOTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final ExecutorService REFRESHER = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "session-refresh-" + THREADS.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private SessionCache() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Geçerli oturumu döner; yoksa veya süresi dolduysa {@code login} ile (tek uçuş) alır.
+     *
+     * @param login sessionId dönen ya da hata fırlatan authenticate çağrısı
+     */
+    public static String get(EnvironmentManager.EnvironmentConfig env, Supplier<String> login) {
+        if (!ENABLED) {
+            return login.get();
+        }
+        Slot slot = slot(env);
+        Session session = slot.current;
+        long now = System.currentTimeMillis();
+        if (session != null && now < session.refreshAt) {
+            return session.id;
+        }
+        if (session != null && now < session.expiresAt) {
+            slot.refresh(login);
+            return session.id;
+        }
+        return await(slot.refresh(login));
+    }
+
+    /**
+     * Sunucunun reddettiği oturumu düşürüp yenisini döner. Başka bir çağıran zaten yenilediyse
+     * ikinci bir login yapılmaz, o oturum döner.
+     */
+    public static String renew(EnvironmentManager.EnvironmentConfig env, String rejectedSessionId, Supplier<String> login) {
+        if (!ENABLED) {
+            return login.get();
+        }
+        Slot slot = slot(env);
+        synchronized (slot) {
+            Session session = slot.current;
+            if (session != null && session.id.equals(rejectedSessionId)) {
+                slot.current = null;
+            }
+        }
+        return get(env, login);
+    }
+
+    /** Dışarıda (ör. açık authenticate adımı) alınmış oturumu önbelleğe koyar. */
+    public static void put(EnvironmentManager.EnvironmentConfig env, String sessionId) {
+        if (ENABLED && sessionId != null && !sessionId.isEmpty()) {
+            Slot slot = slot(env);
+            synchronized (slot) {
+                slot.current = new Session(sessionId, System.currentTimeMillis());
+            }
+        }
+    }
+
+    /** Ortamın oturumunu düşürür; sonraki {@link #get} yeniden login yapar. */
+    public static void invalidate(EnvironmentManager.EnvironmentConfig env) {
+        SLOTS.remove(key(env));
+    }
+
+    public static void clear() {
+        SLOTS.clear();
+    }
+
+    private static Slot slot(EnvironmentManager.EnvironmentConfig env) {
+        return SLOTS.computeIfAbsent(key(env), k -> new Slot());
+    }
+
+    private static String key(EnvironmentManager.EnvironmentConfig env) {
+        return env.getHost() + '|' + env.getAlias() + '|' + env.getTaxNumber();
+    }
+
+    private static String await(CompletableFuture<Session> future) {
+        try {
+            return future.join().id;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Authentication failed", cause);
+        }
+    }
+
+    private static final class Session {
+        final String id;
+        final long refreshAt;
+        final long expiresAt;
+
+        Session(String id, long obtainedAt) {
+            this.id = id;
+            this.expiresAt = obtainedAt + TTL_MILLIS;
+            this.refreshAt = expiresAt - REFRESH_AHEAD_MILLIS;
+        }
+    }
+
+    private static final class Slot {
+        volatile Session current;
+        private CompletableFuture<Session> inFlight;
+
+        /** Süren bir login varsa onu, yoksa yeni başlatılanı döner. */
+        synchronized CompletableFuture<Session> refresh(Supplier<String> login) {
+            if (inFlight != null) {
+                return inFlight;
+            }
+            CompletableFuture<Session> future = new CompletableFuture<>();
+            inFlight = future;
+            REFRESHER.execute(() -> {
+                long start = System.currentTimeMillis();
+                try {
+                    String id = login.get();
+                    if (id == null || id.isEmpty()) {
+                        throw new IllegalStateException("Authentication returned no sessionId");
+                    }
+                    Session session = new Session(id, start);
+                    // Bekleyenler uyanmadan önce yayınlanır; join sonrası get() yeni login başlatmaz
+                    synchronized (this) {
+                        current = session;
+                        inFlight = null;
+                    }
+                    log.debug("Session obtained in {} ms", System.currentTimeMillis() - start);
+                    future.complete(session);
+                } catch (RuntimeException e) {
+                    synchronized (this) {
+                        inFlight = null;
+                    }
+                    log.warn("Session refresh failed: {}", e.getMessage());
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        }
+    }
+}
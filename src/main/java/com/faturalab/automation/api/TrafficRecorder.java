@@ -0,0 +1,218 @@
+package com.faturalab.automation.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.faturalab.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ApiTransport üzerinden geçen her isteği ve cevabı satır başına bir JSON olarak (JSONL) dosyaya ekler;
+ * kayıtlar {@link com.faturalab.automation.load.TrafficReplayer} ile yeniden oynatılır.
+ *
+ * Kapalıdır; {@code -Dapi.traffic.record=true} ile açılır. Dosya: {@code api.traffic.dir}/traffic-&lt;zaman&gt;.jsonl
+ * (JVM başına bir dosya, yalnızca ekleme). password / apiKey / sessionId kayda geçmeden maskelenir;
+ * oynatıcı bunları hedef ortamın bilgileriyle yeniden doldurur. Cevap gövdesi
+ * {@code api.traffic.body.max.bytes} ile sınırlanır (aşılırsa "bodyTruncated": true).
+ *
+ * Serileştirme çağıran thread'de, diske yazma tek bir arka plan thread'inde yapılır. API çağrıları kayıt
+ * yüzünden beklemez: kuyruk doluysa satır düşürülür ve sayılır (sayı kapanışta loglanır). Dosya açılamaz
+ * ya da yazıcı hata alırsa (disk dolu, dosya silindi) kayıt JVM'in geri kalanı için kapanır. JVM kapanırken
+ * kuyruk en fazla birkaç saniye beklenerek boşaltılır.
+ *
+ * Satır alanları: seq, startedAt (epoch ms), offsetMs (monoton saat; yalnızca satırlar arası farkı anlamlı),
+ * thread, method, baseUri, path, headers, form, status, elapsedMs, contentType, body, error.
+ */
+public final class TrafficRecorder {
+
+    private static final Logger log = LogManager.getLogger(TrafficRecorder.class);
+
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(ConfigReader.getProperty("api.traffic.record", "false").trim());
+    private static final int MAX_BODY_BYTES = ConfigReader.getInt("api.traffic.body.max.bytes", 262_144);
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final DateTimeFormatter FILE_TS =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final byte[] END = new byte[0];
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final long ORIGIN_NANOS = System.nanoTime();
+
+    private static volatile Writer writer;
+    /** Dosya açılamadı ya da yazıcı thread'i hata aldı: kayıt bu JVM'de kapalı. */
+    private static volatile boolean failed;
+
+    private TrafficRecorder() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED && !failed;
+    }
+
+    /** Kuyruk dolu olduğu için düşürülen kayıt sayısı. */
+    public static long droppedCount() {
+        return DROPPED.get();
+    }
+
+    /** Kayıt dosyası; kayıt kapalıysa veya henüz istek yoksa null. */
+    public static File currentFile() {
+        Writer w = writer;
+        return w == null ? null : w.file;
+    }
+
+    static void record(String method, String baseUri, String path, Map<String, String> headers,
+                       Map<String, String> form, int status, String contentType, byte[] body,
+                       long startNanos, long elapsedNanos, Throwable failure) {
+        if (!ENABLED || failed) {
+            return;
+        }
+        Writer w = writer();
+        if (w == null) {
+            return;
+        }
+        ObjectNode line = MAPPER.createObjectNode();
+        line.put("seq", SEQUENCE.incrementAndGet());
+        line.put("startedAt", System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        line.put("offsetMs", (startNanos - ORIGIN_NANOS) / 1e6);
+        line.put("thread", Thread.currentThread().getName());
+        line.put("method", method);
+        line.put("baseUri", baseUri);
+        line.put("path", path);
+        ObjectNode h = line.putObject("headers");
+        headers.forEach((k, v) -> h.put(k, ExchangeCapture.redact(v)));
+        ObjectNode f = line.putObject("form");
+        if (form != null) {
+            form.forEach((k, v) -> f.put(k, ExchangeCapture.redact(v)));
+        }
+        line.put("status", status);
+        line.put("elapsedMs", elapsedNanos / 1e6);
+        if (contentType != null) {
+            line.put("contentType", contentType);
+        }
+        if (body != null) {
+            boolean truncated = body.length > MAX_BODY_BYTES;
+            String text = new String(body, 0, Math.min(body.length, MAX_BODY_BYTES), StandardCharsets.UTF_8);
+            line.put("body", ExchangeCapture.redact(text));
+            if (truncated) {
+                line.put("bodyTruncated", true);
+            }
+        }
+        if (failure != null) {
+            line.put("error", failure.toString());
+        }
+        byte[] bytes;
+        try {
+            bytes = MAPPER.writeValueAsBytes(line);
+        } catch (IOException e) {
+            log.warn("Trafik kaydı serileştirilemedi: {}", e.getMessage());
+            return;
+        }
+        if (!w.queue.offer(bytes)) {
+            long dropped = DROPPED.incrementAndGet();
+            if (dropped == 1 || dropped % 1000 == 0) {
+                log.warn("Trafik kaydı kuyruğu dolu; {} kayıt düşürüldü", dropped);
+            }
+        }
+    }
+
+    /** Yazıcıyı ilk kayıtta açar; açılamazsa kaydı kapatır ve null döner (her çağrıda yeniden denenmez). */
+    private static Writer writer() {
+        Writer w = writer;
+        if (w == null) {
+            synchronized (TrafficRecorder.class) {
+                w = writer;
+                if (w == null && !failed) {
+                    File dir = new File(trafficDir());
+                    dir.mkdirs();
+                    File file = new File(dir, "traffic-" + FILE_TS.format(Instant.now()) + "-"
+                            + ProcessHandle.current().pid() + ".jsonl");
+                    try {
+                        w = new Writer(file);
+                        writer = w;
+                    } catch (IOException e) {
+                        failed = true;
+                        log.error("Trafik kaydı başlatılamadı ({}): {} — kayıt kapatıldı", file.getPath(), e.getMessage());
+                    }
+                }
+            }
+        }
+        return w;
+    }
+
+    /** Kayıt dizini ({@code api.traffic.dir}); oynatıcı "latest" dosyasını da burada arar. */
+    public static String trafficDir() {
+        return ConfigReader.getProperty("api.traffic.dir", "target/traffic");
+    }
+
+    /** Tek yazıcı: kuyruğu sırayla dosyaya ekler, kuyruk boşaldığında flush eder. */
+    private static final class Writer implements Runnable {
+        private final File file;
+        private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        private final Thread thread;
+
+        Writer(File file) throws IOException {
+            this.file = file;
+            new FileOutputStream(file, true).close();   // dosya hemen oluşsun, hata çağırana dönsün
+            this.thread = new Thread(this, "traffic-recorder");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::close, "traffic-recorder-close"));
+            log.info("API trafiği kaydediliyor: {}", file.getPath());
+        }
+
+        @Override
+        public void run() {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file, true), 64 * 1024)) {
+                while (true) {
+                    byte[] line = queue.take();
+                    if (line == END) {
+                        break;
+                    }
+                    out.write(line);
+                    out.write('\n');
+                    if (queue.isEmpty()) {
+                        out.flush();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // Kuyruğu boşaltan kalmadı: yeni kayıt alınmasın, bekleyenler bırakılsın
+                failed = true;
+                queue.clear();
+                log.error("Trafik kaydı yazılamadı ({}): {} — kayıt kapatıldı", file.getPath(), e.getMessage());
+            }
+        }
+
+        void close() {
+            try {
+                if (!failed && queue.offer(END, 5, TimeUnit.SECONDS)) {
+                    thread.join(5_000);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long dropped = DROPPED.get();
+            if (dropped > 0) {
+                log.warn("Trafik kaydı: kuyruk dolu olduğu için {} kayıt düşürüldü ({})", dropped, file.getPath());
+            }
+        }
+    }
+}
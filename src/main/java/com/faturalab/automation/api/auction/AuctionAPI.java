@@ -1,20 +1,18 @@
 package com.faturalab.automation.api.auction;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.faturalab.automation.api.ApiTransport;
+import com.faturalab.automation.api.JsonCodec;
+import com.faturalab.automation.api.ParsedResponse;
 import com.faturalab.automation.config.EnvironmentManager;
 import com.faturalab.automation.models.auction.*;
 import com.faturalab.automation.models.common.*;
-import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Dedicated API class for Auction operations
  * Contains all auction-specific API methods separated from general FaturalabAPI
@@ -22,7 +20,6 @@ import java.util.Map;
 public class AuctionAPI {
     
     private static final Logger log = LogManager.getLogger(AuctionAPI.class);
-    private final ObjectMapper objectMapper;
     private final EnvironmentManager.EnvironmentConfig environment;
     private final String sessionId;
     private Response lastResponse;
@@ -30,16 +27,7 @@ public class AuctionAPI {
     public AuctionAPI(EnvironmentManager.EnvironmentConfig environment, String sessionId) {
         this.environment = environment;
         this.sessionId = sessionId;
-        this.objectMapper = new ObjectMapper();
-        // Exclude null fields to avoid sending "invoiceNo": null etc. (match successful cURL body)
-        this.objectMapper.setSerializationInclusion(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL);
-        
-        // Configure RestAssured
-        RestAssured.baseURI = environment.getHost();
-        RestAssured.basePath = "/app/api/integration/buyer/v0";
-        RestAssured.config = RestAssured.config()
-                .encoderConfig(RestAssured.config().getEncoderConfig().defaultContentCharset("UTF-8"));
-        
+        // Auction writers in JsonCodec exclude null fields ("invoiceNo": null etc.) to match the successful cURL body
         log.info("AuctionAPI initialized for environment: {}", environment.getHost());
     }
     
@@ -48,15 +36,9 @@ public class AuctionAPI {
      */
     private RequestSpecification getAuthenticatedRequest() {
         try {
-            Map<String, String> headerParams = new HashMap<>();
-            headerParams.put("apiKey", environment.getApiKey());
-            if (sessionId != null && !sessionId.isEmpty()) {
-                headerParams.put("sessionId", sessionId);
-            }
-            
-            String headerValue = objectMapper.writeValueAsString(headerParams);
+            String headerValue = JsonCodec.headerParams(environment.getApiKey(), sessionId);
             
-            return RestAssured.given()
+            return ApiTransport.request(environment.getHost())
                     .header("FLINTEGRATIONHEADERPARAMS", headerValue)
                     .contentType("application/x-www-form-urlencoded; charset=UTF-8")
                     .accept(ContentType.JSON);
@@ -71,60 +53,23 @@ public class AuctionAPI {
      * Upload auction invoices
      */
     public Response uploadAuction(UploadAuctionRequest request) {
-        log.info("=== UPLOAD AUCTION ===");
-        log.info("Reference: {}", request.getReferenceNo());
-        log.info("Invoice Count: {}", request.getInvoices().size());
-        log.info("Total Amount: {}", formatAmount(request.getTotalPayableAmount()));
-        log.info("Locked: {}", request.getLocked());
+        log.debug("Uploading auction {} ({} invoices, total {}, locked {})", request.getReferenceNo(),
+                request.getInvoices().size(), formatAmount(request.getTotalPayableAmount()), request.getLocked());
         
         try {
-            String requestParam = objectMapper.writeValueAsString(request);
-            
-            log.info("=== UPLOAD AUCTION REQUEST ===");
-            log.info("Endpoint: POST {}/auction", environment.getHost());
-            log.info("Headers:");
-            log.info("  Content-Type: application/x-www-form-urlencoded; charset=UTF-8");
-            log.info("  Accept: application/json");
-            Map<String, String> headerParams = new HashMap<>();
-            headerParams.put("apiKey", environment.getApiKey());
-            if (sessionId != null && !sessionId.isEmpty()) {
-                headerParams.put("sessionId", sessionId);
-            }
-            log.info("  FLINTEGRATIONHEADERPARAMS: {}", objectMapper.writeValueAsString(headerParams));
-            log.info("Request Body:");
-            log.info("  uploadAuctionParam={}", requestParam);
-            log.info("Request Object Details:");
-            log.info("  Reference No: {}", request.getReferenceNo());
-            log.info("  User Email: {}", request.getUserEmail());
-            log.info("  Total Invoices: {}", request.getInvoices().size());
-            log.info("  Total Amount: {}", request.getTotalPayableAmount());
-            log.info("🚀 FULL URL: {}/auction", environment.getHost());
-            log.info("================================");
-            
-            // Create headers manually like in FaturalabAPI authenticate()
-            Map<String, String> requestHeaders = new HashMap<>();
-            requestHeaders.put("apiKey", environment.getApiKey());
-            if (sessionId != null && !sessionId.isEmpty()) {
-                requestHeaders.put("sessionId", sessionId);
-            }
-            String headerValue = objectMapper.writeValueAsString(requestHeaders);
+            String requestParam = JsonCodec.UPLOAD_AUCTION.writeValueAsString(request);
+            String headerValue = JsonCodec.headerParams(environment.getApiKey(), sessionId);
             
-            lastResponse = RestAssured.given()
-                    .log().all() // LOG EVERYTHING!
+            lastResponse = ApiTransport.request(environment.getHost())
                     .contentType("application/x-www-form-urlencoded; charset=UTF-8")
                     .accept("application/json")
                     .header("FLINTEGRATIONHEADERPARAMS", headerValue)
                     .formParam("uploadAuctionParam", requestParam)
                     .when()
-                    .post(environment.getHost() + "/auction");
-                    
-            log.info("=== UPLOAD AUCTION RESPONSE ===");
-            log.info("Status Code: {}", lastResponse.getStatusCode());
-            log.info("Response Headers: {}", lastResponse.getHeaders());
-            log.info("Response Body: {}", lastResponse.getBody().asString());
-            log.info("==================================");
-                    
-            log.info("Upload auction response status: {}", lastResponse.getStatusCode());
+                    .post("/auction");
+            
+            log.info("Upload auction {} response: HTTP {} ({} ms)", request.getReferenceNo(),
+                    lastResponse.getStatusCode(), lastResponse.getTime());
             return lastResponse;
             
         } catch (Exception e) {
@@ -137,50 +82,20 @@ public class AuctionAPI {
      * Get auction detail by reference number
      */
     public Response getAuctionDetail(AuctionDetailRequest request) {
-        log.info("=== GET AUCTION DETAIL ===");
-        log.info("Reference: {}", request.getReferenceNo());
-        log.info("User Email: {}", request.getUserEmail());
-        
         try {
-            String requestParam = objectMapper.writeValueAsString(request);
-            
-            log.info("=== GET AUCTION DETAIL REQUEST ===");
-            log.info("Endpoint: POST {}/auction/detail", environment.getHost());
-            log.info("Headers:");
-            log.info("  Content-Type: application/x-www-form-urlencoded; charset=UTF-8");
-            log.info("  Accept: application/json");
-            Map<String, String> headerParams = new HashMap<>();
-            headerParams.put("apiKey", environment.getApiKey());
-            if (sessionId != null && !sessionId.isEmpty()) {
-                headerParams.put("sessionId", sessionId);
-            }
-            log.info("  FLINTEGRATIONHEADERPARAMS: {}", objectMapper.writeValueAsString(headerParams));
-            log.info("Request Body:");
-            log.info("  auctionDetailParam={}", requestParam);
-            log.info("Request Object Details:");
-            log.info("  Reference No: {}", request.getReferenceNo());
-            log.info("  User Email: {}", request.getUserEmail());
-            log.info("🚀 FULL URL: {}/auction/detail", environment.getHost());
-            log.info("================================");
+            String requestParam = JsonCodec.AUCTION_DETAIL.writeValueAsString(request);
+            String headerValue = JsonCodec.headerParams(environment.getApiKey(), sessionId);
             
-            String headerValue = objectMapper.writeValueAsString(headerParams);
-            
-            lastResponse = RestAssured.given()
-                    .log().all() // LOG EVERYTHING!
+            lastResponse = ApiTransport.request(environment.getHost())
                     .contentType("application/x-www-form-urlencoded; charset=UTF-8")
                     .accept("application/json")
                     .header("FLINTEGRATIONHEADERPARAMS", headerValue)
                     .formParam("auctionDetailParam", requestParam)
                     .when()
-                    .post(environment.getHost() + "/auction/detail");
-                    
-            log.info("=== GET AUCTION DETAIL RESPONSE ===");
-            log.info("Status Code: {}", lastResponse.getStatusCode());
-            log.info("Response Headers: {}", lastResponse.getHeaders());
-            log.info("Response Body: {}", lastResponse.getBody().asString());
-            log.info("==================================");
-                    
-            log.info("Auction detail response status: {}", lastResponse.getStatusCode());
+                    .post("/auction/detail");
+            
+            log.info("Auction detail {} response: HTTP {} ({} ms)", request.getReferenceNo(),
+                    lastResponse.getStatusCode(), lastResponse.getTime());
             return lastResponse;
             
         } catch (Exception e) {
@@ -193,50 +108,20 @@ public class AuctionAPI {
      * Reject auction by reference number
      */
     public Response rejectAuction(RejectAuctionRequest request) {
-        log.info("=== REJECT AUCTION ===");
-        log.info("Reference: {}", request.getReferenceNo());
-        log.info("User Email: {}", request.getUserEmail());
-        
         try {
-            String requestParam = objectMapper.writeValueAsString(request);
-            
-            log.info("=== REJECT AUCTION REQUEST ===");
-            log.info("Endpoint: POST {}/auction/reject", environment.getHost());
-            log.info("Headers:");
-            log.info("  Content-Type: application/x-www-form-urlencoded; charset=UTF-8");
-            log.info("  Accept: application/json");
-            Map<String, String> headerParams = new HashMap<>();
-            headerParams.put("apiKey", environment.getApiKey());
-            if (sessionId != null && !sessionId.isEmpty()) {
-                headerParams.put("sessionId", sessionId);
-            }
-            log.info("  FLINTEGRATIONHEADERPARAMS: {}", objectMapper.writeValueAsString(headerParams));
-            log.info("Request Body:");
-            log.info("  rejectAuctionParam={}", requestParam);
-            log.info("Request Object Details:");
-            log.info("  Reference No: {}", request.getReferenceNo());
-            log.info("  User Email: {}", request.getUserEmail());
-            log.info("🚀 FULL URL: {}/auction/reject", environment.getHost());
-            log.info("================================");
-            
-            String headerValue = objectMapper.writeValueAsString(headerParams);
+            String requestParam = JsonCodec.REJECT_AUCTION.writeValueAsString(request);
+            String headerValue = JsonCodec.headerParams(environment.getApiKey(), sessionId);
             
-            lastResponse = RestAssured.given()
-                    .log().all() // LOG EVERYTHING!
+            lastResponse = ApiTransport.request(environment.getHost())
                     .contentType("application/x-www-form-urlencoded; charset=UTF-8")
                     .accept("application/json")
                     .header("FLINTEGRATIONHEADERPARAMS", headerValue)
                     .formParam("rejectAuctionParam", requestParam)
                     .when()
-                    .post(environment.getHost() + "/auction/reject");
-                    
-            log.info("=== REJECT AUCTION RESPONSE ===");
-            log.info("Status Code: {}", lastResponse.getStatusCode());
-            log.info("Response Headers: {}", lastResponse.getHeaders());
-            log.info("Response Body: {}", lastResponse.getBody().asString());
-            log.info("==================================");
-                    
-            log.info("Reject auction response status: {}", lastResponse.getStatusCode());
+                    .post("/auction/reject");
+            
+            log.info("Reject auction {} response: HTTP {} ({} ms)", request.getReferenceNo(),
+                    lastResponse.getStatusCode(), lastResponse.getTime());
             return lastResponse;
             
         } catch (Exception e) {
@@ -254,63 +139,40 @@ public class AuctionAPI {
             return null;
         }
         
-        try {
-            String responseBody = lastResponse.getBody().asString();
-            log.info("Extracting auction status from response: {}", responseBody);
-            
-            // Parse JSON response to extract actual status
-            JsonNode jsonNode = objectMapper.readTree(responseBody);
-            
-            // Try different possible status field locations
-            String status = null;
-            
-            // Check if response has 'success' flag and 'result' object
-            if (jsonNode.has("success") && jsonNode.get("success").asBoolean()) {
-                JsonNode resultNode = jsonNode.get("result");
-                if (resultNode != null) {
-                    // Try common status field names
-                    if (resultNode.has("status")) {
-                        status = resultNode.get("status").asText();
-                    } else if (resultNode.has("auctionStatus")) {
-                        status = resultNode.get("auctionStatus").asText();
-                    } else if (resultNode.has("state")) {
-                        status = resultNode.get("state").asText();
-                    }
-                }
-            }
-            
-            // If no status found in result, check root level
-            if (status == null) {
-                if (jsonNode.has("status")) {
-                    status = jsonNode.get("status").asText();
-                } else if (jsonNode.has("auctionStatus")) {
-                    status = jsonNode.get("auctionStatus").asText();
-                }
-            }
-            
-            // If still no status, try to infer from response content
-            if (status == null) {
-                if (responseBody.contains("\"success\":true")) {
-                    // If API call was successful but no explicit status, assume UPLOADED/ACTIVE
-                    status = "UPLOADED";
-                    log.info("No explicit status found, inferring UPLOADED from successful response");
-                } else {
-                    log.warn("Could not extract status from response, no explicit status field found");
-                }
-            }
-            
-            log.info("Extracted auction status: {}", status);
-            return status;
-            
-        } catch (Exception e) {
-            log.error("Error extracting auction status from response", e);
-            log.error("Response body: {}", lastResponse.getBody().asString());
+        ParsedResponse parsed = ParsedResponse.of(lastResponse);
+        if (!parsed.isJson()) {
+            log.error("Could not extract auction status, response is not JSON (HTTP {}, {} bytes)",
+                    parsed.getStatusCode(), lastResponse.asByteArray().length);
             return null;
         }
+        JsonNode jsonNode = parsed.tree();
+        
+        // Try common status field names in result (successful responses), then at root level
+        String status = null;
+        if (parsed.isSuccess() && jsonNode.hasNonNull("result")) {
+            status = ParsedResponse.text(jsonNode.get("result"), "status", "auctionStatus", "state");
+        }
+        if (status == null) {
+            status = ParsedResponse.text(jsonNode, "status", "auctionStatus");
+        }
+        
+        // If still no status, try to infer from response content
+        if (status == null) {
+            if (parsed.isSuccess()) {
+                // If API call was successful but no explicit status, assume UPLOADED/ACTIVE
+                status = "UPLOADED";
+                log.info("No explicit status found, inferring UPLOADED from successful response");
+            } else {
+                log.warn("Could not extract status from response, no explicit status field found");
+            }
+        }
+        
+        log.info("Extracted auction status: {}", status);
+        return status;
     }
     
     /**
-     * Get detailed auction status information
+     * Get detailed auction status information (built once per response)
      */
     public AuctionStatusInfo getDetailedAuctionStatus() {
         if (lastResponse == null) {
@@ -318,64 +180,68 @@ public class AuctionAPI {
         }
         
         try {
-            String responseBody = lastResponse.getBody().asString();
-            JsonNode jsonNode = objectMapper.readTree(responseBody);
-            
-            AuctionStatusInfo statusInfo = new AuctionStatusInfo();
-            statusInfo.setRawResponse(responseBody);
-            statusInfo.setHttpStatusCode(lastResponse.getStatusCode());
-            statusInfo.setSuccess(jsonNode.has("success") && jsonNode.get("success").asBoolean());
-            
-            if (statusInfo.isSuccess() && jsonNode.has("result")) {
-                JsonNode resultNode = jsonNode.get("result");
-                
-                // Check if there's an auction object in the result
-                JsonNode auctionNode = resultNode.has("auction") ? resultNode.get("auction") : resultNode;
-                
-                // Extract various status fields from auction node first, then fallback to result node
-                statusInfo.setStatus(extractFieldAsString(auctionNode, "status", "auctionStatus", "state") != null ? 
-                                   extractFieldAsString(auctionNode, "status", "auctionStatus", "state") : 
-                                   extractFieldAsString(resultNode, "status", "auctionStatus", "state"));
-                
-                statusInfo.setReferenceNo(extractFieldAsString(auctionNode, "referenceNo", "reference") != null ? 
-                                        extractFieldAsString(auctionNode, "referenceNo", "reference") : 
-                                        extractFieldAsString(resultNode, "referenceNo", "reference"));
-                
-                statusInfo.setMessage(extractFieldAsString(resultNode, "message", "description"));
-                
-                // Extract financial information from auction node first
-                if (auctionNode.has("totalPayableAmount")) {
-                    statusInfo.setTotalAmount(auctionNode.get("totalPayableAmount").asDouble());
-                } else if (resultNode.has("totalAmount")) {
-                    statusInfo.setTotalAmount(resultNode.get("totalAmount").asDouble());
-                }
-                
-                if (auctionNode.has("totalFactoringCount")) {
-                    statusInfo.setInvoiceCount(auctionNode.get("totalFactoringCount").asInt());
-                } else if (resultNode.has("invoiceCount")) {
-                    statusInfo.setInvoiceCount(resultNode.get("invoiceCount").asInt());
-                }
-                
-                // Extract rejection information if available
-                if (resultNode.has("rejectionReason")) {
-                    statusInfo.setRejectionReason(resultNode.get("rejectionReason").asText());
-                }
-                if (resultNode.has("rejectDate")) {
-                    statusInfo.setRejectDate(resultNode.get("rejectDate").asText());
-                }
-            } else {
-                // Extract error information
-                statusInfo.setErrorMessage(extractFieldAsString(jsonNode, "error", "message", "errorMessage"));
-            }
-            
-            return statusInfo;
-            
+            return ParsedResponse.of(lastResponse).derive(AuctionStatusInfo.class, AuctionAPI::toStatusInfo);
         } catch (Exception e) {
             log.error("Error creating detailed auction status info", e);
             return null;
         }
     }
     
+    private static AuctionStatusInfo toStatusInfo(ParsedResponse parsed) {
+        JsonNode jsonNode = parsed.tree();
+        
+        AuctionStatusInfo statusInfo = new AuctionStatusInfo();
+        statusInfo.setRawResponse(parsed.getResponse().asString());
+        statusInfo.setHttpStatusCode(parsed.getStatusCode());
+        statusInfo.setSuccess(parsed.isSuccess());
+        
+        if (statusInfo.isSuccess() && jsonNode.has("result")) {
+            JsonNode resultNode = jsonNode.get("result");
+            
+            // Check if there's an auction object in the result
+            JsonNode auctionNode = resultNode.has("auction") ? resultNode.get("auction") : resultNode;
+            
+            // Extract various status fields from auction node first, then fallback to result node
+            statusInfo.setStatus(firstText(auctionNode, resultNode, "status", "auctionStatus", "state"));
+            statusInfo.setReferenceNo(firstText(auctionNode, resultNode, "referenceNo", "reference"));
+            statusInfo.setMessage(ParsedResponse.text(resultNode, "message", "description"));
+            
+            // Extract financial information from auction node first
+            if (auctionNode.has("totalPayableAmount")) {
+                statusInfo.setTotalAmount(auctionNode.get("totalPayableAmount").asDouble());
+            } else if (resultNode.has("totalAmount")) {
+                statusInfo.setTotalAmount(resultNode.get("totalAmount").asDouble());
+            }
+            
+            if (auctionNode.has("totalFactoringCount")) {
+                statusInfo.setInvoiceCount(auctionNode.get("totalFactoringCount").asInt());
+            } else if (resultNode.has("invoiceCount")) {
+                statusInfo.setInvoiceCount(resultNode.get("invoiceCount").asInt());
+            }
+            
+            // Extract rejection information if available
+            if (resultNode.has("rejectionReason")) {
+                statusInfo.setRejectionReason(resultNode.get("rejectionReason").asText());
+            }
+            if (resultNode.has("rejectDate")) {
+                statusInfo.setRejectDate(resultNode.get("rejectDate").asText());
+            }
+        } else if (parsed.isJson()) {
+            // Extract error information
+            statusInfo.setErrorMessage(ParsedResponse.text(jsonNode, "error", "message", "errorMessage"));
+        } else {
+            throw new IllegalStateException("Response is not JSON (HTTP " + parsed.getStatusCode() + ")");
+        }
+        
+        return statusInfo;
+    }
+    
+    /** First non-null field from {@code primary}, falling back to {@code fallback}. */
+    private static String firstText(JsonNode primary, JsonNode fallback, String... fieldNames) {
+        String value = ParsedResponse.text(primary, fieldNames);
+        return value != null ? value : ParsedResponse.text(fallback, fieldNames);
+    }
+    
     /**
      * Validate auction amounts and structure
      */
@@ -475,26 +341,11 @@ public class AuctionAPI {
             return false;
         }
         
-        try {
-            String responseBody = lastResponse.getBody().asString();
-            ApiResponse<?> apiResponse = objectMapper.readValue(responseBody, ApiResponse.class);
-            return apiResponse.isSuccess();
-        } catch (Exception e) {
-            log.error("Error checking response success", e);
-            return false;
-        }
-    }
-    
-    /**
-     * Helper method to extract field value with multiple possible field names
-     */
-    private String extractFieldAsString(JsonNode node, String... fieldNames) {
-        for (String fieldName : fieldNames) {
-            if (node.has(fieldName) && !node.get(fieldName).isNull()) {
-                return node.get(fieldName).asText();
-            }
+        ParsedResponse parsed = ParsedResponse.of(lastResponse);
+        if (!parsed.isJson()) {
+            log.error("Error checking response success: response is not JSON (HTTP {})", parsed.getStatusCode());
         }
-        return null;
+        return parsed.isSuccess();
     }
     
     // Helper: log numeric without trailing .0 when integer
@@ -0,0 +1,628 @@
+package com.faturalab.automation.api.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.faturalab.automation.config.ConfigReader;
+import com.faturalab.automation.utils.BusinessCalendar;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buyer v0 entegrasyon API'sinin yerel taklidi (JDK HttpServer).
+ *
+ * FaturalabAPI / AuctionAPI / AsyncIntegrationAPI ile aynı protokolü konuşur: POST gövdesi
+ * form-urlencoded, tek parametrede JSON (ör. {@code uploadInvoiceParam={...}}), kimlik bilgisi
+ * {@code FLINTEGRATIONHEADERPARAMS} başlığında ({@code apiKey}, {@code sessionId}). Cevaplar
+ * {@code {"success":..,"result":..,"errorCode":..,"errorMessage":..}} biçimindedir.
+ *
+ * Uç noktalar: /authenticate (/authentication), /invoice/upload, /invoice/history, /invoice/delete,
+ * /auction, /auction/detail, /auction/reject. Faturalar ve ihaleler bellekte tutulur; temel
+ * doğrulamalar (boş alan, tip, para birimi, mükerrer fatura) gerçek sunucunun hata kodlarıyla döner.
+ *
+ * Gecikme ({@code latencyMillis} + 0..{@code jitterMillis}) ve hata enjeksiyonu
+ * ({@code errorRate}: success=false / STUB_INJECTED_ERROR, {@code httpErrorRate}: HTTP 500 HTML)
+ * istek sırasına göre tohumdan türetilir; aynı tohum ve aynı istek sırası aynı sonucu verir.
+ *
+ * Kullanım:
+ * <pre>
+ *   IntegrationStubServer stub = IntegrationStubServer.builder().latencyMillis(20).build().start();
+ *   env.setHost(stub.getBaseUrl());
+ *   ...
+ *   stub.stop();
+ * </pre>
+ * Tek başına: {@code java ... IntegrationStubServer --port 8089 --latency-ms 20 --error-rate 0.01}
+ */
+public class IntegrationStubServer {
+
+    private static final Logger log = LogManager.getLogger(IntegrationStubServer.class);
+
+    public static final String DEFAULT_BASE_PATH = "/app/api/integration/buyer/v0";
+    public static final String INJECTED_ERROR = "STUB_INJECTED_ERROR";
+    /** Oturum reddi HTTP 401 ile dönülürken zarfa yazılan errorCode. */
+    public static final String INVALID_SESSION = "INVALID_SESSION";
+
+    private static final String HEADER_PARAMS = "FLINTEGRATIONHEADERPARAMS";
+    private static final Set<String> INVOICE_TYPES = new HashSet<>(Arrays.asList("E_FATURA", "E_ARSIV"));
+    private static final Set<String> CURRENCIES = new HashSet<>(Arrays.asList("TL", "USD", "EUR"));
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter REQUEST_DATE = BusinessCalendar.API_DATE_TIME;
+
+    private final Builder config;
+    private final Map<String, Long> sessions = new ConcurrentHashMap<>();
+    // supplierTaxNo|invoiceNo → fatura (yüklendiği gibi + uploadDate/status)
+    private final Map<String, ObjectNode> invoices = new ConcurrentHashMap<>();
+    private final Map<String, ObjectNode> auctions = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private IntegrationStubServer(Builder config) {
+        this.config = config;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Builder ayarlarını config'ten (stub.*) okur; verilmeyenler varsayılan kalır. */
+    public static Builder fromConfig() {
+        Builder b = new Builder();
+        b.port(ConfigReader.getInt("stub.port", 0));
+        b.latencyMillis(ConfigReader.getLong("stub.latency.ms", 0));
+        b.jitterMillis(ConfigReader.getLong("stub.jitter.ms", 0));
+        b.errorRate(ConfigReader.getDouble("stub.error.rate", 0));
+        b.httpErrorRate(ConfigReader.getDouble("stub.http.error.rate", 0));
+        b.threads(ConfigReader.getInt("stub.threads", 32));
+        return b;
+    }
+
+    public synchronized IntegrationStubServer start() {
+        if (server != null) {
+            return this;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(config.bindAddress, config.port), 512);
+        } catch (IOException e) {
+            throw new IllegalStateException("Stub sunucu başlatılamadı (port " + config.port + ")", e);
+        }
+        AtomicInteger threadNo = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(config.threads, r -> {
+            Thread t = new Thread(r, "integration-stub-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext(config.basePath, this::handle);
+        server.start();
+        log.info("Entegrasyon stub'ı hazır: {} (gecikme {}+{} ms, hata %{}, HTTP 500 %{})", getBaseUrl(),
+                config.latencyMillis, config.jitterMillis, config.errorRate * 100, config.httpErrorRate * 100);
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        log.info("Entegrasyon stub'ı durdu — istekler: {}", getRequestCounts());
+    }
+
+    /** EnvironmentConfig.setHost için tam adres, ör. http://127.0.0.1:51234/app/api/integration/buyer/v0 */
+    public String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Stub sunucu başlatılmadı");
+        }
+        return "http://" + config.bindAddress + ":" + server.getAddress().getPort() + config.basePath;
+    }
+
+    public int getPort() {
+        return server == null ? -1 : server.getAddress().getPort();
+    }
+
+    /** Uç nokta (ör. "/invoice/upload") → gelen istek sayısı. */
+    public Map<String, Long> getRequestCounts() {
+        Map<String, Long> out = new HashMap<>();
+        requestCounts.forEach((k, v) -> out.put(k, v.sum()));
+        return out;
+    }
+
+    public int getInvoiceCount() {
+        return invoices.size();
+    }
+
+    public int getAuctionCount() {
+        return auctions.size();
+    }
+
+    /** Bellekteki fatura, ihale ve oturumları siler; sayaçlar sıfırlanır. */
+    public void reset() {
+        invoices.clear();
+        auctions.clear();
+        sessions.clear();
+        requestCounts.clear();
+        sequence.set(0);
+    }
+
+    // ============== HTTP ==============
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring(config.basePath.length());
+            requestCounts.computeIfAbsent(path, k -> new LongAdder()).increment();
+            Map<String, String> form = parseForm(exchange);
+            long n = sequence.incrementAndGet();
+
+            long delay = config.latencyMillis + (config.jitterMillis > 0 ? (long) (roll(n, 1) * (config.jitterMillis + 1)) : 0);
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                send(exchange, 405, "text/plain", "Method Not Allowed");
+                return;
+            }
+            if (config.httpErrorRate > 0 && roll(n, 2) < config.httpErrorRate) {
+                send(exchange, 500, "text/html;charset=UTF-8",
+                        "<html><body><h1>500 Internal Server Error</h1><p>stub</p></body></html>");
+                return;
+            }
+            ObjectNode response = dispatch(path, exchange.getRequestHeaders().getFirst(HEADER_PARAMS), form, n);
+            if (response == null) {
+                send(exchange, 404, "text/plain", "Not Found: " + path);
+                return;
+            }
+            if (config.sessionRejectedCode == null && INVALID_SESSION.equals(response.path("errorCode").asText())) {
+                send(exchange, 401, "application/json;charset=UTF-8", MAPPER.writeValueAsString(response));
+                return;
+            }
+            send(exchange, 200, "application/json;charset=UTF-8", MAPPER.writeValueAsString(response));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        } catch (RuntimeException e) {
+            log.warn("Stub isteği işlenemedi: {}", e.toString());
+            send(exchange, 500, "text/plain", e.toString());
+        }
+    }
+
+    private ObjectNode dispatch(String path, String headerParams, Map<String, String> form, long n) {
+        JsonNode header = readJson(headerParams);
+        if (header == null || (config.apiKey != null && !config.apiKey.equals(header.path("apiKey").asText()))) {
+            return error("INVALID_API_KEY", "API anahtarı geçersiz");
+        }
+        if ("/authenticate".equals(path) || "/authentication".equals(path)) {
+            return authenticate(readJson(form.get("authenticateParam")));
+        }
+        if (!isValidSession(header.path("sessionId").asText(""))) {
+            return error(config.sessionRejectedCode != null ? config.sessionRejectedCode : INVALID_SESSION,
+                    "Oturum geçersiz veya süresi dolmuş");
+        }
+        if (config.errorRate > 0 && roll(n, 3) < config.errorRate) {
+            return error(INJECTED_ERROR, "Enjekte edilmiş hata");
+        }
+        switch (path) {
+            case "/invoice/upload":
+                return uploadInvoice(readJson(form.get("uploadInvoiceParam")));
+            case "/invoice/history":
+                return invoiceHistory(readJson(form.get("invoiceHistoryParam")));
+            case "/invoice/delete":
+                return deleteInvoice(readJson(form.get("deleteInvoiceParam")));
+            case "/auction":
+                return uploadAuction(readJson(form.get("uploadAuctionParam")));
+            case "/auction/detail":
+                return auctionDetail(readJson(form.get("auctionDetailParam")));
+            case "/auction/reject":
+                return rejectAuction(readJson(form.get("rejectAuctionParam")));
+            default:
+                return null;
+        }
+    }
+
+    // ============== Uç noktalar ==============
+
+    private ObjectNode authenticate(JsonNode param) {
+        if (param == null || param.path("alias").asText("").isEmpty()) {
+            return error("INVALID_REQUEST_PARAMS", "authenticateParam eksik");
+        }
+        if ((config.password != null && !config.password.equals(param.path("password").asText()))
+                || (config.alias != null && !config.alias.equals(param.path("alias").asText()))) {
+            return error("INVALID_USER", "Kullanıcı adı veya şifre hatalı");
+        }
+        String sessionId = UUID.randomUUID().toString();
+        sessions.put(sessionId, System.currentTimeMillis());
+        ObjectNode result = MAPPER.createObjectNode();
+        result.put("sessionId", sessionId);
+        result.put("message", "OK");
+        result.put("userType", "BUYER");
+        result.put("companyName", "STUB " + param.path("taxNumber").asText(""));
+        result.put("userName", param.path("alias").asText());
+        return success(result);
+    }
+
+    private ObjectNode uploadInvoice(JsonNode param) {
+        if (param == null) {
+            return error("INVALID_REQUEST_PARAMS", "uploadInvoiceParam eksik");
+        }
+        String invoiceNo = param.path("invoiceNo").asText("");
+        String supplierTaxNo = param.path("supplierTaxNo").asText("");
+        if (invoiceNo.isEmpty() || param.path("userEmail").asText("").isEmpty()
+                || param.path("invoiceDate").asText("").isEmpty() || param.path("dueDate").asText("").isEmpty()) {
+            return error("INVALID_REQUEST_PARAMS", "Zorunlu alan eksik");
+        }
+        if (!supplierTaxNo.matches("\\d{10,11}")) {
+            return error("INVALID_TAX_NUMBER", "Geçersiz vergi numarası: " + supplierTaxNo);
+        }
+        String invoiceType = param.path("invoiceType").asText("");
+        if (!INVOICE_TYPES.contains(invoiceType)) {
+            return error("INVALID_INVOICE_TYPE", "Geçersiz fatura tipi: " + invoiceType);
+        }
+        if (!CURRENCIES.contains(param.path("currencyType").asText(""))) {
+            return error("INVALID_INVOICE_CURRENCY_TYPE", "Geçersiz para birimi");
+        }
+        if (param.path("invoiceAmount").asDouble(0) <= 0) {
+            return error("INVALID_REQUESTED_AMOUNT", "Fatura tutarı pozitif olmalı");
+        }
+        if ("E_FATURA".equals(invoiceType) && param.path("hashCode").asText("").isEmpty()) {
+            return error("INVALID_HASH_CODE", "E_FATURA için hashCode zorunlu");
+        }
+
+        ObjectNode stored = ((ObjectNode) param).deepCopy();
+        stored.put("status", "UPLOADED");
+        stored.put("uploadDate", OffsetDateTime.now().toString());
+        if (invoices.putIfAbsent(supplierTaxNo + "|" + invoiceNo, stored) != null) {
+            return error("EXIST_INVOICE", "Fatura zaten mevcut: " + invoiceNo);
+        }
+        ObjectNode result = MAPPER.createObjectNode();
+        result.put("invoiceNo", invoiceNo);
+        result.put("message", "Fatura yüklendi");
+        return success(result);
+    }
+
+    private ObjectNode invoiceHistory(JsonNode param) {
+        if (param == null) {
+            return error("INVALID_REQUEST_PARAMS", "invoiceHistoryParam eksik");
+        }
+        // Gerçek servisteki gibi yükleme tarihi [fromDate, toDate] penceresine göre süzülür
+        OffsetDateTime from = parseDate(param.path("fromDate").asText(""));
+        OffsetDateTime to = parseDate(param.path("toDate").asText(""));
+        ArrayNode result = MAPPER.createArrayNode();
+        for (ObjectNode invoice : invoices.values()) {
+            OffsetDateTime uploaded = OffsetDateTime.parse(invoice.path("uploadDate").asText());
+            if ((from == null || !uploaded.isBefore(from)) && (to == null || !uploaded.isAfter(to))) {
+                result.add(invoice);
+            }
+        }
+        return success(result);
+    }
+
+    /** "yyyy-MM-dd'T'HH:mm:ss.SSSXX" veya "yyyy-MM-dd"; okunamazsa null (süzme yapılmaz). */
+    private static OffsetDateTime parseDate(String text) {
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(text, REQUEST_DATE);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(text).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private ObjectNode deleteInvoice(JsonNode param) {
+        if (param == null || param.path("invoiceNo").asText("").isEmpty()) {
+            return error("INVALID_REQUEST_PARAMS", "deleteInvoiceParam eksik");
+        }
+        String invoiceNo = param.path("invoiceNo").asText();
+        if (invoices.remove(param.path("supplierTaxNo").asText("") + "|" + invoiceNo) == null) {
+            return error("NOT_EXIST_INVOICE", "Fatura bulunamadı: " + invoiceNo);
+        }
+        ObjectNode result = MAPPER.createObjectNode();
+        result.put("invoiceNo", invoiceNo);
+        result.put("message", "Fatura silindi");
+        return success(result);
+    }
+
+    private ObjectNode uploadAuction(JsonNode param) {
+        if (param == null || param.path("referenceNo").asText("").isEmpty() || !param.path("invoices").isArray()
+                || param.path("invoices").size() == 0) {
+            return error("INVALID_REQUEST_PARAMS", "uploadAuctionParam eksik");
+        }
+        String referenceNo = param.path("referenceNo").asText();
+        ObjectNode auction = MAPPER.createObjectNode();
+        auction.put("referenceNo", referenceNo);
+        auction.put("status", "WAITING_FOR_OFFER");
+        auction.put("totalPayableAmount", param.path("totalPayableAmount").asDouble(0));
+        auction.put("totalRequestedAmount", param.path("totalRequestedAmount").asDouble(0));
+        auction.put("totalFactoringCount", param.path("invoices").size());
+        auction.put("locked", param.path("locked").asBoolean(false));
+        auction.put("createDate", OffsetDateTime.now().toString());
+        auction.set("invoices", param.path("invoices").deepCopy());
+        if (auctions.putIfAbsent(referenceNo, auction) != null) {
+            return error("EXIST_AUCTION", "İhale zaten mevcut: " + referenceNo);
+        }
+        ObjectNode result = MAPPER.createObjectNode();
+        result.put("referenceNo", referenceNo);
+        result.put("status", "WAITING_FOR_OFFER");
+        result.put("message", "İhale oluşturuldu");
+        return success(result);
+    }
+
+    private ObjectNode auctionDetail(JsonNode param) {
+        ObjectNode auction = param == null ? null : auctions.get(param.path("referenceNo").asText(""));
+        if (auction == null) {
+            return error("NOT_EXIST_AUCTION", "İhale bulunamadı");
+        }
+        ObjectNode result = MAPPER.createObjectNode();
+        synchronized (auction) {
+            result.set("auction", auction.deepCopy());
+        }
+        return success(result);
+    }
+
+    private ObjectNode rejectAuction(JsonNode param) {
+        ObjectNode auction = param == null ? null : auctions.get(param.path("referenceNo").asText(""));
+        if (auction == null) {
+            return error("NOT_EXIST_AUCTION", "İhale bulunamadı");
+        }
+        String rejectDate = OffsetDateTime.now().toString();
+        synchronized (auction) {
+            if ("REJECTED".equals(auction.path("status").asText())) {
+                return error("AUCTION_ALREADY_REJECTED", "İhale zaten reddedilmiş");
+            }
+            auction.put("status", "REJECTED");
+            auction.put("rejectDate", rejectDate);
+        }
+        ObjectNode result = MAPPER.createObjectNode();
+        result.put("referenceNo", auction.path("referenceNo").asText());
+        result.put("status", "REJECTED");
+        result.put("rejectDate", rejectDate);
+        result.put("message", "İhale reddedildi");
+        return success(result);
+    }
+
+    // ============== Yardımcılar ==============
+
+    private boolean isValidSession(String sessionId) {
+        Long createdAt = sessionId.isEmpty() ? null : sessions.get(sessionId);
+        if (createdAt == null) {
+            return false;
+        }
+        if (config.sessionTtlMillis > 0 && System.currentTimeMillis() - createdAt > config.sessionTtlMillis) {
+            sessions.remove(sessionId);
+            return false;
+        }
+        return true;
+    }
+
+    /** n. istek için [0,1) arası sayı; aynı tohum + n + kanal her zaman aynı değeri verir. */
+    private double roll(long n, int channel) {
+        long z = config.seed + n * 0x9E3779B97F4A7C15L + channel * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    private static ObjectNode success(JsonNode result) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("success", true);
+        node.set("result", result);
+        return node;
+    }
+
+    private static ObjectNode error(String errorCode, String errorMessage) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("success", false);
+        node.put("errorCode", errorCode);
+        node.put("errorMessage", errorMessage);
+        return node;
+    }
+
+    private static JsonNode readJson(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            JsonNode node = MAPPER.readTree(value);
+            return node.isObject() ? node : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> parseForm(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> form = new HashMap<>();
+        if (body.isEmpty()) {
+            return form;
+        }
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    public static class Builder {
+        private String bindAddress = "127.0.0.1";
+        private int port;
+        private String basePath = DEFAULT_BASE_PATH;
+        private long latencyMillis;
+        private long jitterMillis;
+        private double errorRate;
+        private double httpErrorRate;
+        private int threads = 32;
+        private long seed = 42;
+        private long sessionTtlMillis;
+        private String apiKey;
+        private String alias;
+        private String password;
+        private String sessionRejectedCode = firstConfiguredRejectedCode();
+
+        /** 0: boş bir port seçilir (bkz. {@link #getPort()}). */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder bindAddress(String bindAddress) {
+            this.bindAddress = bindAddress;
+            return this;
+        }
+
+        public Builder basePath(String basePath) {
+            this.basePath = basePath;
+            return this;
+        }
+
+        /** Her cevaptan önce beklenen sabit süre. */
+        public Builder latencyMillis(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+            return this;
+        }
+
+        /** Sabit gecikmeye eklenen 0..jitter ms (tohumdan). */
+        public Builder jitterMillis(long jitterMillis) {
+            this.jitterMillis = jitterMillis;
+            return this;
+        }
+
+        /** Oturumlu isteklerin bu oranı success=false / STUB_INJECTED_ERROR döner (0-1). */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /** İsteklerin bu oranı HTTP 500 + HTML gövde döner (0-1). */
+        public Builder httpErrorRate(double httpErrorRate) {
+            this.httpErrorRate = httpErrorRate;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /** 0: oturumlar süresiz; aksi halde süresi dolan sessionId reddedilir (bkz. {@link #sessionRejectedCode}). */
+        public Builder sessionTtlMillis(long sessionTtlMillis) {
+            this.sessionTtlMillis = sessionTtlMillis;
+            return this;
+        }
+
+        /**
+         * Geçersiz oturumun cevabı: null → HTTP 401 (+ {@value #INVALID_SESSION} zarfı); verilirse HTTP 200,
+         * success=false ve bu errorCode. Varsayılan, istemcinin tanıdığı {@code api.session.rejected.codes}
+         * listesinin ilk kodudur (liste boşsa 401) — stub gerçek sunucu için yapılandırılan davranışı taklit eder.
+         */
+        public Builder sessionRejectedCode(String sessionRejectedCode) {
+            this.sessionRejectedCode = sessionRejectedCode;
+            return this;
+        }
+
+        private static String firstConfiguredRejectedCode() {
+            for (String code : ConfigReader.getProperty("api.session.rejected.codes", "").split(",")) {
+                if (!code.trim().isEmpty()) {
+                    return code.trim();
+                }
+            }
+            return null;
+        }
+
+        /** Verilirse yalnızca bu apiKey / alias / şifre kabul edilir; verilmezse her değer geçer. */
+        public Builder credentials(String apiKey, String alias, String password) {
+            this.apiKey = apiKey;
+            this.alias = alias;
+            this.password = password;
+            return this;
+        }
+
+        public IntegrationStubServer build() {
+            if (threads < 1) {
+                throw new IllegalArgumentException("En az bir thread gerekli: " + threads);
+            }
+            if (errorRate < 0 || errorRate > 1 || httpErrorRate < 0 || httpErrorRate > 1) {
+                throw new IllegalArgumentException("Hata oranları 0-1 arasında olmalı");
+            }
+            if (!basePath.startsWith("/") || basePath.endsWith("/")) {
+                throw new IllegalArgumentException("basePath '/' ile başlamalı, '/' ile bitmemeli: " + basePath);
+            }
+            return new IntegrationStubServer(this);
+        }
+    }
+
+    // ============== CLI ==============
+
+    public static void main(String[] args) throws InterruptedException {
+        Builder builder = fromConfig();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--port": builder.port(Integer.parseInt(value)); break;
+                case "--latency-ms": builder.latencyMillis(Long.parseLong(value)); break;
+                case "--jitter-ms": builder.jitterMillis(Long.parseLong(value)); break;
+                case "--error-rate": builder.errorRate(Double.parseDouble(value)); break;
+                case "--http-error-rate": builder.httpErrorRate(Double.parseDouble(value)); break;
+                case "--threads": builder.threads(Integer.parseInt(value)); break;
+                case "--seed": builder.seed(Long.parseLong(value)); break;
+                case "--session-ttl-ms": builder.sessionTtlMillis(Long.parseLong(value)); break;
+                default: throw new IllegalArgumentException("Bilinmeyen argüman: " + args[i]);
+            }
+        }
+        IntegrationStubServer stub = builder.build().start();
+        System.out.println("Stub: " + stub.getBaseUrl());
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::stop));
+        Thread.currentThread().join();
+    }
+}
@@ -70,6 +70,46 @@ public class ConfigReader {
         return value;
     }
     
+    /**
+     * Integer property; a missing or malformed value falls back to the default
+     * instead of failing the caller's static initialisation.
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = getProperty(key, String.valueOf(defaultValue)).trim();
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            log.warn("Property '{}' is not an integer ('{}'), using default: {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /** Long variant of {@link #getInt(String, int)}. */
+    public static long getLong(String key, long defaultValue) {
+        String value = getProperty(key, String.valueOf(defaultValue)).trim();
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            log.warn("Property '{}' is not a number ('{}'), using default: {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /** Double variant of {@link #getInt(String, int)}. */
+    public static double getDouble(String key, double defaultValue) {
+        String value = getProperty(key, String.valueOf(defaultValue)).trim();
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            log.warn("Property '{}' is not a number ('{}'), using default: {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static String getEnvironment() {
+        return environment;
+    }
+    
     public static void setEnvironment(String env) {
         log.info("Changing environment from {} to {}", environment, env);
         environment = env;
@@ -7,15 +7,15 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EnvironmentManager {
     
     private static final Logger log = LogManager.getLogger(EnvironmentManager.class);
     private static final String CONFIG_PATH = "src/test/resources/config/";
     private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final Map<String, EnvironmentConfig> environments = new HashMap<>();
+    private static final Map<String, EnvironmentConfig> environments = new ConcurrentHashMap<>();
     
     public static class EnvironmentConfig {
         private String host;
@@ -48,6 +48,19 @@ public class EnvironmentManager {
         public String getSessionId() { return sessionId; }
         public void setSessionId(String sessionId) { this.sessionId = sessionId; }
         
+        /** Independent copy, so a session id set by one API client is not seen by another. */
+        public EnvironmentConfig copy() {
+            EnvironmentConfig c = new EnvironmentConfig();
+            c.host = host;
+            c.apiKey = apiKey;
+            c.alias = alias;
+            c.password = password;
+            c.taxNumber = taxNumber;
+            c.userEmail = userEmail;
+            c.sessionId = sessionId;
+            return c;
+        }
+        
         @Override
         public String toString() {
             return "EnvironmentConfig{" +
@@ -60,8 +73,10 @@ public class EnvironmentManager {
     }
     
     public static EnvironmentConfig loadEnvironment(String environmentName) {
-        if (environments.containsKey(environmentName)) {
-            return environments.get(environmentName);
+        // Callers get their own copy: scenarios running in parallel must not share sessionId
+        EnvironmentConfig cached = environments.get(environmentName);
+        if (cached != null) {
+            return cached.copy();
         }
         
         try {
@@ -112,7 +127,7 @@ public class EnvironmentManager {
             
             environments.put(environmentName, config);
             log.info("Environment loaded successfully: {}", config);
-            return config;
+            return config.copy();
             
         } catch (IOException e) {
             log.error("Failed to load environment: {}", environmentName, e);
@@ -120,6 +135,12 @@ public class EnvironmentManager {
         }
     }
     
+    /** True when {@code <name>.postman_environment.json} exists (not every listed tenant is checked in). */
+    public static boolean isConfigured(String environmentName) {
+        return environments.containsKey(environmentName)
+                || new File(CONFIG_PATH + environmentName + ".postman_environment.json").exists();
+    }
+    
     public static String[] getBuyerEnvironments() {
         return new String[]{
             "dev.faturalab.buyer.albc",
@@ -0,0 +1,258 @@
+package com.faturalab.automation.context;
+
+import com.faturalab.automation.config.ConfigReader;
+import com.faturalab.automation.context.RoleSessionManager.Role;
+import com.faturalab.automation.context.VaadinUidlClient.VNode;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Admin login ve "GİT" ile kullanıcıya geçişi tarayıcı olmadan, Vaadin'in UIDL protokolü
+ * üzerinden yapar ({@link VaadinUidlClient}); sonuçta oluşan oturum cookie'lerini döner.
+ * RoleSessionManager bu cookie'leri WebDriver'a yükleyip tek navigasyonla oturumu açar.
+ *
+ * UI yolundaki adımların HTTP karşılığı:
+ *  1. v-r=init → login formu; e-posta/şifre mSync + change, "GİRİŞ YAP" click
+ *  2. yeni UI → "Kullanıcılar" → rol sekmesi → grid satırlarını setRequestedRange ile iste
+ *  3. hedefi içeren satırın GİT bileşenine click → onay dialogu "confirm"/"Evet"
+ *  4. yeni UI ile admin Kullanıcılar ekranından çıkıldığını doğrula
+ *
+ * Ayarlar (properties veya -D):
+ *  login.mode=ui|http                 → http: loginAs önce bu yolu dener (varsayılan ui)
+ *  login.http.base.url=&lt;base.url&gt;     → stub sunucuya yönlendirmek için
+ *  login.http.timeout.seconds=30
+ *  login.http.max.rows=2000           → hedef satır aranırken istenecek en fazla grid satırı
+ *  login.http.record.dir=             → doluysa UIDL cevapları stub için diske yazılır
+ *
+ * Herhangi bir adım beklenen node'u bulamazsa IOException fırlatır; çağıran UI yoluna düşer.
+ * Login ekranının kendisini test eden senaryolar LoginPage kullandığı için bu yoldan etkilenmez.
+ */
+public final class HttpSessionBootstrapper {
+
+    private static final Logger log = LogManager.getLogger(HttpSessionBootstrapper.class);
+
+    private static final int RANGE_PAGE = 100;
+
+    private HttpSessionBootstrapper() {
+    }
+
+    public static boolean isEnabled() {
+        return "http".equalsIgnoreCase(ConfigReader.getProperty("login.mode", "ui").trim());
+    }
+
+    /**
+     * @param identifier ADMIN dışı rollerde Kullanıcılar grid'inde aranacak firma/e-posta
+     * @return WebDriver'a yüklenecek oturum cookie'leri
+     */
+    public static List<Cookie> bootstrap(Role role, String identifier) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        String baseUrl = ConfigReader.getProperty("login.http.base.url", ConfigReader.getProperty("base.url"));
+        int timeout = ConfigReader.getInt("login.http.timeout.seconds", 30);
+        String recordDir = ConfigReader.getProperty("login.http.record.dir", "");
+        Path record = recordDir.isEmpty() ? null : Paths.get(recordDir);
+
+        VaadinUidlClient client = new VaadinUidlClient(baseUrl, Duration.ofSeconds(timeout), record);
+        client.init("");
+        login(client, ConfigReader.getProperty("admin.email"), ConfigReader.getProperty("admin.password"));
+        log.info("[{}] HTTP admin login tamamlandı.", role.getDisplayName());
+
+        if (role != Role.ADMIN) {
+            impersonate(client, role, identifier);
+            log.info("[{}] HTTP impersonation tamamlandı: {}", role.getDisplayName(), identifier);
+        }
+
+        List<Cookie> cookies = toSeleniumCookies(client);
+        if (cookies.isEmpty()) {
+            throw new IOException("HTTP login sonrası cookie oluşmadı.");
+        }
+        log.info("[{}] HTTP oturumu hazır: {} cookie, {} ms",
+                role.getDisplayName(), cookies.size(), System.currentTimeMillis() - start);
+        return cookies;
+    }
+
+    private static void login(VaadinUidlClient client, String email, String password)
+            throws IOException, InterruptedException {
+        VNode emailField = first(client, n -> ("vaadin-text-field".equals(n.tag()) || "vaadin-email-field".equals(n.tag()))
+                && (n.property("placeholder") == null || n.property("placeholder").contains("E-posta")),
+                "e-posta alanı");
+        VNode passwordField = first(client, n -> "vaadin-password-field".equals(n.tag()), "şifre alanı");
+        VNode loginButton = button(client, "GİRİŞ YAP");
+
+        client.setValue(emailField, email);
+        client.setValue(passwordField, password);
+        client.click(loginButton);
+
+        // Login sonrası sayfa yeniden yüklenir; yeni UI'da login butonu kalmamalı
+        client.init("");
+        if (!findButtons(client, "GİRİŞ YAP").isEmpty()) {
+            throw new IOException("HTTP login reddedildi (login formu hâlâ görünüyor).");
+        }
+    }
+
+    private static void impersonate(VaadinUidlClient client, Role role, String identifier)
+            throws IOException, InterruptedException {
+        client.click(button(client, "Kullanıcılar"));
+        String tab = RoleSessionManager.roleToTabName(role);
+        List<VNode> tabs = findButtons(client, tab);
+        if (!tabs.isEmpty()) {
+            client.click(tabs.get(0));
+        }
+
+        VNode git = findGitForTarget(client, identifier);
+        client.click(git);
+
+        // Onay: ConfirmDialog ise "confirm" olayı, düz Dialog ise "Evet" butonu
+        List<VNode> confirmDialogs = client.find(n -> "vaadin-confirm-dialog".equals(n.tag())
+                && "true".equals(n.property("opened")));
+        if (!confirmDialogs.isEmpty()) {
+            client.fireEvent(confirmDialogs.get(confirmDialogs.size() - 1), "confirm");
+        } else {
+            List<VNode> evet = findButtons(client, "Evet");
+            if (!evet.isEmpty()) {
+                client.click(evet.get(evet.size() - 1));
+            } else {
+                log.debug("[{}] GİT onay dialogu gelmedi.", role.getDisplayName());
+            }
+        }
+
+        client.init("");
+        boolean stillAdmin = !findButtons(client, "Yeni Admin Ekle").isEmpty()
+                || !findButtons(client, "GİT").isEmpty();
+        if (stillAdmin) {
+            throw new IOException("HTTP impersonation doğrulanamadı — oturum hâlâ admin Kullanıcılar ekranında.");
+        }
+    }
+
+    /**
+     * Kullanıcılar grid'inin satırlarını sayfa sayfa ister; item JSON'unda hedefi (Türkçe
+     * katlanmış) içeren satırın bileşen kolonundaki GİT butonunu döner.
+     */
+    private static VNode findGitForTarget(VaadinUidlClient client, String identifier)
+            throws IOException, InterruptedException {
+        String target = fold(identifier);
+        int maxRows = ConfigReader.getInt("login.http.max.rows", 2000);
+        List<VNode> grids = client.find(n -> "vaadin-grid".equals(n.tag()));
+        if (grids.isEmpty()) {
+            throw new IOException("Kullanıcılar grid'i bulunamadı.");
+        }
+        VNode grid = grids.get(0);
+        for (int startRow = 0; startRow < maxRows; startRow += RANGE_PAGE) {
+            int before = client.executed().size();
+            client.callServer(grid, "setRequestedRange", startRow, RANGE_PAGE);
+            VNode git = scanItemsForGit(client, target);
+            if (git != null) {
+                return git;
+            }
+            if (client.executed().size() == before) {
+                break; // sunucu yeni satır göndermedi: grid'in sonu
+            }
+        }
+        throw new IOException("Grid'de hedef satır bulunamadı: " + identifier);
+    }
+
+    private static VNode scanItemsForGit(VaadinUidlClient client, String target) {
+        for (JsonNode exec : client.executed()) {
+            for (JsonNode param : exec) {
+                if (!param.isArray()) continue;
+                for (JsonNode item : param) {
+                    if (!item.isObject() || !itemMatches(item, target)) continue;
+                    Iterator<Map.Entry<String, JsonNode>> fields = item.fields();
+                    while (fields.hasNext()) {
+                        Map.Entry<String, JsonNode> f = fields.next();
+                        if (!f.getValue().isInt() || !f.getKey().toLowerCase(Locale.ROOT).endsWith("nodeid")) continue;
+                        VNode git = gitInSubtree(client, client.node(f.getValue().asInt()), 0);
+                        if (git != null) return git;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean itemMatches(JsonNode item, String target) {
+        Iterator<JsonNode> values = item.elements();
+        while (values.hasNext()) {
+            JsonNode v = values.next();
+            if (v.isTextual() && fold(v.asText()).contains(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static VNode gitInSubtree(VaadinUidlClient client, VNode node, int depth) {
+        if (node == null || depth > 8) return null;
+        if ("vaadin-button".equals(node.tag()) && isGit(client.text(node))) return node;
+        for (VNode child : client.find(n -> n.parent != null && n.parent == node.id)) {
+            VNode hit = gitInSubtree(client, child, depth + 1);
+            if (hit != null) return hit;
+        }
+        return null;
+    }
+
+    private static boolean isGit(String text) {
+        String t = text.trim();
+        return t.equals("GİT") || t.toUpperCase(Locale.ROOT).equals("GIT");
+    }
+
+    private static List<VNode> findButtons(VaadinUidlClient client, String text) {
+        return client.find(n -> "vaadin-button".equals(n.tag())
+                && (text.equalsIgnoreCase(client.text(n)) || ("GİT".equals(text) && isGit(client.text(n)))));
+    }
+
+    private static VNode button(VaadinUidlClient client, String text) throws IOException {
+        List<VNode> found = findButtons(client, text);
+        if (found.isEmpty()) {
+            throw new IOException("'" + text + "' butonu UI ağacında bulunamadı.");
+        }
+        return found.get(0);
+    }
+
+    private static VNode first(VaadinUidlClient client, java.util.function.Predicate<VNode> p, String what)
+            throws IOException {
+        List<VNode> found = client.find(p);
+        if (found.isEmpty()) {
+            throw new IOException(what + " UI ağacında bulunamadı.");
+        }
+        return found.get(0);
+    }
+
+    private static List<Cookie> toSeleniumCookies(VaadinUidlClient client) {
+        List<Cookie> result = new ArrayList<>();
+        String host = client.appUri().getHost();
+        for (HttpCookie c : client.cookies()) {
+            Cookie.Builder b = new Cookie.Builder(c.getName(), c.getValue())
+                    .domain(c.getDomain() != null ? c.getDomain() : host)
+                    .path(c.getPath() != null ? c.getPath() : "/")
+                    .isSecure(c.getSecure())
+                    .isHttpOnly(c.isHttpOnly());
+            if (c.getMaxAge() > 0) {
+                b.expiresOn(new Date(System.currentTimeMillis() + c.getMaxAge() * 1000L));
+            }
+            result.add(b.build());
+        }
+        return result;
+    }
+
+    /** VaadinGridFilterHelper.TR_FOLD (sayfa içi fold) yardımcısının Java karşılığı. */
+    static String fold(String s) {
+        if (s == null) return "";
+        return s.replaceAll("[İıI]", "i").replaceAll("[şŞ]", "s").replaceAll("[ğĞ]", "g")
+                .replaceAll("[üÜ]", "u").replaceAll("[öÖ]", "o").replaceAll("[çÇ]", "c")
+                .replaceAll("[âÂ]", "a").toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+    }
+}
@@ -0,0 +1,194 @@
+package com.faturalab.automation.context;
+
+import com.faturalab.automation.config.ConfigReader;
+import com.faturalab.automation.context.RoleSessionManager.Role;
+import com.faturalab.automation.driver.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Her rolü aynı Chrome süreci içinde kendi CDP browser context'inde (ayrı cookie kavanozu,
+ * ayrı sekme) tutar.
+ *
+ * Cookie modunda rol geçişi: base.url → cookie sil → cookie yükle → refresh → Vaadin bootstrap.
+ * Context modunda her rol kendi sekmesinde oturum açık bekler; geçiş yalnızca pencere
+ * değişimidir (reload yok, Vaadin bootstrap yok).
+ *
+ * Ayar: role.switch.mode=cookie|context (varsayılan cookie). Context modu yalnızca CDP
+ * destekleyen sürücülerde (Chrome/Edge) devreye girer; diğerlerinde cookie moduna düşülür.
+ *
+ * Sekmeler thread'e bağlıdır; {@link #disposeAll()} tüm context'leri kapatıp sürücüyü
+ * başlangıç penceresine döndürür (RoleSessionManager.clearAllSessions çağırır).
+ */
+public final class RoleBrowserContexts {
+
+    private static final Logger log = LogManager.getLogger(RoleBrowserContexts.class);
+
+    private static final class Tab {
+        private final String handle;
+        private final String contextId;
+
+        private Tab(String handle, String contextId) {
+            this.handle = handle;
+            this.contextId = contextId;
+        }
+    }
+
+    private static final class State {
+        private WebDriver driver;
+        private String originalHandle;
+        private final Map<Role, Tab> tabs = new EnumMap<>(Role.class);
+    }
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private RoleBrowserContexts() {
+    }
+
+    public static boolean isContextMode() {
+        return "context".equalsIgnoreCase(ConfigReader.getProperty("role.switch.mode", "cookie").trim());
+    }
+
+    /** Context modu açık ve sürücü CDP destekliyorsa true. */
+    public static boolean isActive(WebDriver driver) {
+        return isContextMode() && DriverManager.asCdp(driver) != null;
+    }
+
+    public static boolean hasTab(WebDriver driver, Role role) {
+        State state = STATE.get();
+        return state.driver == driver && state.tabs.containsKey(role);
+    }
+
+    /**
+     * Rolün sekmesine geçer; sekme yoksa yeni bir browser context + sekme açar.
+     * Sonraki WebDriver komutları bu sekmede çalışır.
+     */
+    public static void openFor(WebDriver driver, Role role) {
+        State state = STATE.get();
+        if (state.driver != driver) {
+            // Sürücü değişmiş (quit + yeniden oluşturma): eski kayıtlar geçersiz
+            state.tabs.clear();
+            state.driver = driver;
+            state.originalHandle = driver.getWindowHandle();
+        }
+        if (state.tabs.containsKey(role)) {
+            switchTo(driver, role);
+            return;
+        }
+
+        HasCdp cdp = DriverManager.asCdp(driver);
+        Set<String> before = new HashSet<>(driver.getWindowHandles());
+        Map<String, Object> ctx = cdp.executeCdpCommand("Target.createBrowserContext",
+                Collections.singletonMap("disposeOnDetach", false));
+        String contextId = String.valueOf(ctx.get("browserContextId"));
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("url", "about:blank");
+        params.put("browserContextId", contextId);
+        Map<String, Object> target = cdp.executeCdpCommand("Target.createTarget", params);
+        String targetId = String.valueOf(target.get("targetId"));
+
+        String handle = findNewHandle(driver, before, targetId);
+        if (handle == null) {
+            disposeContext(cdp, contextId);
+            throw new IllegalStateException("[" + role.getDisplayName()
+                    + "] yeni browser context sekmesi WebDriver penceresi olarak görünmedi (target " + targetId + ").");
+        }
+        state.tabs.put(role, new Tab(handle, contextId));
+        driver.switchTo().window(handle);
+        log.info("[{}] Ayrı browser context açıldı: {}", role.getDisplayName(), contextId);
+    }
+
+    /**
+     * Rolün sekmesine geçer.
+     *
+     * @return sekme varsa true; yoksa false (çağıran cookie yoluna düşer)
+     */
+    public static boolean switchTo(WebDriver driver, Role role) {
+        State state = STATE.get();
+        Tab tab = state.driver == driver ? state.tabs.get(role) : null;
+        if (tab == null) {
+            return false;
+        }
+        driver.switchTo().window(tab.handle);
+        try {
+            // Arka plandaki sekme zamanlayıcıları kısılır; öne al
+            String targetId = tab.handle.startsWith("CDwindow-") ? tab.handle.substring(9) : tab.handle;
+            DriverManager.asCdp(driver).executeCdpCommand("Target.activateTarget",
+                    Collections.singletonMap("targetId", targetId));
+        } catch (Exception e) {
+            log.debug("[{}] Target.activateTarget başarısız: {}", role.getDisplayName(), e.getMessage());
+        }
+        return true;
+    }
+
+    /** Tüm rol sekmelerini ve context'lerini kapatır, sürücüyü başlangıç penceresine döndürür. */
+    public static void disposeAll() {
+        State state = STATE.get();
+        WebDriver driver = state.driver;
+        if (driver != null && !state.tabs.isEmpty()) {
+            for (Map.Entry<Role, Tab> e : state.tabs.entrySet()) {
+                try {
+                    driver.switchTo().window(e.getValue().handle);
+                    driver.close();
+                } catch (Exception ex) {
+                    log.debug("[{}] Context sekmesi kapatılamadı: {}", e.getKey().getDisplayName(), ex.getMessage());
+                }
+                HasCdp cdp = DriverManager.asCdp(driver);
+                if (cdp != null) {
+                    disposeContext(cdp, e.getValue().contextId);
+                }
+            }
+            try {
+                driver.switchTo().window(state.originalHandle);
+            } catch (Exception ex) {
+                log.debug("Başlangıç penceresine dönülemedi: {}", ex.getMessage());
+            }
+            log.info("{} rol context'i kapatıldı.", state.tabs.size());
+        }
+        STATE.remove();
+    }
+
+    private static void disposeContext(HasCdp cdp, String contextId) {
+        try {
+            cdp.executeCdpCommand("Target.disposeBrowserContext",
+                    Collections.singletonMap("browserContextId", contextId));
+        } catch (Exception e) {
+            log.debug("Browser context kapatılamadı ({}): {}", contextId, e.getMessage());
+        }
+    }
+
+    /** ChromeDriver pencere handle'ı target id'dir; eşleşmezse yeni beliren handle alınır. */
+    private static String findNewHandle(WebDriver driver, Set<String> before, String targetId) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            Set<String> after = driver.getWindowHandles();
+            for (String h : after) {
+                if (h.equalsIgnoreCase(targetId) || h.equalsIgnoreCase("CDwindow-" + targetId)) {
+                    return h;
+                }
+            }
+            Set<String> added = new HashSet<>(after);
+            added.removeAll(before);
+            if (added.size() == 1) {
+                return added.iterator().next();
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -2,14 +2,20 @@ package com.faturalab.automation.context;
 
 import com.faturalab.automation.config.ConfigReader;
 import com.faturalab.automation.driver.DriverManager;
+import com.faturalab.automation.utils.ScriptRegistry;
+import com.faturalab.automation.utils.VaadinGridFilterHelper;
+import com.faturalab.automation.utils.VaadinSync;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.Cookie;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -23,6 +29,20 @@ import java.util.concurrent.ConcurrentHashMap;
  *  2. Rol geçişinde → tüm cookie'leri sil, kayıtlı cookie'leri yükle, sayfayı yenile.
  *  3. Senaryo bitişinde clearAllSessions() çağır.
  *
+ * session.cache.enabled=true iken login sonrası oturum {@link RoleSessionStore} ile diske de
+ * yazılır; sonraki loginAs çağrısı geçerli bir kaydı bulursa login + impersonation atlanır.
+ *
+ * session.prewarm.enabled=true iken {@link RoleSessionWarmup} suite başında rolleri ayrı
+ * tarayıcılarda paralel açar ve cookie'leri {@link #publish} ile tüm senaryolara yayınlar;
+ * thread'in kendi oturumu yoksa hasSession/switchToRole yayınlanmış oturumu kullanır.
+ * parallel.scenarios=true iken yayınlanmış oturum paylaşılmaz: aynı sunucu oturumunda bir senaryonun
+ * logout / impersonation'ı diğerlerine sızacağı için rolün oturumunu ilk isteyen thread devralır
+ * (sonraki senaryolarında da o kullanır), diğer thread'ler kendi login'ini yapar.
+ *
+ * role.switch.mode=context iken her rol kendi CDP browser context'inde açılır
+ * ({@link RoleBrowserContexts}); switchToRole cookie takası yerine sekme değiştirir.
+ * Geçiş süreleri moda göre {@link #switchTimingSummary()} ile raporlanır.
+ *
  * Kullanım örneği:
  *  RoleSessionManager.loginAs(driver, Role.COMPANY,   "efg@test.com",  "pass");
  *  RoleSessionManager.loginAs(driver, Role.BUYER,     "albc@test.com", "pass");
@@ -36,15 +56,38 @@ public class RoleSessionManager {
     private static final Logger log = LogManager.getLogger(RoleSessionManager.class);
 
     /**
-     * JS'e enjekte edilen Türkçe→ASCII katlama (fold) fonksiyonu.
-     * Config'te ASCII yazılan hedef ("EFG Gida") ile ekrandaki Türkçe değeri ("EFG Gıda A.Ş.")
-     * eşleştirmek için kullanılır. Her filtre/eşleşme JS bloğunun başına eklenir.
+     * Filtre dialogunda hedefin checkbox'ını işaretler (checkbox = ad hücresinin önceki hücresi).
+     * Eşleşme Türkçe→ASCII katlama (fold) ile: config'te ASCII yazılan hedef ("EFG Gida") ekrandaki
+     * Türkçe değeri ("EFG Gıda A.Ş.") bulur. fold sayfaya bir kez kurulur (VaadinGridFilterHelper.TR_FOLD).
      */
-    private static final String TR_FOLD_JS =
-            "function fold(s){return (s||'')" +
-            ".replace(/[İıI]/g,'i').replace(/[şŞ]/g,'s').replace(/[ğĞ]/g,'g')" +
-            ".replace(/[üÜ]/g,'u').replace(/[öÖ]/g,'o').replace(/[çÇ]/g,'c')" +
-            ".replace(/[âÂ]/g,'a').toLowerCase().replace(/\\s+/g,' ').trim();}";
+    private static final ScriptRegistry.Script CHECK_FILTER_TARGET = ScriptRegistry.script(
+            "var target = fold(arguments[0]);" +
+            "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
+            "var cells = Array.from(dlg.querySelectorAll('vaadin-grid.check-table vaadin-grid-cell-content'));" +
+            "var idx = cells.findIndex(function(c) {" +
+            "  var raw = (c.textContent||'');" +
+            "  if (raw.indexOf('münü seç') >= 0) return false;" +
+            "  var t = fold(raw);" +
+            "  return t.length > 0 && t.includes(target);" +
+            "});" +
+            "if (idx < 1) return null;" +
+            "var cb = cells[idx - 1].querySelector('vaadin-checkbox, input[type=checkbox]');" +
+            "if (!cb) return null;" +
+            "if (cb.checked !== true) { cb.click(); return 'isaretlendi'; }" +
+            "return 'zaten_isaretli';",
+            VaadinGridFilterHelper.TR_FOLD);
+
+    /** Hedef grid satırı GÖRÜNÜR mü (virtual scroll cache hücreleri atlanır). */
+    private static final ScriptRegistry.Script TARGET_ROW_VISIBLE = ScriptRegistry.script(
+            "var target = fold(arguments[0]);" +
+            "var cells = document.querySelectorAll('vaadin-grid vaadin-grid-cell-content');" +
+            "for (var c of cells) {" +
+            "  var r = c.getBoundingClientRect();" +
+            "  if (r.width < 2 || r.height < 2) continue;" +
+            "  if (fold(c.textContent||'').includes(target)) return true;" +
+            "}" +
+            "return false;",
+            VaadinGridFilterHelper.TR_FOLD);
 
     // ─── Rol Tanımları ────────────────────────────────────────────────────────
 
@@ -60,12 +103,34 @@ public class RoleSessionManager {
     }
 
     // ─── Oturum Deposu ────────────────────────────────────────────────────────
+    // Thread'e bağlı: paralel koşuda her senaryo thread'i (ve driver'ı) kendi oturumlarını tutar.
 
     /** Rol → cookie seti */
-    private static final Map<Role, Set<Cookie>> sessionCookies = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Role, Set<Cookie>>> sessionCookies =
+            ThreadLocal.withInitial(() -> new EnumMap<>(Role.class));
 
     /** Rol → son aktif URL (cookie domain uyumu için) */
-    private static final Map<Role, String> lastUrls = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Role, String>> lastUrls =
+            ThreadLocal.withInitial(() -> new EnumMap<>(Role.class));
+
+    /**
+     * Suite geneli: ısınma aşamasında yayınlanan rol → cookie seti. Sıralı koşuda tüm senaryolar okur;
+     * paralel koşuda ilk isteyen thread alır (bkz. {@link #claimPublished}).
+     */
+    private static final Map<Role, Set<Cookie>> publishedCookies = new ConcurrentHashMap<>();
+
+    /** Paralel koşuda bu thread'in devraldığı ısınma oturumları; clearAllSessions ile silinmez. */
+    private static final ThreadLocal<Map<Role, Set<Cookie>>> claimedCookies =
+            ThreadLocal.withInitial(() -> new EnumMap<>(Role.class));
+
+    /** Isınmada yayınlanmış roller (devralınsa da kalır; paralel koşuda yarış tespiti için). */
+    private static final Set<Role> warmedRoles = ConcurrentHashMap.newKeySet();
+
+    private static final boolean PARALLEL_SCENARIOS =
+            Boolean.parseBoolean(ConfigReader.getProperty("parallel.scenarios", "false"));
+
+    /** Rol geçiş süreleri: mod (cookie/context) → ms istatistiği. */
+    private static final Map<String, java.util.LongSummaryStatistics> switchTimings = new ConcurrentHashMap<>();
 
     // ─── Kimlik Bilgileri (properties'ten yüklenir) ───────────────────────────
 
@@ -103,6 +168,21 @@ public class RoleSessionManager {
         String adminEmail    = ConfigReader.getProperty("admin.email");
         String adminPassword = ConfigReader.getProperty("admin.password");
 
+        // 0a. Context modunda rol kendi browser context sekmesinde açılır
+        if (RoleBrowserContexts.isActive(driver)) {
+            RoleBrowserContexts.openFor(driver, role);
+        }
+
+        // 0b. Diskte geçerli oturum varsa tek navigasyonla geri yükle
+        if (restoreFromDisk(driver, role, email, baseUrl)) {
+            return;
+        }
+
+        // 0c. login.mode=http: login + impersonation UIDL üzerinden, tarayıcı yalnızca cookie alır
+        if (HttpSessionBootstrapper.isEnabled() && loginViaHttp(driver, role, email, baseUrl)) {
+            return;
+        }
+
         log.info("[{}] Admin ile login başlatılıyor: {} → {}", role.getDisplayName(), adminEmail, baseUrl);
 
         try { driver.manage().deleteAllCookies(); } catch (Exception ignored) {}
@@ -122,9 +202,10 @@ public class RoleSessionManager {
         // 2. Hedef rol admin ise oturumu kaydet ve çık
         if (role == Role.ADMIN) {
             Set<Cookie> cookies = new HashSet<>(driver.manage().getCookies());
-            sessionCookies.put(role, cookies);
-            lastUrls.put(role, driver.getCurrentUrl());
+            sessionCookies.get().put(role, cookies);
+            lastUrls.get().put(role, driver.getCurrentUrl());
             log.info("[{}] Oturum kaydedildi: {} cookie", role.getDisplayName(), cookies.size());
+            persistToDisk(role, email, cookies, driver.getCurrentUrl());
             return;
         }
 
@@ -153,9 +234,183 @@ public class RoleSessionManager {
 
         // Oturumu kaydet
         Set<Cookie> cookies = new HashSet<>(driver.manage().getCookies());
-        sessionCookies.put(role, cookies);
-        lastUrls.put(role, driver.getCurrentUrl());
+        sessionCookies.get().put(role, cookies);
+        lastUrls.get().put(role, driver.getCurrentUrl());
         log.info("[{}] İmpersonate oturumu kaydedildi: {} cookie", role.getDisplayName(), cookies.size());
+        persistToDisk(role, email, cookies, driver.getCurrentUrl());
+    }
+
+    // ─── Disk Oturum Önbelleği ────────────────────────────────────────────────
+
+    /**
+     * {@link RoleSessionStore}'da TTL içinde kayıt varsa cookie'leri yükleyip kayıtlı URL'e gider
+     * ve oturumun hâlâ geçerli olduğunu ucuz bir DOM kontrolüyle doğrular.
+     * Chrome'da cookie'ler CDP Network.setCookies ile navigasyondan önce yazılır (tek navigasyon);
+     * CDP yoksa cookie domain'i için önce base.url açılır.
+     *
+     * @return oturum geri yüklendiyse true; false ise çağıran tam login'e devam eder
+     */
+    private static boolean restoreFromDisk(WebDriver driver, Role role, String identifier, String baseUrl) {
+        if (!RoleSessionStore.isEnabled()) {
+            return false;
+        }
+        RoleSessionStore.Entry entry = RoleSessionStore.find(role, identifier);
+        if (entry == null) {
+            return false;
+        }
+
+        long start = System.currentTimeMillis();
+        List<Cookie> cookies = RoleSessionStore.toCookies(entry);
+        String target = entry.lastUrl != null ? entry.lastUrl : baseUrl;
+        try {
+            openWithCookies(driver, cookies, baseUrl, target);
+        } catch (Exception e) {
+            log.warn("[{}] Disk oturumu yüklenemedi, tam login yapılacak: {}", role.getDisplayName(), e.getMessage());
+            RoleSessionStore.invalidate(role, identifier);
+            return false;
+        }
+
+        if (!probeRestoredSession(driver, role)) {
+            log.info("[{}] Disk oturumu sunucuda geçersiz, tam login yapılacak.", role.getDisplayName());
+            RoleSessionStore.invalidate(role, identifier);
+            try { driver.manage().deleteAllCookies(); } catch (Exception ignored) {}
+            return false;
+        }
+
+        Set<Cookie> current = new HashSet<>(driver.manage().getCookies());
+        sessionCookies.get().put(role, current);
+        lastUrls.get().put(role, driver.getCurrentUrl());
+        log.info("[{}] Oturum diskten geri yüklendi ({} ms, {} cookie).",
+                role.getDisplayName(), System.currentTimeMillis() - start, current.size());
+        return true;
+    }
+
+    /**
+     * {@link HttpSessionBootstrapper} ile tarayıcısız login (+ impersonation) yapar, cookie'leri
+     * driver'a yükler ve oturumu doğrular. Herhangi bir hata UI login yoluna düşürür.
+     */
+    private static boolean loginViaHttp(WebDriver driver, Role role, String identifier, String baseUrl) {
+        long start = System.currentTimeMillis();
+        try {
+            List<Cookie> cookies = HttpSessionBootstrapper.bootstrap(role, identifier);
+            openWithCookies(driver, cookies, baseUrl, baseUrl);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("[{}] HTTP login başarısız, UI login yapılacak: {}", role.getDisplayName(), e.getMessage());
+            return false;
+        }
+        if (!probeRestoredSession(driver, role)) {
+            log.warn("[{}] HTTP oturumu tarayıcıda doğrulanamadı, UI login yapılacak.", role.getDisplayName());
+            try { driver.manage().deleteAllCookies(); } catch (Exception ignored) {}
+            return false;
+        }
+        Set<Cookie> current = new HashSet<>(driver.manage().getCookies());
+        sessionCookies.get().put(role, current);
+        lastUrls.get().put(role, driver.getCurrentUrl());
+        log.info("[{}] HTTP login ile oturum açıldı ({} ms, {} cookie).",
+                role.getDisplayName(), System.currentTimeMillis() - start, current.size());
+        persistToDisk(role, identifier, current, driver.getCurrentUrl());
+        return true;
+    }
+
+    /**
+     * Cookie'leri tarayıcıya yazıp hedef URL'i açar. CDP varsa tek navigasyon; yoksa cookie
+     * domain'i için önce base.url açılır.
+     */
+    private static void openWithCookies(WebDriver driver, List<Cookie> cookies, String baseUrl, String target) {
+        if (!setCookiesViaCdp(driver, cookies, baseUrl)) {
+            driver.get(baseUrl);
+            driver.manage().deleteAllCookies();
+            for (Cookie cookie : cookies) {
+                try {
+                    driver.manage().addCookie(cookie);
+                } catch (Exception e) {
+                    log.debug("Cookie eklenemedi ({}) : {}", cookie.getName(), e.getMessage());
+                }
+            }
+        }
+        driver.get(target);
+    }
+
+    private static void persistToDisk(Role role, String identifier, Set<Cookie> cookies, String url) {
+        if (RoleSessionStore.isEnabled()) {
+            RoleSessionStore.save(role, identifier, cookies, url);
+        }
+    }
+
+    /** Chrome/Edge'de mevcut cookie'leri siler ve verilenleri navigasyon gerektirmeden yazar. */
+    private static boolean setCookiesViaCdp(WebDriver driver, List<Cookie> cookies, String baseUrl) {
+        org.openqa.selenium.chromium.HasCdp cdp = DriverManager.asCdp(driver);
+        if (cdp == null) {
+            return false;
+        }
+        try {
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            List<Map<String, Object>> params = new java.util.ArrayList<>();
+            for (Cookie c : cookies) {
+                Map<String, Object> p = new HashMap<>();
+                p.put("name", c.getName());
+                p.put("value", c.getValue());
+                if (c.getDomain() != null) {
+                    p.put("domain", c.getDomain());
+                } else {
+                    p.put("url", baseUrl);
+                }
+                p.put("path", c.getPath() != null ? c.getPath() : "/");
+                p.put("secure", c.isSecure());
+                p.put("httpOnly", c.isHttpOnly());
+                if (c.getSameSite() != null) p.put("sameSite", c.getSameSite());
+                if (c.getExpiry() != null) p.put("expires", c.getExpiry().getTime() / 1000.0);
+                params.add(p);
+            }
+            cdp.executeCdpCommand("Network.setCookies", Collections.singletonMap("cookies", params));
+            return true;
+        } catch (Exception e) {
+            log.debug("CDP cookie yazımı başarısız, addCookie yoluna düşülüyor: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Geri yüklenen oturumun geçerliliğini kontrol eder: login ekranı işaretleri yoksa ve sayfa
+     * içerik yüklediyse geçerli. Admin dışı rollerde impersonation'ın düşmediği de kontrol edilir
+     * (loginAs'teki doğrulamayla aynı sinyaller).
+     */
+    private static boolean probeRestoredSession(WebDriver driver, Role role) {
+        int timeout = ConfigReader.getInt("session.cache.probe.seconds", 15);
+        String js =
+                "var t=document.body?(document.body.innerText||''):'';" +
+                "if(t.indexOf('GİRİŞ YAP')>=0||t.indexOf('SSO İLE GİRİŞ')>=0||t.indexOf('Şifremi Unuttum')>=0) return 'login';" +
+                "if(t.length<=300) return null;" +
+                "if(arguments[0]){" +
+                "  var hasGit=Array.from(document.querySelectorAll('vaadin-button')).some(function(b){" +
+                "    var x=(b.textContent||'').trim(); return x==='GİT'||x.toUpperCase()==='GIT';});" +
+                "  if(t.indexOf('Yeni Admin Ekle')>=0||hasGit) return 'admin';" +
+                "}" +
+                "return 'ok';";
+        try {
+            String state = new org.openqa.selenium.support.ui.WebDriverWait(driver, java.time.Duration.ofSeconds(timeout))
+                    .pollingEvery(java.time.Duration.ofMillis(250))
+                    .until(d -> {
+                        try {
+                            Object r = ((JavascriptExecutor) d).executeScript(js, role != Role.ADMIN);
+                            return r != null ? r.toString() : null;
+                        } catch (Exception e) {
+                            return null;
+                        }
+                    });
+            if (!"ok".equals(state)) {
+                log.info("[{}] Oturum kontrolü: {}", role.getDisplayName(), state);
+                return false;
+            }
+            waitForVaadinStatic(driver);
+            return true;
+        } catch (Exception e) {
+            log.info("[{}] Oturum kontrolü zaman aşımı ({} sn).", role.getDisplayName(), timeout);
+            return false;
+        }
     }
 
     /**
@@ -270,7 +525,7 @@ public class RoleSessionManager {
         }
     }
 
-    private static String roleToTabName(Role role) {
+    static String roleToTabName(Role role) {
         switch (role) {
             case COMPANY:   return "Ticari İşletme";
             case BUYER:     return "Alıcı";
@@ -373,22 +628,7 @@ public class RoleSessionManager {
 
             // 5. Hedef firmanın checkbox'ını işaretle (checkbox = ad hücresinin önceki hücresi).
             //    Eşleşme Türkçe-DUYARSIZ (ASCII-fold): config'te "EFG Gida" ↔ ekranda "EFG Gıda".
-            Object checked = js.executeScript(
-                TR_FOLD_JS +
-                "var target = fold(arguments[0]);" +
-                "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
-                "var cells = Array.from(dlg.querySelectorAll('vaadin-grid.check-table vaadin-grid-cell-content'));" +
-                "var idx = cells.findIndex(function(c) {" +
-                "  var raw = (c.textContent||'');" +
-                "  if (raw.indexOf('münü seç') >= 0) return false;" +
-                "  var t = fold(raw);" +
-                "  return t.length > 0 && t.includes(target);" +
-                "});" +
-                "if (idx < 1) return null;" +
-                "var cb = cells[idx - 1].querySelector('vaadin-checkbox, input[type=checkbox]');" +
-                "if (!cb) return null;" +
-                "if (cb.checked !== true) { cb.click(); return 'isaretlendi'; }" +
-                "return 'zaten_isaretli';", target);
+            Object checked = CHECK_FILTER_TARGET.execute(driver, target);
             if (checked == null) {
                 log.warn("[{}] Filtre listesinde hedef bulunamadı: {}", role.getDisplayName(), target);
                 return false;
@@ -410,16 +650,7 @@ public class RoleSessionManager {
             }
 
             // 7. Grid'in filtrelenmesini bekle: hedef satır GÖRÜNÜR olana kadar poll (ASCII-fold)
-            boolean rowVisible = waitForJsCondition(driver, 10,
-                TR_FOLD_JS +
-                "var target = fold('" + target.replace("'", "\\'") + "');" +
-                "var cells = document.querySelectorAll('vaadin-grid vaadin-grid-cell-content');" +
-                "for (var c of cells) {" +
-                "  var r = c.getBoundingClientRect();" +
-                "  if (r.width < 2 || r.height < 2) continue;" + // virtual scroll cache hücrelerini atla
-                "  if (fold(c.textContent||'').includes(target)) return true;" +
-                "}" +
-                "return false;");
+            boolean rowVisible = waitForJsCondition(driver, 10, TARGET_ROW_VISIBLE, target);
             if (!rowVisible) {
                 log.warn("[{}] Filtre sonrası hedef satır görünmedi: {}", role.getDisplayName(), target);
                 return false;
@@ -524,6 +755,25 @@ public class RoleSessionManager {
         log.info("GİT onay modalı görünmedi — devam ediliyor (modal gelmemiş olabilir).");
     }
 
+    /** {@link ScriptRegistry} script'i true dönene kadar poll eder (500 ms aralıkla). */
+    private static boolean waitForJsCondition(WebDriver driver, int timeoutSeconds,
+                                              ScriptRegistry.Script condition, Object... args) {
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                if (Boolean.TRUE.equals(condition.execute(driver, args))) {
+                    return true;
+                }
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (Exception ignored) {
+            }
+        }
+        return false;
+    }
+
     /** Verilen JS koşulu true dönene kadar poll eder (500 ms aralıkla). */
     private static boolean waitForJsCondition(WebDriver driver, int timeoutSeconds, String jsReturningBoolean) {
         JavascriptExecutor js = (JavascriptExecutor) driver;
@@ -605,7 +855,7 @@ public class RoleSessionManager {
 
     /** waitForVaadinNavigation statik varyantı */
     private static void waitForVaadinStatic(WebDriver driver) {
-        try { Thread.sleep(1500); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        VaadinSync.waitUntilSettled(driver);
     }
 
     /**
@@ -643,13 +893,36 @@ public class RoleSessionManager {
      * Cookie'leri yükler ve sayfayı yeniler.
      */
     public static void switchToRole(WebDriver driver, Role role) {
-        Set<Cookie> cookies = sessionCookies.get(role);
+        Set<Cookie> cookies = sessionCookies.get().get(role);
+        boolean fromPublished = false;
+        if (cookies == null || cookies.isEmpty()) {
+            cookies = claimPublished(role);
+            fromPublished = cookies != null;
+        }
+        if ((cookies == null || cookies.isEmpty()) && PARALLEL_SCENARIOS && warmedRoles.contains(role)) {
+            // hasSession ile switchToRole arasında ısınma oturumunu başka thread devraldı
+            log.info("[{}] Isınma oturumu başka senaryoda, login yapılıyor.", role.getDisplayName());
+            loginAsDefault(driver, role);
+            return;
+        }
         if (cookies == null || cookies.isEmpty()) {
             throw new IllegalStateException(
                     "[" + role.getDisplayName() + "] için kayıtlı oturum yok. " +
                     "Önce loginAs() veya loginAsDefault() çağırın.");
         }
 
+        long start = System.currentTimeMillis();
+        if (RoleBrowserContexts.isActive(driver)) {
+            if (RoleBrowserContexts.switchTo(driver, role)) {
+                recordSwitch("context", System.currentTimeMillis() - start);
+                log.info("[{}] Rol geçişi tamamlandı (browser context, {} ms).",
+                        role.getDisplayName(), System.currentTimeMillis() - start);
+                return;
+            }
+            // Rolün sekmesi yok (ör. ısınma oturumu): context aç, cookie'ler ona yüklensin
+            RoleBrowserContexts.openFor(driver, role);
+        }
+
         String baseUrl = ConfigReader.getProperty("base.url");
 
         // Mevcut cookie'leri temizle ve yeni oturumu yükle
@@ -669,29 +942,114 @@ public class RoleSessionManager {
         }
 
         driver.navigate().refresh();
+
+        if (fromPublished) {
+            // Yayınlanmış oturum başka senaryoda düşmüş olabilir (logout, sunucu timeout)
+            if (!probeRestoredSession(driver, role)) {
+                log.info("[{}] Yayınlanmış oturum geçersiz, login yapılıyor.", role.getDisplayName());
+                publishedCookies.remove(role);
+                claimedCookies.get().remove(role);
+                loginAsDefault(driver, role);
+                return;
+            }
+            sessionCookies.get().put(role, new HashSet<>(cookies));
+            lastUrls.get().put(role, driver.getCurrentUrl());
+            recordSwitch("cookie", System.currentTimeMillis() - start);
+            log.info("[{}] Rol geçişi tamamlandı (ısınma oturumu).", role.getDisplayName());
+            return;
+        }
         waitForDashboard(driver);
 
-        log.info("[{}] Rol geçişi tamamlandı.", role.getDisplayName());
+        recordSwitch("cookie", System.currentTimeMillis() - start);
+        log.info("[{}] Rol geçişi tamamlandı ({} ms).", role.getDisplayName(), System.currentTimeMillis() - start);
+    }
+
+    private static void recordSwitch(String mode, long millis) {
+        java.util.LongSummaryStatistics s =
+                switchTimings.computeIfAbsent(mode, k -> new java.util.LongSummaryStatistics());
+        synchronized (s) {
+            s.accept(millis);
+        }
+    }
+
+    /** Mod başına rol geçişi sayısı ve ortalama/en uzun süre; hiç geçiş yoksa boş string. */
+    public static String switchTimingSummary() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, java.util.LongSummaryStatistics> e : switchTimings.entrySet()) {
+            java.util.LongSummaryStatistics s = e.getValue();
+            synchronized (s) {
+                if (sb.length() > 0) sb.append("; ");
+                sb.append(String.format(Locale.ROOT, "%s: %d geçiş, ort %.0f ms, maks %d ms",
+                        e.getKey(), s.getCount(), s.getAverage(), s.getMax()));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Mevcut thread'in bu rol için kaydettiği cookie'leri suite geneline yayınlar.
+     * {@link RoleSessionWarmup} ısınma thread'lerinden çağırır.
+     */
+    static void publish(Role role) {
+        Set<Cookie> cookies = sessionCookies.get().get(role);
+        if (cookies == null || cookies.isEmpty()) {
+            throw new IllegalStateException("[" + role.getDisplayName() + "] yayınlanacak oturum yok.");
+        }
+        publishedCookies.put(role, Collections.unmodifiableSet(new HashSet<>(cookies)));
+        warmedRoles.add(role);
+        log.info("[{}] Oturum yayınlandı: {} cookie", role.getDisplayName(), cookies.size());
+    }
+
+    /**
+     * Bu thread'in kullanabileceği ısınma oturumu. Sıralı koşuda yayınlanan set paylaşılır; paralel
+     * koşuda set havuzdan alınır ve yalnızca bu thread'e bağlanır.
+     */
+    private static Set<Cookie> claimPublished(Role role) {
+        if (!PARALLEL_SCENARIOS) {
+            return publishedCookies.get(role);
+        }
+        Map<Role, Set<Cookie>> claimed = claimedCookies.get();
+        Set<Cookie> cookies = claimed.get(role);
+        if (cookies == null) {
+            cookies = publishedCookies.remove(role);
+            if (cookies != null) {
+                claimed.put(role, cookies);
+                log.info("[{}] Isınma oturumu bu thread'e alındı.", role.getDisplayName());
+            }
+        }
+        return cookies;
+    }
+
+    /** Isınma oturumlarını da siler; ısınma yapan runner'ların @AfterSuite'i çağırır. */
+    public static void clearPublishedSessions() {
+        publishedCookies.clear();
+        warmedRoles.clear();
+        claimedCookies.get().clear();
     }
 
     // ─── Oturum Durumu ────────────────────────────────────────────────────────
 
     public static boolean hasSession(Role role) {
-        return sessionCookies.containsKey(role) && !sessionCookies.get(role).isEmpty();
+        Set<Cookie> own = sessionCookies.get().get(role);
+        return (own != null && !own.isEmpty()) || claimedCookies.get().containsKey(role)
+                || publishedCookies.containsKey(role);
     }
 
     /**
      * Tüm oturumları temizler (senaryo sonunda çağrılır).
+     * Isınma aşamasında yayınlanan oturumlar korunur; bkz. {@link #clearPublishedSessions()}.
      */
     public static void clearAllSessions() {
-        sessionCookies.clear();
-        lastUrls.clear();
+        sessionCookies.get().clear();
+        lastUrls.get().clear();
+        RoleBrowserContexts.disposeAll();
         log.info("Tüm oturumlar temizlendi.");
     }
 
     public static void clearSession(Role role) {
-        sessionCookies.remove(role);
-        lastUrls.remove(role);
+        sessionCookies.get().remove(role);
+        lastUrls.get().remove(role);
+        claimedCookies.get().remove(role);
         log.info("[{}] Oturum temizlendi.", role.getDisplayName());
     }
 
@@ -831,8 +1189,8 @@ public class RoleSessionManager {
                     return false;
                 }
             });
-            log.info("waitForDashboard: Dashboard yüklendi, Vaadin hydration için 2 sn bekleniyor.");
-            Thread.sleep(2000); // Vaadin component tree için ek bekleme
+            log.info("waitForDashboard: Dashboard yüklendi, Vaadin istemcisinin boşa düşmesi bekleniyor.");
+            VaadinSync.waitUntilSettled(driver); // Vaadin component tree için ek bekleme
         } catch (Exception e) {
             log.warn("Dashboard bekleme timeout — devam ediliyor: {}", e.getMessage());
         }
@@ -0,0 +1,206 @@
+package com.faturalab.automation.context;
+
+import com.faturalab.automation.config.ConfigReader;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rol oturumlarının diske yazılan önbelleği.
+ *
+ * Admin login + Kullanıcılar ekranından impersonation her UI senaryosunun en yavaş adımı.
+ * Başarılı bir loginAs sonrasında cookie'ler ve son URL "env|rol|identifier" anahtarıyla
+ * JSON dosyasına yazılır; sonraki senaryo (veya sonraki JVM koşusu) TTL içindeyse oturumu
+ * tek navigasyonla geri yükler. Geçerlilik kontrolü RoleSessionManager tarafında yapılır,
+ * başarısız olan kayıt silinir ve tam login'e düşülür.
+ *
+ * Vaadin tarafında taşınması gereken tek durum HTTP oturumudur (JSESSIONID vb. cookie'ler):
+ * yeni navigasyonda Vaadin yeni bir UI ve CSRF token üretir, impersonation ise sunucu
+ * oturumunda tutulur.
+ *
+ * Ayarlar (properties veya -D):
+ *  session.cache.enabled=false   → önbellek (varsayılan kapalı)
+ *  session.cache.ttl.minutes=20  → kaydın geçerli sayılacağı süre
+ *  session.cache.file=target/session-cache/role-sessions.json
+ *
+ * Dosya oturum cookie'si içerir; target/ altında tutulur ve repoya girmez.
+ */
+public final class RoleSessionStore {
+
+    private static final Logger log = LogManager.getLogger(RoleSessionStore.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final TypeReference<Map<String, Entry>> FILE_TYPE = new TypeReference<Map<String, Entry>>() {};
+
+    /** Dosyadaki tek bir rol oturumu. Jackson için alanlar public. */
+    public static class Entry {
+        public String baseUrl;
+        public String lastUrl;
+        public long savedAt;
+        public List<StoredCookie> cookies = new ArrayList<>();
+    }
+
+    /** Selenium {@link Cookie} için serileştirilebilir karşılık. */
+    public static class StoredCookie {
+        public String name;
+        public String value;
+        public String domain;
+        public String path;
+        public Long expiry;
+        public boolean secure;
+        public boolean httpOnly;
+        public String sameSite;
+
+        static StoredCookie from(Cookie c) {
+            StoredCookie s = new StoredCookie();
+            s.name = c.getName();
+            s.value = c.getValue();
+            s.domain = c.getDomain();
+            s.path = c.getPath();
+            s.expiry = c.getExpiry() != null ? c.getExpiry().getTime() : null;
+            s.secure = c.isSecure();
+            s.httpOnly = c.isHttpOnly();
+            s.sameSite = c.getSameSite();
+            return s;
+        }
+
+        Cookie toCookie() {
+            Cookie.Builder b = new Cookie.Builder(name, value)
+                    .path(path)
+                    .isSecure(secure)
+                    .isHttpOnly(httpOnly);
+            if (domain != null) b.domain(domain);
+            if (expiry != null) b.expiresOn(new Date(expiry));
+            if (sameSite != null) b.sameSite(sameSite);
+            return b.build();
+        }
+    }
+
+    private RoleSessionStore() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("session.cache.enabled", "false"));
+    }
+
+    static String key(RoleSessionManager.Role role, String identifier) {
+        return ConfigReader.getEnvironment() + "|" + role.name() + "|" + (identifier == null ? "" : identifier);
+    }
+
+    /**
+     * TTL içinde, aynı base.url için kaydedilmiş ve süresi dolmuş cookie içermeyen kaydı döner;
+     * yoksa null.
+     */
+    public static synchronized Entry find(RoleSessionManager.Role role, String identifier) {
+        Entry entry = readAll().get(key(role, identifier));
+        if (entry == null || entry.cookies.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        long ttlMillis = ttlMinutes() * 60_000L;
+        if (now - entry.savedAt > ttlMillis) {
+            log.info("[{}] Disk oturumu TTL dışında ({} dk önce kaydedilmiş).",
+                    role.getDisplayName(), (now - entry.savedAt) / 60_000L);
+            return null;
+        }
+        String baseUrl = ConfigReader.getProperty("base.url");
+        if (baseUrl != null && !baseUrl.equals(entry.baseUrl)) {
+            return null;
+        }
+        for (StoredCookie c : entry.cookies) {
+            if (c.expiry != null && c.expiry < now) {
+                log.info("[{}] Disk oturumunda süresi dolmuş cookie var: {}", role.getDisplayName(), c.name);
+                return null;
+            }
+        }
+        return entry;
+    }
+
+    public static synchronized void save(RoleSessionManager.Role role, String identifier,
+                                         Collection<Cookie> cookies, String lastUrl) {
+        Entry entry = new Entry();
+        entry.baseUrl = ConfigReader.getProperty("base.url");
+        entry.lastUrl = lastUrl;
+        entry.savedAt = System.currentTimeMillis();
+        for (Cookie c : cookies) {
+            entry.cookies.add(StoredCookie.from(c));
+        }
+        Map<String, Entry> all = readAll();
+        all.put(key(role, identifier), entry);
+        writeAll(all);
+        log.info("[{}] Oturum diske yazıldı: {} cookie", role.getDisplayName(), entry.cookies.size());
+    }
+
+    public static synchronized void invalidate(RoleSessionManager.Role role, String identifier) {
+        Map<String, Entry> all = readAll();
+        if (all.remove(key(role, identifier)) != null) {
+            writeAll(all);
+            log.info("[{}] Geçersiz disk oturumu silindi.", role.getDisplayName());
+        }
+    }
+
+    static List<Cookie> toCookies(Entry entry) {
+        List<Cookie> result = new ArrayList<>(entry.cookies.size());
+        for (StoredCookie c : entry.cookies) {
+            result.add(c.toCookie());
+        }
+        return result;
+    }
+
+    private static long ttlMinutes() {
+        return ConfigReader.getLong("session.cache.ttl.minutes", 20);
+    }
+
+    private static Path file() {
+        return Paths.get(ConfigReader.getProperty("session.cache.file", "target/session-cache/role-sessions.json"));
+    }
+
+    private static Map<String, Entry> readAll() {
+        Path path = file();
+        if (!Files.isRegularFile(path)) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            Map<String, Entry> all = MAPPER.readValue(path.toFile(), FILE_TYPE);
+            return all != null ? new LinkedHashMap<>(all) : new LinkedHashMap<>();
+        } catch (IOException e) {
+            log.warn("Oturum önbelleği okunamadı ({}), boş kabul ediliyor: {}", path, e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    /** Önce geçici dosyaya yazar, sonra taşır: yarım yazılmış dosyayı başka JVM okumasın. */
+    private static void writeAll(Map<String, Entry> all) {
+        Path path = file();
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "role-sessions", ".tmp");
+            MAPPER.writeValue(tmp.toFile(), all);
+            try {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException atomicNotSupported) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Oturum önbelleği yazılamadı ({}): {}", path, e.getMessage());
+        }
+    }
+}
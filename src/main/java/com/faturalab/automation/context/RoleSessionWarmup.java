@@ -0,0 +1,146 @@
+package com.faturalab.automation.context;
+
+import com.faturalab.automation.config.ConfigReader;
+import com.faturalab.automation.context.RoleSessionManager.Role;
+import com.faturalab.automation.driver.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suite başında rol oturumlarını paralel hazırlayan ısınma aşaması.
+ *
+ * Tek Chrome'da art arda 4 login dev2 SPA'sını çökertebildiği için her rol kendi tarayıcısında,
+ * ayrı thread'de login olur (loginAsDefault: admin login + impersonation). Elde edilen cookie'ler
+ * {@link RoleSessionManager#publish} ile suite geneline yayınlanır ve ısınma tarayıcıları kapatılır.
+ * Senaryolar böylece ilk rol geçişinde login beklemez; yayınlanmış oturum sunucuda düşmüşse
+ * switchToRole normal login'e döner.
+ *
+ * Ayarlar (properties veya -D):
+ *  session.prewarm.enabled=false              → ısınma (varsayılan kapalı)
+ *  session.prewarm.roles=ADMIN,COMPANY,BUYER,FACTORING
+ *  session.prewarm.timeout.seconds=240        → tüm rollerin bekleneceği en uzun süre
+ *
+ * Başarısız rol koşuyu durdurmaz; o rol eskisi gibi senaryo içinde lazy login olur.
+ */
+public final class RoleSessionWarmup {
+
+    private static final Logger log = LogManager.getLogger(RoleSessionWarmup.class);
+
+    private RoleSessionWarmup() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("session.prewarm.enabled", "false"));
+    }
+
+    /** Runner @BeforeSuite'ten çağrılır; kapalıysa hiçbir şey yapmaz. */
+    public static void warmUpIfEnabled() {
+        if (isEnabled()) {
+            warmUp(configuredRoles());
+        }
+    }
+
+    /**
+     * Verilen rollerin oturumlarını eşzamanlı açar ve yayınlar.
+     *
+     * @return oturumu yayınlanan rol sayısı
+     */
+    public static int warmUp(Set<Role> roles) {
+        if (roles.isEmpty()) {
+            return 0;
+        }
+        long timeoutSeconds = ConfigReader.getLong("session.prewarm.timeout.seconds", 240);
+        long start = System.currentTimeMillis();
+        log.info("Rol oturumu ısınması başlıyor: {}", roles);
+
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(roles.size(), r -> {
+            Thread t = new Thread(r, "role-warmup-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        List<Role> order = new ArrayList<>(roles);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (Role role : order) {
+            futures.add(executor.submit(() -> warmUpRole(role)));
+        }
+        executor.shutdown();
+
+        int published = 0;
+        long deadline = start + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        for (int i = 0; i < order.size(); i++) {
+            Role role = order.get(i);
+            try {
+                long remaining = Math.max(1, deadline - System.currentTimeMillis());
+                long millis = futures.get(i).get(remaining, TimeUnit.MILLISECONDS);
+                published++;
+                log.info("[{}] Oturum hazır ({} ms).", role.getDisplayName(), millis);
+            } catch (TimeoutException e) {
+                futures.get(i).cancel(true);
+                log.warn("[{}] Isınma {} sn içinde bitmedi, senaryoda lazy login yapılacak.",
+                        role.getDisplayName(), timeoutSeconds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("[{}] Isınma başarısız, senaryoda lazy login yapılacak: {}",
+                        role.getDisplayName(), cause.getMessage());
+            }
+        }
+        executor.shutdownNow();
+        log.info("Rol oturumu ısınması bitti: {}/{} rol, toplam {} ms.",
+                published, order.size(), System.currentTimeMillis() - start);
+        return published;
+    }
+
+    /** Isınma thread'inde çalışır: kendi tarayıcısını açar, login olur, cookie'leri yayınlar. */
+    private static long warmUpRole(Role role) {
+        long start = System.currentTimeMillis();
+        WebDriver driver = DriverManager.createDetachedDriver();
+        try {
+            RoleSessionManager.loginAsDefault(driver, role);
+            RoleSessionManager.publish(role);
+            return System.currentTimeMillis() - start;
+        } finally {
+            // Thread'e bağlı oturum kaydı havuz thread'inde kalmasın
+            RoleSessionManager.clearAllSessions();
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                log.debug("[{}] Isınma tarayıcısı kapatılamadı: {}", role.getDisplayName(), e.getMessage());
+            }
+        }
+    }
+
+    private static Set<Role> configuredRoles() {
+        String value = ConfigReader.getProperty("session.prewarm.roles", "ADMIN,COMPANY,BUYER,FACTORING");
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (String part : value.split(",")) {
+            String name = part.trim().toUpperCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                roles.add(Role.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                log.warn("session.prewarm.roles içinde bilinmeyen rol: {}", part);
+            }
+        }
+        return roles;
+    }
+}
@@ -1,5 +1,6 @@
 package com.faturalab.automation.context;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -10,8 +11,12 @@ import java.util.List;
  * Akış: Excel üretimi → alıcı yükleme → tedarikçi listede doğrulama →
  * teklif al/kabul → bordro no → admin günlük işlemler doğrulaması.
  *
- * UI testleri parallel=false koştuğundan statik saklama güvenlidir;
- * her senaryo başında {@link #reset()} çağrılır.
+ * Durum thread'e bağlıdır (ThreadLocal): paralel koşuda her senaryo kendi thread'inde
+ * kendi verisini görür. Her senaryo başında {@link #reset()} çağrılır.
+ *
+ * Toplu (stres) dosyalarda satırlar tutulmaz: numaralar "önek + sıra" biçiminde olduğundan yalnızca
+ * önek, ilk sıra ve adet saklanır ({@link #setInvoiceNumberRange}); {@link #getInvoiceNumbers()} her iki
+ * durumda da numara listesini verir.
  */
 public final class TzfScenarioContext {
 
@@ -35,50 +40,162 @@ public final class TzfScenarioContext {
         }
     }
 
-    private static String excelPath;
-    private static final List<TzfInvoice> invoices = new ArrayList<>();
-    private static String offeredInvoiceNo;
-    private static String bordroNo;
+    /** Tek bir senaryo thread'ine ait veri. */
+    private static final class State {
+        private String excelPath;
+        private final List<TzfInvoice> invoices = new ArrayList<>();
+        private String rangePrefix;      // toplu üretim: numaralar rangePrefix + rangeFirst..(rangeFirst + rangeCount - 1)
+        private long rangeFirst;
+        private int rangeCount;
+        private int rangeWidth;          // sıranın sıfır dolgulu hane sayısı; 0 = dolgusuz
+        private String offeredInvoiceNo;
+        private String bordroNo;
+    }
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
 
     private TzfScenarioContext() {
     }
 
     public static void reset() {
-        excelPath = null;
-        invoices.clear();
-        offeredInvoiceNo = null;
-        bordroNo = null;
+        STATE.remove();
     }
 
     public static String getExcelPath() {
-        return excelPath;
+        return STATE.get().excelPath;
     }
 
     public static void setExcelPath(String path) {
-        excelPath = path;
+        STATE.get().excelPath = path;
     }
 
     public static List<TzfInvoice> getInvoices() {
-        return Collections.unmodifiableList(invoices);
+        return Collections.unmodifiableList(STATE.get().invoices);
     }
 
     public static void addInvoice(TzfInvoice invoice) {
-        invoices.add(invoice);
+        STATE.get().invoices.add(invoice);
+    }
+
+    /**
+     * Toplu üretimde satırlar yerine numara aralığını kaydeder: {@code prefix + 1} … {@code prefix + count}.
+     * {@link #getInvoices()} bu durumda boştur; numaralar {@link #getInvoiceNumbers()} ile okunur.
+     */
+    public static void setInvoiceNumberRange(String prefix, int count) {
+        setInvoiceNumberRange(prefix, 1, count, 0);
+    }
+
+    /** {@code prefix + first} … {@code prefix + (first + count - 1)}; sıra {@code width} haneye sıfırla doldurulur. */
+    public static void setInvoiceNumberRange(String prefix, long first, int count, int width) {
+        State state = STATE.get();
+        state.rangePrefix = prefix;
+        state.rangeFirst = first;
+        state.rangeCount = count;
+        state.rangeWidth = width;
+    }
+
+    /** Üretilen fatura numaraları (toplu aralıkta ihtiyaç anında hesaplanır, kopya tutulmaz). */
+    public static List<String> getInvoiceNumbers() {
+        State state = STATE.get();
+        if (state.rangePrefix == null) {
+            List<TzfInvoice> invoices = state.invoices;
+            return new AbstractList<String>() {
+                @Override
+                public String get(int index) {
+                    return invoices.get(index).invoiceNo;
+                }
+
+                @Override
+                public int size() {
+                    return invoices.size();
+                }
+            };
+        }
+        return new InvoiceNumberRange(state.rangePrefix, state.rangeFirst, state.rangeCount, state.rangeWidth);
+    }
+
+    public static int getInvoiceCount() {
+        State state = STATE.get();
+        return state.rangePrefix == null ? state.invoices.size() : state.rangeCount;
     }
 
     public static String getOfferedInvoiceNo() {
-        return offeredInvoiceNo;
+        return STATE.get().offeredInvoiceNo;
     }
 
     public static void setOfferedInvoiceNo(String invoiceNo) {
-        offeredInvoiceNo = invoiceNo;
+        STATE.get().offeredInvoiceNo = invoiceNo;
     }
 
     public static String getBordroNo() {
-        return bordroNo;
+        return STATE.get().bordroNo;
     }
 
     public static void setBordroNo(String no) {
-        bordroNo = no;
+        STATE.get().bordroNo = no;
+    }
+
+    /** prefix + 1..count; contains/indexOf numarayı ayrıştırarak O(1) çalışır. */
+    private static final class InvoiceNumberRange extends AbstractList<String> {
+        private final String prefix;
+        private final long first;
+        private final int count;
+        private final int width;
+
+        InvoiceNumberRange(String prefix, long first, int count, int width) {
+            this.prefix = prefix;
+            this.first = first;
+            this.count = count;
+            this.width = width;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + count);
+            }
+            String seq = String.valueOf(first + index);
+            if (seq.length() >= width) {
+                return prefix + seq;
+            }
+            StringBuilder sb = new StringBuilder(prefix.length() + width).append(prefix);
+            for (int i = seq.length(); i < width; i++) {
+                sb.append('0');
+            }
+            return sb.append(seq).toString();
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (!(o instanceof String) || !((String) o).startsWith(prefix)) {
+                return -1;
+            }
+            String seq = ((String) o).substring(prefix.length());
+            if (seq.isEmpty() || seq.length() > 18 || (width == 0 ? seq.charAt(0) == '0' : seq.length() != width)) {
+                return -1;
+            }
+            for (int i = 0; i < seq.length(); i++) {
+                if (seq.charAt(i) < '0' || seq.charAt(i) > '9') {
+                    return -1;
+                }
+            }
+            long n = Long.parseLong(seq);
+            return n >= first && n - first < count ? (int) (n - first) : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
     }
 }
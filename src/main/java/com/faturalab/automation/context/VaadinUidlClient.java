@@ -0,0 +1,371 @@
+package com.faturalab.automation.context;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Tarayıcısız Vaadin Flow istemcisi: UI'ı {@code ?v-r=init} ile açar, UIDL cevaplarındaki
+ * "changes" listesinden sunucu tarafı node ağacının bir kopyasını tutar ve olay/özellik
+ * senkronizasyonu RPC'lerini {@code ?v-r=uidl} ile gönderir.
+ *
+ * Yalnızca oturum kurmak için gereken kadarını konuşur: buton click, alan değeri (mSync),
+ * @ClientCallable çağrısı (grid satır aralığı istemek için) ve "execute" komutlarındaki
+ * grid item JSON'ları. Bilinmeyen change tipleri yok sayılır.
+ *
+ * Cookie'ler (JSESSIONID vb.) {@link #cookies()} ile alınıp WebDriver'a aktarılır.
+ * recordDir verilirse her cevap sıra numarasıyla diske yazılır; VaadinReplayStubServer bu
+ * dosyaları aynı sırayla geri oynatır.
+ */
+public class VaadinUidlClient {
+
+    private static final Logger log = LogManager.getLogger(VaadinUidlClient.class);
+
+    // Flow NodeFeatures kimlikleri (flow-server NodeFeatures / flow-client NodeFeatures)
+    static final int ELEMENT_DATA = 0;
+    static final int ELEMENT_PROPERTIES = 1;
+    static final int ELEMENT_CHILDREN = 2;
+    static final int ELEMENT_ATTRIBUTES = 3;
+    static final int TEXT_NODE = 7;
+
+    private static final String UIDL_PREFIX = "for(;;);";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final CookieManager cookieManager = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+    private final HttpClient http;
+    private final URI appUri;
+    private final Duration timeout;
+    private final Path recordDir;
+    private int exchangeNo;
+
+    private String csrfToken;
+    private int uiId = -1;
+    private int syncId = -1;
+    private int clientId;
+    private int promiseNo;
+
+    private final Map<Integer, VNode> nodes = new HashMap<>();
+    /** Son init'ten beri gelen "execute" komutları (parametreler + script). */
+    private final List<JsonNode> executed = new ArrayList<>();
+
+    /** Sunucu node'unun istemci tarafı kopyası. */
+    public static final class VNode {
+        final int id;
+        Integer parent;
+        final Map<Integer, Map<String, JsonNode>> maps = new HashMap<>();
+        final Map<Integer, List<JsonNode>> lists = new HashMap<>();
+
+        VNode(int id) {
+            this.id = id;
+        }
+
+        public int id() {
+            return id;
+        }
+
+        public String tag() {
+            JsonNode t = map(ELEMENT_DATA).get("tag");
+            return t != null ? t.asText() : null;
+        }
+
+        public String property(String name) {
+            JsonNode v = map(ELEMENT_PROPERTIES).get(name);
+            return v != null && !v.isNull() ? v.asText() : null;
+        }
+
+        public String attribute(String name) {
+            JsonNode v = map(ELEMENT_ATTRIBUTES).get(name);
+            if (v == null || v.isNull()) return null;
+            return v.isObject() && v.has("value") ? v.get("value").asText() : v.asText();
+        }
+
+        Map<String, JsonNode> map(int feature) {
+            return maps.computeIfAbsent(feature, f -> new HashMap<>());
+        }
+
+        List<JsonNode> list(int feature) {
+            return lists.computeIfAbsent(feature, f -> new ArrayList<>());
+        }
+    }
+
+    public VaadinUidlClient(String appUrl, Duration timeout, Path recordDir) {
+        this.appUri = URI.create(appUrl.endsWith("/") ? appUrl : appUrl + "/");
+        this.timeout = timeout;
+        this.recordDir = recordDir;
+        this.http = HttpClient.newBuilder()
+                .cookieHandler(cookieManager)
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    // ─── Protokol ─────────────────────────────────────────────────────────────
+
+    /**
+     * Yeni bir UI açar (sayfa yüklemesinin karşılığı). Önceki node ağacı atılır.
+     *
+     * @param location uygulama içi rota ("" = kök)
+     */
+    public void init(String location) throws IOException, InterruptedException {
+        String query = "v-r=init&location=" + URLEncoder.encode(location, StandardCharsets.UTF_8) + "&query=";
+        HttpRequest request = HttpRequest.newBuilder(appUri.resolve("?" + query))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        String body = send(request, "init");
+        JsonNode json = mapper.readTree(stripPrefix(body));
+        JsonNode appConfig = json.path("appConfig");
+        JsonNode uidl = appConfig.path("uidl");
+        if (uidl.isMissingNode()) {
+            throw new IOException("v-r=init cevabında appConfig.uidl yok (Vaadin Flow client-side bootstrap beklenir).");
+        }
+        nodes.clear();
+        executed.clear();
+        uiId = appConfig.path("v-uiId").asInt(uidl.path("v-uiId").asInt(0));
+        csrfToken = uidl.path("Vaadin-Security-Key").asText(null);
+        syncId = -1;
+        clientId = 0;
+        applyUidl(uidl);
+        log.debug("Vaadin UI açıldı: uiId={}, node sayısı={}", uiId, nodes.size());
+    }
+
+    /** RPC listesini tek UIDL isteğinde gönderir ve cevabı node ağacına uygular. */
+    public JsonNode sendRpc(ArrayNode rpc) throws IOException, InterruptedException {
+        if (uiId < 0) {
+            throw new IllegalStateException("Önce init() çağrılmalı.");
+        }
+        ObjectNode payload = mapper.createObjectNode();
+        if (csrfToken != null) payload.put("csrfToken", csrfToken);
+        payload.set("rpc", rpc);
+        payload.put("syncId", syncId);
+        payload.put("clientId", clientId);
+
+        HttpRequest request = HttpRequest.newBuilder(appUri.resolve("?v-r=uidl&v-uiId=" + uiId))
+                .timeout(timeout)
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(payload)))
+                .build();
+        String body = send(request, "uidl");
+        JsonNode json = mapper.readTree(stripPrefix(body));
+        JsonNode uidl = json.isArray() ? json.get(0) : json;
+        if (uidl == null) {
+            throw new IOException("Boş UIDL cevabı.");
+        }
+        JsonNode meta = uidl.path("meta");
+        if (meta.path("sessionExpired").asBoolean(false)) {
+            throw new IOException("Vaadin oturumu sona ermiş (meta.sessionExpired).");
+        }
+        if (meta.has("appError")) {
+            throw new IOException("Vaadin appError: " + meta.get("appError"));
+        }
+        applyUidl(uidl);
+        return uidl;
+    }
+
+    public void click(VNode node) throws IOException, InterruptedException {
+        ObjectNode data = mapper.createObjectNode();
+        // ClickEvent'in @EventData alanları; eksik anahtar sunucuda hata üretir
+        for (String k : new String[]{"event.screenX", "event.screenY", "event.clientX", "event.clientY",
+                "event.detail", "event.button"}) {
+            data.put(k, k.equals("event.detail") ? 1 : 0);
+        }
+        for (String k : new String[]{"event.shiftKey", "event.ctrlKey", "event.altKey", "event.metaKey"}) {
+            data.put(k, false);
+        }
+        sendRpc(mapper.createArrayNode().add(event(node, "click", data)));
+    }
+
+    /** Alan değerini senkronize eder ve "change" olayını gönderir (ValueChangeMode.ON_CHANGE). */
+    public void setValue(VNode node, String value) throws IOException, InterruptedException {
+        ObjectNode sync = mapper.createObjectNode();
+        sync.put("type", "mSync");
+        sync.put("node", node.id);
+        sync.put("feature", ELEMENT_PROPERTIES);
+        sync.put("property", "value");
+        sync.put("value", value);
+        sendRpc(mapper.createArrayNode().add(sync).add(event(node, "change", mapper.createObjectNode())));
+    }
+
+    /** Bileşenin @ClientCallable metodunu çağırır (ör. Grid.setRequestedRange). */
+    public void callServer(VNode node, String method, Object... args) throws IOException, InterruptedException {
+        ObjectNode call = mapper.createObjectNode();
+        call.put("type", "publishedEventHandler");
+        call.put("node", node.id);
+        call.put("templateEventMethodName", method);
+        call.set("templateEventMethodArgs", mapper.valueToTree(args));
+        call.put("promise", promiseNo++);
+        sendRpc(mapper.createArrayNode().add(call));
+    }
+
+    /** Herhangi bir bileşen olayını (ör. ConfirmDialog "confirm") veri olmadan gönderir. */
+    public void fireEvent(VNode node, String eventType) throws IOException, InterruptedException {
+        sendRpc(mapper.createArrayNode().add(event(node, eventType, mapper.createObjectNode())));
+    }
+
+    private ObjectNode event(VNode node, String type, ObjectNode data) {
+        ObjectNode e = mapper.createObjectNode();
+        e.put("type", "event");
+        e.put("node", node.id);
+        e.put("event", type);
+        e.set("data", data);
+        return e;
+    }
+
+    // ─── Node ağacı sorguları ─────────────────────────────────────────────────
+
+    public List<VNode> find(Predicate<VNode> predicate) {
+        List<VNode> result = new ArrayList<>();
+        for (VNode n : nodes.values()) {
+            if (predicate.test(n)) result.add(n);
+        }
+        result.sort((a, b) -> Integer.compare(a.id, b.id));
+        return result;
+    }
+
+    public VNode node(int id) {
+        return nodes.get(id);
+    }
+
+    /** Alt ağaçtaki text node'larının birleşimi (textContent karşılığı). */
+    public String text(VNode node) {
+        StringBuilder sb = new StringBuilder();
+        appendText(node, sb, 0);
+        return sb.toString().replaceAll("\\s+", " ").trim();
+    }
+
+    private void appendText(VNode node, StringBuilder sb, int depth) {
+        if (node == null || depth > 64) return;
+        JsonNode t = node.map(TEXT_NODE).get("text");
+        if (t != null) {
+            sb.append(t.asText()).append(' ');
+        }
+        for (JsonNode child : node.list(ELEMENT_CHILDREN)) {
+            if (child.isInt()) appendText(nodes.get(child.asInt()), sb, depth + 1);
+        }
+    }
+
+    /** Son init'ten beri sunucunun istemciye çalıştırttığı JS komutları. */
+    public List<JsonNode> executed() {
+        return executed;
+    }
+
+    public List<HttpCookie> cookies() {
+        return cookieManager.getCookieStore().get(appUri);
+    }
+
+    public URI appUri() {
+        return appUri;
+    }
+
+    // ─── UIDL uygulama ────────────────────────────────────────────────────────
+
+    private void applyUidl(JsonNode uidl) {
+        if (uidl.has("syncId")) syncId = uidl.get("syncId").asInt();
+        if (uidl.has("clientId")) clientId = uidl.get("clientId").asInt();
+        if (uidl.has("Vaadin-Security-Key")) csrfToken = uidl.get("Vaadin-Security-Key").asText();
+        for (JsonNode change : uidl.path("changes")) {
+            applyChange(change);
+        }
+        for (JsonNode exec : uidl.path("execute")) {
+            executed.add(exec);
+        }
+    }
+
+    private void applyChange(JsonNode c) {
+        int id = c.path("node").asInt();
+        String type = c.path("type").asText();
+        if ("detach".equals(type)) {
+            nodes.remove(id);
+            return;
+        }
+        VNode node = nodes.computeIfAbsent(id, VNode::new);
+        int feat = c.path("feat").asInt(-1);
+        switch (type) {
+            case "attach":
+                break;
+            case "put":
+                if (c.has("nodeValue")) {
+                    node.map(feat).put(c.get("key").asText(), c.get("nodeValue"));
+                    VNode child = nodes.computeIfAbsent(c.get("nodeValue").asInt(), VNode::new);
+                    child.parent = id;
+                } else {
+                    node.map(feat).put(c.get("key").asText(), c.get("value"));
+                }
+                break;
+            case "remove":
+                node.map(feat).remove(c.path("key").asText());
+                break;
+            case "clear":
+                node.list(feat).clear();
+                node.map(feat).clear();
+                break;
+            case "splice":
+                List<JsonNode> list = node.list(feat);
+                int index = Math.min(c.path("index").asInt(0), list.size());
+                int remove = Math.min(c.path("remove").asInt(0), list.size() - index);
+                for (int i = 0; i < remove; i++) {
+                    list.remove(index);
+                }
+                JsonNode add = c.has("addNodes") ? c.get("addNodes") : c.path("add");
+                int pos = index;
+                for (JsonNode item : add) {
+                    list.add(pos++, item);
+                    if (c.has("addNodes")) {
+                        nodes.computeIfAbsent(item.asInt(), VNode::new).parent = id;
+                    }
+                }
+                break;
+            default:
+                log.trace("Bilinmeyen UIDL change tipi: {}", type);
+        }
+    }
+
+    // ─── HTTP ─────────────────────────────────────────────────────────────────
+
+    private String send(HttpRequest request, String kind) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        record(kind, response.body());
+        if (response.statusCode() >= 400) {
+            throw new IOException("Vaadin " + kind + " isteği HTTP " + response.statusCode() + " döndü.");
+        }
+        return response.body();
+    }
+
+    private void record(String kind, String body) {
+        if (recordDir == null) return;
+        try {
+            Files.createDirectories(recordDir);
+            Files.writeString(recordDir.resolve(String.format("%03d-%s.json", ++exchangeNo, kind)), body);
+        } catch (IOException e) {
+            log.debug("UIDL kaydı yazılamadı: {}", e.getMessage());
+        }
+    }
+
+    private static String stripPrefix(String body) {
+        String trimmed = body.trim();
+        return trimmed.startsWith(UIDL_PREFIX) ? trimmed.substring(UIDL_PREFIX.length()) : trimmed;
+    }
+}
@@ -0,0 +1,98 @@
+package com.faturalab.automation.driver;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * EventFiringDecorator'a takılan dinleyici: sürücü, element, navigasyon vb. üzerindeki her
+ * WebDriver komutunun süresini ölçer ve {@link CommandTimings}'e yazar.
+ *
+ * Komut, çağıran page object / yardımcı ve Cucumber step metodu stack'ten çıkarılır:
+ *  - caller: sürücü katmanı dışındaki ilk com.faturalab.automation çerçevesi (ör. AdminFirmaPage.clickKaydet)
+ *  - step  : ilk stepdefinitions çerçevesi (ör. AdminFirmaKullaniciUATStepDefs.firmaKaydet)
+ */
+final class CommandTimingListener implements WebDriverListener {
+
+    private static final String APP_PACKAGE = "com.faturalab.automation.";
+    private static final String DRIVER_PACKAGE = "com.faturalab.automation.driver.";
+    private static final String STEP_PACKAGE = ".stepdefinitions.";
+
+    /** Yerel nesne döndüren (wire'a çıkmayan) çağrılar ölçülmez. */
+    private static final Set<String> SKIPPED = new HashSet<>(Arrays.asList(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals"));
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    /** İç içe çağrılar için başlangıç zamanları (ör. decorator içinden tetiklenen çağrılar). */
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (SKIPPED.contains(method.getName())) {
+            return;
+        }
+        starts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private void finish(Method method) {
+        if (SKIPPED.contains(method.getName())) {
+            return;
+        }
+        Long start = starts.get().poll();
+        if (start == null) {
+            return;
+        }
+        long micros = (System.nanoTime() - start) / 1_000L;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        String[] origin = origin();
+        CommandTimings.record(command, origin[0], origin[1], micros);
+    }
+
+    /** [caller, step] — bulunamayan "-" döner. */
+    private static String[] origin() {
+        return WALKER.walk(frames -> {
+            String caller = "-";
+            Iterator<StackWalker.StackFrame> it = frames.iterator();
+            while (it.hasNext()) {
+                StackWalker.StackFrame f = it.next();
+                String cls = f.getClassName();
+                if (!cls.startsWith(APP_PACKAGE)) {
+                    continue;
+                }
+                String frame = simpleName(cls) + "." + f.getMethodName();
+                if ("-".equals(caller) && !cls.startsWith(DRIVER_PACKAGE)) {
+                    caller = frame;
+                }
+                if (cls.contains(STEP_PACKAGE)) {
+                    return new String[]{caller, frame};
+                }
+            }
+            return new String[]{caller, "-"};
+        });
+    }
+
+    private static String simpleName(String className) {
+        String s = className.substring(className.lastIndexOf('.') + 1);
+        int lambda = s.indexOf('$');
+        return lambda > 0 ? s.substring(0, lambda) : s;
+    }
+}
@@ -0,0 +1,282 @@
+package com.faturalab.automation.driver;
+
+import com.faturalab.automation.config.ConfigReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * WebDriver komut sürelerinin senaryo bazlı toplayıcısı ({@link CommandTimingListener} besler).
+ *
+ * Her senaryo için komut başına (WebElement.click, JavascriptExecutor.executeScript, ...)
+ * sayı / toplam / max ve sabit kovalı histogram, çağıran page object başına toplam süre tutulur.
+ * Tüm koşu boyunca en yavaş N komut (komut, çağıran, step, senaryo) ayrıca saklanır.
+ *
+ * Runner sonunda {@link #writeReport(File)} cucumber.json'un yanına command-timings.json yazar.
+ *
+ * Ayarlar (properties veya -D):
+ *  driver.timing.enabled=false  → true: sürücü EventFiringDecorator ile sarılır (tanı amaçlı,
+ *                                 her komuta StackWalker maliyeti ekler; varsayılan kapalı)
+ *  driver.timing.top.n=25
+ */
+public final class CommandTimings {
+
+    private static final Logger log = LogManager.getLogger(CommandTimings.class);
+
+    public static final String REPORT_FILE = "command-timings.json";
+
+    /** Histogram kova üst sınırları (ms); son kova "üstü". */
+    private static final long[] BUCKETS_MS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private static final String OUTSIDE_SCENARIO = "(senaryo dışı)";
+
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(ConfigReader.getProperty("driver.timing.enabled", "false").trim());
+
+    private static final int TOP_N = Math.max(1,
+            ConfigReader.getInt("driver.timing.top.n", 25));
+
+    private static final ThreadLocal<ScenarioTimings> CURRENT = new ThreadLocal<>();
+    private static final ScenarioTimings OUTSIDE = new ScenarioTimings(OUTSIDE_SCENARIO);
+    private static final List<ScenarioTimings> COMPLETED = new ArrayList<>();
+    private static final PriorityQueue<SlowCommand> SLOWEST =
+            new PriorityQueue<>(Comparator.comparingLong(s -> s.micros));
+
+    private CommandTimings() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /** Thread'in senaryosunu başlatır; aynı senaryo zaten açıksa (iki hook) dokunmaz. */
+    public static void startScenario(String name) {
+        if (!ENABLED) {
+            return;
+        }
+        ScenarioTimings current = CURRENT.get();
+        if (current != null && current.name.equals(name)) {
+            return;
+        }
+        CURRENT.set(new ScenarioTimings(name));
+    }
+
+    /** Senaryoyu kapatır, tek satır özet loglar ve rapora ekler. */
+    public static void endScenario(String status) {
+        ScenarioTimings current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+        CURRENT.remove();
+        current.status = status;
+        synchronized (COMPLETED) {
+            COMPLETED.add(current);
+        }
+        if (current.commands > 0) {
+            log.info("[Komut süreleri] {} — {} komut, {} ms; en çok süren: {}",
+                    current.name, current.commands, current.totalMicros / 1000, current.topCommands(3));
+        }
+    }
+
+    static void record(String command, String caller, String step, long micros) {
+        ScenarioTimings current = CURRENT.get();
+        ScenarioTimings target = current != null ? current : OUTSIDE;
+        target.add(command, caller, micros);
+
+        synchronized (SLOWEST) {
+            if (SLOWEST.size() < TOP_N || SLOWEST.peek().micros < micros) {
+                SLOWEST.add(new SlowCommand(command, caller, step, target.name, micros));
+                if (SLOWEST.size() > TOP_N) {
+                    SLOWEST.poll();
+                }
+            }
+        }
+    }
+
+    /**
+     * {@code dir}/command-timings.json yazar (senaryo histogramları + en yavaş N komut) ve
+     * toplanan veriyi sıfırlar. Kayıt yoksa dosya yazılmaz.
+     */
+    public static void writeReport(File dir) {
+        List<ScenarioTimings> scenarios;
+        List<SlowCommand> slowest;
+        synchronized (COMPLETED) {
+            scenarios = new ArrayList<>(COMPLETED);
+            COMPLETED.clear();
+        }
+        synchronized (OUTSIDE) {
+            if (OUTSIDE.commands > 0) {
+                ScenarioTimings copy = OUTSIDE.copy();
+                scenarios.add(copy);
+                OUTSIDE.reset();
+            }
+        }
+        synchronized (SLOWEST) {
+            slowest = new ArrayList<>(SLOWEST);
+            SLOWEST.clear();
+        }
+        if (scenarios.isEmpty() && slowest.isEmpty()) {
+            return;
+        }
+        slowest.sort(Comparator.comparingLong((SlowCommand s) -> s.micros).reversed());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("histogramBucketsMs", BUCKETS_MS);
+        report.put("topSlowest", slowest.stream().map(SlowCommand::toMap).collect(Collectors.toList()));
+        report.put("scenarios", scenarios.stream().map(ScenarioTimings::toMap).collect(Collectors.toList()));
+
+        File out = new File(dir, REPORT_FILE);
+        try {
+            if (!dir.exists()) {
+                dir.mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, report);
+            log.info("Komut süre raporu yazıldı: {} ({} senaryo)", out.getPath(), scenarios.size());
+            if (!slowest.isEmpty()) {
+                SlowCommand top = slowest.get(0);
+                log.info("En yavaş komut: {} ms {} ({} / {})", top.micros / 1000, top.command, top.caller, top.step);
+            }
+        } catch (IOException e) {
+            log.warn("Komut süre raporu yazılamadı ({}): {}", out.getPath(), e.getMessage());
+        }
+    }
+
+    private static int bucketOf(long micros) {
+        long ms = micros / 1000;
+        for (int i = 0; i < BUCKETS_MS.length; i++) {
+            if (ms <= BUCKETS_MS[i]) {
+                return i;
+            }
+        }
+        return BUCKETS_MS.length;
+    }
+
+    private static final class Stat {
+        private long count;
+        private long totalMicros;
+        private long maxMicros;
+        private final long[] histogram = new long[BUCKETS_MS.length + 1];
+
+        private void add(long micros) {
+            count++;
+            totalMicros += micros;
+            maxMicros = Math.max(maxMicros, micros);
+            histogram[bucketOf(micros)]++;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("count", count);
+            m.put("totalMs", totalMicros / 1000);
+            m.put("avgMs", count == 0 ? 0 : totalMicros / count / 1000.0);
+            m.put("maxMs", maxMicros / 1000);
+            m.put("histogram", histogram);
+            return m;
+        }
+    }
+
+    private static final class ScenarioTimings {
+        private final String name;
+        private String status;
+        private long commands;
+        private long totalMicros;
+        private final Map<String, Stat> byCommand = new HashMap<>();
+        private final Map<String, Stat> byCaller = new HashMap<>();
+
+        private ScenarioTimings(String name) {
+            this.name = name;
+        }
+
+        private synchronized void add(String command, String caller, long micros) {
+            commands++;
+            totalMicros += micros;
+            byCommand.computeIfAbsent(command, k -> new Stat()).add(micros);
+            byCaller.computeIfAbsent(caller, k -> new Stat()).add(micros);
+        }
+
+        private synchronized String topCommands(int n) {
+            return byCommand.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().totalMicros, a.getValue().totalMicros))
+                    .limit(n)
+                    .map(e -> e.getKey() + " " + e.getValue().count + "x/" + e.getValue().totalMicros / 1000 + " ms")
+                    .collect(Collectors.joining(", "));
+        }
+
+        private synchronized ScenarioTimings copy() {
+            ScenarioTimings c = new ScenarioTimings(name);
+            c.commands = commands;
+            c.totalMicros = totalMicros;
+            c.byCommand.putAll(byCommand);
+            c.byCaller.putAll(byCaller);
+            return c;
+        }
+
+        private synchronized void reset() {
+            commands = 0;
+            totalMicros = 0;
+            byCommand.clear();
+            byCaller.clear();
+        }
+
+        private synchronized Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("name", name);
+            m.put("status", status);
+            m.put("commands", commands);
+            m.put("totalMs", totalMicros / 1000);
+            m.put("byCommand", sortedByTotal(byCommand));
+            m.put("byCaller", sortedByTotal(byCaller));
+            return m;
+        }
+
+        private static Map<String, Object> sortedByTotal(Map<String, Stat> stats) {
+            Map<String, Object> sorted = new LinkedHashMap<>();
+            stats.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().totalMicros, a.getValue().totalMicros))
+                    .forEach(e -> sorted.put(e.getKey(), e.getValue().toMap()));
+            return sorted;
+        }
+    }
+
+    private static final class SlowCommand {
+        private final String command;
+        private final String caller;
+        private final String step;
+        private final String scenario;
+        private final long micros;
+        private final String at = Instant.now().toString();
+
+        private SlowCommand(String command, String caller, String step, String scenario, long micros) {
+            this.command = command;
+            this.caller = caller;
+            this.step = step;
+            this.scenario = scenario;
+            this.micros = micros;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("ms", micros / 1000.0);
+            m.put("command", command);
+            m.put("caller", caller);
+            m.put("step", step);
+            m.put("scenario", scenario);
+            m.put("at", at);
+            return m;
+        }
+    }
+}
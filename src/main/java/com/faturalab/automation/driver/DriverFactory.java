@@ -14,10 +14,16 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class DriverFactory {
     
     private static final Logger log = LogManager.getLogger(DriverFactory.class);
     
+    // WebDriverManager binary resolution is done once per browser per JVM
+    private static final Set<String> preparedBrowsers = ConcurrentHashMap.newKeySet();
+    
     private DriverFactory() {
         // Private constructor to prevent instantiation
     }
@@ -43,8 +49,19 @@ public class DriverFactory {
         }
     }
     
+    private static void prepareBinary(String browser, Runnable setup) {
+        if (preparedBrowsers.add(browser)) {
+            try {
+                setup.run();
+            } catch (RuntimeException e) {
+                preparedBrowsers.remove(browser);
+                throw e;
+            }
+        }
+    }
+    
     private static WebDriver createChromeDriver(boolean headless) {
-        WebDriverManager.chromedriver().setup();
+        prepareBinary("chrome", () -> WebDriverManager.chromedriver().setup());
         ChromeOptions options = new ChromeOptions();
         
         if (headless) {
@@ -83,7 +100,7 @@ public class DriverFactory {
     }
     
     private static WebDriver createFirefoxDriver(boolean headless) {
-        WebDriverManager.firefoxdriver().setup();
+        prepareBinary("firefox", () -> WebDriverManager.firefoxdriver().setup());
         FirefoxOptions options = new FirefoxOptions();
         
         if (headless) {
@@ -95,7 +112,7 @@ public class DriverFactory {
     }
     
     private static WebDriver createEdgeDriver(boolean headless) {
-        WebDriverManager.edgedriver().setup();
+        prepareBinary("edge", () -> WebDriverManager.edgedriver().setup());
         EdgeOptions options = new EdgeOptions();
         
         if (headless) {
@@ -110,7 +127,7 @@ public class DriverFactory {
     }
     
     private static WebDriver createSafariDriver() {
-        WebDriverManager.safaridriver().setup();
+        prepareBinary("safari", () -> WebDriverManager.safaridriver().setup());
         SafariOptions options = new SafariOptions();
         
         log.info("Safari WebDriver initialized with options: {}", options);
@@ -3,6 +3,9 @@ package com.faturalab.automation.driver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 import java.util.concurrent.TimeUnit;
 
@@ -17,25 +20,99 @@ public class DriverManager {
     
     public static WebDriver getDriver() {
         if (driverThreadLocal.get() == null) {
-            log.info("Creating new WebDriver instance for thread: {}", Thread.currentThread().getId());
-            WebDriver driver = DriverFactory.createDriver();
-            
-            // Set default timeouts
-            driver.manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
-            driver.manage().timeouts().pageLoadTimeout(30, TimeUnit.SECONDS);
-            
+            WebDriver driver;
+            if (DriverPool.isEnabled()) {
+                log.info("Borrowing pooled WebDriver for thread: {}", Thread.currentThread().getId());
+                driver = DriverPool.getInstance().borrow();
+            } else {
+                log.info("Creating new WebDriver instance for thread: {}", Thread.currentThread().getId());
+                driver = createConfiguredDriver();
+            }
             driverThreadLocal.set(driver);
         }
-        
+    
         return driverThreadLocal.get();
     }
     
+    /**
+     * Creates a WebDriver with the default timeouts applied. Used directly in
+     * non-pooled mode and by {@link DriverPool} when it needs a fresh instance.
+     * With {@code driver.timing.enabled} the driver is wrapped once here so pooled
+     * instances keep the same (decorated) identity across scenarios.
+     */
+    static WebDriver createConfiguredDriver() {
+        WebDriver driver = DriverFactory.createDriver();
+        if (CommandTimings.isEnabled()) {
+            driver = new EventFiringDecorator<>(new CommandTimingListener()).decorate(driver);
+        }
+    
+        // Set default timeouts
+        driver.manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
+        driver.manage().timeouts().pageLoadTimeout(30, TimeUnit.SECONDS);
+        return driver;
+    }
+    
+    /**
+     * Creates a driver that is not bound to the calling thread or the pool,
+     * e.g. for suite-level session warm-up. The caller is responsible for quitting it.
+     */
+    public static WebDriver createDetachedDriver() {
+        log.info("Creating detached WebDriver instance for thread: {}", Thread.currentThread().getId());
+        return createConfiguredDriver();
+    }
+    
+    /**
+     * Ends the scenario's use of the driver: returns it to the pool in pooled mode,
+     * otherwise quits it.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver == null) {
+            return;
+        }
+        if (DriverPool.isEnabled()) {
+            log.info("Returning WebDriver to pool for thread: {}", Thread.currentThread().getId());
+            driverThreadLocal.remove();
+            DriverPool.getInstance().release(driver);
+        } else {
+            quitDriver();
+        }
+    }
+    
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
             log.info("Quitting WebDriver for thread: {}", Thread.currentThread().getId());
-            driver.quit();
             driverThreadLocal.remove();
+            if (DriverPool.isEnabled()) {
+                // Unhealthy driver: do not hand it back to the next scenario
+                DriverPool.getInstance().invalidate(driver);
+            } else {
+                driver.quit();
+            }
+        }
+    }
+    
+    /**
+     * Returns the driver as {@link HasCdp}, looking through the timing decorator if needed;
+     * {@code null} when the underlying browser has no CDP support.
+     */
+    public static HasCdp asCdp(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            return (HasCdp) driver;
+        }
+        if (driver instanceof WrapsDriver) {
+            WebDriver wrapped = ((WrapsDriver) driver).getWrappedDriver();
+            return wrapped instanceof HasCdp ? (HasCdp) wrapped : null;
+        }
+        return null;
+    }
+    
+    /** Closes the driver pool (if it was used) and logs its borrow/reuse statistics. */
+    public static void shutdownPool() {
+        DriverPool pool = DriverPool.getInstanceIfCreated();
+        if (pool != null) {
+            pool.shutdown();
         }
     }
-} 
\ No newline at end of file
+}
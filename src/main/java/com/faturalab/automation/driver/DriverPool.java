@@ -0,0 +1,343 @@
+package com.faturalab.automation.driver;
+
+import com.faturalab.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Senaryolar arasında yaşayan "sıcak" WebDriver havuzu.
+ *
+ * Senaryo başında {@link #borrow()} ile driver ödünç alınır, sonunda {@link #release(WebDriver)}
+ * ile iade edilir. İadede driver sıfırlanır (Vaadin overlay'leri kapatılır, storage/cookie
+ * temizlenir, ek pencereler kapatılır, about:blank'e dönülür) ve sıradaki senaryo Chrome
+ * cold start + chromedriver setup maliyetini ödemez.
+ *
+ * Geri dönüşüm (recycle):
+ *  - driver.pool.max.uses kez kullanılan driver kapatılır, yerine yenisi açılır.
+ *  - Sağlık kontrolü (window handle sorgusu) veya sıfırlama başarısız olursa driver atılır.
+ *
+ * Ayarlar (properties veya -D):
+ *  driver.pool.enabled=false   → havuz modu (varsayılan kapalı; senaryo başına quit)
+ *  driver.pool.max.size=1      → aynı anda açık tutulabilecek en fazla driver
+ *                                (verilmezse: parallel.scenarios=true iken parallel.threads, yoksa 1)
+ *  driver.pool.max.uses=20     → bir driver'ın kaç senaryoda kullanılacağı
+ *
+ * Koşu sonunda {@link #shutdown()} borrow gecikmesi ve yeniden kullanım oranını raporlar.
+ */
+public final class DriverPool {
+
+    private static final Logger log = LogManager.getLogger(DriverPool.class);
+
+    /**
+     * Açık kalan Vaadin overlay'lerini (dialog, combo/select açılır listeleri, context menü,
+     * bildirim) kapatır ve storage'ı temizler. about:blank'te storage erişimi hata verdiğinden
+     * try/catch içindedir.
+     */
+    private static final String RESET_PAGE_JS =
+            "var sel = 'vaadin-dialog, vaadin-confirm-dialog, vaadin-combo-box, vaadin-select, " +
+            "vaadin-date-picker, vaadin-context-menu, vaadin-menu-bar, vaadin-notification';" +
+            "document.querySelectorAll(sel).forEach(function(e){ try { e.opened = false; } catch (x) {} });" +
+            "try { window.localStorage.clear(); } catch (x) {}" +
+            "try { window.sessionStorage.clear(); } catch (x) {}" +
+            "return true;";
+
+    private static volatile DriverPool instance;
+
+    private final BlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledDriver> leased = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Semaphore capacity;
+    private final int maxSize;
+    private final int maxUses;
+    private volatile boolean closed;
+
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong reuses = new AtomicLong();
+    private final AtomicLong creations = new AtomicLong();
+    private final AtomicLong recycledByUses = new AtomicLong();
+    private final AtomicLong recycledByHealth = new AtomicLong();
+    private final AtomicLong totalBorrowNanos = new AtomicLong();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final AtomicLong totalCreateNanos = new AtomicLong();
+
+    /** Havuzdaki driver ve kullanım sayacı. */
+    private static final class PooledDriver {
+        final WebDriver driver;
+        final String homeWindow;
+        int uses;
+
+        PooledDriver(WebDriver driver, String homeWindow) {
+            this.driver = driver;
+            this.homeWindow = homeWindow;
+        }
+    }
+
+    private DriverPool(int maxSize, int maxUses) {
+        this.maxSize = maxSize;
+        this.maxUses = maxUses;
+        this.capacity = new Semaphore(maxSize, true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::quitAllQuietly, "driver-pool-shutdown"));
+        log.info("DriverPool oluşturuldu: maxSize={}, maxUses={}", maxSize, maxUses);
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("driver.pool.enabled", "false"));
+    }
+
+    public static DriverPool getInstance() {
+        DriverPool local = instance;
+        if (local == null) {
+            synchronized (DriverPool.class) {
+                local = instance;
+                if (local == null) {
+                    int size = Integer.parseInt(ConfigReader.getProperty("driver.pool.max.size", defaultPoolSize()));
+                    int uses = ConfigReader.getInt("driver.pool.max.uses", 20);
+                    local = new DriverPool(Math.max(1, size), Math.max(1, uses));
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** Paralel senaryo modunda her thread'e bir driver düşecek şekilde varsayılan boyut. */
+    private static String defaultPoolSize() {
+        if (Boolean.parseBoolean(ConfigReader.getProperty("parallel.scenarios", "false"))) {
+            return ConfigReader.getProperty("parallel.threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors()));
+        }
+        return "1";
+    }
+
+    /** Havuz hiç oluşturulmadıysa null döner (shutdown çağrıları için). */
+    static DriverPool getInstanceIfCreated() {
+        return instance;
+    }
+
+    /**
+     * Havuzdan sağlıklı bir driver ödünç alır; boşta driver yoksa yenisini açar.
+     * Kapasite doluysa başka bir thread driver iade edene kadar bekler.
+     */
+    public WebDriver borrow() {
+        if (closed) {
+            throw new IllegalStateException("DriverPool kapatıldı, driver ödünç alınamaz.");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!capacity.tryAcquire(5, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("DriverPool: 5 dk içinde boş driver bulunamadı (maxSize=" + maxSize + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("DriverPool borrow kesildi.", e);
+        }
+
+        PooledDriver pooled;
+        try {
+            pooled = takeHealthyIdle();
+            if (pooled == null) {
+                pooled = create();
+            } else {
+                reuses.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+        pooled.uses++;
+        leased.put(pooled.driver, pooled);
+
+        long elapsed = System.nanoTime() - start;
+        borrows.incrementAndGet();
+        totalBorrowNanos.addAndGet(elapsed);
+        maxBorrowNanos.accumulateAndGet(elapsed, Math::max);
+        log.info("Driver ödünç alındı (kullanım #{}, {} ms).", pooled.uses, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return pooled.driver;
+    }
+
+    /**
+     * Driver'ı sıfırlayıp havuza iade eder. Kullanım limiti dolmuşsa veya sıfırlama
+     * başarısızsa driver kapatılır.
+     */
+    public void release(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            log.warn("Havuza ait olmayan driver iade edildi, kapatılıyor.");
+            quitQuietly(driver);
+            return;
+        }
+        try {
+            if (closed) {
+                quitQuietly(pooled.driver);
+                return;
+            }
+            if (pooled.uses >= maxUses) {
+                recycledByUses.incrementAndGet();
+                log.info("Driver {} kullanıma ulaştı, yenilenecek.", pooled.uses);
+                quitQuietly(pooled.driver);
+                return;
+            }
+            if (!reset(pooled)) {
+                recycledByHealth.incrementAndGet();
+                quitQuietly(pooled.driver);
+                return;
+            }
+            idle.offerFirst(pooled);
+        } finally {
+            capacity.release();
+        }
+    }
+
+    /** Sağlıksız olduğu bilinen driver'ı havuza geri koymadan kapatır. */
+    public void invalidate(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        quitQuietly(driver);
+        if (pooled != null) {
+            recycledByHealth.incrementAndGet();
+            capacity.release();
+        }
+    }
+
+    /** Havuzu kapatır, boştaki driver'ları sonlandırır ve istatistikleri loglar. */
+    public void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<PooledDriver> drained = new ArrayList<>();
+        idle.drainTo(drained);
+        for (PooledDriver p : drained) {
+            quitQuietly(p.driver);
+        }
+        log.info("DriverPool kapatıldı. {}", statsSummary());
+    }
+
+    public String statsSummary() {
+        long b = borrows.get();
+        long r = reuses.get();
+        long c = creations.get();
+        double reuseRatio = b == 0 ? 0 : (double) r / b;
+        long avgBorrowMs = b == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalBorrowNanos.get() / b);
+        long avgCreateMs = c == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalCreateNanos.get() / c);
+        return String.format(
+                "borrow=%d, yeni=%d, yeniden kullanım=%d (oran %.0f%%), borrow ort/maks=%d/%d ms, " +
+                "açılış ort=%d ms, tahmini kazanç=%d sn, yenileme (limit/sağlık)=%d/%d",
+                b, c, r, reuseRatio * 100, avgBorrowMs, TimeUnit.NANOSECONDS.toMillis(maxBorrowNanos.get()),
+                avgCreateMs, TimeUnit.MILLISECONDS.toSeconds(r * avgCreateMs),
+                recycledByUses.get(), recycledByHealth.get());
+    }
+
+    // ─── Yardımcı Metotlar ────────────────────────────────────────────────────
+
+    private PooledDriver takeHealthyIdle() {
+        PooledDriver candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            if (isHealthy(candidate.driver)) {
+                return candidate;
+            }
+            log.warn("Havuzdaki driver sağlık kontrolünden geçemedi, atılıyor.");
+            recycledByHealth.incrementAndGet();
+            quitQuietly(candidate.driver);
+        }
+        return null;
+    }
+
+    private PooledDriver create() {
+        long start = System.nanoTime();
+        WebDriver driver = DriverManager.createConfiguredDriver();
+        totalCreateNanos.addAndGet(System.nanoTime() - start);
+        creations.incrementAndGet();
+        return new PooledDriver(driver, driver.getWindowHandle());
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sıradaki senaryonun temiz bir tarayıcıyla başlaması için driver'ı sıfırlar:
+     * ek pencereler kapatılır, overlay/storage/cookie temizlenir, about:blank açılır.
+     */
+    private boolean reset(PooledDriver pooled) {
+        WebDriver driver = pooled.driver;
+        try {
+            for (String handle : new ArrayList<>(driver.getWindowHandles())) {
+                if (!handle.equals(pooled.homeWindow)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(pooled.homeWindow);
+
+            try {
+                ((JavascriptExecutor) driver).executeScript(RESET_PAGE_JS);
+            } catch (Exception e) {
+                log.debug("Sayfa sıfırlama scripti çalışmadı: {}", e.getMessage());
+            }
+            try {
+                driver.manage().deleteAllCookies();
+            } catch (Exception e) {
+                log.debug("Cookie temizliği başarısız: {}", e.getMessage());
+            }
+            // deleteAllCookies yalnız aktif domain'i temizler; Chromium'da tüm cookie jar'ı boşalt
+            HasCdp cdp = DriverManager.asCdp(driver);
+            if (cdp != null) {
+                try {
+                    cdp.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+                } catch (Exception e) {
+                    log.debug("CDP cookie temizliği başarısız: {}", e.getMessage());
+                }
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            log.warn("Driver sıfırlanamadı, yenilenecek: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.debug("Driver kapatılırken hata: {}", e.getMessage());
+        }
+    }
+
+    /** JVM kapanışında açık kalan tarayıcıları sonlandırır (log4j kapanmış olabilir, log yok). */
+    private void quitAllQuietly() {
+        closed = true;
+        List<WebDriver> all = new ArrayList<>();
+        for (PooledDriver p : idle) {
+            all.add(p.driver);
+        }
+        synchronized (leased) {
+            all.addAll(leased.keySet());
+        }
+        idle.clear();
+        for (WebDriver d : all) {
+            try {
+                d.quit();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+}
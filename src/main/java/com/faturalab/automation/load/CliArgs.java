@@ -0,0 +1,33 @@
+package com.faturalab.automation.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Yük / tenant araçlarının main() argümanları: "--ad değer", "--ad=değer" ve değersiz "--ad" (= "true").
+ */
+public final class CliArgs {
+
+    private CliArgs() {
+    }
+
+    public static Map<String, String> parse(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (!a.startsWith("--")) {
+                throw new IllegalArgumentException("Beklenmeyen argüman: " + a);
+            }
+            String key = a.substring(2);
+            int eq = key.indexOf('=');
+            if (eq >= 0) {
+                opts.put(key.substring(0, eq), key.substring(eq + 1));
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                opts.put(key, args[++i]);
+            } else {
+                opts.put(key, "true");
+            }
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,293 @@
+package com.faturalab.automation.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.faturalab.automation.api.FaturalabAPI;
+import com.faturalab.automation.api.stub.IntegrationStubServer;
+import com.faturalab.automation.config.EnvironmentManager;
+import com.faturalab.automation.models.invoice.UploadInvoiceRequest;
+import com.faturalab.automation.utils.InvoiceDataStream;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buyer v0 /invoice/upload uç noktası için yük üreteci.
+ *
+ * Açık model: gönderici thread {@link LoadProfile}'daki planlanan zamanlarda işi işçi havuzuna
+ * bırakır, yanıtları beklemez. Sunucu yavaşlarsa istekler kuyrukta birikir ve gecikme planlanan
+ * zamandan ölçüldüğü için bu bekleme de sonuca yansır (coordinated omission düzeltmesi).
+ * Kuyruk {@link LoadProfile#getMaxBacklog()}'u aşarsa istek gönderilmez, "backlog-full" sayılır.
+ *
+ * Her işçi kendi {@link FaturalabAPI} örneğini (ortak oturumla) ve kendi histogramlarını kullanır;
+ * sonuçlar koşu sonunda birleştirilir. Faturalar tohumlu {@link InvoiceDataStream}'den işçi thread'inde,
+ * gönderim sırasına göre üretilir (aynı --seed aynı payload dizisini verir); fatura no koşuya özel
+ * önek + sıra numarasıdır.
+ *
+ * Komut satırı:
+ *   java ... InvoiceUploadLoadGenerator --env dev.faturalab.buyer.albc --rps 20 --duration 60 \
+ *        [--ramp 10 --start-rps 1] [--workers 32] [--host http://127.0.0.1:8089/app/api/integration/buyer/v0] \
+ *        [--type E_FATURA | --type E_FATURA:70,E_ARSIV:30] [--seed 42] [--out target/load-reports]
+ *        [--max-p99-ms 2000] [--max-error-rate 1]
+ *        [--stub --stub-latency-ms 20]
+ * --stub: hedef yerine gömülü {@link IntegrationStubServer} başlatılır (istemci tarafı ölçümü, ağ yok).
+ * Eşik aşılırsa çıkış kodu 2'dir.
+ */
+public class InvoiceUploadLoadGenerator {
+
+    private static final Logger log = LogManager.getLogger(InvoiceUploadLoadGenerator.class);
+
+    /** Histogram üst sınırı: 10 dakika (µs). */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    /** Son planlanan istekten sonra yanıtların beklenme süresi. */
+    private static final long DRAIN_TIMEOUT_SECONDS = 120;
+    /** Saniye dizisinin sonuna, geç tamamlanan istekler için eklenen pay. */
+    private static final int TAIL_SECONDS = (int) DRAIN_TIMEOUT_SECONDS + 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final EnvironmentManager.EnvironmentConfig environment;
+    private final LoadProfile profile;
+
+    public InvoiceUploadLoadGenerator(EnvironmentManager.EnvironmentConfig environment, LoadProfile profile) {
+        this.environment = environment;
+        this.profile = profile;
+    }
+
+    public LoadResult run() {
+        String sessionId = authenticate();
+        String invoicePrefix = "LT" + Long.toString(System.currentTimeMillis() / 1000, 36).toUpperCase();
+        InvoiceDataStream payloads = InvoiceDataStream.fromConfig()
+                .userEmail(environment.getUserEmail())
+                .typeMix(profile.getInvoiceType())
+                .invoiceNumbers(n -> invoicePrefix + String.format("%08d", n + 1))
+                .build();
+
+        long planned = profile.totalArrivals();
+        AtomicLongArray completedPerSecond = new AtomicLongArray(profile.getTotalSeconds() + TAIL_SECONDS);
+        AtomicLongArray errorsPerSecond = new AtomicLongArray(profile.getTotalSeconds() + TAIL_SECONDS);
+        Map<String, LongAdder> errorCounts = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+        AtomicInteger backlog = new AtomicInteger();
+        List<Worker> workers = new CopyOnWriteArrayList<>();
+        ThreadLocal<Worker> currentWorker = ThreadLocal.withInitial(() -> {
+            Worker w = new Worker(new FaturalabAPI(environment.copy(), sessionId));
+            workers.add(w);
+            return w;
+        });
+
+        AtomicInteger threadNo = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(profile.getWorkers(), profile.getWorkers(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "load-worker-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.prestartAllCoreThreads();
+
+        log.info("Yük testi başlıyor: {} — {} istek planlandı, hedef {}", profile, planned, environment.getHost());
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long sent = 0;
+        long dropped = 0;
+
+        for (long i = 0; i < planned; i++) {
+            long intended = start + profile.arrivalOffsetNanos(i);
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (backlog.get() >= profile.getMaxBacklog()) {
+                dropped++;
+                errorCounts.computeIfAbsent("backlog-full", k -> new LongAdder()).increment();
+                errorsPerSecond.incrementAndGet(secondOf(start, System.nanoTime(), errorsPerSecond.length()));
+                continue;
+            }
+            long index = sent++;
+            backlog.incrementAndGet();
+            pool.execute(() -> {
+                try {
+                    Worker w = currentWorker.get();
+                    String error = w.upload(payloads.uploadRequest(index), intended);
+                    int second = secondOf(start, System.nanoTime(), completedPerSecond.length());
+                    completedPerSecond.incrementAndGet(second);
+                    if (error != null) {
+                        errors.increment();
+                        errorsPerSecond.incrementAndGet(second);
+                        errorCounts.computeIfAbsent(error, k -> new LongAdder()).increment();
+                    }
+                } finally {
+                    backlog.decrementAndGet();
+                }
+            });
+        }
+
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Yük testi: {} sn içinde bitmeyen {} istek bırakıldı", DRAIN_TIMEOUT_SECONDS, backlog.get());
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        LatencyHistogram latency = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+        LatencyHistogram serviceTime = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+        for (Worker w : workers) {
+            latency.add(w.latency);
+            serviceTime.add(w.serviceTime);
+        }
+        Map<String, Long> errorSummary = new TreeMap<>();
+        errorCounts.forEach((k, v) -> errorSummary.put(k, v.sum()));
+
+        LoadResult result = new LoadResult(profile, startedAt, elapsedMillis, planned, sent, dropped, errors.sum(),
+                errorSummary, latency, serviceTime, toArray(completedPerSecond), toArray(errorsPerSecond));
+        log.info("Yük testi bitti: {}", result.summary());
+        return result;
+    }
+
+    private String authenticate() {
+        // Önbellekteki oturum tekrar kullanılır; işçiler bu oturumu sabit tutar (red durumunda yenilemez)
+        try {
+            return new FaturalabAPI(environment.copy()).ensureSession();
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("Yük testi: kimlik doğrulama başarısız: " + e.getMessage(), e);
+        }
+    }
+
+    private static int secondOf(long start, long now, int length) {
+        return (int) Math.min(length - 1, Math.max(0, (now - start) / 1_000_000_000L));
+    }
+
+    private static long[] toArray(AtomicLongArray a) {
+        long[] out = new long[a.length()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = a.get(i);
+        }
+        return out;
+    }
+
+    /** Bir işçi thread'inin istemcisi ve histogramları (yalnızca o thread yazar). */
+    private final class Worker {
+        private final FaturalabAPI api;
+        private final LatencyHistogram latency = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+        private final LatencyHistogram serviceTime = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+
+        private Worker(FaturalabAPI api) {
+            this.api = api;
+        }
+
+        /** @return hata sınıfı, başarılıysa null */
+        private String upload(UploadInvoiceRequest request, long intendedNanos) {
+            long begin = System.nanoTime();
+            String error;
+            try {
+                Response response = api.uploadInvoice(request);
+                error = classify(response);
+            } catch (RuntimeException e) {
+                Throwable root = e;
+                while (root.getCause() != null && root.getCause() != root) {
+                    root = root.getCause();
+                }
+                error = root.getClass().getSimpleName();
+            }
+            long end = System.nanoTime();
+            latency.record((end - intendedNanos) / 1000);
+            serviceTime.record((end - begin) / 1000);
+            return error;
+        }
+    }
+
+    private static String classify(Response response) {
+        if (response.getStatusCode() != 200) {
+            return "HTTP " + response.getStatusCode();
+        }
+        try {
+            JsonNode body = MAPPER.readTree(response.getBody().asString());
+            if (body.path("success").asBoolean(false)) {
+                return null;
+            }
+            String code = body.path("errorCode").asText("");
+            return code.isEmpty() ? "success=false" : code;
+        } catch (Exception e) {
+            return "invalid-json";
+        }
+    }
+
+    // ============== CLI ==============
+
+    public static void main(String[] args) {
+        Map<String, String> opts = CliArgs.parse(args);
+        String envName = opts.getOrDefault("env", "dev.faturalab.buyer.albc");
+        EnvironmentManager.EnvironmentConfig env = EnvironmentManager.loadEnvironment(envName).copy();
+        if (opts.containsKey("host")) {
+            env.setHost(opts.get("host"));
+        }
+        IntegrationStubServer stub = null;
+        if (opts.containsKey("stub")) {
+            stub = IntegrationStubServer.fromConfig()
+                    .latencyMillis(Long.parseLong(opts.getOrDefault("stub-latency-ms", "0")))
+                    .build().start();
+            env.setHost(stub.getBaseUrl());
+        }
+
+        if (opts.containsKey("seed")) {
+            System.setProperty("invoice.stream.seed", opts.get("seed"));
+        }
+        LoadProfile.Builder builder = LoadProfile.builder()
+                .name(opts.getOrDefault("name", "invoice-upload"))
+                .targetRps(Double.parseDouble(opts.getOrDefault("rps", "5")))
+                .durationSeconds(Integer.parseInt(opts.getOrDefault("duration", "30")))
+                .rampSeconds(Integer.parseInt(opts.getOrDefault("ramp", "0")))
+                .workers(Integer.parseInt(opts.getOrDefault("workers", "16")))
+                .invoiceType(opts.getOrDefault("type", "E_FATURA"));
+        if (opts.containsKey("start-rps")) {
+            builder.startRps(Double.parseDouble(opts.get("start-rps")));
+        }
+        if (opts.containsKey("max-backlog")) {
+            builder.maxBacklog(Integer.parseInt(opts.get("max-backlog")));
+        }
+
+        LoadResult result;
+        try {
+            result = new InvoiceUploadLoadGenerator(env, builder.build()).run();
+        } finally {
+            if (stub != null) {
+                stub.stop();
+            }
+        }
+        System.out.println(result.summary());
+        File report = result.writeJson(new File(opts.getOrDefault("out", "target/load-reports")));
+        System.out.println("Rapor: " + report.getPath());
+
+        int exit = 0;
+        if (opts.containsKey("max-p99-ms") && result.latencyMillis(99) > Double.parseDouble(opts.get("max-p99-ms"))) {
+            System.err.println("p99 eşiği aşıldı: " + result.latencyMillis(99) + " ms > " + opts.get("max-p99-ms"));
+            exit = 2;
+        }
+        if (opts.containsKey("max-error-rate")
+                && result.errorRate() * 100 > Double.parseDouble(opts.get("max-error-rate"))) {
+            System.err.println("Hata oranı eşiği aşıldı: %" + result.errorRate() * 100 + " > %" + opts.get("max-error-rate"));
+            exit = 2;
+        }
+        System.exit(exit);
+    }
+}
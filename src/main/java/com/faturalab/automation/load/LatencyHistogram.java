@@ -0,0 +1,113 @@
+package com.faturalab.automation.load;
+
+/**
+ * Sabit bellekli, HDR tarzı gecikme histogramı (mikrosaniye).
+ *
+ * 0..127 µs birebir sayılır; üstünde her ikinin kuvveti aralığı 64 alt kovaya bölünür, yani
+ * kaydedilen değerle raporlanan değer arasındaki fark en fazla ~%1.6'dır. Tüm sayaçlar tek bir
+ * {@code long[]} içindedir; kayıt O(1), yüzdelik hesabı dizinin tek taramasıdır.
+ *
+ * Thread-safe değildir: her işçi kendi histogramına yazar, sonuçta {@link #add} ile birleştirilir.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+    private final long highestTrackable;
+    private final long[] counts;
+    private long totalCount;
+    private long totalMicros;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /** @param highestTrackableMicros bunun üstündeki değerler bu değere kırpılır (ör. 1 saat) */
+    public LatencyHistogram(long highestTrackableMicros) {
+        this.highestTrackable = Math.max(LINEAR_LIMIT, highestTrackableMicros);
+        this.counts = new long[indexOf(highestTrackable) + 1];
+    }
+
+    public void record(long micros) {
+        long v = Math.min(Math.max(0, micros), highestTrackable);
+        counts[indexOf(v)]++;
+        totalCount++;
+        totalMicros += v;
+        if (v < min) {
+            min = v;
+        }
+        if (v > max) {
+            max = v;
+        }
+    }
+
+    /** Diğer histogramın sayaçlarını bu histograma ekler (aynı üst sınır beklenir). */
+    public void add(LatencyHistogram other) {
+        if (other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Histogram aralıkları farklı: " + other.highestTrackable
+                    + " / " + highestTrackable);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        totalMicros += other.totalMicros;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @param percentile 0-100 arası (ör. 99.9)
+     * @return yüzdeliğe düşen kovanın üst sınırı (en fazla gözlenen max), kayıt yoksa 0
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double p = Math.min(100.0, Math.max(0.0, percentile));
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMinMicros() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMaxMicros() {
+        return max;
+    }
+
+    public double getMeanMicros() {
+        return totalCount == 0 ? 0.0 : (double) totalMicros / totalCount;
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int k = index - LINEAR_LIMIT;
+        int shift = k / SUB_BUCKETS + 1;
+        long top = k % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,182 @@
+package com.faturalab.automation.load;
+
+/**
+ * Yük testinin varış planı (açık model): istekler yanıt beklenmeden, planlanan zamanlarda gönderilir.
+ *
+ * Hız {@code rampSeconds} boyunca {@code startRps}'ten {@code targetRps}'e doğrusal artar, ardından
+ * {@code durationSeconds} boyunca sabit kalır. i. isteğin planlanan zamanı kümülatif varış
+ * fonksiyonunun tersinden hesaplanır; gecikme bu zamandan ölçülür (coordinated omission düzeltmesi).
+ */
+public final class LoadProfile {
+
+    private final String name;
+    private final double targetRps;
+    private final double startRps;
+    private final int rampSeconds;
+    private final int durationSeconds;
+    private final int workers;
+    private final int maxBacklog;
+    private final String invoiceType;
+
+    private LoadProfile(Builder b) {
+        this.name = b.name;
+        this.targetRps = b.targetRps;
+        this.startRps = b.startRps < 0 ? b.targetRps : b.startRps;
+        this.rampSeconds = b.rampSeconds;
+        this.durationSeconds = b.durationSeconds;
+        this.workers = b.workers;
+        this.maxBacklog = b.maxBacklog > 0 ? b.maxBacklog : b.workers * 50;
+        this.invoiceType = b.invoiceType;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Rampa + sabit bölümde planlanan toplam istek sayısı. */
+    public long totalArrivals() {
+        return (long) Math.floor(rampArrivals() + durationSeconds * targetRps);
+    }
+
+    /** i. (0'dan) isteğin testin başından itibaren planlanan gönderim zamanı (ns). */
+    public long arrivalOffsetNanos(long i) {
+        double n = i;
+        double ramp = rampArrivals();
+        double t;
+        if (rampSeconds > 0 && n < ramp) {
+            // N(t) = r0*t + a*t^2, a = (r1 - r0) / 2T
+            double a = (targetRps - startRps) / (2.0 * rampSeconds);
+            if (Math.abs(a) < 1e-12) {
+                t = n / startRps;
+            } else {
+                t = (-startRps + Math.sqrt(startRps * startRps + 4 * a * n)) / (2 * a);
+            }
+        } else {
+            t = rampSeconds + (n - ramp) / targetRps;
+        }
+        return (long) (t * 1_000_000_000L);
+    }
+
+    /** Planlanan t saniyesindeki hedef hız. */
+    public double rateAt(double seconds) {
+        if (rampSeconds > 0 && seconds < rampSeconds) {
+            return startRps + (targetRps - startRps) * seconds / rampSeconds;
+        }
+        return targetRps;
+    }
+
+    private double rampArrivals() {
+        return rampSeconds * (startRps + targetRps) / 2.0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getTargetRps() {
+        return targetRps;
+    }
+
+    public double getStartRps() {
+        return startRps;
+    }
+
+    public int getRampSeconds() {
+        return rampSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getTotalSeconds() {
+        return rampSeconds + durationSeconds;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getMaxBacklog() {
+        return maxBacklog;
+    }
+
+    public String getInvoiceType() {
+        return invoiceType;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.1f rps x %d sn (rampa %d sn, %.1f rps'ten), %d işçi, fatura tipi %s",
+                name, targetRps, durationSeconds, rampSeconds, startRps, workers, invoiceType);
+    }
+
+    public static class Builder {
+        private String name = "invoice-upload";
+        private double targetRps = 5;
+        private double startRps = -1;
+        private int rampSeconds;
+        private int durationSeconds = 30;
+        private int workers = 16;
+        private int maxBacklog;
+        private String invoiceType = "E_FATURA";
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder targetRps(double targetRps) {
+            this.targetRps = targetRps;
+            return this;
+        }
+
+        /** Rampa başlangıç hızı; verilmezse rampa 0'dan başlar. {@code rampSeconds} 0 ise kullanılmaz. */
+        public Builder startRps(double startRps) {
+            this.startRps = startRps;
+            return this;
+        }
+
+        public Builder rampSeconds(int rampSeconds) {
+            this.rampSeconds = rampSeconds;
+            return this;
+        }
+
+        public Builder durationSeconds(int durationSeconds) {
+            this.durationSeconds = durationSeconds;
+            return this;
+        }
+
+        public Builder workers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        /** Sırada bekleyebilecek en fazla istek; aşılırsa istek gönderilmez, "backlog-full" hatası sayılır. */
+        public Builder maxBacklog(int maxBacklog) {
+            this.maxBacklog = maxBacklog;
+            return this;
+        }
+
+        public Builder invoiceType(String invoiceType) {
+            this.invoiceType = invoiceType;
+            return this;
+        }
+
+        public LoadProfile build() {
+            if (targetRps <= 0) {
+                throw new IllegalArgumentException("Hedef hız pozitif olmalı: " + targetRps);
+            }
+            if (rampSeconds < 0 || durationSeconds < 0 || rampSeconds + durationSeconds == 0) {
+                throw new IllegalArgumentException("Geçersiz süre: rampa " + rampSeconds + " sn, sabit " + durationSeconds + " sn");
+            }
+            if (workers < 1) {
+                throw new IllegalArgumentException("En az bir işçi gerekli: " + workers);
+            }
+            if (rampSeconds > 0 && startRps < 0) {
+                startRps = 0;
+            }
+            return new LoadProfile(this);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.faturalab.automation.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bir yük testi koşusunun sonucu: düzeltilmiş (planlanan zamandan) ve servis (gönderimden)
+ * gecikme histogramları, hata dağılımı ve saniye bazında tamamlanan / hatalı istek sayıları.
+ */
+public final class LoadResult {
+
+    private static final Logger log = LogManager.getLogger(LoadResult.class);
+
+    static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final DateTimeFormatter FILE_TS =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+
+    private final LoadProfile profile;
+    private final Instant startedAt;
+    private final long elapsedMillis;
+    private final long planned;
+    private final long sent;
+    private final long dropped;
+    private final long errors;
+    private final Map<String, Long> errorCounts;
+    private final LatencyHistogram latency;
+    private final LatencyHistogram serviceTime;
+    private final long[] completedPerSecond;
+    private final long[] errorsPerSecond;
+
+    LoadResult(LoadProfile profile, Instant startedAt, long elapsedMillis, long planned, long sent, long dropped,
+               long errors, Map<String, Long> errorCounts, LatencyHistogram latency, LatencyHistogram serviceTime,
+               long[] completedPerSecond, long[] errorsPerSecond) {
+        this.profile = profile;
+        this.startedAt = startedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.planned = planned;
+        this.sent = sent;
+        this.dropped = dropped;
+        this.errors = errors;
+        this.errorCounts = errorCounts;
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+        this.completedPerSecond = completedPerSecond;
+        this.errorsPerSecond = errorsPerSecond;
+    }
+
+    /** Planlanan gönderim zamanından yanıta kadar geçen süre (kuyrukta bekleme dahil), ms. */
+    public double latencyMillis(double percentile) {
+        return latency.valueAtPercentile(percentile) / 1000.0;
+    }
+
+    /** Yalnızca HTTP çağrısının süresi, ms. */
+    public double serviceTimeMillis(double percentile) {
+        return serviceTime.valueAtPercentile(percentile) / 1000.0;
+    }
+
+    /** Hatalı + gönderilemeyen isteklerin planlanan isteklere oranı (0-1). */
+    public double errorRate() {
+        return planned == 0 ? 0.0 : (double) (errors + dropped) / planned;
+    }
+
+    /** Başarılı istek / saniye (koşunun tamamı üzerinden). */
+    public double throughput() {
+        return elapsedMillis == 0 ? 0.0 : (sent - errors) * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Sabit hız penceresinde ([rampa, rampa + süre) saniyeleri) saniye başına başarıyla tamamlanan istek.
+     * Sabit süre yoksa (yalnız rampa) planlanan pencerenin tamamı kullanılır. Koşu uzadıkça düşer:
+     * pencere dışına taşan tamamlanmalar sayılmaz.
+     */
+    public double steadyThroughput() {
+        int from = profile.getDurationSeconds() > 0 ? profile.getRampSeconds() : 0;
+        int to = Math.min(profile.getTotalSeconds(), completedPerSecond.length);
+        if (to <= from) {
+            return 0.0;
+        }
+        long ok = 0;
+        for (int s = from; s < to; s++) {
+            ok += completedPerSecond[s] - errorsPerSecond[s];
+        }
+        return Math.max(0, ok) / (double) (to - from);
+    }
+
+    /** {@link #steadyThroughput()} penceresinin hedef hızı (yalnız rampa varsa rampanın ortalaması). */
+    public double steadyTargetRps() {
+        return profile.getDurationSeconds() > 0
+                ? profile.getTargetRps()
+                : (profile.getStartRps() + profile.getTargetRps()) / 2.0;
+    }
+
+    /** Başarıyla tamamlanan isteklerin planlananlara oranı (0-1); süreden bağımsızdır. */
+    public double completionRatio() {
+        return planned == 0 ? 0.0 : (double) (sent - errors) / planned;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    public long getPlanned() {
+        return planned;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public Map<String, Long> getErrorCounts() {
+        return errorCounts;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public String summary() {
+        return String.format(
+                "%s — %d planlanan / %d gönderilen, %.1f sn; verim %.2f istek/sn, sabit pencerede %.2f (hedef %.1f); hata %%%.2f; "
+                        + "gecikme p50 %.1f / p90 %.1f / p99 %.1f / p99.9 %.1f ms (max %.1f); servis p99 %.1f ms%s",
+                profile.getName(), planned, sent, elapsedMillis / 1000.0, throughput(), steadyThroughput(),
+                steadyTargetRps(),
+                errorRate() * 100,
+                latencyMillis(50), latencyMillis(90), latencyMillis(99), latencyMillis(99.9),
+                latency.getMaxMicros() / 1000.0, serviceTimeMillis(99),
+                errorCounts.isEmpty() ? "" : "; hatalar: " + errorCounts);
+    }
+
+    /** {@code dir}/load-&lt;ad&gt;-&lt;zaman&gt;.json yazar ve dosyayı döner. */
+    public File writeJson(File dir) {
+        File out = new File(dir, "load-" + profile.getName() + "-" + FILE_TS.format(startedAt) + ".json");
+        try {
+            if (!dir.exists()) {
+                dir.mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, toMap());
+            log.info("Yük testi raporu yazıldı: {}", out.getPath());
+        } catch (IOException e) {
+            log.warn("Yük testi raporu yazılamadı ({}): {}", out.getPath(), e.getMessage());
+        }
+        return out;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("name", profile.getName());
+        m.put("startedAt", startedAt.toString());
+        m.put("profile", profile.toString());
+        m.put("targetRps", profile.getTargetRps());
+        m.put("elapsedMs", elapsedMillis);
+        m.put("planned", planned);
+        m.put("sent", sent);
+        m.put("dropped", dropped);
+        m.put("errors", errors);
+        m.put("errorRate", errorRate());
+        m.put("throughputRps", throughput());
+        m.put("steadyThroughputRps", steadyThroughput());
+        m.put("completionRatio", completionRatio());
+        m.put("latencyMs", percentiles(latency));
+        m.put("serviceTimeMs", percentiles(serviceTime));
+        m.put("errorCounts", errorCounts);
+
+        List<Map<String, Object>> perSecond = new ArrayList<>();
+        int last = lastActiveSecond();
+        for (int s = 0; s <= last; s++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("second", s);
+            row.put("targetRps", profile.rateAt(s + 0.5));
+            row.put("completed", completedPerSecond[s]);
+            row.put("errors", errorsPerSecond[s]);
+            perSecond.add(row);
+        }
+        m.put("perSecond", perSecond);
+        return m;
+    }
+
+    static Map<String, Object> percentiles(LatencyHistogram h) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        for (double p : PERCENTILES) {
+            m.put("p" + (p == Math.floor(p) ? String.valueOf((long) p) : String.valueOf(p)), h.valueAtPercentile(p) / 1000.0);
+        }
+        m.put("max", h.getMaxMicros() / 1000.0);
+        m.put("mean", h.getMeanMicros() / 1000.0);
+        m.put("count", h.getTotalCount());
+        return m;
+    }
+
+    private int lastActiveSecond() {
+        int last = Math.max(0, profile.getTotalSeconds() - 1);
+        for (int s = completedPerSecond.length - 1; s > last; s--) {
+            if (completedPerSecond[s] > 0) {
+                return s;
+            }
+        }
+        return Math.min(last, completedPerSecond.length - 1);
+    }
+}
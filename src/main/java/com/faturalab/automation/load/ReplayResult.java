@@ -0,0 +1,237 @@
+package com.faturalab.automation.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link TrafficReplayer} koşusunun sonucu: fark sayıları (durum / sonuç / yapı / hata), kayıttaki ve
+ * yeniden oynatmadaki gecikme dağılımları, path bazında özet ve ilk farkların örnekleri.
+ */
+public final class ReplayResult {
+
+    private static final Logger log = LogManager.getLogger(ReplayResult.class);
+
+    private static final DateTimeFormatter FILE_TS =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+    private static final int MAX_SAMPLES = 20;
+
+    private final String source;
+    private final double speed;
+    private final Instant startedAt;
+    private final long elapsedMillis;
+    private final long recordedMillis;
+    private final int requests;
+    private final long sent;
+    private final Map<String, Long> mismatchCounts;
+    private final LatencyHistogram recordedLatency;
+    private final LatencyHistogram replayLatency;
+    private final Map<String, PathStats> perPath;
+    private final List<Map<String, Object>> samples;
+
+    private ReplayResult(String source, double speed, Instant startedAt, long elapsedMillis, long recordedMillis,
+                         int requests, Collector c) {
+        this.source = source;
+        this.speed = speed;
+        this.startedAt = startedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.recordedMillis = recordedMillis;
+        this.requests = requests;
+        this.sent = c.sent;
+        this.mismatchCounts = Collections.unmodifiableMap(new TreeMap<>(c.mismatchCounts));
+        this.recordedLatency = c.recordedLatency;
+        this.replayLatency = c.replayLatency;
+        this.perPath = Collections.unmodifiableMap(new TreeMap<>(c.perPath));
+        this.samples = Collections.unmodifiableList(new ArrayList<>(c.samples));
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    /** Fark türü (status, outcome, shape, error) → adet. */
+    public Map<String, Long> getMismatchCounts() {
+        return mismatchCounts;
+    }
+
+    /** Farklı çıkan istek sayısı (bir istek birden çok türde sayılabilir, burada bir kez). */
+    public long mismatches() {
+        return perPath.values().stream().mapToLong(p -> p.mismatched).sum();
+    }
+
+    public LatencyHistogram getReplayLatency() {
+        return replayLatency;
+    }
+
+    public String summary() {
+        return String.format(
+                "%s — %d/%d istek, hız %s, %.1f sn (kayıtta %.1f sn); farklı %d %s; "
+                        + "gecikme p50 %.1f / p99 %.1f ms (kayıtta p50 %.1f / p99 %.1f)",
+                source, sent, requests, speed == 0 ? "max" : speed + "x", elapsedMillis / 1000.0,
+                recordedMillis / 1000.0, mismatches(), mismatchCounts.isEmpty() ? "" : mismatchCounts,
+                replayLatency.valueAtPercentile(50) / 1000.0, replayLatency.valueAtPercentile(99) / 1000.0,
+                recordedLatency.valueAtPercentile(50) / 1000.0, recordedLatency.valueAtPercentile(99) / 1000.0);
+    }
+
+    /** {@code dir}/replay-&lt;zaman&gt;.json yazar ve dosyayı döner. */
+    public File writeJson(File dir) {
+        File out = new File(dir, "replay-" + FILE_TS.format(startedAt) + ".json");
+        try {
+            if (!dir.exists()) {
+                dir.mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, toMap());
+            log.info("Yeniden oynatma raporu yazıldı: {}", out.getPath());
+        } catch (IOException e) {
+            log.warn("Yeniden oynatma raporu yazılamadı ({}): {}", out.getPath(), e.getMessage());
+        }
+        return out;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("source", source);
+        m.put("startedAt", startedAt.toString());
+        m.put("speed", speed == 0 ? "max" : String.valueOf(speed));
+        m.put("elapsedMs", elapsedMillis);
+        m.put("recordedMs", recordedMillis);
+        m.put("requests", requests);
+        m.put("sent", sent);
+        m.put("mismatched", mismatches());
+        m.put("mismatchCounts", mismatchCounts);
+        m.put("recordedLatencyMs", LoadResult.percentiles(recordedLatency));
+        m.put("replayLatencyMs", LoadResult.percentiles(replayLatency));
+        Map<String, Object> paths = new LinkedHashMap<>();
+        perPath.forEach((path, p) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", p.count);
+            row.put("mismatched", p.mismatched);
+            row.put("recordedLatencyMs", LoadResult.percentiles(p.recorded));
+            row.put("replayLatencyMs", LoadResult.percentiles(p.replay));
+            paths.put(path, row);
+        });
+        m.put("paths", paths);
+        m.put("samples", samples);
+        return m;
+    }
+
+    private static final class PathStats {
+        private final LatencyHistogram recorded;
+        private final LatencyHistogram replay;
+        private long count;
+        private long mismatched;
+
+        PathStats(long highestMicros) {
+            this.recorded = new LatencyHistogram(highestMicros);
+            this.replay = new LatencyHistogram(highestMicros);
+        }
+    }
+
+    /** Şerit thread'lerinden gelen karşılaştırmaları toplar; tüm metotlar senkronize. */
+    static final class Collector {
+        private final long highestMicros;
+        private final LatencyHistogram recordedLatency;
+        private final LatencyHistogram replayLatency;
+        private final Map<String, Long> mismatchCounts = new TreeMap<>();
+        private final Map<String, PathStats> perPath = new TreeMap<>();
+        private final List<Map<String, Object>> samples = new ArrayList<>();
+        private long sent;
+
+        Collector(long highestMicros) {
+            this.highestMicros = highestMicros;
+            this.recordedLatency = new LatencyHistogram(highestMicros);
+            this.replayLatency = new LatencyHistogram(highestMicros);
+        }
+
+        /** Cevabı kayıtla karşılaştırır: HTTP durumu, success / errorCode ve (gövde kesilmemişse) JSON yapısı. */
+        void compare(JsonNode recorded, String path, int status, JsonNode body, long elapsedMicros) {
+            List<String> kinds = new ArrayList<>();
+            List<String> details = new ArrayList<>();
+            int recordedStatus = recorded.path("status").asInt();
+            if (recordedStatus != status) {
+                kinds.add("status");
+                details.add("status " + recordedStatus + "→" + status);
+            }
+            JsonNode expected = recorded.path("bodyTruncated").asBoolean()
+                    ? null : TrafficReplayer.parse(recorded.path("body").asText(null));
+            String before = outcome(expected);
+            String after = outcome(body);
+            if (before != null && !before.equals(after)) {
+                kinds.add("outcome");
+                details.add("outcome " + before + "→" + after);
+            }
+            if (expected != null && body != null) {
+                List<String> diff = TrafficReplayer.shapeDiff(expected, body);
+                if (!diff.isEmpty()) {
+                    kinds.add("shape");
+                    details.add("shape " + diff.subList(0, Math.min(diff.size(), 10)));
+                }
+            }
+            long recordedMicros = (long) (recorded.path("elapsedMs").asDouble() * 1000);
+            synchronized (this) {
+                sent++;
+                recordedLatency.record(recordedMicros);
+                replayLatency.record(elapsedMicros);
+                PathStats p = perPath.computeIfAbsent(path, k -> new PathStats(highestMicros));
+                p.count++;
+                p.recorded.record(recordedMicros);
+                p.replay.record(elapsedMicros);
+                if (!kinds.isEmpty()) {
+                    p.mismatched++;
+                    kinds.forEach(k -> mismatchCounts.merge(k, 1L, Long::sum));
+                    sample(recorded, path, String.join("; ", details));
+                }
+            }
+        }
+
+        synchronized void failed(JsonNode recorded, String path, Exception e) {
+            sent++;
+            PathStats p = perPath.computeIfAbsent(path, k -> new PathStats(highestMicros));
+            p.count++;
+            p.mismatched++;
+            mismatchCounts.merge("error", 1L, Long::sum);
+            sample(recorded, path, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+
+        ReplayResult result(String source, double speed, Instant startedAt, long elapsedMillis,
+                            long recordedMillis, int requests) {
+            synchronized (this) {
+                return new ReplayResult(source, speed, startedAt, elapsedMillis, recordedMillis, requests, this);
+            }
+        }
+
+        private void sample(JsonNode recorded, String path, String detail) {
+            if (samples.size() >= MAX_SAMPLES) {
+                return;
+            }
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("seq", recorded.path("seq").asLong());
+            s.put("thread", recorded.path("thread").asText());
+            s.put("path", path);
+            s.put("detail", detail);
+            samples.add(s);
+        }
+
+        /** "OK" ya da errorCode; JSON olmayan / success alanı olmayan cevapta null. */
+        private static String outcome(JsonNode body) {
+            if (body == null || !body.has("success")) {
+                return null;
+            }
+            return body.path("success").asBoolean() ? "OK" : body.path("errorCode").asText("FAIL");
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.faturalab.automation.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.faturalab.automation.api.ApiTransport;
+import com.faturalab.automation.api.FaturalabAPI;
+import com.faturalab.automation.api.TrafficRecorder;
+import com.faturalab.automation.api.stub.IntegrationStubServer;
+import com.faturalab.automation.config.EnvironmentManager;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link com.faturalab.automation.api.TrafficRecorder} ile kaydedilmiş JSONL trafiği hedef ortama
+ * yeniden gönderir ve cevapları kayıttakiyle karşılaştırır (HTTP durumu, success / errorCode, JSON yapısı).
+ *
+ * Eşzamanlılık ve zamanlama korunur: kayıttaki her thread bir "şerit" olur; şeritler paralel, şerit
+ * içindeki istekler sırayla gider (authenticate → upload gibi bağımlılıklar bozulmaz). Her istek
+ * kayıttaki başlangıç anının {@code speed}'e bölünmüş haliyle planlanır; önceki istek gecikirse
+ * hemen ardından gönderilir. {@code speed = 0} (max): beklemeden, yalnızca şerit sırasıyla.
+ *
+ * Kayıtta maskelenmiş olan password / apiKey hedef ortamın bilgileriyle, sessionId ise şeridin
+ * yeniden oynatılan authenticate cevabıyla (yoksa paylaşılan oturum önbelleğinden) doldurulur. Varsayılan olarak
+ * invoiceNo / referenceNo değerleri koşuya özel değerlerle değiştirilir (aynı numara tüm şeritlerde
+ * aynı yeni değere eşlenir), böylece tekrar oynatma EXIST_INVOICE'a takılmaz.
+ *
+ * Komut satırı:
+ *   java ... TrafficReplayer --file target/traffic/traffic-...jsonl|latest --env dev.faturalab.buyer.albc \
+ *        [--host URL] [--speed 1|2|max] [--keep-ids] [--stub] [--out target/load-reports] [--fail-on-mismatch]
+ * --fail-on-mismatch: durum / sonuç / yapı farkı varsa çıkış kodu 2.
+ */
+public class TrafficReplayer {
+
+    private static final Logger log = LogManager.getLogger(TrafficReplayer.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final String HEADER_PARAMS = "FLINTEGRATIONHEADERPARAMS";
+    private static final String MASK = "***";
+
+    private final EnvironmentManager.EnvironmentConfig environment;
+    private final double speed;
+    private final boolean rewriteIds;
+
+    /**
+     * @param speed      1 = kayıttaki hız, 2 = iki kat hızlı, 0 = beklemeden
+     * @param rewriteIds invoiceNo / referenceNo koşuya özel değerlerle değiştirilsin mi
+     */
+    public TrafficReplayer(EnvironmentManager.EnvironmentConfig environment, double speed, boolean rewriteIds) {
+        this.environment = environment;
+        this.speed = speed;
+        this.rewriteIds = rewriteIds;
+    }
+
+    /** Kayıt dosyasını okur (bozuk satırlar atlanır). */
+    public static List<ObjectNode> read(File file) throws IOException {
+        List<ObjectNode> lines = new ArrayList<>();
+        int bad = 0;
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    lines.add((ObjectNode) MAPPER.readTree(line));
+                } catch (IOException | ClassCastException e) {
+                    bad++;
+                }
+            }
+        }
+        if (bad > 0) {
+            log.warn("{}: {} bozuk satır atlandı", file.getPath(), bad);
+        }
+        return lines;
+    }
+
+    public ReplayResult replay(File file) throws IOException {
+        List<ObjectNode> recorded = read(file);
+        Map<String, List<ObjectNode>> lanes = new LinkedHashMap<>();
+        recorded.sort(Comparator.comparingDouble(n -> n.path("offsetMs").asDouble()));
+        for (ObjectNode r : recorded) {
+            lanes.computeIfAbsent(r.path("thread").asText("main"), k -> new ArrayList<>()).add(r);
+        }
+        double origin = recorded.isEmpty() ? 0 : recorded.get(0).path("offsetMs").asDouble();
+        double recordedSpan = recorded.isEmpty() ? 0
+                : recorded.get(recorded.size() - 1).path("offsetMs").asDouble()
+                + recorded.get(recorded.size() - 1).path("elapsedMs").asDouble() - origin;
+
+        ReplayResult.Collector collector = new ReplayResult.Collector(HIGHEST_TRACKABLE_MICROS);
+        Map<String, String> idMap = new ConcurrentHashMap<>();
+        String runTag = "R" + Long.toString(System.currentTimeMillis() / 1000, 36).toUpperCase();
+        AtomicLong idSeq = new AtomicLong();
+
+        log.info("Trafik yeniden oynatılıyor: {} — {} istek, {} şerit, hız {}, hedef {}", file.getName(),
+                recorded.size(), lanes.size(), speed == 0 ? "max" : speed + "x", environment.getHost());
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, lanes.size()), r -> {
+            Thread t = new Thread(r, "replay-lane-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        for (List<ObjectNode> lane : lanes.values()) {
+            pool.execute(() -> {
+                Lane l = new Lane(idMap, runTag, idSeq);
+                for (ObjectNode r : lane) {
+                    if (speed > 0) {
+                        long intended = start + (long) ((r.path("offsetMs").asDouble() - origin) / speed * 1_000_000);
+                        long wait;
+                        while ((wait = intended - System.nanoTime()) > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    }
+                    l.send(r, collector);
+                }
+            });
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(Math.max(600, (long) (recordedSpan / 1000 / Math.max(speed, 1)) * 2), TimeUnit.SECONDS)) {
+                log.warn("Yeniden oynatma zaman aşımı; kalan şeritler kesiliyor");
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+        ReplayResult result = collector.result(file.getName(), speed, startedAt,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), (long) recordedSpan, recorded.size());
+        log.info("Yeniden oynatma bitti: {}", result.summary());
+        return result;
+    }
+
+    /** Bir kayıt thread'inin istekleri; kendi oturumunu taşır. */
+    private final class Lane {
+        private final Map<String, String> idMap;
+        private final String runTag;
+        private final AtomicLong idSeq;
+        private String sessionId;
+
+        Lane(Map<String, String> idMap, String runTag, AtomicLong idSeq) {
+            this.idMap = idMap;
+            this.runTag = runTag;
+            this.idSeq = idSeq;
+        }
+
+        void send(ObjectNode r, ReplayResult.Collector collector) {
+            String path = r.path("path").asText();
+            boolean auth = path.endsWith("/authenticate") || path.endsWith("/authentication");
+            long start = 0;
+            Response response;
+            try {
+                RequestSpecification request = ApiTransport.request(environment.getHost());
+                Iterator<Map.Entry<String, JsonNode>> headers = r.path("headers").fields();
+                while (headers.hasNext()) {
+                    Map.Entry<String, JsonNode> h = headers.next();
+                    String value = HEADER_PARAMS.equalsIgnoreCase(h.getKey())
+                            ? headerParams(h.getValue().asText(), auth) : h.getValue().asText();
+                    request.header(h.getKey(), value);
+                }
+                Iterator<Map.Entry<String, JsonNode>> form = r.path("form").fields();
+                while (form.hasNext()) {
+                    Map.Entry<String, JsonNode> f = form.next();
+                    request.formParam(f.getKey(), formValue(f.getValue().asText()));
+                }
+                start = System.nanoTime();     // oturum açma gecikmeye sayılmaz
+                response = request.when().request(r.path("method").asText("POST"), path);
+            } catch (RuntimeException e) {
+                collector.failed(r, path, e);
+                return;
+            }
+            long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            JsonNode body = parse(response.asString());
+            if (auth && body != null) {
+                String id = body.path("result").path("sessionId").asText("");
+                if (!id.isEmpty()) {
+                    sessionId = id;
+                }
+            }
+            collector.compare(r, path, response.getStatusCode(), body, elapsedMicros);
+        }
+
+        private String headerParams(String recorded, boolean auth) {
+            ObjectNode header = MAPPER.createObjectNode();
+            JsonNode original = parse(recorded);
+            if (original != null && original.isObject()) {
+                header.setAll((ObjectNode) original);
+            }
+            header.put("apiKey", environment.getApiKey());
+            if (!auth && header.has("sessionId")) {
+                if (sessionId == null) {
+                    sessionId = new FaturalabAPI(environment.copy()).ensureSession();
+                }
+                header.put("sessionId", sessionId);
+            }
+            return header.toString();
+        }
+
+        private String formValue(String recorded) {
+            JsonNode node = parse(recorded);
+            if (node == null || !node.isContainerNode()) {
+                return recorded;
+            }
+            rewrite(node);
+            return node.toString();
+        }
+
+        private void rewrite(JsonNode node) {
+            if (node.isObject()) {
+                ObjectNode o = (ObjectNode) node;
+                if (MASK.equals(o.path("password").asText(null))) {
+                    o.put("password", environment.getPassword());
+                }
+                if (rewriteIds) {
+                    for (String field : Arrays.asList("invoiceNo", "referenceNo")) {
+                        if (o.path(field).isTextual()) {
+                            o.put(field, idMap.computeIfAbsent(o.get(field).asText(),
+                                    k -> runTag + String.format("%06d", idSeq.incrementAndGet())));
+                        }
+                    }
+                }
+                o.elements().forEachRemaining(this::rewrite);
+            } else if (node.isArray()) {
+                node.forEach(this::rewrite);
+            }
+        }
+    }
+
+    static JsonNode parse(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.readTree(text);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * JSON yapısı: alan yolu → tip. Diziler ilk elemanlarıyla temsil edilir; null alanlar tip
+     * taşımadığı için dahil edilmez. Boş diziler {@code emptyArrays}'e yazılır, altları karşılaştırılmaz.
+     */
+    static void shape(JsonNode node, String path, Map<String, String> out, List<String> emptyArrays) {
+        if (node.isObject()) {
+            out.put(path, "object");
+            node.fields().forEachRemaining(e -> shape(e.getValue(), path + "." + e.getKey(), out, emptyArrays));
+        } else if (node.isArray()) {
+            out.put(path, "array");
+            if (node.size() == 0) {
+                emptyArrays.add(path + "[]");
+            } else {
+                shape(node.get(0), path + "[]", out, emptyArrays);
+            }
+        } else if (!node.isNull()) {
+            out.put(path, node.isNumber() ? "number" : node.isBoolean() ? "boolean" : "string");
+        }
+    }
+
+    /** İki cevabın yapı farkları (boş dizilerin altı hariç); fark yoksa boş. */
+    static List<String> shapeDiff(JsonNode expected, JsonNode actual) {
+        Map<String, String> a = new HashMap<>();
+        Map<String, String> b = new HashMap<>();
+        List<String> empty = new ArrayList<>();
+        shape(expected, "$", a, empty);
+        shape(actual, "$", b, empty);
+        TreeSet<String> diffs = new TreeSet<>();
+        TreeSet<String> keys = new TreeSet<>(a.keySet());
+        keys.addAll(b.keySet());
+        for (String key : keys) {
+            if (empty.stream().anyMatch(key::startsWith)) {
+                continue;
+            }
+            String ta = a.get(key);
+            String tb = b.get(key);
+            if (ta == null || tb == null || !ta.equals(tb)) {
+                diffs.add(key + " " + (ta == null ? "-" : ta) + "→" + (tb == null ? "-" : tb));
+            }
+        }
+        return new ArrayList<>(diffs);
+    }
+
+    // ============== CLI ==============
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opts = CliArgs.parse(args);
+        File file = resolve(opts.getOrDefault("file", "latest"));
+        String envName = opts.getOrDefault("env", "dev.faturalab.buyer.albc");
+        EnvironmentManager.EnvironmentConfig env = EnvironmentManager.loadEnvironment(envName).copy();
+        if (opts.containsKey("host")) {
+            env.setHost(opts.get("host"));
+        }
+        IntegrationStubServer stub = null;
+        if (opts.containsKey("stub")) {
+            stub = IntegrationStubServer.fromConfig().build().start();
+            env.setHost(stub.getBaseUrl());
+        }
+        String speedOpt = opts.getOrDefault("speed", "1");
+        double speed = "max".equalsIgnoreCase(speedOpt) ? 0 : Double.parseDouble(speedOpt.replace("x", ""));
+
+        ReplayResult result;
+        try {
+            result = new TrafficReplayer(env, speed, !opts.containsKey("keep-ids")).replay(file);
+        } finally {
+            if (stub != null) {
+                stub.stop();
+            }
+        }
+        System.out.println(result.summary());
+        File report = result.writeJson(new File(opts.getOrDefault("out", "target/load-reports")));
+        System.out.println("Rapor: " + report.getPath());
+        System.exit(opts.containsKey("fail-on-mismatch") && result.mismatches() > 0 ? 2 : 0);
+    }
+
+    /** "latest": api.traffic.dir altındaki en yeni traffic-*.jsonl. */
+    private static File resolve(String file) {
+        if (!"latest".equals(file)) {
+            return new File(file);
+        }
+        File dir = new File(TrafficRecorder.trafficDir());
+        File[] files = dir.listFiles((d, name) -> name.startsWith("traffic-") && name.endsWith(".jsonl"));
+        if (files == null || files.length == 0) {
+            throw new IllegalArgumentException("Kayıt dosyası bulunamadı: " + dir.getPath());
+        }
+        return Arrays.stream(files).max(Comparator.comparingLong(File::lastModified)).get();
+    }
+}
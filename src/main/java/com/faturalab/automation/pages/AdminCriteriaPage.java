@@ -157,7 +157,7 @@ public class AdminCriteriaPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(YONETIM_PANELI_BTN));
             ypBtn.click();
             log.info("'Yönetim Paneli' butonuna tıklandı.");
-            Thread.sleep(800);
+            waitForVaadinIdle();
 
             // Sub-item'a tıkla
             By subLocator = By.xpath(
@@ -167,8 +167,6 @@ public class AdminCriteriaPage extends BasePageObject {
             subBtn.click();
             log.info("YP sub-item tıklandı: {}", subItemName);
             waitForVaadinNavigation();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("YP sub-item navigasyonu başarısız [{}]: {}", subItemName, e.getMessage());
         }
@@ -202,7 +200,7 @@ public class AdminCriteriaPage extends BasePageObject {
         try {
             // Kurum seçimi
             fillComboBox(KURUM_COMBOBOX, kurumAdi, "Kurum");
-            Thread.sleep(500);
+            waitForVaadinIdle();
 
             // Limit tutarı
             fillField(LIMIT_TUTARI_INPUT, limitTutari, "Limit Tutarı");
@@ -215,8 +213,6 @@ public class AdminCriteriaPage extends BasePageObject {
             // Kaydet
             clickSave(LIMIT_KAYDET_BTN, "Limit Kaydet");
             log.info("Finansman limiti ayarlandı: kurum={}, tutar={}, para={}", kurumAdi, limitTutari, paraBirimi);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("Finansman limiti ayarlanamadı: {}", e.getMessage());
         }
@@ -332,7 +328,7 @@ public class AdminCriteriaPage extends BasePageObject {
     public boolean isBordroInStatus(String bordroNo, String status) {
         try {
             wait.until(ExpectedConditions.visibilityOfElementLocated(BORDRO_GRID));
-            Thread.sleep(1000);
+            waitForVaadinIdle();
             List<WebElement> cells = driver.findElements(GRID_CELLS);
             boolean bordroFound = false;
             for (WebElement cell : cells) {
@@ -343,9 +339,6 @@ public class AdminCriteriaPage extends BasePageObject {
             // Fallback: page source
             String src = driver.getPageSource();
             return src.contains(status);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
         } catch (Exception e) {
             return driver.getPageSource().contains(status);
         }
@@ -390,7 +383,7 @@ public class AdminCriteriaPage extends BasePageObject {
                 .until(ExpectedConditions.visibilityOfElementLocated(locator));
             input.clear();
             input.sendKeys(value);
-            Thread.sleep(500);
+            waitForVaadinIdle();
             // Dropdown option seç
             By option = By.xpath(
                 "//vaadin-combo-box-overlay//vaadin-combo-box-item[contains(normalize-space(),'" + value + "')] | " +
@@ -405,8 +398,6 @@ public class AdminCriteriaPage extends BasePageObject {
                 input.sendKeys(org.openqa.selenium.Keys.ENTER);
             }
             log.info("{} seçildi: {}", fieldName, value);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("{} seçilemedi: {}", fieldName, e.getMessage());
         }
@@ -419,9 +410,7 @@ public class AdminCriteriaPage extends BasePageObject {
                 .until(ExpectedConditions.elementToBeClickable(locator));
             btn.click();
             log.info("{} butonuna tıklandı.", label);
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("{} butonu tıklanamadı: {}", label, e.getMessage());
         }
@@ -434,7 +423,7 @@ public class AdminCriteriaPage extends BasePageObject {
                 .until(ExpectedConditions.elementToBeClickable(CONFIRM_BTN));
             btn.click();
             log.info("Onay dialogu onaylandı.");
-            Thread.sleep(1000);
+            waitForVaadinIdle();
         } catch (Exception ignored) {}
     }
 }
@@ -76,7 +76,7 @@ public class AdminFKAyarlariPage extends BasePageObject {
             ((JavascriptExecutor) driver).executeScript(
                     "var combos = document.querySelectorAll('vaadin-combo-box, vaadin-select');" +
                     "if (combos.length) combos[0].click();");
-            Thread.sleep(450);
+            waitForVaadinIdle();
             Boolean picked = (Boolean) ((JavascriptExecutor) driver).executeScript(
                     "var kw = arguments[0].toLowerCase();" +
                     "var items = document.querySelectorAll('vaadin-item, vaadin-combo-box-item, [role=\"option\"]');" +
@@ -99,8 +99,6 @@ public class AdminFKAyarlariPage extends BasePageObject {
                     log.warn("Banka listesinde '{}' bulunamadı — adım atlanıyor.", bankaAdi);
                 }
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("Banka seçimi: {}", e.getMessage());
         }
@@ -176,9 +174,7 @@ public class AdminFKAyarlariPage extends BasePageObject {
                     "  if (t === 'kaydet' || t === 'kaydet ' || t === 'save') { b.click(); return true; }" +
                     "}" +
                     "return false;");
-            Thread.sleep(1200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Kaydet: {}", e.getMessage());
         }
@@ -47,11 +47,7 @@ public class AdminFirmaPage extends BasePageObject {
     public void clickFirstDuzenleButton() {
         try {
             wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector("vaadin-grid")));
-            try {
-                Thread.sleep(400);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            waitForVaadinIdle();
             Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
                     "function clickDzenIn(scope) {" +
                     "  var btns = scope.querySelectorAll('vaadin-button, button');" +
@@ -227,11 +223,7 @@ public class AdminFirmaPage extends BasePageObject {
                     "return count;",
                     yeniAdres == null ? "" : yeniAdres);
             log.info("Firma diyaloğu alan doldurma (Vaadin): yaklaşık {} alan işlendi", filled);
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            waitForVaadinIdle();
             pickFirstOptionsForEmptySelectsInFirmaDialog();
         } catch (Exception e) {
             log.warn("fillFirmaEditDialogForSave: {}", e.getMessage());
@@ -263,22 +255,14 @@ public class AdminFirmaPage extends BasePageObject {
                             continue;
                         }
                         box.click();
-                        try {
-                            Thread.sleep(550);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
+                        waitForVaadinIdle();
                         List<WebElement> items = driver.findElements(By.cssSelector("vaadin-item"));
                         for (WebElement it : items) {
                             try {
                                 if (it.isDisplayed() && !it.getText().isBlank()) {
                                     it.click();
                                     anyClicked = true;
-                                    try {
-                                        Thread.sleep(350);
-                                    } catch (InterruptedException e) {
-                                        Thread.currentThread().interrupt();
-                                    }
+                                    waitForVaadinIdle();
                                     break;
                                 }
                             } catch (Exception ignored) {
@@ -336,14 +320,10 @@ public class AdminFirmaPage extends BasePageObject {
                     By.xpath("//vaadin-dialog-overlay//vaadin-button[normalize-space()='Kaydet'] | " +
                             "//vaadin-dialog-overlay//vaadin-button[normalize-space()='KAYDET']")));
             dlgBtn.click();
-            Thread.sleep(800);
+            waitForVaadinIdle();
         } catch (Exception e) {
             clickKaydetJs();
-            try {
-                Thread.sleep(800);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-            }
+            waitForVaadinIdle();
         }
         acceptVaadinConfirmDialogIfPresent();
     }
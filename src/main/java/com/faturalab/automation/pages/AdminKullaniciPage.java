@@ -119,18 +119,12 @@ public class AdminKullaniciPage extends BasePageObject {
                     "  if (t === 'kaydet') { b.click(); return true; }" +
                     "}" +
                     "return false;");
-            Thread.sleep(800);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Kaydet: {}", e.getMessage());
         }
         acceptVaadinConfirmDialogIfPresent();
-        try {
-            Thread.sleep(700);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        waitForVaadinIdle();
         acceptVaadinConfirmDialogIfPresent();
     }
 
@@ -155,7 +155,7 @@ public class AdminPanelPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(YONETIM_PANELI_BTN));
             ypBtn.click();
             log.info("'Yönetim Paneli' butonuna tıklandı.");
-            Thread.sleep(800);
+            waitForVaadinIdle();
 
             // Sonra sub-item'a tıkla
             By subLocator = By.xpath(
@@ -166,8 +166,6 @@ public class AdminPanelPage extends BasePageObject {
             subBtn.click();
             log.info("YP sub-item tıklandı: {}", subItemName);
             waitForVaadinNavigation();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("YP sub-item navigasyonu başarısız [{}]: {}", subItemName, e.getMessage());
         }
@@ -213,9 +211,7 @@ public class AdminPanelPage extends BasePageObject {
             input.sendKeys(faturaNo);
             input.sendKeys(Keys.ENTER);
             log.info("Fatura No ile arama yapıldı: {}", faturaNo);
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Fatura No arama başarısız [{}]: {}", faturaNo, e.getMessage());
         }
@@ -229,9 +225,7 @@ public class AdminPanelPage extends BasePageObject {
             input.sendKeys(vkn);
             input.sendKeys(Keys.ENTER);
             log.info("VKN ile arama yapıldı: {}", vkn);
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("VKN arama başarısız [{}]: {}", vkn, e.getMessage());
         }
@@ -262,9 +256,7 @@ public class AdminPanelPage extends BasePageObject {
             input.sendKeys(bordroNo);
             input.sendKeys(Keys.ENTER);
             log.info("Bordro No ile arama yapıldı (son filtre alanı): {}", bordroNo);
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Bordro No arama başarısız [{}]: {}", bordroNo, e.getMessage());
         }
@@ -282,9 +274,7 @@ public class AdminPanelPage extends BasePageObject {
             searchInvoice(invoiceNo);
             clickActionButtonInRow(invoiceNo, ONAYLA_BTN, "ONAYLA");
             confirmIfDialogAppears();
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.error("Fatura onaylanamadı [{}]: {}", invoiceNo, e.getMessage());
         }
@@ -295,9 +285,7 @@ public class AdminPanelPage extends BasePageObject {
             searchInvoice(invoiceNo);
             clickActionButtonInRow(invoiceNo, REDDET_BTN, "REDDET");
             confirmIfDialogAppears();
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.error("Fatura reddedilemedi [{}]: {}", invoiceNo, e.getMessage());
         }
@@ -346,7 +334,7 @@ public class AdminPanelPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(CONFIRM_YES_BTN));
             btn.click();
             log.info("Onay dialog'u onaylandı.");
-            Thread.sleep(1000);
+            waitForVaadinIdle();
         } catch (Exception ignored) {}
     }
 
@@ -357,7 +345,7 @@ public class AdminPanelPage extends BasePageObject {
             searchInvoice(invoiceNo);
             new WebDriverWait(driver, Duration.ofSeconds(5))
                     .until(ExpectedConditions.visibilityOfElementLocated(INVOICE_GRID));
-            Thread.sleep(1000);
+            waitForVaadinIdle();
 
             List<WebElement> cells = driver.findElements(GRID_ROWS);
             for (WebElement cell : cells) {
@@ -368,9 +356,6 @@ public class AdminPanelPage extends BasePageObject {
                 }
             }
             return null;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
         } catch (Exception e) {
             log.warn("Durum alınamadı [{}]: {}", invoiceNo, e.getMessage());
             return null;
@@ -96,9 +96,7 @@ public class AdminReportsPage extends BasePageObject {
         try {
             new WebDriverWait(driver, Duration.ofSeconds(20))
                     .until(ExpectedConditions.visibilityOfElementLocated(GRID));
-            Thread.sleep(1500); // Vaadin grid asenkron satır render'ı
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle(); // Vaadin grid asenkron satır render'ı
         } catch (Exception e) {
             log.warn("isTextVisibleInGrid grid beklemesi: {}", e.getMessage());
         }
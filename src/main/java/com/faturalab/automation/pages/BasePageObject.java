@@ -1,5 +1,8 @@
 package com.faturalab.automation.pages;
 
+import com.faturalab.automation.utils.JsBatch;
+import com.faturalab.automation.utils.ScriptRegistry;
+import com.faturalab.automation.utils.VaadinSync;
 import com.faturalab.automation.utils.WaitHelper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -110,20 +113,9 @@ public abstract class BasePageObject {
      * @return true if a navigation item was found and clicked
      */
     protected boolean clickNavItemByText(String textKeyword) {
-        // Önce mevcut nav item listesini logla (debug)
-        try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            Object navItems = js.executeScript(
-                "var sel = 'vaadin-side-nav-item, vaadin-tab, a[href]';" +
-                "return Array.from(document.querySelectorAll(sel))" +
-                ".map(e => e.textContent.trim().replace(/\\s+/g,' ')).filter(t=>t.length>0).join(' | ');"
-            );
-            log.info("Nav items (keyword='{}') : {}", textKeyword, navItems);
-        } catch (Exception ignored) {}
-
-        try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            Boolean shadowHit = (Boolean) js.executeScript(
+        // Shadow-DOM yürüyüşü ve querySelector yedeği tek round trip'te; listeler yalnızca bulunamazsa
+        JsBatch.Result r = JsBatch.create()
+                .attempt("shadow",
                     "var kw = arguments[0].toLowerCase();" +
                     "function isNavLink(node) {" +
                     "  var tag = (node.tagName || '').toLowerCase();" +
@@ -151,48 +143,46 @@ public abstract class BasePageObject {
                     "  return false;" +
                     "}" +
                     "return walk(document.body, 0);",
-                    textKeyword);
-            if (Boolean.TRUE.equals(shadowHit)) {
-                log.info("Shadow/depth-first nav clicked for keyword: '{}'", textKeyword);
-                return true;
-            }
-        } catch (Exception e) {
-            log.debug("Shadow nav attempt failed: {}", e.getMessage());
-        }
+                    textKeyword)
+                .attempt("query",
+                    "var kw = arguments[0].toLowerCase();" +
+                    // mailto/tel/javascript linkleri hariç tut
+                    "var sel = 'vaadin-side-nav-item, vaadin-tab, [role=\"menuitem\"], [role=\"option\"]," +
+                               " a[href]:not([href^=\"mailto:\"]):not([href^=\"tel:\"]):not([href^=\"javascript:\"])';" +
+                    "var els = Array.from(document.querySelectorAll(sel));" +
+                    "for (var i = 0; i < els.length; i++) {" +
+                    "  var txt = (els[i].textContent || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
+                    // Menü öğeleri genellikle kısa (1-60 karakter)
+                    "  if (txt.length >= 1 && txt.length <= 60 && txt.includes(kw)) { els[i].click(); return true; }" +
+                    "}" +
+                    "return false;",
+                    textKeyword)
+                // Debug: nav bulunamadıysa mevcut URL, nav item'lar ve a[href] linkleri
+                .onFailure("url", "return location.href;")
+                .onFailure("navItems",
+                    "var sel = 'vaadin-side-nav-item, vaadin-tab, a[href]';" +
+                    "return Array.from(document.querySelectorAll(sel))" +
+                    ".map(e => e.textContent.trim().replace(/\\s+/g,' ')).filter(t=>t.length>0).join(' | ');")
+                .onFailure("links",
+                    "return Array.from(document.querySelectorAll('a[href]'))" +
+                    ".map(a => '[' + a.textContent.trim().substring(0,25) + ']=' + a.href)" +
+                    ".filter(s=>s.length>5).slice(0,15).join(' || ');")
+                .run(driver);
 
-        try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            Boolean found = (Boolean) js.executeScript(
-                "var kw = arguments[0].toLowerCase();" +
-                // mailto/tel/javascript linkleri hariç tut
-                "var sel = 'vaadin-side-nav-item, vaadin-tab, [role=\"menuitem\"], [role=\"option\"]," +
-                           " a[href]:not([href^=\"mailto:\"]):not([href^=\"tel:\"]):not([href^=\"javascript:\"])';" +
-                "var els = Array.from(document.querySelectorAll(sel));" +
-                "for (var i = 0; i < els.length; i++) {" +
-                "  var txt = (els[i].textContent || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
-                // Menü öğeleri genellikle kısa (1-60 karakter)
-                "  if (txt.length >= 1 && txt.length <= 60 && txt.includes(kw)) { els[i].click(); return true; }" +
-                "}" +
-                "return false;",
-                textKeyword
-            );
-            if (Boolean.TRUE.equals(found)) {
-                log.info("JS nav clicked for keyword: '{}'", textKeyword);
-                return true;
-            }
-        } catch (Exception e) {
-            log.debug("JS nav attempt failed: {}", e.getMessage());
+        if (r.isTruthy("shadow")) {
+            log.info("Shadow/depth-first nav clicked for keyword: '{}'", textKeyword);
+            return true;
         }
-        // Debug: mevcut URL ve a[href] linklerini logla (nav bulunamadı)
-        try {
-            log.info("Nav bulunamadi (keyword='{}'). URL: {}", textKeyword, driver.getCurrentUrl());
-            Object links = ((JavascriptExecutor) driver).executeScript(
-                "return Array.from(document.querySelectorAll('a[href]'))" +
-                ".map(a => '[' + a.textContent.trim().substring(0,25) + ']=' + a.href)" +
-                ".filter(s=>s.length>5).slice(0,15).join(' || ');"
-            );
-            log.info("Sayfadaki linkler: {}", links);
-        } catch (Exception ignored) {}
+        if (r.isTruthy("query")) {
+            log.info("JS nav clicked for keyword: '{}'", textKeyword);
+            return true;
+        }
+        if (!r.errors().isEmpty()) {
+            log.debug("JS nav attempt errors: {}", r.errors());
+        }
+        log.info("Nav bulunamadi (keyword='{}'). URL: {}", textKeyword, r.string("url"));
+        log.info("Nav items (keyword='{}') : {}", textKeyword, r.string("navItems"));
+        log.info("Sayfadaki linkler: {}", r.string("links"));
         return false;
     }
 
@@ -218,30 +208,117 @@ public abstract class BasePageObject {
                     "if (tryClick(b)) return true;" +
                     "return false;");
             if (Boolean.TRUE.equals(toggled)) {
-                Thread.sleep(900);
+                // Drawer açılış animasyonu bitene kadar
+                VaadinSync.waitUntilSettled(driver);
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.debug("tryOpenNavigationDrawer: {}", e.getMessage());
         }
     }
 
     /**
-     * Waits for Vaadin client-side navigation to settle.
+     * Waits for Vaadin client-side navigation to settle: page loaded, no pending
+     * UIDL round trip, no overlay/animation in progress (see {@link VaadinSync}).
      */
     protected void waitForVaadinNavigation() {
-        try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            wait.until(d -> "complete".equals(js.executeScript("return document.readyState")));
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            log.debug("waitForVaadinNavigation: {}", e.getMessage());
-        }
+        VaadinSync.waitUntilSettled(driver);
+    }
+
+    /**
+     * Waits until the Vaadin UI is idle after an action (click, value change).
+     * Use instead of a fixed Thread.sleep after interacting with a component.
+     */
+    protected void waitForVaadinIdle() {
+        VaadinSync.waitUntilSettled(driver);
     }
 
+    /**
+     * Açık Vaadin onay diyalogunda olumlu butonu bulup tıklayan sayfa yardımcısı
+     * ({@link ScriptRegistry}: sayfaya bir kez kurulur, her turda yalnızca çağrı gönderilir).
+     */
+    private static final ScriptRegistry.Helper ACCEPT_CONFIRM_DIALOG = ScriptRegistry.define("acceptConfirmDialog",
+            "function() {" +
+            "var neg = ['iptal','hayır','hayir','vazgeç','vazgec','cancel','no'];" +
+            "var pos = ['evet','tamam','onayla','devam','yes','ok','confirm'];" +
+            "function visible(el) {" +
+            "  if (!el) return false;" +
+            "  var tag0 = (el.tagName || '').toLowerCase();" +
+            "  if (tag0 === 'vaadin-confirm-dialog') return true;" +
+            "  var cs = window.getComputedStyle(el);" +
+            "  if (cs.display === 'none' || cs.visibility === 'hidden') return false;" +
+            "  var r = el.getBoundingClientRect();" +
+            "  return r.width > 2 || r.height > 2;" +
+            "}" +
+            "function skipLabel(t) {" +
+            "  t = (t || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
+            "  for (var i = 0; i < neg.length; i++) {" +
+            "    if (t === neg[i] || t.indexOf(neg[i] + ' ') === 0) return true;" +
+            "  }" +
+            "  return false;" +
+            "}" +
+            "function matchPos(t) {" +
+            "  t = (t || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
+            "  for (var j = 0; j < pos.length; j++) {" +
+            "    if (t === pos[j] || t.indexOf(pos[j] + ' ') === 0) return true;" +
+            "  }" +
+            "  return false;" +
+            "}" +
+            "function themePrimary(n) {" +
+            "  var th = (n.getAttribute && n.getAttribute('theme')) || '';" +
+            "  th = th.toLowerCase();" +
+            "  return th.indexOf('primary') >= 0 && th.indexOf('tertiary') < 0 && th.indexOf('contrast') < 0;" +
+            "}" +
+            "function clickInSubtree(root) {" +
+            "  if (!root || !visible(root)) return false;" +
+            "  var dlgText = (root.textContent || '').toLowerCase();" +
+            "  var needPrimary = dlgText.indexOf('emin') >= 0 || dlgText.indexOf('güncelle') >= 0 || " +
+            "      dlgText.indexOf('guencelle') >= 0 || dlgText.indexOf('kullanıcı') >= 0 || " +
+            "      dlgText.indexOf('kullanici') >= 0;" +
+            "  var stack = [root];" +
+            "  while (stack.length) {" +
+            "    var n = stack.pop();" +
+            "    if (!n || n.nodeType !== 1) continue;" +
+            "    var tag = (n.tagName || '').toLowerCase();" +
+            "    if ((tag === 'vaadin-button' || tag === 'button') && !n.disabled) {" +
+            "      var t = (n.textContent || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
+            "      if (!t && n.shadowRoot) {" +
+            "        t = (n.shadowRoot.textContent || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
+            "      }" +
+            "      if (t && !skipLabel(t) && matchPos(t)) { n.click(); return true; }" +
+            "    }" +
+            "    if (n.shadowRoot) stack.push(n.shadowRoot);" +
+            "    var ch = n.children;" +
+            "    if (ch) for (var k = ch.length - 1; k >= 0; k--) stack.push(ch[k]);" +
+            "  }" +
+            "  if (!needPrimary) return false;" +
+            "  stack = [root];" +
+            "  while (stack.length) {" +
+            "    var n2 = stack.pop();" +
+            "    if (!n2 || n2.nodeType !== 1) continue;" +
+            "    var tag2 = (n2.tagName || '').toLowerCase();" +
+            "    if (tag2 === 'vaadin-button' && !n2.disabled && themePrimary(n2)) {" +
+            "      var tx = n2.textContent || '';" +
+            "      if (!tx && n2.shadowRoot) tx = n2.shadowRoot.textContent || '';" +
+            "      if (!skipLabel(tx)) { n2.click(); return true; }" +
+            "    }" +
+            "    if (n2.shadowRoot) stack.push(n2.shadowRoot);" +
+            "    var ch2 = n2.children;" +
+            "    if (ch2) for (var k2 = ch2.length - 1; k2 >= 0; k2--) stack.push(ch2[k2]);" +
+            "  }" +
+            "  return false;" +
+            "}" +
+            "var hostSel = 'vaadin-dialog-overlay, vaadin-confirm-dialog-overlay, vaadin-confirm-dialog';" +
+            "var hosts = document.querySelectorAll(hostSel);" +
+            "for (var h = 0; h < hosts.length; h++) {" +
+            "  if (clickInSubtree(hosts[h])) return true;" +
+            "}" +
+            "var cds = document.querySelectorAll('vaadin-confirm-dialog[opened]');" +
+            "for (var c = 0; c < cds.length; c++) {" +
+            "  if (clickInSubtree(cds[c])) return true;" +
+            "}" +
+            "return false;" +
+            "}");
+
     /**
      * Açıksa Vaadin onay diyalogunda (ör. "güncellemek istediğinizden emin misiniz") olumlu yanıtı tıklar.
      * Üst üste birden fazla onay penceresi varsa birkaç kez dener.
@@ -249,95 +326,12 @@ public abstract class BasePageObject {
     public void acceptVaadinConfirmDialogIfPresent() {
         for (int round = 0; round < 5; round++) {
             try {
-                Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
-                        "var neg = ['iptal','hayır','hayir','vazgeç','vazgec','cancel','no'];" +
-                        "var pos = ['evet','tamam','onayla','devam','yes','ok','confirm'];" +
-                        "function visible(el) {" +
-                        "  if (!el) return false;" +
-                        "  var tag0 = (el.tagName || '').toLowerCase();" +
-                        "  if (tag0 === 'vaadin-confirm-dialog') return true;" +
-                        "  var cs = window.getComputedStyle(el);" +
-                        "  if (cs.display === 'none' || cs.visibility === 'hidden') return false;" +
-                        "  var r = el.getBoundingClientRect();" +
-                        "  return r.width > 2 || r.height > 2;" +
-                        "}" +
-                        "function skipLabel(t) {" +
-                        "  t = (t || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
-                        "  for (var i = 0; i < neg.length; i++) {" +
-                        "    if (t === neg[i] || t.indexOf(neg[i] + ' ') === 0) return true;" +
-                        "  }" +
-                        "  return false;" +
-                        "}" +
-                        "function matchPos(t) {" +
-                        "  t = (t || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
-                        "  for (var j = 0; j < pos.length; j++) {" +
-                        "    if (t === pos[j] || t.indexOf(pos[j] + ' ') === 0) return true;" +
-                        "  }" +
-                        "  return false;" +
-                        "}" +
-                        "function themePrimary(n) {" +
-                        "  var th = (n.getAttribute && n.getAttribute('theme')) || '';" +
-                        "  th = th.toLowerCase();" +
-                        "  return th.indexOf('primary') >= 0 && th.indexOf('tertiary') < 0 && th.indexOf('contrast') < 0;" +
-                        "}" +
-                        "function clickInSubtree(root) {" +
-                        "  if (!root || !visible(root)) return false;" +
-                        "  var dlgText = (root.textContent || '').toLowerCase();" +
-                        "  var needPrimary = dlgText.indexOf('emin') >= 0 || dlgText.indexOf('güncelle') >= 0 || " +
-                        "      dlgText.indexOf('guencelle') >= 0 || dlgText.indexOf('kullanıcı') >= 0 || " +
-                        "      dlgText.indexOf('kullanici') >= 0;" +
-                        "  var stack = [root];" +
-                        "  while (stack.length) {" +
-                        "    var n = stack.pop();" +
-                        "    if (!n || n.nodeType !== 1) continue;" +
-                        "    var tag = (n.tagName || '').toLowerCase();" +
-                        "    if ((tag === 'vaadin-button' || tag === 'button') && !n.disabled) {" +
-                        "      var t = (n.textContent || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
-                        "      if (!t && n.shadowRoot) {" +
-                        "        t = (n.shadowRoot.textContent || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
-                        "      }" +
-                        "      if (t && !skipLabel(t) && matchPos(t)) { n.click(); return true; }" +
-                        "    }" +
-                        "    if (n.shadowRoot) stack.push(n.shadowRoot);" +
-                        "    var ch = n.children;" +
-                        "    if (ch) for (var k = ch.length - 1; k >= 0; k--) stack.push(ch[k]);" +
-                        "  }" +
-                        "  if (!needPrimary) return false;" +
-                        "  stack = [root];" +
-                        "  while (stack.length) {" +
-                        "    var n2 = stack.pop();" +
-                        "    if (!n2 || n2.nodeType !== 1) continue;" +
-                        "    var tag2 = (n2.tagName || '').toLowerCase();" +
-                        "    if (tag2 === 'vaadin-button' && !n2.disabled && themePrimary(n2)) {" +
-                        "      var tx = n2.textContent || '';" +
-                        "      if (!tx && n2.shadowRoot) tx = n2.shadowRoot.textContent || '';" +
-                        "      if (!skipLabel(tx)) { n2.click(); return true; }" +
-                        "    }" +
-                        "    if (n2.shadowRoot) stack.push(n2.shadowRoot);" +
-                        "    var ch2 = n2.children;" +
-                        "    if (ch2) for (var k2 = ch2.length - 1; k2 >= 0; k2--) stack.push(ch2[k2]);" +
-                        "  }" +
-                        "  return false;" +
-                        "}" +
-                        "var hostSel = 'vaadin-dialog-overlay, vaadin-confirm-dialog-overlay, vaadin-confirm-dialog';" +
-                        "var hosts = document.querySelectorAll(hostSel);" +
-                        "for (var h = 0; h < hosts.length; h++) {" +
-                        "  if (clickInSubtree(hosts[h])) return true;" +
-                        "}" +
-                        "var cds = document.querySelectorAll('vaadin-confirm-dialog[opened]');" +
-                        "for (var c = 0; c < cds.length; c++) {" +
-                        "  if (clickInSubtree(cds[c])) return true;" +
-                        "}" +
-                        "return false;");
+                Boolean clicked = (Boolean) ACCEPT_CONFIRM_DIALOG.call(driver);
                 if (!Boolean.TRUE.equals(clicked)) {
                     return;
                 }
                 log.info("Vaadin onay diyalogu onaylandi (tur {}).", round + 1);
                 waitForVaadinNavigation();
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return;
             } catch (Exception e) {
                 log.debug("acceptVaadinConfirmDialogIfPresent: {}", e.getMessage());
                 return;
@@ -40,9 +40,7 @@ public class BuyerAuctionManagePage extends BasePageObject {
                 driver.get(base.replaceAll("/+$", "") + "/");
             }
             waitForVaadinNavigation();
-            Thread.sleep(600);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Alıcı ana sayfa: {}", e.getMessage());
         }
@@ -55,9 +53,7 @@ public class BuyerAuctionManagePage extends BasePageObject {
                     "window.scrollTo(0, document.body.scrollHeight);" +
                     "var main = document.querySelector('main, [main], #main');" +
                     "if (main) main.scrollTop = main.scrollHeight;");
-            Thread.sleep(450);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Scroll: {}", e.getMessage());
         }
@@ -91,11 +87,9 @@ public class BuyerAuctionManagePage extends BasePageObject {
                     "}" +
                     "return walk(document.body, 0);");
             if (Boolean.TRUE.equals(js)) {
-                Thread.sleep(900);
+                waitForVaadinIdle();
                 return true;
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("Hızlı Teklif Al (ana sayfa): {}", e.getMessage());
         }
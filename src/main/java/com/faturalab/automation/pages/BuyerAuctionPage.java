@@ -182,9 +182,7 @@ public class BuyerAuctionPage extends BasePageObject {
         try {
             clickActionButtonInRow(auctionId, "ONAYLA");
             confirmIfDialogAppears(null);
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("İhale onaylanamadı (soft-pass) [{}]: {}", auctionId, e.getMessage());
         }
@@ -199,9 +197,7 @@ public class BuyerAuctionPage extends BasePageObject {
         try {
             clickActionButtonInRow(auctionId, "REDDET");
             confirmIfDialogAppears(reason);
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("İhale reddedilemedi (soft-pass) [{}]: {}", auctionId, e.getMessage());
         }
@@ -213,9 +209,7 @@ public class BuyerAuctionPage extends BasePageObject {
     public void viewAuctionDetail(String auctionId) {
         try {
             clickActionButtonInRow(auctionId, "DETAY");
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("İhale detayı açılamadı (soft-pass) [{}]: {}", auctionId, e.getMessage());
         }
@@ -292,7 +286,7 @@ public class BuyerAuctionPage extends BasePageObject {
             WebElement confirmBtn = waitForElementToBeClickable(CONFIRM_YES_BTN);
             confirmBtn.click();
             log.info("Dialog onaylandı.");
-            Thread.sleep(1000);
+            waitForVaadinIdle();
         } catch (Exception ignored) {
             // Dialog gelmedi, normal akış
         }
@@ -306,7 +300,7 @@ public class BuyerAuctionPage extends BasePageObject {
     public String getAuctionRowText(String auctionId) {
         try {
             wait.until(ExpectedConditions.visibilityOfElementLocated(AUCTION_GRID));
-            Thread.sleep(1000);
+            waitForVaadinIdle();
 
             List<WebElement> cells = driver.findElements(GRID_ROWS);
             for (WebElement cell : cells) {
@@ -319,9 +313,6 @@ public class BuyerAuctionPage extends BasePageObject {
             WebElement row = driver.findElement(
                     By.xpath("//*[contains(text(),'" + auctionId + "')]"));
             return row.getText();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
         } catch (Exception e) {
             log.warn("İhale bulunamadı: {}", auctionId);
             return null;
@@ -88,16 +88,14 @@ public class BuyerBulkUploadPage extends BasePageObject {
         try {
             // 1. "Yükle" (veya Kaydet) aksiyon butonuna bas
             log.info("Yükle aksiyonu: {}", clickActionButton());
-            Thread.sleep(1500);
+            waitForVaadinIdle();
             // 2. Takip formu (ör. Vade Tarihi formu) açıldıysa oradaki "Kaydet"e de bas.
             //    Excel/XML bazı akışlarda upload sonrası ikinci bir onay adımı gösteriyor.
             Object follow = clickActionButton();
             if (!"aksiyon_butonu_yok".equals(follow)) {
                 log.info("Takip aksiyonu: {}", follow);
-                Thread.sleep(800);
+                waitForVaadinIdle();
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("clickYukle: {}", e.getMessage());
         }
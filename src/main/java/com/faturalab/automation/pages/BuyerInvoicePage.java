@@ -129,9 +129,7 @@ public class BuyerInvoicePage extends BasePageObject {
                 btn.click();
                 log.info("GÖZAT tıklandı (genel).");
             }
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("GÖZAT tıklanamadı [{}]: {}", invoiceIdentifier, e.getMessage());
         }
@@ -146,9 +144,7 @@ public class BuyerInvoicePage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(GOZAT_BTN));
             btn.click();
             log.info("İlk GÖZAT butonuna tıklandı.");
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("İlk GÖZAT tıklanamadı: {}", e.getMessage());
         }
@@ -158,7 +154,7 @@ public class BuyerInvoicePage extends BasePageObject {
 
     public boolean isFaturaBilgileriDialogOpen() {
         try {
-            Thread.sleep(500);
+            waitForVaadinIdle();
             List<WebElement> dialogs = driver.findElements(DIALOG_OVERLAY);
             return dialogs.stream().anyMatch(WebElement::isDisplayed);
         } catch (Exception e) {
@@ -172,9 +168,7 @@ public class BuyerInvoicePage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(DIALOG_KAPAT_BTN));
             btn.click();
             log.info("Dialog 'Kapat' tıklandı.");
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Kapat butonu tıklanamadı: {}", e.getMessage());
         }
@@ -261,7 +255,7 @@ public class BuyerInvoicePage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(CONFIRM_YES_BTN));
             btn.click();
             log.info("Onay dialogu onaylandı.");
-            Thread.sleep(1000);
+            waitForVaadinIdle();
         } catch (Exception ignored) {}
     }
 }
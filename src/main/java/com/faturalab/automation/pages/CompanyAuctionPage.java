@@ -188,9 +188,7 @@ public class CompanyAuctionPage extends BasePageObject {
                 log.info("İhale oluştur butonuna XPath ile tıklandı.");
                 waitForVaadinNavigation();
             }
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("İhale oluşturma başlatılamadı: {}", e.getMessage());
         }
@@ -227,9 +225,7 @@ public class CompanyAuctionPage extends BasePageObject {
             WebElement btn = waitForElementToBeClickable(YAYINLA_BTN);
             btn.click();
             log.info("Yayınla butonuna tıklandı.");
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
                 "var btns = Array.from(document.querySelectorAll('vaadin-button, button'));" +
@@ -253,9 +249,7 @@ public class CompanyAuctionPage extends BasePageObject {
             WebElement btn = waitForElementToBeClickable(KABUL_ET_BTN);
             btn.click();
             log.info("Kabul Et butonuna tıklandı.");
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
                 "var btns = Array.from(document.querySelectorAll('vaadin-button, button'));" +
@@ -281,9 +275,7 @@ public class CompanyAuctionPage extends BasePageObject {
                 .until(ExpectedConditions.elementToBeClickable(CONFIRM_BTN));
             btn.click();
             log.info("Onay dialogu onaylandı.");
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception ignored) {
             // Dialog gelmedi, normal
         }
@@ -102,11 +102,7 @@ public class CompanyBulkUploadPage extends BasePageObject {
             WebElement combo = driver.findElement(By.cssSelector(
                     "vaadin-dialog-overlay vaadin-combo-box, vaadin-dialog-overlay vaadin-select"));
             combo.click();
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-            }
+            waitForVaadinIdle();
             ((JavascriptExecutor) driver).executeScript(
                     "var items = document.querySelectorAll('vaadin-item, [role=\"option\"]');" +
                     "for (var it of items) { it.click(); return true; }" +
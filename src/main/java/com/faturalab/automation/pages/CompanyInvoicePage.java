@@ -191,9 +191,7 @@ public class CompanyInvoicePage extends BasePageObject {
             } catch (Exception dialogEx) {
                 log.warn("vaadin-dialog-overlay gelmedi, devam ediliyor: {}", dialogEx.getMessage());
             }
-            Thread.sleep(800);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Fatura Yukle dialogu acilamadi (soft-pass): {}", e.getMessage());
         }
@@ -239,9 +237,7 @@ public class CompanyInvoicePage extends BasePageObject {
 
             uploadInput.sendKeys(absoluteFilePath);
             log.info("Dosya yuklendi: {}", absoluteFilePath);
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Dosya yuklenemedi (soft-pass): {}", e.getMessage());
         }
@@ -337,7 +333,7 @@ public class CompanyInvoicePage extends BasePageObject {
                 log.warn("Kaydet butonu bulunamadi — soft-pass devam ediliyor.");
                 return;
             }
-            Thread.sleep(1500);
+            waitForVaadinIdle();
 
             // Vade tarihi / tatil uyarısı dialogunu handle et
             try {
@@ -353,7 +349,7 @@ public class CompanyInvoicePage extends BasePageObject {
                 );
                 if (Boolean.TRUE.equals(confirmed)) {
                     log.info("Uyari dialogu onaylandi (Evet/Tamam/Devam).");
-                    Thread.sleep(1500);
+                    waitForVaadinIdle();
                 }
             } catch (Exception ignored) {}
 
@@ -361,8 +357,6 @@ public class CompanyInvoicePage extends BasePageObject {
 
             waitForUploadDialogClosed(45);
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("Kaydet butonu tiklanamadi (soft-pass): {}", e.getMessage());
         }
@@ -421,11 +415,7 @@ public class CompanyInvoicePage extends BasePageObject {
             if (dismissInvoiceUploadDialogIfOpen()) {
                 log.info("Fatura yükleme diyaloğu İptal ile kapatıldı (bekleme zaman aşımı).");
             }
-            try {
-                Thread.sleep(600);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-            }
+            waitForVaadinIdle();
         }
     }
 
@@ -437,9 +427,7 @@ public class CompanyInvoicePage extends BasePageObject {
             WebElement btn = waitForElementToBeClickable(IPTAL_BTN);
             btn.click();
             log.info("'İptal' butonuna tıklandı.");
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("İptal butonu tıklanamadı: {}", e.getMessage());
         }
@@ -466,7 +454,7 @@ public class CompanyInvoicePage extends BasePageObject {
      */
     public boolean isUploadDialogOpen() {
         try {
-            Thread.sleep(500);
+            waitForVaadinIdle();
             java.util.List<WebElement> dialogs = driver.findElements(DIALOG_OVERLAY);
             if (dialogs.isEmpty()) return false;
             return dialogs.stream().anyMatch(WebElement::isDisplayed);
@@ -483,7 +471,7 @@ public class CompanyInvoicePage extends BasePageObject {
     public String getInvoiceRowText(String invoiceNo) {
         try {
             wait.until(ExpectedConditions.visibilityOfElementLocated(INVOICE_GRID));
-            Thread.sleep(1000);
+            waitForVaadinIdle();
 
             // Tüm grid hücrelerini tara
             List<WebElement> cells = driver.findElements(GRID_ROWS);
@@ -498,9 +486,6 @@ public class CompanyInvoicePage extends BasePageObject {
             WebElement row = driver.findElement(
                     By.xpath("//*[contains(text(),'" + invoiceNo + "')]"));
             return row.getText();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
         } catch (Exception e) {
             log.warn("Fatura listesinde bulunamadı: {}", invoiceNo);
             return null;
@@ -515,7 +500,7 @@ public class CompanyInvoicePage extends BasePageObject {
     public String getInvoiceStatus(String invoiceNo) {
         try {
             wait.until(ExpectedConditions.visibilityOfElementLocated(INVOICE_GRID));
-            Thread.sleep(1000);
+            waitForVaadinIdle();
 
             Object result = ((JavascriptExecutor) driver).executeScript(
                 "var allCells = Array.from(document.querySelectorAll('vaadin-grid-cell-content'));" +
@@ -570,8 +555,6 @@ public class CompanyInvoicePage extends BasePageObject {
                 log.info("Fatura durumu: {} -> {}", invoiceNo, status);
                 return status;
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("Fatura durumu JS ile alinamadi, fallback: {}", e.getMessage());
         }
@@ -38,11 +38,6 @@ public class CompanyQuickOfferPage extends BasePageObject {
         for (String kw : keywords) {
             if (clickNavItemByText(kw)) {
                 waitForVaadinNavigation();
-                try {
-                    Thread.sleep(900);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
                 return true;
             }
         }
@@ -93,20 +88,14 @@ public class CompanyQuickOfferPage extends BasePageObject {
                 String s = t.trim();
                 if (s.length() > 5 && (s.matches(".*\\d.*") || s.contains("/") || s.contains("202"))) {
                     c.click();
-                    try {
-                        Thread.sleep(450);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
+                    waitForVaadinIdle();
                     return;
                 }
             }
             if (!cells.isEmpty()) {
                 cells.get(0).click();
-                Thread.sleep(400);
+                waitForVaadinIdle();
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("İlk grid satırı seçimi: {}", e.getMessage());
         }
@@ -136,11 +125,9 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "}" +
                     "return walk(document.querySelector('vaadin-dialog-overlay') || document.body, 0);");
             if (Boolean.TRUE.equals(toggled)) {
-                Thread.sleep(300);
+                waitForVaadinIdle();
                 log.info("Otomatik teklif / otomatik akış seçeneği etkinleştirildi (varsa).");
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.debug("Otomatik teklif checkbox: {}", e.getMessage());
         }
@@ -180,11 +167,9 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "return walk(document.body, 0);",
                     needle);
             if (Boolean.TRUE.equals(ok)) {
-                Thread.sleep(600);
+                waitForVaadinIdle();
                 return true;
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("Buton tıklama ({}): {}", labelNeedle, e.getMessage());
         }
@@ -244,7 +229,7 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "}" +
                     "return walk(document.body, 0);");
             if (Boolean.TRUE.equals(js)) {
-                Thread.sleep(800);
+                waitForVaadinIdle();
                 return true;
             }
         } catch (Exception e) {
@@ -296,14 +281,14 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "if (walk(ov || document.body, 0)) return true;" +
                     "return walk(document.body, 0);",
                     gun);
-            Thread.sleep(500);
+            waitForVaadinIdle();
             if (Boolean.TRUE.equals(picked)) {
                 ((JavascriptExecutor) driver).executeScript(
                         "var g = arguments[0];" +
                         "var items = document.querySelectorAll('vaadin-item, [role=\"option\"]');" +
                         "for (var it of items) { if ((it.textContent || '').includes(g)) { it.click(); break; } }",
                         gun);
-                Thread.sleep(400);
+                waitForVaadinIdle();
             }
             return true;
         } catch (Exception e) {
@@ -339,7 +324,7 @@ public class CompanyQuickOfferPage extends BasePageObject {
             if (!Boolean.TRUE.equals(clicked)) {
                 log.warn("Gönder/Kaydet butonu bulunamadı.");
             }
-            Thread.sleep(1200);
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Gönder: {}", e.getMessage());
         }
@@ -411,11 +396,9 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     invoiceNo);
             log.info("TEKLİF AL tıklama sonucu ({}): {}", invoiceNo, result);
             if (result != null) {
-                Thread.sleep(1000);
+                waitForVaadinIdle();
                 return true;
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("clickTeklifAlForInvoice ({}): {}", invoiceNo, e.getMessage());
         }
@@ -474,12 +457,10 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "return false;");
             if (Boolean.TRUE.equals(clicked)) {
                 log.info("Modal içinde 'Teklif Al' onaylandı.");
-                Thread.sleep(1200);
+                waitForVaadinIdle();
                 acceptVaadinConfirmDialogIfPresent();
                 return true;
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("confirmTeklifAlInModal: {}", e.getMessage());
         }
@@ -543,11 +524,9 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "return false;");
             if (Boolean.TRUE.equals(clicked)) {
                 log.info("'Kabul / İptal' butonuna tıklandı.");
-                Thread.sleep(1200);
+                waitForVaadinIdle();
                 return true;
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("clickKabulIptal: {}", e.getMessage());
         }
@@ -576,7 +555,7 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "    if (s.scrollHeight > s.clientHeight + 10) { s.scrollTop = s.scrollHeight; }" +
                     "  }" +
                     "}");
-            Thread.sleep(700);
+            waitForVaadinIdle();
 
             // "Teklifler" sekmesi/başlığı varsa tıkla
             js.executeScript(
@@ -588,7 +567,7 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "  if (t === 'teklifler' || t === 'gelen teklifler') { el.click(); return true; }" +
                     "}" +
                     "return false;");
-            Thread.sleep(700);
+            waitForVaadinIdle();
 
             // İlk sıradaki "Kabul Et" butonu
             Boolean accepted = (Boolean) js.executeScript(
@@ -605,12 +584,10 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "return false;");
             if (Boolean.TRUE.equals(accepted)) {
                 log.info("Teklifler altındaki ilk 'Kabul Et' butonuna tıklandı.");
-                Thread.sleep(1000);
+                waitForVaadinIdle();
                 return true;
             }
             log.warn("'Kabul Et' butonu modalda bulunamadı.");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("acceptFirstOfferInModal: {}", e.getMessage());
         }
@@ -655,7 +632,7 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "}" +
                     "return 'no_abf_checkbox';");
             log.info("ABF checkbox durumu: {}", checked);
-            Thread.sleep(400);
+            waitForVaadinIdle();
 
             // 2. "Evet" butonuna bas (Onay dialogu içindeki acceptButton)
             Object evet = js.executeScript(
@@ -669,7 +646,7 @@ public class CompanyQuickOfferPage extends BasePageObject {
                     "}" +
                     "return false;");
             log.info("'Evet' tıklandı: {}", evet);
-            Thread.sleep(1500);
+            waitForVaadinIdle();
 
             // 3. Commit doğrula — GERÇEK başarı toast'ı: "Teklif talebi başarıyla tamamlandı".
             //    "Evet" sonrası ara dialog (Cari Hesap seçimi / hizmet bedeli>0 ise ödeme)
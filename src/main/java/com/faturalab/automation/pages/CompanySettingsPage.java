@@ -27,11 +27,7 @@ public class CompanySettingsPage extends BasePageObject {
         tryOpenNavigationDrawer();
         invoiceNav.navigateToInvoiceList();
         waitForVaadinNavigation();
-        try {
-            Thread.sleep(1200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        waitForVaadinIdle();
         try {
             wait.until(ExpectedConditions.or(
                     ExpectedConditions.visibilityOfElementLocated(By.cssSelector("vaadin-side-nav-item")),
@@ -75,11 +71,7 @@ public class CompanySettingsPage extends BasePageObject {
         try {
             WebElement select = driver.findElement(By.cssSelector("vaadin-select, vaadin-combo-box"));
             select.click();
-            try {
-                Thread.sleep(400);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-            }
+            waitForVaadinIdle();
             ((JavascriptExecutor) driver).executeScript(
                     "var items = document.querySelectorAll('vaadin-item, [role=\"option\"]');" +
                     "var target = arguments[0];" +
@@ -100,7 +92,7 @@ public class CompanySettingsPage extends BasePageObject {
                     "for (var b of btns) {" +
                     "  if ((b.textContent || '').trim().toLowerCase() === 'kaydet') { b.click(); return; }" +
                     "}");
-            Thread.sleep(1000);
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Kaydet: {}", e.getMessage());
         }
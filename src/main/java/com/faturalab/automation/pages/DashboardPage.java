@@ -76,11 +76,7 @@ public class DashboardPage extends BasePageObject {
      * vaadin-grid veya uygulama layout'unun varlığıyla doğrular.
      */
     public boolean isDashboardLoaded() {
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        waitForVaadinIdle();
 
         // Strateji 1: vaadin-grid (içerik yüklendi)
         try {
@@ -188,15 +184,13 @@ public class DashboardPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(YONETIM_PANELI_BTN));
             ypBtn.click();
             log.info("Yönetim Paneli tıklandı.");
-            Thread.sleep(800);
+            waitForVaadinIdle();
             By subLocator = By.xpath("//vaadin-button[normalize-space()='" + subItemName + "']");
             WebElement subBtn = new WebDriverWait(driver, Duration.ofSeconds(10))
                     .until(ExpectedConditions.elementToBeClickable(subLocator));
             subBtn.click();
             log.info("YP sub-item tıklandı: {}", subItemName);
             waitForVaadinNavigation();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("YP sub-item başarısız [{}]: {}", subItemName, e.getMessage());
         }
@@ -129,9 +129,7 @@ public class FactoringAuctionPage extends BasePageObject {
                 log.info("Teklif Ver butonuna XPath ile tıklandı.");
                 waitForVaadinNavigation();
             }
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Teklif formu açılamadı: {}", e.getMessage());
         }
@@ -146,11 +144,9 @@ public class FactoringAuctionPage extends BasePageObject {
     public void fillOfferForm(String faizOrani, String teklifTutari) {
         try {
             fillField(FAIZ_ORANI_INPUT, faizOrani, "Faiz Oranı");
-            Thread.sleep(300);
+            waitForVaadinIdle();
             fillField(TEKLIF_TUTARI_INPUT, teklifTutari, "Teklif Tutarı");
             log.info("Teklif formu dolduruldu: faiz={}%, tutar={}", faizOrani, teklifTutari);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("Teklif formu doldurulamadı: {}", e.getMessage());
         }
@@ -201,9 +197,7 @@ public class FactoringAuctionPage extends BasePageObject {
             } else {
                 fillOfferForm(ratePercent, "");
             }
-            Thread.sleep(400);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Günlük teklif dialog doldurma: {}", e.getMessage());
         }
@@ -219,9 +213,7 @@ public class FactoringAuctionPage extends BasePageObject {
                 .until(ExpectedConditions.elementToBeClickable(KAYDET_BTN));
             btn.click();
             log.info("Kaydet butonuna tıklandı.");
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
                 "var btns = Array.from(document.querySelectorAll('vaadin-button, button'));" +
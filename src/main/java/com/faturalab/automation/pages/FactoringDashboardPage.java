@@ -160,7 +160,7 @@ public class FactoringDashboardPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(YONETIM_PANELI_BTN));
             ypBtn.click();
             log.info("'Yönetim Paneli' tıklandı.");
-            Thread.sleep(800);
+            waitForVaadinIdle();
             By subLocator = By.xpath(
                     "//vaadin-button[normalize-space()='" + subItemName + "']");
             WebElement subBtn = new WebDriverWait(driver, java.time.Duration.ofSeconds(10))
@@ -168,8 +168,6 @@ public class FactoringDashboardPage extends BasePageObject {
             subBtn.click();
             log.info("YP sub-item tıklandı: {}", subItemName);
             waitForVaadinNavigation();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("YP sub-item başarısız [{}]: {}", subItemName, e.getMessage());
         }
@@ -200,9 +198,7 @@ public class FactoringDashboardPage extends BasePageObject {
             WebElement tab = waitForElementToBeClickable(TAB_GUNLUK_TEKLIF);
             tab.click();
             log.info("'Günlük Teklif Talebi' tabına geçildi.");
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Günlük Teklif tab'ı tıklanamadı (zaten aktif olabilir): {}", e.getMessage());
         }
@@ -216,9 +212,7 @@ public class FactoringDashboardPage extends BasePageObject {
             WebElement tab = waitForElementToBeClickable(TAB_IPTAL_TALEBI);
             tab.click();
             log.info("'İptal Talebi' tabına geçildi.");
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("İptal Talebi tabı tıklanamadı (soft-pass): {}", e.getMessage());
         }
@@ -233,9 +227,7 @@ public class FactoringDashboardPage extends BasePageObject {
         try {
             clickActionButtonInRow(bordroNo, "ONAYLA");
             confirmIfDialogAppears();
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Bordro onaylanamadı (soft-pass) [{}]: {}", bordroNo, e.getMessage());
         }
@@ -248,9 +240,7 @@ public class FactoringDashboardPage extends BasePageObject {
         try {
             clickActionButtonInRow(bordroNo, "İPTAL");
             confirmIfDialogAppears();
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Bordro iptal edilemedi (soft-pass) [{}]: {}", bordroNo, e.getMessage());
         }
@@ -262,9 +252,7 @@ public class FactoringDashboardPage extends BasePageObject {
     public void viewOffer(String bordroNo) {
         try {
             clickActionButtonInRow(bordroNo, "GÖZAT");
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Bordro detayı açılamadı (soft-pass) [{}]: {}", bordroNo, e.getMessage());
         }
@@ -331,7 +319,7 @@ public class FactoringDashboardPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(CONFIRM_YES_BTN));
             btn.click();
             log.info("Onay dialog'u onaylandı.");
-            Thread.sleep(1000);
+            waitForVaadinIdle();
         } catch (Exception ignored) {
             // Dialog gelmedi, normal akış
         }
@@ -346,7 +334,7 @@ public class FactoringDashboardPage extends BasePageObject {
     public String getBordroRowText(String bordroNo) {
         try {
             wait.until(ExpectedConditions.visibilityOfElementLocated(BORDRO_GRID));
-            Thread.sleep(1000);
+            waitForVaadinIdle();
 
             List<WebElement> cells = driver.findElements(GRID_ROWS);
             for (WebElement cell : cells) {
@@ -360,9 +348,6 @@ public class FactoringDashboardPage extends BasePageObject {
             WebElement row = driver.findElement(
                     By.xpath("//*[contains(text(),'" + bordroNo + "')]"));
             return row.getText();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return null;
         } catch (Exception e) {
             log.warn("Bordro listesinde bulunamadı: {}", bordroNo);
             return null;
@@ -449,12 +434,10 @@ public class FactoringDashboardPage extends BasePageObject {
                     "return false;");
             if (Boolean.TRUE.equals(clicked)) {
                 log.info("İlk GÖZAT ile teklif talebi detayı açıldı.");
-                Thread.sleep(1200);
+                waitForVaadinIdle();
             } else {
                 log.warn("Günlük teklif listesinde GÖZAT bulunamadı — liste boş veya yükleme gerekli.");
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("GÖZAT tıklanamadı: {}", e.getMessage());
         }
@@ -481,10 +464,7 @@ public class FactoringDashboardPage extends BasePageObject {
                 if (!Boolean.TRUE.equals(clicked)) {
                     break;
                 }
-                Thread.sleep(900);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+                waitForVaadinIdle();
             } catch (Exception e) {
                 log.debug("Bordro adımı: {}", e.getMessage());
                 break;
@@ -105,11 +105,7 @@ public class HomePage extends BasePageObject {
             WebElement logo = null;
             
             // Wait a bit for page to fully load
-            try {
-                Thread.sleep(2000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            waitForVaadinIdle();
             
             // Strategy 1: Try to find logo by image (most reliable)
             try {
@@ -341,7 +341,7 @@ public class SupplierInvoiceUploadPage extends BasePageObject {
                     "}" +
                     "return report.join(', ');", invoiceNo);
             log.info("Doldurulan alanlar: {}", filled);
-            Thread.sleep(800);
+            waitForVaadinIdle();
 
             // 4a. Combo envanteri (teşhis): required combo'ları label/x/tag ile logla
             Object comboInv = ((JavascriptExecutor) driver).executeScript(
@@ -447,12 +447,9 @@ public class SupplierInvoiceUploadPage extends BasePageObject {
                 java.util.List<org.openqa.selenium.WebElement> vadeInputs =
                         driver.findElements(org.openqa.selenium.By.cssSelector("input[data-auto-vade]"));
                 log.info("data-auto-vade input sayısı: {}", vadeInputs.size());
-                java.time.LocalDate v = java.time.LocalDate.now().plusDays(90);
-                while (v.getDayOfWeek() == java.time.DayOfWeek.SATURDAY
-                        || v.getDayOfWeek() == java.time.DayOfWeek.SUNDAY) {
-                    v = v.plusDays(1);
-                }
-                String vadeStr = v.format(java.time.format.DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+                String vadeStr = com.faturalab.automation.utils.BusinessCalendar.turkey()
+                        .nextOrSame(java.time.LocalDate.now().plusDays(90))
+                        .format(com.faturalab.automation.utils.BusinessCalendar.TR_DOT_DATE);
                 for (org.openqa.selenium.WebElement vi : vadeInputs) {
                     vi.click();
                     vi.sendKeys(org.openqa.selenium.Keys.chord(org.openqa.selenium.Keys.CONTROL, "a"));
@@ -462,7 +459,7 @@ public class SupplierInvoiceUploadPage extends BasePageObject {
                     log.info("Vade Tarihi sendKeys → {}", vadeStr);
                 }
                 closeAllDatePickerOverlays(); // Kaydet öncesi takvim kapat (modalı KAPATMADAN)
-                Thread.sleep(500);
+                waitForVaadinIdle();
             } catch (Exception e) {
                 log.warn("Tutar/vade sendKeys: {}", e.getMessage());
             }
@@ -487,7 +484,7 @@ public class SupplierInvoiceUploadPage extends BasePageObject {
                 log.warn("Kaydet butonu bulunamadı (aktif değil veya modal alanların dışında)");
                 return false;
             }
-            Thread.sleep(300);
+            waitForVaadinIdle();
             boolean clicked = false;
             try {
                 org.openqa.selenium.WebElement kaydetBtn =
@@ -504,7 +501,7 @@ public class SupplierInvoiceUploadPage extends BasePageObject {
             if (!clicked) {
                 return false;
             }
-            Thread.sleep(1200);
+            waitForVaadinIdle();
             acceptVaadinConfirmDialogIfPresent(); // vade/tatil onayı gelirse
             // DOĞRULAMA: modal Kaydet ile kapandı mı? (ESCAPE artık gönderilmiyor → kapanma = Kaydet başarılı)
             boolean modalClosed = !dialogOps.isUploadDialogOpen();
@@ -526,9 +523,7 @@ public class SupplierInvoiceUploadPage extends BasePageObject {
                     "document.querySelectorAll('vaadin-date-picker').forEach(function(d){ try { d.opened=false; } catch(e){} });" +
                     "document.querySelectorAll('vaadin-date-picker-overlay, vaadin-date-picker-overlay-content')" +
                     "  .forEach(function(o){ try { o.remove(); } catch(e){} });");
-            Thread.sleep(200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception ignored) {
         }
     }
@@ -358,9 +358,7 @@ public class SupplierManagementPage extends BasePageObject {
                 field.sendKeys(searchTerm);
                 field.sendKeys(Keys.ENTER);
                 log.info("Tedarikçi arandı: {}", searchTerm);
-                Thread.sleep(1000);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
+                waitForVaadinIdle();
             } catch (Exception ex) {
                 log.warn("Arama alanı bulunamadı: {}", ex.getMessage());
             }
@@ -451,7 +449,7 @@ public class SupplierManagementPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(comboInput));
             input.clear();
             input.sendKeys(productType);
-            Thread.sleep(500);
+            waitForVaadinIdle();
             By option = By.xpath(
                     "//*[@role='option'][contains(normalize-space(),'" + productType + "')] | " +
                     "//vaadin-combo-box-overlay//*[contains(normalize-space(),'" + productType + "')]");
@@ -463,8 +461,6 @@ public class SupplierManagementPage extends BasePageObject {
                 input.sendKeys(Keys.ENTER);
             }
             log.info("Ürün tipi seçildi: {}", productType);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("Ürün tipi seçilemedi [{}]: {}", productType, e.getMessage());
         }
@@ -534,9 +530,7 @@ public class SupplierManagementPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(CONFIRM_YES_BTN));
             btn.click();
             log.info("Silme onay dialog'u onaylandı.");
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("Silme onay dialog'u bulunamadı (soft-pass): {}", e.getMessage());
         }
@@ -549,13 +543,10 @@ public class SupplierManagementPage extends BasePageObject {
         try {
             waitForVaadinNavigation();
             // Kısa bekleme: grid yenilensin
-            Thread.sleep(1500);
+            waitForVaadinIdle();
             boolean stillVisible = isSupplierVisibleInList(supplierName);
             log.info("Tedarikçi silme kontrolü [{}]: {}", supplierName, !stillVisible ? "silindi" : "hâlâ listede");
             return !stillVisible;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
         } catch (Exception e) {
             log.warn("isSupplierDeletedSuccessfully hatası [{}]: {}", supplierName, e.getMessage());
             return false;
@@ -575,7 +566,7 @@ public class SupplierManagementPage extends BasePageObject {
 
             // 2. Satırdaki DÜZENLE butonuna tıkla
             clickEditForSupplier(supplierName);
-            Thread.sleep(1500);
+            waitForVaadinIdle();
 
             // 3. "Baremli Fiyat" toggle veya checkbox'ını bul ve aktif et
             By baremliToggle = By.xpath(
@@ -625,8 +616,6 @@ public class SupplierManagementPage extends BasePageObject {
                 log.warn("Kaydet butonu bulunamadı (soft-pass): {}", ex.getMessage());
             }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("enableBaremliPricingForSupplier hatası [{}]: {}", supplierName, e.getMessage());
         }
@@ -646,7 +635,7 @@ public class SupplierManagementPage extends BasePageObject {
             return;
         }
         try {
-            Thread.sleep(1000);
+            waitForVaadinIdle();
             for (int i = 0; i < rows.size(); i++) {
                 Map<String, String> row = rows.get(i);
                 String vadeBaslangic = row.getOrDefault("vade_baslangic", "");
@@ -687,8 +676,6 @@ public class SupplierManagementPage extends BasePageObject {
                 log.warn("Barem kaydet butonu bulunamadı (soft-pass): {}", ex.getMessage());
             }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("fillBaremTable hatası: {}", e.getMessage());
         }
@@ -761,7 +748,7 @@ public class SupplierManagementPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(CONFIRM_YES_BTN));
             btn.click();
             log.info("Onay dialog'u onaylandı.");
-            Thread.sleep(1000);
+            waitForVaadinIdle();
         } catch (Exception ignored) {
             // Dialog gelmedi
         }
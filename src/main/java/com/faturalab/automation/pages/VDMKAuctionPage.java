@@ -178,9 +178,7 @@ public class VDMKAuctionPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(ONAYLA_BTN));
             btn.click();
             log.info("[Alıcı] ONAYLA butonuna tıklandı.");
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
                 "var btns = Array.from(document.querySelectorAll('vaadin-button, button'));" +
@@ -297,7 +295,7 @@ public class VDMKAuctionPage extends BasePageObject {
                 "VDMK-TEST-001",
                 "VDMK spesifik alan"
             );
-            Thread.sleep(300);
+            waitForVaadinIdle();
 
             // CMB kodu alanı
             fillFieldByJs(
@@ -322,8 +320,6 @@ public class VDMKAuctionPage extends BasePageObject {
             );
 
             log.info("[Tedarikçi] VDMK özgül alanlar dolduruldu.");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("[Tedarikçi] fillVDMKSpecificFields: {}", e.getMessage());
         }
@@ -338,9 +334,7 @@ public class VDMKAuctionPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(VDMK_SUBMIT_BTN));
             btn.click();
             log.info("[Tedarikçi] VDMK formu gönderildi.");
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
                 "var btns = Array.from(document.querySelectorAll('vaadin-button, button'));" +
@@ -379,9 +373,7 @@ public class VDMKAuctionPage extends BasePageObject {
             } else {
                 log.info("[Tedarikçi] Yenile butonuna tıklandı.");
             }
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             log.warn("[Tedarikçi] refreshVDMKAuctionList: {}", e.getMessage());
         }
@@ -487,9 +479,7 @@ public class VDMKAuctionPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(KABUL_ET_BTN));
             btn.click();
             log.info("[Tedarikçi] Kabul Et butonuna tıklandı.");
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
                 "var btns = Array.from(document.querySelectorAll('vaadin-button, button'));" +
@@ -552,9 +542,7 @@ public class VDMKAuctionPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(CMB_ONAYLA_BTN));
             btn.click();
             log.info("[Admin] CMB Onayla butonuna tıklandı.");
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
                 "var btns = Array.from(document.querySelectorAll('vaadin-button, button'));" +
@@ -586,9 +574,7 @@ public class VDMKAuctionPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(CONFIRM_BTN));
             btn.click();
             log.info("Onay dialogu onaylandı.");
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception ignored) {
             // Dialog gelmedi — normal akış
         }
@@ -734,7 +720,7 @@ public class VDMKAuctionPage extends BasePageObject {
                 waitForVaadinNavigation();
             }
 
-            Thread.sleep(1000);
+            waitForVaadinIdle();
 
             // Teklif miktarı alanını doldur
             try {
@@ -750,8 +736,6 @@ public class VDMKAuctionPage extends BasePageObject {
             } catch (Exception ex) {
                 log.warn("[Finansman] Teklif miktarı girilemedi: {}", ex.getMessage());
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.warn("[Finansman] openOfferFormAndFillAmount: {}", e.getMessage());
         }
@@ -766,9 +750,7 @@ public class VDMKAuctionPage extends BasePageObject {
                     .until(ExpectedConditions.elementToBeClickable(KAYDET_BTN));
             btn.click();
             log.info("[Finansman] Teklif kaydedildi.");
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            waitForVaadinIdle();
         } catch (Exception e) {
             Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
                 "var btns = Array.from(document.querySelectorAll('vaadin-button, button'));" +
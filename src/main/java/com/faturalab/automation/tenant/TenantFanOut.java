@@ -0,0 +1,384 @@
+package com.faturalab.automation.tenant;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.faturalab.automation.api.ExchangeCapture;
+import com.faturalab.automation.api.FaturalabAPI;
+import com.faturalab.automation.config.EnvironmentManager;
+import com.faturalab.automation.load.CliArgs;
+import com.faturalab.automation.models.invoice.InvoiceHistoryRequest;
+import com.faturalab.automation.utils.BusinessCalendar;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aynı API senaryosunu (veya {@link #runFeature} ile bütün bir feature'ı) tüm alıcı / banka
+ * ortamlarına eşzamanlı koşturur. Tarama süresi tenant'ların toplamı değil, en yavaş tenant kadardır.
+ *
+ * Her tenant kendi thread'inde, ortam dosyasının ayrı bir kopyasıyla ve kendine ait bir
+ * {@link FaturalabAPI} ile çalışır; oturum, lastResponse ve geçmiş indeksi paylaşılmaz.
+ * Ortam dosyası repoda olmayan tenant'lar SKIPPED olarak raporlanır, taramayı düşürmez.
+ *
+ * <pre>
+ * TenantSweep&lt;Integer&gt; sweep = TenantFanOut.builder().buyers().build()
+ *         .run("history", tenant -&gt; { tenant.api().ensureSession(); ... });
+ * </pre>
+ */
+public final class TenantFanOut {
+
+    private static final Logger log = LogManager.getLogger(TenantFanOut.class);
+
+    /** Bir tenant'ta çalışacak iş; istisna fırlatırsa tenant FAILED olur. */
+    @FunctionalInterface
+    public interface TenantTask<T> {
+        T run(Tenant tenant) throws Exception;
+    }
+
+    private final List<String> environments;
+    private final int parallelism;
+    private final long timeoutSeconds;
+
+    private TenantFanOut(Builder b) {
+        this.environments = new ArrayList<>(b.environments);
+        this.parallelism = b.parallelism > 0 ? b.parallelism : Math.max(1, environments.size());
+        this.timeoutSeconds = b.timeoutSeconds;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<String> getEnvironments() {
+        return environments;
+    }
+
+    /**
+     * Görevi tüm ortamlarda paralel çalıştırır ve sonuçları ortam sırasıyla döner.
+     * Zaman aşımına uğrayan tenant FAILED ("timeout") olarak raporlanır; thread'i kesilir.
+     */
+    public <T> TenantSweep<T> run(String name, TenantTask<T> task) {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, environments.size())), r -> {
+            Thread t = new Thread(r, "tenant-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        Map<String, Future<TenantSweep.Result<T>>> futures = new LinkedHashMap<>();
+        List<TenantSweep.Result<T>> results = new ArrayList<>();
+        try {
+            for (String env : environments) {
+                if (!EnvironmentManager.isConfigured(env)) {
+                    futures.put(env, null);
+                    continue;
+                }
+                futures.put(env, pool.submit(() -> runTenant(env, task)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            for (Map.Entry<String, Future<TenantSweep.Result<T>>> e : futures.entrySet()) {
+                results.add(await(e.getKey(), e.getValue(), deadline));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        TenantSweep<T> sweep = new TenantSweep<>(name, startedAt,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), results);
+        log.info("Tenant taraması '{}' bitti: {} geçti / {} kaldı / {} atlandı, {} ms (seri {} ms)", name,
+                sweep.count(TenantSweep.Status.PASSED), sweep.count(TenantSweep.Status.FAILED),
+                sweep.count(TenantSweep.Status.SKIPPED), sweep.getWallMillis(), sweep.serialMillis());
+        return sweep;
+    }
+
+    private <T> TenantSweep.Result<T> runTenant(String env, TenantTask<T> task) {
+        Tenant tenant = new Tenant(env, EnvironmentManager.loadEnvironment(env));
+        long mark = ExchangeCapture.mark();
+        long start = System.nanoTime();
+        T value = null;
+        String error = null;
+        try {
+            value = task.run(tenant);
+        } catch (Exception | AssertionError e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.warn("Tenant {} başarısız: {}", env, error);
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new TenantSweep.Result<>(env, tenant.getEnvironment().getAlias(),
+                error == null ? TenantSweep.Status.PASSED : TenantSweep.Status.FAILED,
+                value, error, elapsed, calls(mark));
+    }
+
+    /** Tenant thread'inin capture halkasında kalan çağrıları (halka {@code api.capture.size} ile sınırlı). */
+    private static List<Map<String, Object>> calls(long mark) {
+        List<Map<String, Object>> calls = new ArrayList<>();
+        for (ExchangeCapture.Exchange e : ExchangeCapture.since(mark)) {
+            Map<String, Object> c = new LinkedHashMap<>();
+            c.put("method", e.getMethod());
+            c.put("uri", e.getUri());
+            c.put("status", e.getStatus());
+            c.put("ms", e.getElapsedMillis());
+            calls.add(c);
+        }
+        return calls;
+    }
+
+    private static <T> TenantSweep.Result<T> await(String env, Future<TenantSweep.Result<T>> future, long deadline) {
+        if (future == null) {
+            return new TenantSweep.Result<>(env, null, TenantSweep.Status.SKIPPED, null,
+                    "ortam dosyası yok", 0, new ArrayList<>());
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return new TenantSweep.Result<>(env, null, TenantSweep.Status.FAILED, null, "timeout",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - deadline), new ArrayList<>());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tenant taraması kesildi", e);
+        } catch (ExecutionException e) {
+            return new TenantSweep.Result<>(env, null, TenantSweep.Status.FAILED, null,
+                    String.valueOf(e.getCause()), 0, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Feature'ı her ortam için ayrı bir JVM'de Cucumber CLI ile koşturur ({@code -Dtenant.env=<ortam>};
+     * "ortamı kullanılıyor" adımı bu ortamı kullanır). Sistem özellikleri ve statik durum tenant'lar
+     * arasında paylaşılmasın diye thread değil süreç kullanılır. Çıktılar target/tenant-reports/&lt;ortam&gt;/ altına yazılır.
+     *
+     * @return tenant başına geçen / kalan senaryo sayısı
+     */
+    public TenantSweep<FeatureRun> runFeature(String feature, String tags, String glue) {
+        String name = new File(feature).getName().replaceAll("\\.feature$", "").replaceAll("[^A-Za-z0-9]+", "-");
+        return run(name, tenant -> {
+            File dir = new File("target/tenant-reports/" + tenant.getName());
+            dir.mkdirs();
+            File json = new File(dir, "cucumber.json");
+            List<String> cmd = new ArrayList<>(Arrays.asList(
+                    new File(System.getProperty("java.home"), "bin/java").getPath(),
+                    "-cp", System.getProperty("java.class.path"),
+                    "-Dtenant.env=" + tenant.getName(),
+                    "io.cucumber.core.cli.Main",
+                    "--glue", glue,
+                    "--plugin", "json:" + json.getPath(),
+                    "--plugin", "summary",
+                    "--monochrome"));
+            if (tags != null && !tags.isEmpty()) {
+                cmd.add("--tags");
+                cmd.add(tags);
+            }
+            cmd.add(feature);
+            Process process = new ProcessBuilder(cmd)
+                    .redirectErrorStream(true)
+                    .redirectOutput(new File(dir, "console.log"))
+                    .start();
+            try {
+                int exit = process.waitFor();
+                FeatureRun run = FeatureRun.read(json, exit);
+                if (exit != 0) {
+                    throw new IllegalStateException(run + " (çıktı: " + new File(dir, "console.log").getPath() + ")");
+                }
+                return run;
+            } finally {
+                process.destroyForcibly();
+            }
+        });
+    }
+
+    /** Tek ortamın çalışma bağlamı: ortam kopyası ve ilk kullanımda oluşturulan kendi API istemcisi. */
+    public static final class Tenant {
+        private final String name;
+        private final EnvironmentManager.EnvironmentConfig environment;
+        private FaturalabAPI api;
+
+        Tenant(String name, EnvironmentManager.EnvironmentConfig environment) {
+            this.name = name;
+            this.environment = environment;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public EnvironmentManager.EnvironmentConfig getEnvironment() {
+            return environment;
+        }
+
+        public FaturalabAPI api() {
+            if (api == null) {
+                api = new FaturalabAPI(environment);
+            }
+            return api;
+        }
+    }
+
+    /** Bir tenant için Cucumber koşusunun senaryo sayıları (cucumber.json'dan). */
+    public static final class FeatureRun {
+        private final int exitCode;
+        private final int passed;
+        private final int failed;
+
+        private FeatureRun(int exitCode, int passed, int failed) {
+            this.exitCode = exitCode;
+            this.passed = passed;
+            this.failed = failed;
+        }
+
+        static FeatureRun read(File json, int exitCode) {
+            int passed = 0;
+            int failed = 0;
+            try {
+                for (JsonNode feature : new ObjectMapper().readTree(json)) {
+                    for (JsonNode element : feature.path("elements")) {
+                        if (!"scenario".equals(element.path("type").asText())) {
+                            continue;
+                        }
+                        boolean ok = true;
+                        for (JsonNode step : element.path("steps")) {
+                            ok &= "passed".equals(step.path("result").path("status").asText());
+                        }
+                        if (ok) {
+                            passed++;
+                        } else {
+                            failed++;
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Cucumber raporu okunamadı ({}): {}", json.getPath(), e.getMessage());
+            }
+            return new FeatureRun(exitCode, passed, failed);
+        }
+
+        public int getExitCode() {
+            return exitCode;
+        }
+
+        public int getPassed() {
+            return passed;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return passed + " senaryo geçti, " + failed + " kaldı (exit " + exitCode + ")";
+        }
+    }
+
+    public static final class Builder {
+        private final Set<String> environments = new LinkedHashSet<>();
+        private int parallelism;
+        private long timeoutSeconds = 600;
+
+        public Builder environments(String... names) {
+            environments.addAll(Arrays.asList(names));
+            return this;
+        }
+
+        public Builder buyers() {
+            return environments(EnvironmentManager.getBuyerEnvironments());
+        }
+
+        public Builder banks() {
+            return environments(EnvironmentManager.getBankEnvironments());
+        }
+
+        /** 0 (varsayılan): her tenant'a bir thread. */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder timeoutSeconds(long timeoutSeconds) {
+            this.timeoutSeconds = timeoutSeconds;
+            return this;
+        }
+
+        public TenantFanOut build() {
+            if (environments.isEmpty()) {
+                throw new IllegalArgumentException("En az bir ortam verilmeli");
+            }
+            return new TenantFanOut(this);
+        }
+    }
+
+    // ============== CLI ==============
+
+    /**
+     * Örnekler:
+     * <pre>
+     *   --envs buyers                       oturum + bugünün fatura geçmişi (varsayılan sağlık sorgusu)
+     *   --envs all --feature src/test/resources/features/InvoiceUploadFlow.feature --tags "@smoke"
+     *   --envs dev.faturalab.buyer.albc,dev.faturalab.buyer.a101 --parallel 2 --timeout 300
+     * </pre>
+     */
+    public static void main(String[] args) {
+        Map<String, String> opts = CliArgs.parse(args);
+        Builder builder = builder()
+                .parallelism(Integer.parseInt(opts.getOrDefault("parallel", "0")))
+                .timeoutSeconds(Long.parseLong(opts.getOrDefault("timeout", "600")));
+        for (String env : opts.getOrDefault("envs", "buyers").split(",")) {
+            switch (env.trim()) {
+                case "buyers":
+                    builder.buyers();
+                    break;
+                case "banks":
+                    builder.banks();
+                    break;
+                case "all":
+                    builder.buyers().banks();
+                    break;
+                default:
+                    builder.environments(env.trim());
+            }
+        }
+        TenantFanOut fanOut = builder.build();
+
+        TenantSweep<?> sweep;
+        if (opts.containsKey("feature")) {
+            sweep = fanOut.runFeature(opts.get("feature"), opts.get("tags"),
+                    opts.getOrDefault("glue", "com.faturalab.automation.stepdefinitions"));
+        } else {
+            sweep = fanOut.run("history-probe", TenantFanOut::historyProbe);
+        }
+        System.out.print(sweep.summary());
+        System.out.println("Rapor: " + sweep.writeJson(new File(opts.getOrDefault("out", "target/tenant-reports"))).getPath());
+        System.exit(sweep.allPassed() ? 0 : 1);
+    }
+
+    /** Oturum açar ve bugünün fatura geçmişini çeker; geçmişteki fatura sayısını döner. */
+    static Integer historyProbe(Tenant tenant) {
+        FaturalabAPI api = tenant.api();
+        api.ensureSession();
+        InvoiceHistoryRequest request = new InvoiceHistoryRequest(
+                BusinessCalendar.API_DATE_TIME.format(OffsetDateTime.now().truncatedTo(ChronoUnit.DAYS)), null, true);
+        int status = api.getInvoiceHistory(request).getStatusCode();
+        if (status != 200 || !api.isResponseSuccessful()) {
+            throw new IllegalStateException("Fatura geçmişi alınamadı: HTTP " + status);
+        }
+        return api.getInvoiceHistoryIndex().size();
+    }
+}
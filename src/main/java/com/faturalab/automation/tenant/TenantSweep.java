@@ -0,0 +1,211 @@
+package com.faturalab.automation.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bir tenant taramasının sonucu: her ortam için durum, süre ve API çağrı gecikmeleri; duvar saati
+ * ile seri toplam süre karşılaştırması (paralel koşunun kazancı) ve en hızlı tenant'a göre oranlar.
+ */
+public final class TenantSweep<T> {
+
+    private static final Logger log = LogManager.getLogger(TenantSweep.class);
+
+    private static final DateTimeFormatter FILE_TS =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+
+    public enum Status { PASSED, FAILED, SKIPPED }
+
+    private final String name;
+    private final Instant startedAt;
+    private final long wallMillis;
+    private final List<Result<T>> results;
+
+    TenantSweep(String name, Instant startedAt, long wallMillis, List<Result<T>> results) {
+        this.name = name;
+        this.startedAt = startedAt;
+        this.wallMillis = wallMillis;
+        this.results = Collections.unmodifiableList(results);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWallMillis() {
+        return wallMillis;
+    }
+
+    public List<Result<T>> getResults() {
+        return results;
+    }
+
+    public long count(Status status) {
+        return results.stream().filter(r -> r.status == status).count();
+    }
+
+    public boolean allPassed() {
+        return count(Status.FAILED) == 0;
+    }
+
+    /** Koşan tenant'ların süreleri toplamı — seri çalıştırılsaydı geçecek süre. */
+    public long serialMillis() {
+        return results.stream().filter(r -> r.status != Status.SKIPPED).mapToLong(r -> r.elapsedMillis).sum();
+    }
+
+    public long slowestMillis() {
+        return results.stream().filter(r -> r.status != Status.SKIPPED).mapToLong(r -> r.elapsedMillis).max().orElse(0);
+    }
+
+    private long fastestMillis() {
+        return results.stream().filter(r -> r.status != Status.SKIPPED).mapToLong(r -> r.elapsedMillis).min().orElse(0);
+    }
+
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        long serial = serialMillis();
+        sb.append(String.format("Tenant taraması '%s' — %d geçti / %d kaldı / %d atlandı; duvar saati %.1f sn "
+                        + "(seri toplam %.1f sn, en yavaş tenant %.1f sn, %.1fx)%n",
+                name, count(Status.PASSED), count(Status.FAILED), count(Status.SKIPPED), wallMillis / 1000.0,
+                serial / 1000.0, slowestMillis() / 1000.0, wallMillis == 0 ? 0 : (double) serial / wallMillis));
+        long fastest = Math.max(1, fastestMillis());
+        for (Result<T> r : results) {
+            sb.append(String.format("  %-36s %-7s", r.environment, r.status));
+            if (r.status == Status.SKIPPED) {
+                sb.append(' ').append(r.error);
+            } else {
+                sb.append(String.format(" %6d ms (%.1fx)", r.elapsedMillis, (double) r.elapsedMillis / fastest));
+                if (!r.calls.isEmpty()) {
+                    sb.append(String.format("  %d çağrı, en yavaş %s", r.calls.size(), r.slowestCall()));
+                }
+                if (r.error != null) {
+                    sb.append("  — ").append(r.error);
+                } else if (r.value != null) {
+                    sb.append("  → ").append(r.value);
+                }
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** {@code dir}/tenants-&lt;ad&gt;-&lt;zaman&gt;.json yazar ve dosyayı döner. */
+    public File writeJson(File dir) {
+        File out = new File(dir, "tenants-" + name + "-" + FILE_TS.format(startedAt) + ".json");
+        try {
+            if (!dir.exists()) {
+                dir.mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, toMap());
+            log.info("Tenant tarama raporu yazıldı: {}", out.getPath());
+        } catch (IOException e) {
+            log.warn("Tenant tarama raporu yazılamadı ({}): {}", out.getPath(), e.getMessage());
+        }
+        return out;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("name", name);
+        m.put("startedAt", startedAt.toString());
+        m.put("wallMs", wallMillis);
+        m.put("serialMs", serialMillis());
+        m.put("slowestMs", slowestMillis());
+        m.put("passed", count(Status.PASSED));
+        m.put("failed", count(Status.FAILED));
+        m.put("skipped", count(Status.SKIPPED));
+        long fastest = Math.max(1, fastestMillis());
+        List<Map<String, Object>> tenants = new ArrayList<>();
+        for (Result<T> r : results) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("environment", r.environment);
+            row.put("alias", r.alias);
+            row.put("status", r.status.name());
+            row.put("elapsedMs", r.elapsedMillis);
+            if (r.status != Status.SKIPPED) {
+                row.put("relativeToFastest", (double) r.elapsedMillis / fastest);
+            }
+            row.put("error", r.error);
+            row.put("value", r.value == null ? null : String.valueOf(r.value));
+            row.put("calls", r.calls);
+            tenants.add(row);
+        }
+        m.put("tenants", tenants);
+        return m;
+    }
+
+    /** Tek bir ortamın sonucu. */
+    public static final class Result<T> {
+        private final String environment;
+        private final String alias;
+        private final Status status;
+        private final T value;
+        private final String error;
+        private final long elapsedMillis;
+        private final List<Map<String, Object>> calls;
+
+        Result(String environment, String alias, Status status, T value, String error, long elapsedMillis,
+               List<Map<String, Object>> calls) {
+            this.environment = environment;
+            this.alias = alias;
+            this.status = status;
+            this.value = value;
+            this.error = error;
+            this.elapsedMillis = elapsedMillis;
+            this.calls = calls;
+        }
+
+        public String getEnvironment() {
+            return environment;
+        }
+
+        public String getAlias() {
+            return alias;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /** Tenant thread'inin yaptığı API çağrıları: method, uri, status, ms. */
+        public List<Map<String, Object>> getCalls() {
+            return calls;
+        }
+
+        private String slowestCall() {
+            Map<String, Object> slowest = null;
+            for (Map<String, Object> c : calls) {
+                if (slowest == null || (long) c.get("ms") > (long) slowest.get("ms")) {
+                    slowest = c;
+                }
+            }
+            String uri = String.valueOf(slowest.get("uri"));
+            return uri.substring(uri.lastIndexOf('/')) + " " + slowest.get("ms") + " ms";
+        }
+    }
+}
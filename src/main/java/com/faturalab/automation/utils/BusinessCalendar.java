@@ -0,0 +1,238 @@
+package com.faturalab.automation.utils;
+
+import com.faturalab.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Türkiye iş günü takvimi: hafta sonu, sabit tarihli resmî tatiller, Ramazan / Kurban bayramları
+ * (arifeler dahil — platformun tatil tablosu yarım günleri de tatil sayıyor, 28 Ekim gibi) ve
+ * {@code business.calendar.extra.holidays} ile eklenen günler (idari izin vb.) iş günü değildir.
+ *
+ * Bugünün ±{@value #WINDOW_YEARS} yıllık penceresi (bayram tablosunun kapsadığı yıllarla sınırlı) bir kez
+ * hesaplanır: iş günleri BitSet'te, öncesindeki iş günü sayısı (prefix) ve k. iş gününün indeksi dizilerde
+ * tutulur; "N iş günü sonra", "önceki iş günü" ve "arada kaç iş günü" sabit zamanlıdır. Pencere dışı
+ * tarihlerde gün gün yürünür; tablo dışı yıllarda bayramlar bilinmediğinden yıl başına bir kez uyarı loglanır.
+ *
+ * Tarih biçimleri: DateTimeFormatter değişmez ve thread-safe'tir; SimpleDateFormat yerine buradaki
+ * sabitler kullanılır.
+ */
+public final class BusinessCalendar {
+
+    private static final Logger log = LogManager.getLogger(BusinessCalendar.class);
+
+    /** 2026-03-20 (entegrasyon API, XML). */
+    public static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    /** 20/03/2026 (TZF Excel şablonu). */
+    public static final DateTimeFormatter TR_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    /** 20.03.2026 (UI tarih alanları). */
+    public static final DateTimeFormatter TR_DOT_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    /** 2026-03-20T14:05:00.000+0300 (entegrasyon API fatura geçmişi; UTC'de "Z"). */
+    public static final DateTimeFormatter API_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXX");
+
+    private static final int WINDOW_YEARS = 5;
+
+    /** Sabit tarihli tatiller {ay, gün}; 28 Ekim yarım gün (arife). */
+    private static final int[][] FIXED_HOLIDAYS = {
+            {1, 1}, {4, 23}, {5, 1}, {5, 19}, {7, 15}, {8, 30}, {10, 28}, {10, 29}};
+    /** Ramazan Bayramı 1. günü (3 gün + arife). Diyanet takviminden; yeni yıllar eklenmeli. */
+    private static final String[] RAMAZAN_BAYRAMI = {
+            "2023-04-21", "2024-04-10", "2025-03-30", "2026-03-20", "2027-03-09", "2028-02-26", "2029-02-14"};
+    /** Kurban Bayramı 1. günü (4 gün + arife). */
+    private static final String[] KURBAN_BAYRAMI = {
+            "2023-06-28", "2024-06-16", "2025-06-06", "2026-05-27", "2027-05-16", "2028-05-05", "2029-04-24"};
+
+    /** Tablo dışı olduğu için uyarısı verilmiş yıllar (her yıl bir kez loglansın). */
+    private static final Set<Integer> WARNED_YEARS = ConcurrentHashMap.newKeySet();
+
+    private static final BusinessCalendar TURKEY = new BusinessCalendar(LocalDate.now());
+
+    private final Set<LocalDate> movableHolidays;
+    private final LocalDate start;
+    private final int days;
+    private final BitSet working;
+    private final int[] rank;     // rank[i]: [start, start + i) aralığındaki iş günü sayısı
+    private final int[] select;   // select[k]: k. (0 tabanlı) iş gününün indeksi
+
+    private BusinessCalendar(LocalDate today) {
+        this.movableHolidays = movableHolidays();
+        // Bayram tablosunun dışına taşan yıllar önceden hesaplanmaz (bayramsız yanlış takvim saklanmasın)
+        int firstYear = Math.max(today.getYear() - WINDOW_YEARS, firstTableYear());
+        int lastYear = Math.min(today.getYear() + WINDOW_YEARS, lastTableYear());
+        this.start = LocalDate.of(firstYear, 1, 1);
+        this.days = lastYear < firstYear ? 0
+                : (int) ChronoUnit.DAYS.between(start, LocalDate.of(lastYear, 12, 31)) + 1;
+        this.working = new BitSet(days);
+        this.rank = new int[days + 1];
+        LocalDate d = start;
+        for (int i = 0; i < days; i++, d = d.plusDays(1)) {
+            boolean isWorking = computeBusinessDay(d);
+            working.set(i, isWorking);
+            rank[i + 1] = rank[i] + (isWorking ? 1 : 0);
+        }
+        this.select = new int[rank[days]];
+        for (int i = working.nextSetBit(0), k = 0; i >= 0; i = working.nextSetBit(i + 1)) {
+            select[k++] = i;
+        }
+        if (today.getYear() + 1 > lastTableYear()) {
+            log.warn("Bayram tablosu {} yılında bitiyor; sonraki yıllar için BusinessCalendar güncellenmeli",
+                    lastTableYear());
+        }
+    }
+
+    /** Türkiye takvimi (JVM'de tek örnek, thread-safe: oluşturulduktan sonra salt okunur). */
+    public static BusinessCalendar turkey() {
+        return TURKEY;
+    }
+
+    public boolean isBusinessDay(LocalDate d) {
+        int i = indexOf(d);
+        return i >= 0 ? working.get(i) : computeBusinessDay(d);
+    }
+
+    /** {@code d} iş günüyse kendisi, değilse sonraki iş günü. */
+    public LocalDate nextOrSame(LocalDate d) {
+        int i = indexOf(d);
+        if (i >= 0 && rank[i] < select.length) {
+            return working.get(i) ? d : dayAt(select[rank[i]]);
+        }
+        while (!computeBusinessDay(d)) {
+            d = d.plusDays(1);
+        }
+        return d;
+    }
+
+    /** {@code d} iş günüyse kendisi, değilse önceki iş günü. */
+    public LocalDate previousOrSame(LocalDate d) {
+        int i = indexOf(d);
+        if (i >= 0 && rank[i + 1] > 0) {
+            return working.get(i) ? d : dayAt(select[rank[i + 1] - 1]);
+        }
+        while (!computeBusinessDay(d)) {
+            d = d.minusDays(1);
+        }
+        return d;
+    }
+
+    /**
+     * {@code n} > 0: {@code d}'den sonraki n. iş günü; {@code n} < 0: önceki |n|. iş günü;
+     * {@code n} = 0: {@link #nextOrSame}.
+     */
+    public LocalDate plusBusinessDays(LocalDate d, int n) {
+        if (n == 0) {
+            return nextOrSame(d);
+        }
+        int i = indexOf(d);
+        if (i >= 0) {
+            long k = n > 0 ? (long) rank[i + 1] + n - 1 : (long) rank[i] + n;
+            if (k >= 0 && k < select.length) {
+                return dayAt(select[(int) k]);
+            }
+        }
+        int step = n > 0 ? 1 : -1;
+        for (int left = Math.abs(n); left > 0; ) {
+            d = d.plusDays(step);
+            if (computeBusinessDay(d)) {
+                left--;
+            }
+        }
+        return d;
+    }
+
+    /** [from, to) aralığındaki iş günü sayısı ({@code to} < {@code from} ise negatif). */
+    public long businessDaysBetween(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return -businessDaysBetween(to, from);
+        }
+        int a = indexOf(from);
+        int b = indexOf(to);
+        if (a >= 0 && b >= 0) {
+            return rank[b] - rank[a];
+        }
+        long count = 0;
+        for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1)) {
+            if (computeBusinessDay(d)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int indexOf(LocalDate d) {
+        long i = ChronoUnit.DAYS.between(start, d);
+        return i >= 0 && i < days ? (int) i : -1;
+    }
+
+    private LocalDate dayAt(int index) {
+        return start.plusDays(index);
+    }
+
+    private boolean computeBusinessDay(LocalDate d) {
+        DayOfWeek dow = d.getDayOfWeek();
+        if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) {
+            return false;
+        }
+        for (int[] h : FIXED_HOLIDAYS) {
+            if (d.getMonthValue() == h[0] && d.getDayOfMonth() == h[1]) {
+                return false;
+            }
+        }
+        int year = d.getYear();
+        if ((year < firstTableYear() || year > lastTableYear()) && WARNED_YEARS.add(year)) {
+            log.warn("{} yılı bayram tablosunda yok ({}-{}); Ramazan / Kurban bayramları iş günü sayılıyor",
+                    year, firstTableYear(), lastTableYear());
+        }
+        return !movableHolidays.contains(d);
+    }
+
+    private static Set<LocalDate> movableHolidays() {
+        Set<LocalDate> set = new HashSet<>();
+        addBayram(set, RAMAZAN_BAYRAMI, 3);
+        addBayram(set, KURBAN_BAYRAMI, 4);
+        String extra = ConfigReader.getProperty("business.calendar.extra.holidays", "").trim();
+        for (String s : extra.split(",")) {
+            if (!s.trim().isEmpty()) {
+                try {
+                    set.add(LocalDate.parse(s.trim(), ISO_DATE));
+                } catch (DateTimeParseException e) {
+                    log.warn("business.calendar.extra.holidays: geçersiz tarih '{}' atlandı", s.trim());
+                }
+            }
+        }
+        return set;
+    }
+
+    private static void addBayram(Set<LocalDate> set, String[] firstDays, int length) {
+        for (String first : firstDays) {
+            LocalDate d = LocalDate.parse(first, ISO_DATE).minusDays(1);   // arife
+            for (int i = 0; i <= length; i++) {
+                set.add(d.plusDays(i));
+            }
+        }
+    }
+
+    /** Bayram tablolarının ikisinin de kapsadığı ilk yıl. */
+    private static int firstTableYear() {
+        return Math.max(year(RAMAZAN_BAYRAMI[0]), year(KURBAN_BAYRAMI[0]));
+    }
+
+    /** Bayram tablolarının ikisinin de kapsadığı son yıl. */
+    private static int lastTableYear() {
+        return Math.min(year(RAMAZAN_BAYRAMI[RAMAZAN_BAYRAMI.length - 1]),
+                year(KURBAN_BAYRAMI[KURBAN_BAYRAMI.length - 1]));
+    }
+
+    private static int year(String isoDate) {
+        return Integer.parseInt(isoDate.substring(0, 4));
+    }
+}
@@ -0,0 +1,420 @@
+package com.faturalab.automation.utils;
+
+import com.faturalab.automation.config.ConfigReader;
+import com.faturalab.automation.models.auction.AuctionInvoice;
+import com.faturalab.automation.models.invoice.UploadInvoiceRequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Yük / dayanıklılık koşuları için tembel, tohumlu fatura verisi akışı. Nesneler istendikçe üretilir;
+ * milyonlarca payload bellekte liste olarak tutulmaz.
+ *
+ * i. eleman yalnızca (tohum, i) ikilisinden türetilen kendi SplittableRandom'uyla üretilir: akış
+ * hangi thread'de, hangi parçalamayla tüketilirse tüketilsin aynı tohum aynı veriyi verir
+ * ({@link #uploadRequest(long)} ile doğrudan erişim de aynı sonucu döner). Akışlar SIZED / SUBSIZED
+ * bir Spliterator üzerindedir; {@code parallel()} aralığı ikiye bölerek dağıtır.
+ *
+ * Fatura numarası tohumdan türetilmez (sunucuda benzersiz olmalı): varsayılan
+ * {@link InvoiceNumberAllocator} TEST serisi, {@link Builder#invoiceNumbers} ile değiştirilebilir.
+ *
+ * Ayarlar (dev2.properties, {@link #fromConfig()}): invoice.stream.seed, invoice.stream.amount.*,
+ * invoice.stream.invoice.date.span.days, invoice.stream.due.days.min/max, invoice.stream.type.mix
+ */
+public final class InvoiceDataStream {
+
+    private static final Logger log = LogManager.getLogger(InvoiceDataStream.class);
+
+    private static final DateTimeFormatter ISO_DATE = BusinessCalendar.ISO_DATE;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Tutar dağılımı. */
+    public enum AmountDistribution { UNIFORM, LOG_NORMAL }
+
+    private final long seed;
+    private final String userEmail;
+    private final String[] supplierTaxNos;
+    private final String currency;
+    private final AmountDistribution distribution;
+    private final double amountMin;
+    private final double amountMax;
+    private final double amountMedian;
+    private final double amountSigma;
+    private final String[] types;
+    private final int[] cumulativeWeights;
+    private final String[] invoiceDates;   // bugün, dün, … (gün ofsetine göre; önceden biçimlenmiş)
+    private final String[] dueDates;       // dueDaysMin..dueDaysMax, tatile düşen sonraki iş gününe
+    private final LongFunction<String> invoiceNumbers;
+
+    private InvoiceDataStream(Builder b) {
+        this.seed = b.seed;
+        this.userEmail = b.userEmail;
+        this.supplierTaxNos = b.supplierTaxNos.toArray(new String[0]);
+        this.currency = b.currency;
+        this.distribution = b.distribution;
+        this.amountMin = b.amountMin;
+        this.amountMax = b.amountMax;
+        this.amountMedian = b.amountMedian;
+        this.amountSigma = b.amountSigma;
+        this.types = b.types.toArray(new String[0]);
+        this.cumulativeWeights = new int[b.weights.size()];
+        int sum = 0;
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            sum += b.weights.get(i);
+            cumulativeWeights[i] = sum;
+        }
+        LocalDate today = LocalDate.now();
+        this.invoiceDates = new String[b.invoiceDateSpanDays + 1];
+        for (int i = 0; i < invoiceDates.length; i++) {
+            invoiceDates[i] = today.minusDays(i).format(ISO_DATE);
+        }
+        this.dueDates = new String[b.dueDaysMax - b.dueDaysMin + 1];
+        for (int i = 0; i < dueDates.length; i++) {
+            dueDates[i] = BusinessCalendar.turkey().nextOrSame(today.plusDays(b.dueDaysMin + i)).format(ISO_DATE);
+        }
+        this.invoiceNumbers = b.invoiceNumbers;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** dev2.properties'teki invoice.stream.* ayarlarıyla doldurulmuş builder. */
+    public static Builder fromConfig() {
+        Builder b = builder();
+        String seed = ConfigReader.getProperty("invoice.stream.seed", "").trim();
+        if (!seed.isEmpty()) {
+            b.seed(Long.parseLong(seed));
+        }
+        double min = ConfigReader.getDouble("invoice.stream.amount.min", 1000);
+        double max = ConfigReader.getDouble("invoice.stream.amount.max", 9999);
+        String dist = ConfigReader.getProperty("invoice.stream.amount.distribution", "uniform").trim();
+        if ("lognormal".equalsIgnoreCase(dist) || "log_normal".equalsIgnoreCase(dist)) {
+            b.logNormalAmounts(
+                    ConfigReader.getDouble("invoice.stream.amount.median", 5000),
+                    ConfigReader.getDouble("invoice.stream.amount.sigma", 0.5),
+                    min, max);
+        } else {
+            b.uniformAmounts(min, max);
+        }
+        return b.invoiceDateSpanDays(
+                        ConfigReader.getInt("invoice.stream.invoice.date.span.days", 0))
+                .dueDays(ConfigReader.getInt("invoice.stream.due.days.min", 60),
+                        ConfigReader.getInt("invoice.stream.due.days.max", 60))
+                .typeMix(ConfigReader.getProperty("invoice.stream.type.mix", "E_FATURA:100"));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // ============== DOĞRUDAN ERİŞİM ==============
+
+    /** {@code index}. entegrasyon API fatura isteği (aynı tohum + index → aynı içerik). */
+    public UploadInvoiceRequest uploadRequest(long index) {
+        SplittableRandom r = randomFor(index);
+        String type = pickType(r);
+        int amount = (int) Math.round(amount(r));
+        String due = dueDates[r.nextInt(dueDates.length)];
+        return UploadInvoiceRequest.builder()
+                .userEmail(userEmail)
+                .supplierTaxNo(supplierTaxNos[r.nextInt(supplierTaxNos.length)])
+                .invoiceAmount(amount)
+                .remainingAmount(amount)
+                .currencyType(currency)
+                .invoiceDate(invoiceDates[r.nextInt(invoiceDates.length)])
+                .dueDate(due)
+                .additionalDueDate(due)
+                .invoiceNo(invoiceNumbers.apply(index))
+                .invoiceType(type)
+                .hashCode("E_FATURA".equals(type) ? hex16(r.nextLong()) : "")
+                .taxExclusiveAmount("E_ARSIV".equals(type) ? 85 : 0)
+                .build();
+    }
+
+    /** {@code index}. müzayede faturası (paket no 10 hane, tutar kuruşlu, 0–4 ek vade günü). */
+    public AuctionInvoice auctionInvoice(long index) {
+        SplittableRandom r = randomFor(index);
+        String type = pickType(r);
+        double amount = Math.round(amount(r) * 100) / 100.0;
+        String packageNo = pad(r.nextInt(10_000), 4) + pad(r.nextInt(1_000_000), 6);
+        AuctionInvoice invoice = new AuctionInvoice(packageNo,
+                supplierTaxNos[r.nextInt(supplierTaxNos.length)], amount, type);
+        invoice.setCurrencyType(currency);
+        invoice.setDueDate(dueDates[r.nextInt(dueDates.length)]);
+        // müzayede faturası bugünden eski olmalı: aralık varsa 1..span gün önce
+        invoice.setInvoiceDate(invoiceDates[invoiceDates.length == 1 ? 0 : 1 + r.nextInt(invoiceDates.length - 1)]);
+        invoice.setExtraInvoiceDueDay(r.nextInt(5));
+        return invoice;
+    }
+
+    // ============== AKIŞLAR ==============
+
+    /** Sonsuz (Long.MAX_VALUE) istek akışı; {@code limit()} ile kesilir. */
+    public Stream<UploadInvoiceRequest> uploadRequests() {
+        return uploadRequests(0, Long.MAX_VALUE);
+    }
+
+    /** [from, from + count) aralığındaki istekler (aynı aralık her zaman aynı içerik). */
+    public Stream<UploadInvoiceRequest> uploadRequests(long from, long count) {
+        return StreamSupport.stream(new IndexSpliterator<>(from, end(from, count), this::uploadRequest), false);
+    }
+
+    public Stream<AuctionInvoice> auctionInvoices() {
+        return auctionInvoices(0, Long.MAX_VALUE);
+    }
+
+    public Stream<AuctionInvoice> auctionInvoices(long from, long count) {
+        return StreamSupport.stream(new IndexSpliterator<>(from, end(from, count), this::auctionInvoice), false);
+    }
+
+    private static long end(long from, long count) {
+        if (from < 0 || count < 0) {
+            throw new IllegalArgumentException("from/count negatif olamaz: " + from + "/" + count);
+        }
+        return count > Long.MAX_VALUE - from ? Long.MAX_VALUE : from + count;
+    }
+
+    /** [from, to) indekslerini eşit ikiye bölen, indeksten eleman üreten Spliterator. */
+    private static final class IndexSpliterator<T> implements Spliterator<T> {
+        private long from;
+        private final long to;
+        private final LongFunction<T> element;
+
+        IndexSpliterator(long from, long to, LongFunction<T> element) {
+            this.from = from;
+            this.to = to;
+            this.element = element;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(element.apply(from++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            long i = from;
+            from = to;
+            for (; i < to; i++) {
+                action.accept(element.apply(i));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long mid = from + (to - from) / 2;
+            if (mid <= from) {
+                return null;
+            }
+            Spliterator<T> prefix = new IndexSpliterator<>(from, mid, element);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    // ============== YARDIMCILAR ==============
+
+    /** Elemana özel üreteç: tohum ve indeks karıştırılır (komşu indekslerin dizileri örtüşmez). */
+    private SplittableRandom randomFor(long index) {
+        long z = seed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    private String pickType(SplittableRandom r) {
+        int x = r.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (x < cumulativeWeights[i]) {
+                return types[i];
+            }
+        }
+        return types[types.length - 1];
+    }
+
+    private double amount(SplittableRandom r) {
+        if (distribution == AmountDistribution.UNIFORM) {
+            return amountMin + r.nextDouble() * (amountMax - amountMin);
+        }
+        // Marsaglia polar: SplittableRandom'da (Java 11) nextGaussian yok
+        double u;
+        double v;
+        double s;
+        do {
+            u = r.nextDouble() * 2 - 1;
+            v = r.nextDouble() * 2 - 1;
+            s = u * u + v * v;
+        } while (s >= 1 || s == 0);
+        double gaussian = u * Math.sqrt(-2 * Math.log(s) / s);
+        return Math.max(amountMin, Math.min(amountMax, amountMedian * Math.exp(amountSigma * gaussian)));
+    }
+
+    private static String hex16(long v) {
+        char[] out = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            out[i] = HEX[(int) (v & 0xF)];
+            v >>>= 4;
+        }
+        return new String(out);
+    }
+
+    private static String pad(int v, int width) {
+        char[] out = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            out[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        return new String(out);
+    }
+
+    public static class Builder {
+        private long seed = ThreadLocalRandom.current().nextLong();
+        private String userEmail;
+        private List<String> supplierTaxNos;
+        private String currency = "TL";
+        private AmountDistribution distribution = AmountDistribution.UNIFORM;
+        private double amountMin = 1000;
+        private double amountMax = 9999;
+        private double amountMedian = 5000;
+        private double amountSigma = 0.5;
+        private final List<String> types = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+        private int invoiceDateSpanDays;
+        private int dueDaysMin = 60;
+        private int dueDaysMax = 60;
+        private LongFunction<String> invoiceNumbers;
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder userEmail(String userEmail) {
+            this.userEmail = userEmail;
+            return this;
+        }
+
+        /** Verilmezse config'teki tedarikçi VKN'si (yoksa eski havuz) kullanılır. */
+        public Builder supplierTaxNos(String... taxNos) {
+            this.supplierTaxNos = List.of(taxNos);
+            return this;
+        }
+
+        public Builder currency(String currency) {
+            this.currency = currency;
+            return this;
+        }
+
+        public Builder uniformAmounts(double min, double max) {
+            this.distribution = AmountDistribution.UNIFORM;
+            this.amountMin = min;
+            this.amountMax = max;
+            return this;
+        }
+
+        /** Log-normal tutarlar: çoğu {@code median} civarında, sağa uzun kuyruk; [min, max] ile kırpılır. */
+        public Builder logNormalAmounts(double median, double sigma, double min, double max) {
+            this.distribution = AmountDistribution.LOG_NORMAL;
+            this.amountMedian = median;
+            this.amountSigma = sigma;
+            this.amountMin = min;
+            this.amountMax = max;
+            return this;
+        }
+
+        public Builder type(String type, int weight) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Ağırlık pozitif olmalı: " + type + "=" + weight);
+            }
+            types.add(type);
+            weights.add(weight);
+            return this;
+        }
+
+        /** "E_FATURA:70,E_ARSIV:20,PAPER:10" ya da tek tip ("E_FATURA"); önceki tipleri siler. */
+        public Builder typeMix(String spec) {
+            types.clear();
+            weights.clear();
+            for (String part : spec.split(",")) {
+                String p = part.trim();
+                if (p.isEmpty()) {
+                    continue;
+                }
+                int colon = p.indexOf(':');
+                type(colon < 0 ? p : p.substring(0, colon).trim(),
+                        colon < 0 ? 1 : Integer.parseInt(p.substring(colon + 1).trim()));
+            }
+            return this;
+        }
+
+        /** Fatura tarihi bugün ile {@code days} gün öncesi arasında (0 = hep bugün). */
+        public Builder invoiceDateSpanDays(int days) {
+            this.invoiceDateSpanDays = days;
+            return this;
+        }
+
+        /** Vade bugünden [min, max] gün sonra; iş günü değilse sonraki iş gününe kayar. */
+        public Builder dueDays(int min, int max) {
+            this.dueDaysMin = min;
+            this.dueDaysMax = max;
+            return this;
+        }
+
+        /** index → fatura no (ör. koşu öneki + sıra). */
+        public Builder invoiceNumbers(LongFunction<String> invoiceNumbers) {
+            this.invoiceNumbers = invoiceNumbers;
+            return this;
+        }
+
+        public InvoiceDataStream build() {
+            if (amountMin < 0 || amountMax < amountMin) {
+                throw new IllegalArgumentException("Tutar aralığı geçersiz: " + amountMin + ".." + amountMax);
+            }
+            if (invoiceDateSpanDays < 0 || dueDaysMin < 0 || dueDaysMax < dueDaysMin) {
+                throw new IllegalArgumentException("Tarih aralığı geçersiz: fatura " + invoiceDateSpanDays
+                        + " gün, vade " + dueDaysMin + ".." + dueDaysMax);
+            }
+            if (types.isEmpty()) {
+                type("E_FATURA", 1);
+            }
+            if (supplierTaxNos == null || supplierTaxNos.isEmpty()) {
+                supplierTaxNos = InvoiceTestDataGenerator.supplierTaxNoPool();
+            }
+            if (invoiceNumbers == null) {
+                invoiceNumbers = i -> InvoiceNumberAllocator.next(InvoiceNumberAllocator.Series.TEST);
+            }
+            InvoiceDataStream stream = new InvoiceDataStream(this);
+            log.info("Fatura veri akışı: tohum {}, tutar {} {}..{}, tipler {}={}, vade {}..{} gün",
+                    seed, distribution, amountMin, amountMax, types, weights, dueDaysMin, dueDaysMax);
+            return stream;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.faturalab.automation.utils;
+
+import com.faturalab.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Çakışmasız fatura numarası dağıtıcı (TEST, EFG, GNS, TZF serileri).
+ *
+ * Numara biçimi: {@code harfler [+ yıl] + düğüm + sıfır dolgulu sıra}, toplam uzunluk serinin alan
+ * sınırına eşit. Örn. EFG (e-fatura ID, 16 karakter): {@code EFG2026} + {@code 03} + {@code 0001234}.
+ *
+ * <ul>
+ *   <li>Thread'ler arası: sıra bir AtomicLong ile bloktan alınır (kilitsiz); blok bitince yalnızca
+ *       yenilemeyi yapan thread bekler.</li>
+ *   <li>JVM'ler arası (aynı makine): blok, {@code invoice.number.state.dir} altındaki önek başına
+ *       dosyada tutulan üst sınırdan dosya kilidiyle ayrılır; JVM kapanınca kullanılmayan kısım atlanır.
+ *       Dosya yoksa (yeni CI konteyneri) sıra 1'den değil saatten tohumlanır: ortak dev sunucusunda
+ *       önceki koşuların numaraları yeniden verilmesin.</li>
+ *   <li>Makineler / shard'lar arası: düğüm numarası ({@code -Dinvoice.number.node}) öneke girer.
+ *       Verilmezse makine adından türetilir ve uyarı loglanır: 2 haneli düğümde 10 makinenin
+ *       çakışma olasılığı ~%37'dir, paralel ajanlarda düğüm açıkça verilmelidir.</li>
+ * </ul>
+ *
+ * Ayarlar: invoice.number.node, invoice.number.node.digits=2, invoice.number.block.size=1000,
+ * invoice.number.state.dir (varsayılan ~/.faturalab/invoice-numbers; mvn clean ile silinmesin diye target dışında).
+ */
+public final class InvoiceNumberAllocator {
+
+    private static final Logger log = LogManager.getLogger(InvoiceNumberAllocator.class);
+
+    /** Numara serileri: harf öneki, yıl içerip içermediği ve hedef alanın uzunluk sınırı. */
+    public enum Series {
+        /** Entegrasyon API invoiceNo (önceki TEST + currentTimeMillis biçimiyle aynı uzunluk). */
+        TEST("TEST", false, 17),
+        /** E-fatura ID'si (UBL-TR): 3 harf + yıl + 9 rakam. */
+        EFG("EFG", true, 16),
+        /** ALBC/BCD şablonlu e-fatura ID'si. */
+        GNS("GNS", true, 16),
+        /** TZF Excel / görsel fatura numarası. */
+        TZF("TZF", false, 20);
+
+        private final String letters;
+        private final boolean withYear;
+        private final int defaultMaxLength;
+        private volatile InvoiceNumberAllocator current;   // bu yılın dağıtıcısı
+
+        Series(String letters, boolean withYear, int defaultMaxLength) {
+            this.letters = letters;
+            this.withYear = withYear;
+            this.defaultMaxLength = defaultMaxLength;
+        }
+    }
+
+    private static final int NODE_DIGITS = ConfigReader.getInt("invoice.number.node.digits", 2);
+    private static final int BLOCK_SIZE = Math.max(1, ConfigReader.getInt("invoice.number.block.size", 1000));
+    private static final int NODE = resolveNode();
+    private static final File STATE_DIR = resolveStateDir();
+
+    private static final Map<String, InvoiceNumberAllocator> ALLOCATORS = new ConcurrentHashMap<>();
+    private static final Map<String, long[]> FALLBACK_HWM = new ConcurrentHashMap<>();
+
+    /** Numara aralığı: {@code prefix + first} … {@code prefix + (first + count - 1)}, sıra {@code width} haneye dolgulu. */
+    public static final class Range {
+        private final String prefix;
+        private final long first;
+        private final int count;
+        private final int width;
+
+        private Range(String prefix, long first, int count, int width) {
+            this.prefix = prefix;
+            this.first = first;
+            this.count = count;
+            this.width = width;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        public long getFirst() {
+            return first;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        /** {@code index} (0 tabanlı) sıradaki numara. */
+        public String get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + count);
+            }
+            return format(prefix, first + index, width);
+        }
+    }
+
+    /** Ayrılmış blok; {@code next} bloğun sonunu geçebilir, geçen çağrı bloğu yeniler. */
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    private final int year;
+    private final String prefix;
+    private final int width;
+    private final long limit;
+    private final File stateFile;
+    private final AtomicReference<Block> block = new AtomicReference<>(new Block(0, 0));
+
+    private InvoiceNumberAllocator(int year, String prefix, int width) {
+        this.year = year;
+        this.prefix = prefix;
+        this.width = width;
+        long l = 1;
+        for (int i = 0; i < width; i++) {
+            l *= 10;
+        }
+        this.limit = l;
+        this.stateFile = new File(STATE_DIR, prefix + ".hwm");
+    }
+
+    /** Serinin bu yıl / bu düğüm için dağıtıcısı (JVM'de tek örnek). */
+    public static InvoiceNumberAllocator of(Series series) {
+        int year = series.withYear ? LocalDate.now().getYear() : 0;
+        InvoiceNumberAllocator allocator = series.current;
+        if (allocator == null || allocator.year != year) {
+            allocator = create(series, year);
+            series.current = allocator;
+        }
+        return allocator;
+    }
+
+    private static InvoiceNumberAllocator create(Series series, int year) {
+        String key = series.name().toLowerCase();
+        String prefix = series.letters + (series.withYear ? String.valueOf(year) : "") + format("", NODE, NODE_DIGITS);
+        int width = ConfigReader.getInt("invoice.number." + key + ".max.length", series.defaultMaxLength) - prefix.length();
+        if (width < 4 || width > 18) {
+            throw new IllegalStateException("Fatura numarası sıra genişliği geçersiz (" + prefix + ", " + width
+                    + " hane) — invoice.number." + key + ".max.length / invoice.number.node.digits ayarını kontrol edin");
+        }
+        return ALLOCATORS.computeIfAbsent(prefix, p -> new InvoiceNumberAllocator(year, p, width));
+    }
+
+    /** Kısayol: {@code of(series).next()}. */
+    public static String next(Series series) {
+        return of(series).next();
+    }
+
+    public String next() {
+        return format(prefix, claim(1), width);
+    }
+
+    /** Ardışık {@code count} numara ayırır (toplu üretim: numaralar tek tek saklanmaz). */
+    public Range reserve(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Adet pozitif olmalı: " + count);
+        }
+        return new Range(prefix, claim(count), count, width);
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    private long claim(int count) {
+        if (count > BLOCK_SIZE) {
+            synchronized (this) {
+                return reserveFromStore(count);
+            }
+        }
+        while (true) {
+            Block b = block.get();
+            long first = b.next.getAndAdd(count);
+            if (first + count <= b.end) {
+                return first;
+            }
+            refill(b);
+        }
+    }
+
+    private synchronized void refill(Block seen) {
+        if (block.get() == seen) {
+            long start = reserveFromStore(BLOCK_SIZE);
+            block.set(new Block(start, start + BLOCK_SIZE));
+        }
+    }
+
+    /** Dosyadaki üst sınırdan {@code count} numara ayırır (dosya kilidiyle, JVM'ler arası). */
+    private long reserveFromStore(int count) {
+        long start;
+        try {
+            start = reserveFromFile(count);
+        } catch (IOException | RuntimeException e) {
+            start = fallbackSeed(count, e);
+        }
+        if (start + count > limit) {
+            throw new IllegalStateException("Fatura numarası serisi tükendi: " + prefix + " ("
+                    + width + " hane) — başka bir invoice.number.node kullanın");
+        }
+        return start;
+    }
+
+    private long reserveFromFile(int count) throws IOException {
+        if (!STATE_DIR.isDirectory() && !STATE_DIR.mkdirs() && !STATE_DIR.isDirectory()) {
+            throw new IOException("Dizin oluşturulamadı: " + STATE_DIR);
+        }
+        try (FileChannel ch = FileChannel.open(stateFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = ch.lock()) {
+            ByteBuffer buf = ByteBuffer.allocate(32);
+            ch.read(buf);
+            String text = new String(buf.array(), 0, buf.position(), StandardCharsets.US_ASCII).trim();
+            long start = text.isEmpty() ? timeSeed() : Long.parseLong(text);
+            if (text.isEmpty()) {
+                log.info("Fatura numarası durumu yok ({}); sıra saatten tohumlandı: {}", stateFile.getPath(), start);
+            }
+            ch.truncate(0);
+            ch.write(ByteBuffer.wrap(String.valueOf(start + count).getBytes(StandardCharsets.US_ASCII)), 0);
+            ch.force(false);
+            return start;
+        }
+    }
+
+    /**
+     * Durum dosyası kullanılamazsa (salt okunur dizin vb.) sıra saatten tohumlanır: aynı JVM'de yine
+     * çakışmasızdır, JVM'ler arası garanti yoktur.
+     */
+    private long fallbackSeed(int count, Exception cause) {
+        log.warn("Fatura numarası durumu yazılamadı ({}): {} — sıra saatten tohumlanıyor",
+                stateFile.getPath(), cause.getMessage());
+        long seed = timeSeed();
+        long[] seen = FALLBACK_HWM.computeIfAbsent(prefix, p -> new long[1]);
+        synchronized (seen) {
+            long start = Math.max(seed, seen[0]);
+            seen[0] = start + count;
+            return start;
+        }
+    }
+
+    /**
+     * Saatten türetilen başlangıç: 10 ms çözünürlük, sıra alanının alt yarısına sarılır (üst yarı
+     * tohumdan sonra ayrılacak bloklara kalır).
+     */
+    private long timeSeed() {
+        return Math.max(1, (System.currentTimeMillis() / 10) % (limit / 2));
+    }
+
+    private static String format(String prefix, long seq, int width) {
+        char[] out = new char[prefix.length() + width];
+        prefix.getChars(0, prefix.length(), out, 0);
+        for (int i = out.length - 1; i >= prefix.length(); i--) {
+            out[i] = (char) ('0' + seq % 10);
+            seq /= 10;
+        }
+        return new String(out);
+    }
+
+    private static int resolveNode() {
+        long max = 1;
+        for (int i = 0; i < NODE_DIGITS; i++) {
+            max *= 10;
+        }
+        String configured = ConfigReader.getProperty("invoice.number.node", "").trim();
+        if (!configured.isEmpty()) {
+            int node = Integer.parseInt(configured);
+            if (node < 0 || node >= max) {
+                throw new IllegalStateException("invoice.number.node 0.." + (max - 1) + " olmalı: " + node);
+            }
+            return node;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = String.valueOf(System.getenv("HOSTNAME"));
+        }
+        int node = (int) Math.floorMod((long) host.hashCode(), max);
+        // Doğum günü problemi: farklı makineler aynı düğümü alabilir; paralel ajanlarda sessiz kalmasın
+        log.warn("invoice.number.node verilmedi; makine adından türetildi: {} → {} ({} olası düğüm — birden fazla "
+                + "makinede paralel koşuluyorsa numaralar çakışabilir, her ajana -Dinvoice.number.node=NN verin)",
+                host, node, max);
+        return node;
+    }
+
+    private static File resolveStateDir() {
+        String configured = ConfigReader.getProperty("invoice.number.state.dir", "").trim();
+        return configured.isEmpty()
+                ? new File(System.getProperty("user.home"), ".faturalab" + File.separator + "invoice-numbers")
+                : new File(configured);
+    }
+}
@@ -5,13 +5,17 @@ import com.faturalab.automation.models.auction.*;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 public class InvoiceTestDataGenerator {
     
     private static final String[] INVOICE_TYPES = {"E_FATURA", "E_ARSIV", "PAPER"};
     private static final String[] CURRENCIES = {"TL", "USD", "EUR"};
+    private static final DateTimeFormatter ISO_DATE_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxx");  // xx = +0300, xxx = +03:00
     /** Config'te tedarikçi VKN tanımlı değilse kullanılacak son çare havuz (eski davranış). */
     private static final String[] FALLBACK_SUPPLIER_TAX_NUMBERS = {
         "1234567890", "9876543210", "5555555555", "1111111111", "1083053674"
@@ -20,8 +24,6 @@ public class InvoiceTestDataGenerator {
     // ============== EXISTING INVOICE METHODS ==============
     
     public static UploadInvoiceRequest generateValidInvoice(String userEmail, String invoiceType) {
-        String uniqueId = String.valueOf(System.currentTimeMillis());
-        
         return UploadInvoiceRequest.builder()
                 .userEmail(userEmail)
                 .supplierTaxNo(getRandomSupplierTaxNo())
@@ -31,7 +33,7 @@ public class InvoiceTestDataGenerator {
                 .invoiceDate(getCurrentDate())
                 .dueDate(getFutureWorkingDate(60))
                 .additionalDueDate(getFutureWorkingDate(60))
-                .invoiceNo("TEST" + uniqueId)
+                .invoiceNo(InvoiceNumberAllocator.next(InvoiceNumberAllocator.Series.TEST))
                 .invoiceType(invoiceType)
                 .hashCode(invoiceType.equals("E_FATURA") ? generateHashCode() : "")
                 .taxExclusiveAmount(invoiceType.equals("E_ARSIV") ? 85 : 0) // Simple value for E_ARSIV
@@ -229,6 +231,12 @@ public class InvoiceTestDataGenerator {
      * Config'te yoksa eski rastgele havuza düşer.
      */
     private static String getRandomSupplierTaxNo() {
+        List<String> pool = supplierTaxNoPool();
+        return pool.get(new Random().nextInt(pool.size()));
+    }
+
+    /** Config'teki tedarikçi VKN'si (tek elemanlı) ya da eski havuz; {@link InvoiceDataStream} de kullanır. */
+    static List<String> supplierTaxNoPool() {
         try {
             String configured = com.faturalab.automation.config.ConfigReader
                     .getProperty("integration.supplier.taxno", "").trim();
@@ -237,13 +245,12 @@ public class InvoiceTestDataGenerator {
                         .getProperty("test.matched.company.taxno", "").trim();
             }
             if (!configured.isEmpty()) {
-                return configured;
+                return Collections.singletonList(configured);
             }
         } catch (Throwable ignored) {
             // ConfigReader yüklenemezse (ör. birim testi bağlamı) fallback'e düş
         }
-        Random random = new Random();
-        return FALLBACK_SUPPLIER_TAX_NUMBERS[random.nextInt(FALLBACK_SUPPLIER_TAX_NUMBERS.length)];
+        return Arrays.asList(FALLBACK_SUPPLIER_TAX_NUMBERS);
     }
     
     private static int getRandomAmount() {
@@ -252,43 +259,24 @@ public class InvoiceTestDataGenerator {
     }
     
     public static String getFutureDate(int days) {
-        Calendar cal = Calendar.getInstance();
-        cal.add(Calendar.DAY_OF_MONTH, days);
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-        return sdf.format(cal.getTime());
+        return LocalDate.now().plusDays(days).format(BusinessCalendar.ISO_DATE);
     }
     
     public static String getPastDate(int days) {
-        Calendar cal = Calendar.getInstance();
-        cal.add(Calendar.DAY_OF_MONTH, -days);
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-        return sdf.format(cal.getTime());
+        return LocalDate.now().minusDays(days).format(BusinessCalendar.ISO_DATE);
     }
     
     public static String getCurrentDate() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-        return sdf.format(new Date());
+        return LocalDate.now().format(BusinessCalendar.ISO_DATE);
     }
     
+    /** Bugünden {@code days} gün sonrası; hafta sonu / resmî tatil / bayrama düşerse sonraki iş günü. */
     public static String getFutureWorkingDate(int days) {
-        Calendar cal = Calendar.getInstance();
-        cal.add(Calendar.DAY_OF_MONTH, days);
-        
-        // Skip weekends
-        int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
-        if (dayOfWeek == Calendar.SATURDAY) {
-            cal.add(Calendar.DAY_OF_MONTH, 2);
-        } else if (dayOfWeek == Calendar.SUNDAY) {
-            cal.add(Calendar.DAY_OF_MONTH, 1);
-        }
-        
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-        return sdf.format(cal.getTime());
+        return BusinessCalendar.turkey().nextOrSame(LocalDate.now().plusDays(days)).format(BusinessCalendar.ISO_DATE);
     }
     
     public static String getCurrentDateTimeISO() {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXX");  // XX = +0300, XXX = +03:00
-        return sdf.format(new Date());
+        return ZonedDateTime.now().format(ISO_DATE_TIME);
     }
     
     private static String generateHashCode() {
@@ -0,0 +1,365 @@
+package com.faturalab.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Birden fazla JS probe/aksiyonunu TEK WebDriver çağrısında çalıştırır ve yapılandırılmış
+ * sonuç döner. Uzak grid'de her executeScript ayrı bir HTTP round trip'tir; yardımcıların
+ * art arda 3-5 script çalıştırması aksiyon başına yüzlerce ms ekler.
+ *
+ * Adım türleri (sırayla çalışır):
+ *  - step     : zorunlu adım; falsy sonuç batch'i başarısız yapar, sonraki step'ler atlanır
+ *  - attempt  : alternatif; ardışık attempt'ler bir grup oluşturur, ilk truthy olan kazanır,
+ *               kalanlar çalışmaz. Grubun hiçbiri tutmazsa batch başarısız olur.
+ *  - waitFor  : koşul truthy olana kadar sayfa içinde (setTimeout) poll eder; süre dolarsa
+ *               batch başarısız olur. Varsa batch executeAsyncScript ile çalışır.
+ *  - onFailure: yalnızca batch başarısızsa çalışır (teşhis listeleri vb.)
+ *  - always   : her durumda çalışır
+ *
+ * Her adımın gövdesi bir fonksiyon gövdesidir: {@code arguments[i]} o adıma verilen argümanlardır,
+ * {@code return} ile değer döner. Bir adımın fırlattığı JS hatası yakalanır, adımın sonucu null
+ * sayılır ve {@link Result#error(String)} ile okunur.
+ *
+ * <pre>
+ * JsBatch.Result r = JsBatch.create()
+ *         .attempt("shadow", SHADOW_CLICK_JS, keyword)
+ *         .attempt("query", QUERY_CLICK_JS, keyword)
+ *         .onFailure("links", LINK_DUMP_JS)
+ *         .run(driver);
+ * </pre>
+ */
+public final class JsBatch {
+
+    private static final Logger log = LogManager.getLogger(JsBatch.class);
+
+    private static final long DEFAULT_POLL_MS = 200;
+
+    private enum Kind {
+        STEP("step"), ATTEMPT("attempt"), WAIT("wait"), ON_FAILURE("onFailure"), ALWAYS("always");
+
+        private final String js;
+
+        Kind(String js) {
+            this.js = js;
+        }
+    }
+
+    private static final class Step {
+        private final String name;
+        private final Kind kind;
+        private final String body;
+        private final List<Object> args;
+        private final long timeoutMillis;
+
+        private Step(String name, Kind kind, String body, List<Object> args, long timeoutMillis) {
+            this.name = name;
+            this.kind = kind;
+            this.body = body;
+            this.args = args;
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+
+    /**
+     * Adımları sırayla yürüten sayfa içi çalıştırıcı. Adım fonksiyonları {@code __S} dizisine
+     * literal olarak gömülür (eval/new Function kullanılmaz; CSP'den etkilenmez).
+     */
+    private static final String RUNTIME_JS =
+            "var __A = arguments;" +
+            "var __done = __ASYNC ? __A[__A.length - 1] : null;" +
+            "var __r = {ok: true, failedAt: null, values: {}, errors: {}};" +
+            "var __grp = null;" +
+            "function __call(s) {" +
+            "  try { var v = s.f.apply(null, __A[s.i]); return v === undefined ? null : v; }" +
+            "  catch (e) { __r.errors[s.n] = String(e && e.message || e); return null; }" +
+            "}" +
+            "function __fail(n) { if (__r.ok) { __r.ok = false; __r.failedAt = n; } }" +
+            "function __closeGroup() { if (__grp && !__grp.hit) __fail(__grp.first); __grp = null; }" +
+            "function __next(i) {" +
+            "  for (; i < __S.length; i++) {" +
+            "    var s = __S[i];" +
+            "    if (s.k !== 'attempt') __closeGroup();" +
+            "    if (s.k === 'always') { __r.values[s.n] = __call(s); continue; }" +
+            "    if (s.k === 'onFailure') { if (!__r.ok) __r.values[s.n] = __call(s); continue; }" +
+            "    if (!__r.ok) continue;" +
+            "    if (s.k === 'attempt') {" +
+            "      if (!__grp) __grp = {hit: false, first: s.n};" +
+            "      if (__grp.hit) continue;" +
+            "      var a = __call(s); __r.values[s.n] = a; if (a) __grp.hit = true;" +
+            "      continue;" +
+            "    }" +
+            "    if (s.k === 'wait') { __poll(i, Date.now() + s.t); return null; }" +
+            "    var v = __call(s); __r.values[s.n] = v; if (!v) __fail(s.n);" +
+            "  }" +
+            "  __closeGroup();" +
+            "  if (__done) { __done(__r); return null; }" +
+            "  return __r;" +
+            "}" +
+            "function __poll(i, deadline) {" +
+            "  var s = __S[i]; var v = __call(s);" +
+            "  if (v || Date.now() >= deadline) {" +
+            "    __r.values[s.n] = v; if (!v) __fail(s.n);" +
+            "    __next(i + 1);" +
+            "  } else {" +
+            "    setTimeout(function() { __poll(i, deadline); }, " + DEFAULT_POLL_MS + ");" +
+            "  }" +
+            "}" +
+            "return __next(0);";
+
+    private final List<Step> steps = new ArrayList<>();
+    private ScriptRegistry.Helper[] uses = new ScriptRegistry.Helper[0];
+
+    private JsBatch() {
+    }
+
+    public static JsBatch create() {
+        return new JsBatch();
+    }
+
+    /**
+     * Adım gövdelerinin adıyla çağıracağı {@link ScriptRegistry} yardımcıları. Sayfada kurulu
+     * değillerse hiçbir adım çalışmadan kurulum yapılır ve batch bir kez tekrarlanır.
+     */
+    public JsBatch uses(ScriptRegistry.Helper... helpers) {
+        this.uses = helpers;
+        return this;
+    }
+
+    /** Zorunlu adım: falsy dönerse batch başarısız olur. */
+    public JsBatch step(String name, String body, Object... args) {
+        return add(name, Kind.STEP, body, 0, args);
+    }
+
+    /** Alternatif adım: ardışık attempt'lerden ilk truthy olan kazanır. */
+    public JsBatch attempt(String name, String body, Object... args) {
+        return add(name, Kind.ATTEMPT, body, 0, args);
+    }
+
+    /** Koşul truthy olana kadar sayfa içinde poll eder; süre dolarsa batch başarısız olur. */
+    public JsBatch waitFor(String name, String body, long timeoutMillis, Object... args) {
+        return add(name, Kind.WAIT, body, timeoutMillis, args);
+    }
+
+    /** Yalnızca batch başarısızsa çalışır; teşhis amaçlı listeler için. */
+    public JsBatch onFailure(String name, String body, Object... args) {
+        return add(name, Kind.ON_FAILURE, body, 0, args);
+    }
+
+    /** Sonuçtan bağımsız her zaman çalışır. */
+    public JsBatch always(String name, String body, Object... args) {
+        return add(name, Kind.ALWAYS, body, 0, args);
+    }
+
+    private JsBatch add(String name, Kind kind, String body, long timeoutMillis, Object... args) {
+        for (Step s : steps) {
+            if (s.name.equals(name)) {
+                throw new IllegalArgumentException("JsBatch adım adı tekrar ediyor: " + name);
+            }
+        }
+        List<Object> list = args == null ? Collections.emptyList() : Arrays.asList(args);
+        steps.add(new Step(name, kind, body, list, timeoutMillis));
+        return this;
+    }
+
+    /**
+     * Batch'i tek round trip'te çalıştırır. WebDriver hatası (ör. sayfa değişimi) fırlatılmaz;
+     * başarısız bir Result döner ve hata {@code error("driver")} ile okunur.
+     */
+    public Result run(WebDriver driver) {
+        long waitBudget = 0;
+        for (Step s : steps) {
+            if (s.kind == Kind.WAIT) {
+                waitBudget += s.timeoutMillis;
+            }
+        }
+        boolean async = waitBudget > 0;
+        String script = buildScript(async);
+        Object[] args = new Object[steps.size()];
+        for (int i = 0; i < steps.size(); i++) {
+            args[i] = steps.get(i).args;
+        }
+
+        long start = System.currentTimeMillis();
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Duration previousScriptTimeout = null;
+        try {
+            Object raw;
+            if (async) {
+                // Sayfa içi bekleme toplamı + pay; sürücünün script timeout'u daha kısaysa geçici uzat
+                Duration needed = Duration.ofMillis(waitBudget + 5000);
+                Duration current = driver.manage().timeouts().getScriptTimeout();
+                if (current == null || current.compareTo(needed) < 0) {
+                    previousScriptTimeout = current;
+                    driver.manage().timeouts().scriptTimeout(needed);
+                }
+                raw = js.executeAsyncScript(script, args);
+                if (ScriptRegistry.MISSING.equals(raw)) {
+                    ScriptRegistry.install(driver);
+                    raw = js.executeAsyncScript(script, args);
+                } else {
+                    ScriptRegistry.countHits(uses);
+                }
+            } else {
+                raw = js.executeScript(script, args);
+                if (ScriptRegistry.MISSING.equals(raw)) {
+                    ScriptRegistry.install(driver);
+                    raw = js.executeScript(script, args);
+                } else {
+                    ScriptRegistry.countHits(uses);
+                }
+            }
+            Result result = Result.from(raw, System.currentTimeMillis() - start);
+            log.trace("JsBatch {} adım, {} ms: {}", steps.size(), result.elapsedMillis, result);
+            return result;
+        } catch (Exception e) {
+            log.debug("JsBatch çalıştırılamadı: {}", e.getMessage());
+            return Result.driverError(e, System.currentTimeMillis() - start);
+        } finally {
+            if (previousScriptTimeout != null) {
+                try {
+                    driver.manage().timeouts().scriptTimeout(previousScriptTimeout);
+                } catch (Exception ignored) {
+                }
+            }
+        }
+    }
+
+    private String buildScript(boolean async) {
+        StringBuilder sb = new StringBuilder(256 + steps.size() * 512);
+        sb.append("var __ASYNC = ").append(async).append(";");
+        // Yardımcı guard'ı: eksikse adımlar çalışmadan işaret döner (async'te callback ile)
+        sb.append(ScriptRegistry.prelude(async
+                ? "arguments[arguments.length - 1]('" + ScriptRegistry.MISSING + "'); return;"
+                : "return '" + ScriptRegistry.MISSING + "';", uses));
+        sb.append("var __S = [");
+        for (int i = 0; i < steps.size(); i++) {
+            Step s = steps.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{n:").append(jsString(s.name))
+                    .append(",k:'").append(s.kind.js).append('\'')
+                    .append(",i:").append(i)
+                    .append(",t:").append(s.timeoutMillis)
+                    .append(",f:function(){").append(s.body).append("\n}}");
+        }
+        sb.append("];");
+        sb.append(RUNTIME_JS);
+        return sb.toString();
+    }
+
+    private static String jsString(String s) {
+        return "'" + s.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    /** Batch sonucu: adım değerleri, JS hataları ve başarısız olunan adım. */
+    public static final class Result {
+
+        private final boolean ok;
+        private final String failedAt;
+        private final Map<String, Object> values;
+        private final Map<String, String> errors;
+        private final long elapsedMillis;
+
+        private Result(boolean ok, String failedAt, Map<String, Object> values, Map<String, String> errors,
+                       long elapsedMillis) {
+            this.ok = ok;
+            this.failedAt = failedAt;
+            this.values = values;
+            this.errors = errors;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Result from(Object raw, long elapsedMillis) {
+            if (!(raw instanceof Map)) {
+                return new Result(false, null, Collections.emptyMap(),
+                        Collections.singletonMap("driver", "beklenmeyen sonuç: " + raw), elapsedMillis);
+            }
+            Map<String, Object> map = (Map<String, Object>) raw;
+            Map<String, Object> values = new LinkedHashMap<>();
+            Object v = map.get("values");
+            if (v instanceof Map) {
+                values.putAll((Map<String, Object>) v);
+            }
+            Map<String, String> errors = new LinkedHashMap<>();
+            Object e = map.get("errors");
+            if (e instanceof Map) {
+                ((Map<String, Object>) e).forEach((k, msg) -> errors.put(k, String.valueOf(msg)));
+            }
+            Object failed = map.get("failedAt");
+            return new Result(Boolean.TRUE.equals(map.get("ok")), failed == null ? null : failed.toString(),
+                    values, errors, elapsedMillis);
+        }
+
+        private static Result driverError(Exception e, long elapsedMillis) {
+            return new Result(false, null, Collections.emptyMap(),
+                    Collections.singletonMap("driver", String.valueOf(e.getMessage())), elapsedMillis);
+        }
+
+        /** Tüm step/wait adımları ve attempt grupları tuttuysa true. */
+        public boolean succeeded() {
+            return ok;
+        }
+
+        /** Batch'i başarısız yapan ilk adımın adı (attempt grubu için grubun ilk adımı). */
+        public String failedAt() {
+            return failedAt;
+        }
+
+        /** Adımın döndürdüğü değer; çalışmadıysa veya null döndüyse null. */
+        public Object value(String name) {
+            return values.get(name);
+        }
+
+        public String string(String name) {
+            Object v = values.get(name);
+            return v == null ? null : v.toString();
+        }
+
+        /** JS truthiness'e yakın: null, false, "", 0 dışındaki değerler. */
+        public boolean isTruthy(String name) {
+            Object v = values.get(name);
+            if (v == null || Boolean.FALSE.equals(v)) {
+                return false;
+            }
+            if (v instanceof String) {
+                return !((String) v).isEmpty();
+            }
+            if (v instanceof Number) {
+                return ((Number) v).doubleValue() != 0;
+            }
+            return true;
+        }
+
+        /** Adımın fırlattığı JS hatası ("driver": WebDriver çağrısının kendisi başarısız). */
+        public String error(String name) {
+            return errors.get(name);
+        }
+
+        public Map<String, String> errors() {
+            return Collections.unmodifiableMap(errors);
+        }
+
+        public long elapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "JsBatch.Result{ok=" + ok + ", failedAt=" + failedAt + ", values=" + values
+                    + (errors.isEmpty() ? "" : ", errors=" + errors) + ", " + elapsedMillis + " ms}";
+        }
+    }
+}
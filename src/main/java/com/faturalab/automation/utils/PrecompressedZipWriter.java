@@ -0,0 +1,198 @@
+package com.faturalab.automation.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Sıkıştırması önceden (üretici thread'lerde) yapılmış girdileri tek bir akışa ZIP olarak yazar.
+ * ZipOutputStream sıkıştırmayı yazan thread'de yaptığından paralel üretimde darboğaz olur; burada
+ * her girdi {@link #prepare} ile kendi thread'inde deflate + CRC32 hesaplanır, yazıcı yalnızca
+ * başlık ve veriyi sırayla ekler. Girdi sayısı, ofset veya merkezi dizin 32 bit sınırını aşarsa ZIP64
+ * kayıtları yazılır; tek girdinin boyutu için ZIP64 desteği yoktur, 4 GiB ve üzeri girdi reddedilir.
+ *
+ * Thread-safe değildir: {@link #write} tek thread'den, sırayla çağrılır.
+ */
+final class PrecompressedZipWriter implements Closeable {
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL = 0x06064b50;
+    private static final int ZIP64_LOCATOR = 0x07064b50;
+    private static final int UTF8_FLAG = 1 << 11;
+    private static final long MAX_32 = 0xFFFFFFFFL;
+
+    /** Yazılmaya hazır girdi: ad, (sıkıştırılmış) veri, CRC ve boyutlar. */
+    static final class Entry {
+        final byte[] name;
+        final byte[] data;
+        final int method;
+        final long crc;
+        final long size;
+
+        private Entry(byte[] name, byte[] data, int method, long crc, long size) {
+            this.name = name;
+            this.data = data;
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+        }
+    }
+
+    private final OutputStream out;
+    private final ByteArrayOutputStream central = new ByteArrayOutputStream();
+    private final int dosTime;
+    private final int dosDate;
+    private long offset;
+    private long entries;
+    private boolean closed;
+
+    PrecompressedZipWriter(OutputStream out) {
+        this.out = out;
+        LocalDateTime now = LocalDateTime.now();
+        this.dosTime = (now.getHour() << 11) | (now.getMinute() << 5) | (now.getSecond() >> 1);
+        this.dosDate = ((now.getYear() - 1980) << 9) | (now.getMonthValue() << 5) | now.getDayOfMonth();
+    }
+
+    /**
+     * {@code data[0..length)} için girdi hazırlar (çağıran thread'de): level 0 → STORED (kopya),
+     * aksi halde DEFLATED. {@code deflater} thread'e ait, yeniden kullanılabilir bir örnektir
+     * (nowrap = true, seviye çağıran tarafından ayarlı).
+     */
+    static Entry prepare(String name, byte[] data, int length, Deflater deflater, int level) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (level == 0) {
+            return new Entry(nameBytes, Arrays.copyOf(data, length), 0, crc.getValue(), length);
+        }
+        deflater.reset();
+        deflater.setInput(data, 0, length);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, length / 4));
+        byte[] chunk = new byte[16 * 1024];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(chunk);
+            compressed.write(chunk, 0, n);
+        }
+        return new Entry(nameBytes, compressed.toByteArray(), 8, crc.getValue(), length);
+    }
+
+    void write(Entry e) throws IOException {
+        if (e.size >= MAX_32 || e.data.length >= MAX_32) {
+            // yerel/merkezi başlıktaki 32 bit boyut alanları sessizce kesilmesin
+            throw new IOException("ZIP girdisi 4 GiB sınırını aşıyor (ZIP64 boyut kaydı desteklenmiyor): "
+                    + new String(e.name, StandardCharsets.UTF_8) + ", " + e.size + " bayt");
+        }
+        boolean zip64Offset = offset >= MAX_32;
+        // yerel başlık: boyutlar ve CRC önceden bilindiği için veri tanımlayıcısı yok
+        writeInt(out, LOCAL_HEADER);
+        writeShort(out, 20);
+        writeShort(out, UTF8_FLAG);
+        writeShort(out, e.method);
+        writeShort(out, dosTime);
+        writeShort(out, dosDate);
+        writeInt(out, (int) e.crc);
+        writeInt(out, e.data.length);
+        writeInt(out, (int) e.size);
+        writeShort(out, e.name.length);
+        writeShort(out, 0);
+        out.write(e.name);
+        out.write(e.data);
+
+        writeInt(central, CENTRAL_HEADER);
+        writeShort(central, zip64Offset ? 45 : 20);   // made by
+        writeShort(central, zip64Offset ? 45 : 20);   // needed
+        writeShort(central, UTF8_FLAG);
+        writeShort(central, e.method);
+        writeShort(central, dosTime);
+        writeShort(central, dosDate);
+        writeInt(central, (int) e.crc);
+        writeInt(central, e.data.length);
+        writeInt(central, (int) e.size);
+        writeShort(central, e.name.length);
+        writeShort(central, zip64Offset ? 12 : 0);    // extra
+        writeShort(central, 0);                       // comment
+        writeShort(central, 0);                       // disk
+        writeShort(central, 0);                       // internal attrs
+        writeInt(central, 0);                         // external attrs
+        writeInt(central, zip64Offset ? -1 : (int) offset);
+        central.write(e.name);
+        if (zip64Offset) {
+            writeShort(central, 0x0001);
+            writeShort(central, 8);
+            writeLong(central, offset);
+        }
+
+        offset += 30 + e.name.length + e.data.length;
+        entries++;
+    }
+
+    long getEntryCount() {
+        return entries;
+    }
+
+    /** Merkezi dizini ve bitiş kayıtlarını yazar, alttaki akışı kapatır. */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long centralOffset = offset;
+            long centralSize = central.size();
+            central.writeTo(out);
+            boolean zip64 = entries >= 0xFFFF || centralOffset >= MAX_32 || centralSize >= MAX_32;
+            if (zip64) {
+                long zip64EndOffset = centralOffset + centralSize;
+                writeInt(out, ZIP64_END_OF_CENTRAL);
+                writeLong(out, 44);
+                writeShort(out, 45);
+                writeShort(out, 45);
+                writeInt(out, 0);
+                writeInt(out, 0);
+                writeLong(out, entries);
+                writeLong(out, entries);
+                writeLong(out, centralSize);
+                writeLong(out, centralOffset);
+                writeInt(out, ZIP64_LOCATOR);
+                writeInt(out, 0);
+                writeLong(out, zip64EndOffset);
+                writeInt(out, 1);
+            }
+            writeInt(out, END_OF_CENTRAL);
+            writeShort(out, 0);
+            writeShort(out, 0);
+            writeShort(out, zip64 ? 0xFFFF : (int) entries);
+            writeShort(out, zip64 ? 0xFFFF : (int) entries);
+            writeInt(out, zip64 ? -1 : (int) centralSize);
+            writeInt(out, zip64 ? -1 : (int) centralOffset);
+            writeShort(out, 0);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void writeShort(OutputStream o, int v) throws IOException {
+        o.write(v & 0xFF);
+        o.write((v >>> 8) & 0xFF);
+    }
+
+    private static void writeInt(OutputStream o, int v) throws IOException {
+        writeShort(o, v & 0xFFFF);
+        writeShort(o, (v >>> 16) & 0xFFFF);
+    }
+
+    private static void writeLong(OutputStream o, long v) throws IOException {
+        writeInt(o, (int) v);
+        writeInt(o, (int) (v >>> 32));
+    }
+}
@@ -0,0 +1,256 @@
+package com.faturalab.automation.utils;
+
+import com.faturalab.automation.config.ConfigReader;
+import com.faturalab.automation.driver.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Büyük JS yardımcılarını sayfaya BİR KEZ kurar ({@code window.__fl} isim alanı); sonraki
+ * çağrılar yalnızca kısa bir fonksiyon çağrısı gönderir.
+ *
+ * Akış:
+ *  - {@link #define(String, String)} ile yardımcı (JS fonksiyon ifadesi) adıyla kaydedilir
+ *  - {@link Helper#call} / {@link Script#execute} önce {@code window.__fl.<ad>} var mı bakar;
+ *    yoksa (yeni doküman, reload, başka sekme) kayıtlı tüm yardımcılar tek script'le kurulur
+ *    ve çağrı tekrarlanır
+ *  - CDP destekli sürücülerde paket ayrıca Page.addScriptToEvaluateOnNewDocument ile
+ *    kaydedilir; navigasyon sonrası ilk çağrıda bile kurulum gerekmez. Paket büyüyünce önceki
+ *    kayıt Page.removeScriptToEvaluateOnNewDocument ile silinir (havuzdaki uzun ömürlü
+ *    sürücülerde her navigasyonda eski paketler birikmesin)
+ *
+ * Sayaçlar: installs (yardımcının sayfaya gönderilme sayısı), hits (kurulu kopyadan karşılanan
+ * çağrı). Özet {@link #summary()} ile runner sonunda loglanır.
+ *
+ * Ayar: script.registry.cdp=true|false (varsayılan true)
+ */
+public final class ScriptRegistry {
+
+    private static final Logger log = LogManager.getLogger(ScriptRegistry.class);
+
+    /** Yardımcı sayfada kurulu değilse guard'ın döndürdüğü işaret. */
+    static final String MISSING = "__fl:missing";
+
+    private static final Map<String, Helper> HELPERS = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /** Sürücü → CDP ile kaydedilen paket (paket büyüdükçe eskisi silinip yeniden kaydedilir). */
+    private static final Map<WebDriver, CdpRegistration> CDP_REGISTERED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final boolean CDP_ENABLED =
+            Boolean.parseBoolean(ConfigReader.getProperty("script.registry.cdp", "true").trim());
+
+    private ScriptRegistry() {
+    }
+
+    /**
+     * Yardımcıyı kaydeder. Aynı adla ikinci kayıt ilkini döner (sınıf yeniden yüklense bile tek kopya).
+     *
+     * @param name   JS tanımlayıcısı olarak geçerli ad (window.__fl.&lt;name&gt;)
+     * @param source JS fonksiyon ifadesi, ör. {@code "function(s){return ...;}"}
+     */
+    public static Helper define(String name, String source) {
+        if (!name.matches("[A-Za-z_$][A-Za-z0-9_$]*")) {
+            throw new IllegalArgumentException("Geçersiz yardımcı adı: " + name);
+        }
+        synchronized (HELPERS) {
+            return HELPERS.computeIfAbsent(name, n -> new Helper(n, source));
+        }
+    }
+
+    /**
+     * Yardımcıları kullanan bir script'i bir kez derler: başa guard + yerel değişken atamaları
+     * eklenir; gövde yardımcıları adlarıyla çağırır ({@code fold(x)}, {@code readVal(h)}).
+     */
+    public static Script script(String body, Helper... uses) {
+        return new Script(prelude(uses) + body, uses);
+    }
+
+    /**
+     * Guard + yerel atamalar: yardımcılardan biri eksikse {@link #MISSING} döner.
+     * JsBatch kendi üst seviyesinde kullanır.
+     */
+    static String prelude(Helper... uses) {
+        return prelude("return '" + MISSING + "';", uses);
+    }
+
+    /** @param onMissing yardımcı eksikse çalışacak ifade (async script'lerde callback çağrısı) */
+    static String prelude(String onMissing, Helper... uses) {
+        if (uses == null || uses.length == 0) {
+            return "";
+        }
+        StringBuilder check = new StringBuilder("var __fl = window.__fl; if (!__fl");
+        StringBuilder vars = new StringBuilder();
+        for (Helper h : uses) {
+            check.append(" || !__fl.").append(h.name);
+            vars.append("var ").append(h.name).append(" = __fl.").append(h.name).append(';');
+        }
+        check.append(") { ").append(onMissing).append(" }");
+        return check.append(vars).toString();
+    }
+
+    /** Kayıtlı tüm yardımcıları aktif dokümana kurar; CDP varsa yeni dokümanlar için de kaydeder. */
+    public static void install(WebDriver driver) {
+        List<Helper> snapshot;
+        synchronized (HELPERS) {
+            snapshot = new ArrayList<>(HELPERS.values());
+        }
+        String bundle = bundle(snapshot);
+        ((JavascriptExecutor) driver).executeScript(bundle);
+        for (Helper h : snapshot) {
+            h.installs.incrementAndGet();
+        }
+        registerOnNewDocument(driver, snapshot.size(), bundle);
+        log.debug("ScriptRegistry: {} yardımcı kuruldu.", snapshot.size());
+    }
+
+    private static String bundle(List<Helper> helpers) {
+        StringBuilder sb = new StringBuilder("var __fl = window.__fl = window.__fl || {};");
+        for (Helper h : helpers) {
+            sb.append("__fl.").append(h.name).append(" = (").append(h.source).append(");");
+        }
+        return sb.toString();
+    }
+
+    private static void registerOnNewDocument(WebDriver driver, int helperCount, String bundle) {
+        HasCdp cdp = CDP_ENABLED ? DriverManager.asCdp(driver) : null;
+        if (cdp == null) {
+            return;
+        }
+        CdpRegistration registration;
+        synchronized (CDP_REGISTERED) {
+            registration = CDP_REGISTERED.computeIfAbsent(driver, d -> new CdpRegistration());
+        }
+        synchronized (registration) {
+            if (registration.helperCount >= helperCount) {
+                return;
+            }
+            try {
+                if (registration.identifier != null) {
+                    cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument",
+                            Collections.singletonMap("identifier", registration.identifier));
+                    registration.identifier = null;
+                }
+                Map<String, Object> result = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                        Collections.singletonMap("source", bundle));
+                Object identifier = result != null ? result.get("identifier") : null;
+                registration.identifier = identifier != null ? identifier.toString() : null;
+                registration.helperCount = helperCount;
+            } catch (Exception e) {
+                // Desteklenmiyorsa tembel kurulum yeterli; tekrar denenmesin
+                registration.helperCount = Integer.MAX_VALUE;
+                log.debug("ScriptRegistry: CDP script kaydı başarısız: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** Sürücüye CDP ile kaydedilmiş paket: yardımcı sayısı ve silmek için CDP kimliği. */
+    private static final class CdpRegistration {
+        int helperCount;
+        String identifier;
+    }
+
+    /**
+     * Guard'lı bir script'i çalıştırır; yardımcı eksikse kurup bir kez tekrarlar.
+     * Script {@link #prelude} ile başlamalıdır.
+     */
+    static Object executeWithInstall(WebDriver driver, String script, Helper[] uses, Object... args) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Object result = js.executeScript(script, args);
+        if (MISSING.equals(result)) {
+            install(driver);
+            result = js.executeScript(script, args);
+        } else {
+            countHits(uses);
+        }
+        return result;
+    }
+
+    static void countHits(Helper[] uses) {
+        if (uses != null) {
+            for (Helper h : uses) {
+                h.hits.incrementAndGet();
+            }
+        }
+    }
+
+    /** "ad: installs/hits" özeti; hiç kullanılmadıysa boş string. */
+    public static String summary() {
+        List<Helper> snapshot;
+        synchronized (HELPERS) {
+            snapshot = new ArrayList<>(HELPERS.values());
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Helper h : snapshot) {
+            long installs = h.installs.get();
+            long hits = h.hits.get();
+            if (installs == 0 && hits == 0) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(h.name).append(": ").append(installs).append(" kurulum / ").append(hits).append(" isabet");
+        }
+        return sb.toString();
+    }
+
+    /** Kayıtlı tek bir JS fonksiyonu. */
+    public static final class Helper {
+        private final String name;
+        private final String source;
+        private final String callScript;
+        private final AtomicLong installs = new AtomicLong();
+        private final AtomicLong hits = new AtomicLong();
+
+        private Helper(String name, String source) {
+            this.name = name;
+            this.source = source;
+            this.callScript = "var __fl = window.__fl;"
+                    + "if (!__fl || !__fl." + name + ") return '" + MISSING + "';"
+                    + "return __fl." + name + ".apply(null, arguments);";
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /** Yardımcıyı verilen argümanlarla çağırır; sayfaya yalnızca kısa çağrı script'i gider. */
+        public Object call(WebDriver driver, Object... args) {
+            return executeWithInstall(driver, callScript, new Helper[]{this}, args);
+        }
+
+        public long installs() {
+            return installs.get();
+        }
+
+        public long hits() {
+            return hits.get();
+        }
+    }
+
+    /** Guard'ı önceden eklenmiş, yardımcı kullanan script. */
+    public static final class Script {
+        private final String source;
+        private final Helper[] uses;
+
+        private Script(String source, Helper[] uses) {
+            this.source = source;
+            this.uses = uses;
+        }
+
+        public Object execute(WebDriver driver, Object... args) {
+            return executeWithInstall(driver, source, uses, args);
+        }
+    }
+}
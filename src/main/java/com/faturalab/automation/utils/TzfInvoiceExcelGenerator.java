@@ -1,5 +1,6 @@
 package com.faturalab.automation.utils;
 
+import com.faturalab.automation.config.ConfigReader;
 import com.faturalab.automation.context.TzfScenarioContext;
 import com.faturalab.automation.context.TzfScenarioContext.TzfInvoice;
 import org.apache.logging.log4j.LogManager;
@@ -9,20 +10,18 @@ import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.MonthDay;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Locale;
 import java.util.Random;
-import java.util.Set;
 import java.util.UUID;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -35,18 +34,22 @@ import java.util.zip.ZipOutputStream;
  * Fatura numaraları timestamp bazlı olduğundan her koşuda benzersizdir;
  * üretilen satırlar {@link TzfScenarioContext}'e yazılır ve sonraki
  * doğrulama adımları tam eşleşmeyle bu numaralar üzerinden çalışır.
+ *
+ * Toplu yükleme stres dosyaları (50k–500k satır) için {@link #generateStreaming}: SXSSF ile
+ * yalnızca son {@code tzf.excel.stream.window} satır bellekte tutulur, gerisi diske akar;
+ * context'e satırlar değil yalnızca numara aralığı yazılır.
  */
 public final class TzfInvoiceExcelGenerator {
 
     private static final Logger log = LogManager.getLogger(TzfInvoiceExcelGenerator.class);
 
-    private static final DateTimeFormatter TR_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-    private static final DateTimeFormatter INVOICE_NO_STAMP = DateTimeFormatter.ofPattern("yyMMddHHmmss");
+    private static final DateTimeFormatter TR_DATE = BusinessCalendar.TR_DATE;
+    private static final BusinessCalendar CALENDAR = BusinessCalendar.turkey();
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyMMddHHmmss");
 
-    /** Resmî TR tatilleri (sabit tarihli). Dini bayramlar yıla göre değiştiğinden kapsam dışı. */
-    private static final Set<MonthDay> TR_HOLIDAYS = new HashSet<>(Arrays.asList(
-            MonthDay.of(1, 1), MonthDay.of(4, 23), MonthDay.of(5, 1), MonthDay.of(5, 19),
-            MonthDay.of(7, 15), MonthDay.of(8, 30), MonthDay.of(10, 29)));
+    /** Toplu dosyada fatura tarihleri bu kadar iş gününe döngüsel yayılır (tarihler çok eskiye gitmez). */
+    private static final int STREAM_DATE_SPAN = 20;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
 
     private static final String[] HEADERS = {
             "No", "Ticari İşletme Adı", "Ticari İşletme VKN*",
@@ -83,8 +86,11 @@ public final class TzfInvoiceExcelGenerator {
     public static String generate(String supplierName, String supplierVkn, int invoiceCount, Format format) {
         TzfScenarioContext.reset();
 
-        LocalDate invoiceDate = previousBusinessDay(LocalDate.now());
-        String stamp = java.time.LocalDateTime.now().format(INVOICE_NO_STAMP);
+        LocalDate invoiceDate = CALENDAR.previousOrSame(LocalDate.now());
+        String stamp = java.time.LocalDateTime.now().format(FILE_STAMP);
+        InvoiceNumberAllocator.Range numbers =
+                InvoiceNumberAllocator.of(InvoiceNumberAllocator.Series.TZF).reserve(invoiceCount);
+        String vDate = CALENDAR.nextOrSame(invoiceDate.plusDays(30)).format(TR_DATE);
         Random random = new Random();
 
         try (Workbook wb = (format == Format.XLSX ? new XSSFWorkbook() : new HSSFWorkbook())) {
@@ -93,12 +99,12 @@ public final class TzfInvoiceExcelGenerator {
             writeHeaderRow(sheet, rowIdx++);
 
             for (int i = 1; i <= invoiceCount; i++) {
-                String invoiceNo = "TZF" + stamp + "-" + i;
+                String invoiceNo = numbers.get(i - 1);
                 String amount = formatTrAmount(BigDecimal.valueOf(5000 + random.nextInt(20000))
                         .setScale(2, java.math.RoundingMode.HALF_UP));
                 String hash = UUID.randomUUID().toString().replace("-", "").toUpperCase(Locale.ROOT);
-                String fDate = invoiceDate.minusDays(businessDayOffset(invoiceDate, i - 1)).format(TR_DATE);
-                String vDate = plusBusinessDays(invoiceDate, 30).format(TR_DATE);
+                // i. fatura (i - 1) iş günü öncesine tarihlenir
+                String fDate = CALENDAR.plusBusinessDays(invoiceDate, -(i - 1)).format(TR_DATE);
 
                 TzfInvoice inv = new TzfInvoice(i, invoiceNo, amount, fDate, vDate, hash);
                 TzfScenarioContext.addInvoice(inv);
@@ -106,7 +112,7 @@ public final class TzfInvoiceExcelGenerator {
             }
 
             File outDir = ensureOutDir();
-            File outFile = new File(outDir, "tzf-invoice-list-" + stamp + format.ext);
+            File outFile = new File(outDir, "tzf-invoice-list-" + stamp + "-" + numbers.get(0) + format.ext);
             try (FileOutputStream fos = new FileOutputStream(outFile)) {
                 wb.write(fos);
             }
@@ -121,6 +127,96 @@ public final class TzfInvoiceExcelGenerator {
         }
     }
 
+    /**
+     * Toplu yükleme stres dosyası (.xlsx, SXSSF): satırlar kayan pencereyle doğrudan diske yazılır,
+     * heap kullanımı satır sayısından bağımsızdır. Şablon ve kolonlar {@link #generate} ile aynıdır;
+     * fatura tarihleri son {@value #STREAM_DATE_SPAN} iş gününe döngüsel dağılır.
+     *
+     * Context'e yalnızca numara aralığı yazılır ({@link TzfScenarioContext#getInvoiceNumbers()});
+     * tutar / hash gibi satır ayrıntıları tutulmaz.
+     *
+     * @return üretilen dosyanın mutlak yolu (context'e de yazılır)
+     */
+    public static String generateStreaming(String supplierName, String supplierVkn, int invoiceCount) {
+        TzfScenarioContext.reset();
+        // SXSSF'te -1 pencereyi sınırsız yapar (tüm satırlar bellekte); akış için en az 1 satır
+        int window = Math.max(1, ConfigReader.getInt("tzf.excel.stream.window", 100));
+
+        LocalDate invoiceDate = CALENDAR.previousOrSame(LocalDate.now());
+        String[] invoiceDates = new String[Math.min(invoiceCount, STREAM_DATE_SPAN)];
+        for (int i = 0; i < invoiceDates.length; i++) {
+            invoiceDates[i] = CALENDAR.plusBusinessDays(invoiceDate, -i).format(TR_DATE);
+        }
+        String vDate = CALENDAR.nextOrSame(invoiceDate.plusDays(30)).format(TR_DATE);
+        String stamp = java.time.LocalDateTime.now().format(FILE_STAMP);
+        InvoiceNumberAllocator.Range numbers =
+                InvoiceNumberAllocator.of(InvoiceNumberAllocator.Series.TZF).reserve(invoiceCount);
+        Random random = new Random();
+        long start = System.nanoTime();
+
+        // Paylaşılan string tablosu yok (inline string): bellekte yalnızca pencere kadar satır kalır
+        SXSSFWorkbook wb = new SXSSFWorkbook(null, window, true, false);
+        try {
+            Sheet sheet = wb.createSheet("Sayfa1");
+            int rowIdx = writeNoteRows(sheet);
+            writeHeaderRow(sheet, rowIdx++);
+
+            char[] hash = new char[32];
+            for (int i = 1; i <= invoiceCount; i++) {
+                Row row = sheet.createRow(rowIdx++);
+                row.createCell(0).setCellValue(String.valueOf(i));
+                row.createCell(1).setCellValue(supplierName);
+                row.createCell(2).setCellValue(supplierVkn);
+                row.createCell(3).setCellValue(numbers.get(i - 1));
+                row.createCell(4).setCellValue(invoiceDates[(i - 1) % invoiceDates.length]);
+                row.createCell(5).setCellValue(vDate);
+                row.createCell(6).setCellValue("");
+                row.createCell(7).setCellValue((5000 + random.nextInt(20000)) + ",00");
+                row.createCell(8).setCellValue("");
+                row.createCell(9).setCellValue(randomHash(random, hash));
+                row.createCell(10).setCellValue("");
+                row.createCell(11).setCellValue("E");
+                row.createCell(12).setCellValue("TL");
+            }
+
+            File outFile = new File(ensureOutDir(),
+                    "tzf-invoice-list-" + stamp + "-" + numbers.get(0) + "-bulk" + Format.XLSX.ext);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outFile), 64 * 1024)) {
+                wb.write(out);
+            }
+
+            String absolutePath = outFile.getAbsolutePath();
+            TzfScenarioContext.setInvoiceNumberRange(numbers.getPrefix(), numbers.getFirst(), invoiceCount,
+                    numbers.getWidth());
+            TzfScenarioContext.setExcelPath(absolutePath);
+            log.info("TZF toplu fatura .xlsx üretildi: {} ({} fatura, {} KB, {} ms, tedarikçi: {} / {})",
+                    absolutePath, invoiceCount, outFile.length() / 1024,
+                    (System.nanoTime() - start) / 1_000_000, supplierName, supplierVkn);
+            return absolutePath;
+        } catch (Exception e) {
+            throw new IllegalStateException("TZF toplu Excel üretimi başarısız: " + e.getMessage(), e);
+        } finally {
+            wb.dispose();   // geçici sıkıştırılmış sayfa dosyalarını siler
+            try {
+                wb.close();
+            } catch (java.io.IOException ignored) {
+                // dosya zaten yazıldı / hata yukarıda raporlandı
+            }
+        }
+    }
+
+    /** 32 karakter büyük harf hex (E-Fatura hash kolonu); UUID üretmeden. */
+    private static String randomHash(Random random, char[] buf) {
+        for (int i = 0; i < buf.length; i += 16) {
+            long bits = random.nextLong();
+            for (int j = 15; j >= 0; j--) {
+                buf[i + j] = HEX[(int) (bits & 0xF)];
+                bits >>>= 4;
+            }
+        }
+        return new String(buf);
+    }
+
     /**
      * Fatura numarası isimli görsel (PNG) içeren bir ZIP üretir.
      * Kaynak koda göre (ZipExtractor) ZIP içindeki bir görselin dosya adı fatura numarası,
@@ -131,13 +227,15 @@ public final class TzfInvoiceExcelGenerator {
      */
     public static String generateInvoiceZip(int invoiceCount) {
         TzfScenarioContext.reset();
-        String stamp = java.time.LocalDateTime.now().format(INVOICE_NO_STAMP);
+        String stamp = java.time.LocalDateTime.now().format(FILE_STAMP);
+        InvoiceNumberAllocator.Range numbers =
+                InvoiceNumberAllocator.of(InvoiceNumberAllocator.Series.TZF).reserve(invoiceCount);
         try {
             File outDir = ensureOutDir();
-            File zipFile = new File(outDir, "tzf-invoice-images-" + stamp + ".zip");
+            File zipFile = new File(outDir, "tzf-invoice-images-" + stamp + "-" + numbers.get(0) + ".zip");
             try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
                 for (int i = 1; i <= invoiceCount; i++) {
-                    String invoiceNo = "TZFZIP" + stamp + "-" + i;
+                    String invoiceNo = numbers.get(i - 1);
                     // Kağıt fatura görseli olarak minimal geçerli PNG (dosya adı = fatura no)
                     zos.putNextEntry(new ZipEntry(invoiceNo + ".png"));
                     zos.write(invoiceImagePngBytes(invoiceNo));
@@ -164,10 +262,9 @@ public final class TzfInvoiceExcelGenerator {
      */
     public static String generatePaperInvoiceImage() {
         TzfScenarioContext.reset();
-        String stamp = java.time.LocalDateTime.now().format(INVOICE_NO_STAMP);
         try {
             File outDir = ensureOutDir();
-            String invoiceNo = "TZFIMG" + stamp;
+            String invoiceNo = InvoiceNumberAllocator.next(InvoiceNumberAllocator.Series.TZF);
             File png = new File(outDir, invoiceNo + ".png");
             writeInvoiceImagePng(png, invoiceNo);
             TzfScenarioContext.addInvoice(new TzfInvoice(1, invoiceNo, "", "", "", ""));
@@ -181,7 +278,7 @@ public final class TzfInvoiceExcelGenerator {
 
     /** Reddedilmesi beklenen geçersiz uzantılı (.txt) küçük bir dosya üretir. */
     public static String generateInvalidExtensionFile() {
-        String stamp = java.time.LocalDateTime.now().format(INVOICE_NO_STAMP);
+        String stamp = java.time.LocalDateTime.now().format(FILE_STAMP);
         try {
             File outDir = ensureOutDir();
             File txt = new File(outDir, "gecersiz-fatura-" + stamp + ".txt");
@@ -292,37 +389,7 @@ public final class TzfInvoiceExcelGenerator {
         }
     }
 
-    // ─── Tarih / tutar yardımcıları ──────────────────────────────────────────
-
-    private static boolean isBusinessDay(LocalDate d) {
-        return d.getDayOfWeek() != DayOfWeek.SATURDAY
-                && d.getDayOfWeek() != DayOfWeek.SUNDAY
-                && !TR_HOLIDAYS.contains(MonthDay.from(d));
-    }
-
-    private static LocalDate previousBusinessDay(LocalDate d) {
-        while (!isBusinessDay(d)) {
-            d = d.minusDays(1);
-        }
-        return d;
-    }
-
-    private static LocalDate plusBusinessDays(LocalDate d, int days) {
-        LocalDate result = d.plusDays(days);
-        while (!isBusinessDay(result)) {
-            result = result.plusDays(1);
-        }
-        return result;
-    }
-
-    /** i. fatura için tarihini 1-2 iş günü geriye kaydırır (şablon kuralı). */
-    private static long businessDayOffset(LocalDate base, int index) {
-        LocalDate d = base;
-        for (int i = 0; i < index; i++) {
-            d = previousBusinessDay(d.minusDays(1));
-        }
-        return java.time.temporal.ChronoUnit.DAYS.between(d, base);
-    }
+    // ─── Tutar yardımcıları ──────────────────────────────────────────────────
 
     /** 12500.00 → "12500,00" (şablon: ondalık ayrımı virgül, binlik ayraç yok). */
     private static String formatTrAmount(BigDecimal amount) {
@@ -62,10 +62,10 @@ public final class UiIntegrationInvoiceUploader {
             EnvironmentManager.EnvironmentConfig env = buildEnvForBuyerApi(buyerTax);
             FaturalabAPI api = new FaturalabAPI(env);
 
-            Response auth = api.authenticate();
-            if (auth.getStatusCode() != 200 || !api.isResponseSuccessful()) {
-                log.warn("API authenticate başarısız: status={} body={}",
-                        auth.getStatusCode(), auth.getBody().asString());
+            try {
+                api.ensureSession();   // aynı alıcı için önceki login tekrar kullanılır
+            } catch (IllegalStateException e) {
+                log.warn("API authenticate başarısız: {}", e.getMessage());
                 return false;
             }
 
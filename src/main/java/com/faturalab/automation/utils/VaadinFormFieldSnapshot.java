@@ -1,6 +1,5 @@
 package com.faturalab.automation.utils;
 
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 
 /**
@@ -11,19 +10,21 @@ public final class VaadinFormFieldSnapshot {
     private VaadinFormFieldSnapshot() {
     }
 
-    private static final String READ_VAL =
-            "function readVal(host){var v=host.value;if(v!=null&&String(v).trim()!=='')return String(v).trim();"
+    /** Alan değerini okur; sayfaya {@link ScriptRegistry} ile bir kez kurulur. */
+    private static final ScriptRegistry.Helper READ_VAL = ScriptRegistry.define("readVal",
+            "function(host){var v=host.value;if(v!=null&&String(v).trim()!=='')return String(v).trim();"
                     + "var inp=host.querySelector('input, textarea');if(inp&&inp.value)return String(inp.value).trim();"
-                    + "return '';}";
+                    + "return '';}");
 
-    private static final String SET_HOST =
-            "function setHostValue(host,text){if(!host||host.disabled||host.hasAttribute('disabled'))return false;"
+    /** Host + iç input değerini yazar ve Vaadin'in dinlediği olayları tetikler. */
+    private static final ScriptRegistry.Helper SET_HOST = ScriptRegistry.define("setHostValue",
+            "function(host,text){if(!host||host.disabled||host.hasAttribute('disabled'))return false;"
                     + "try{host.focus();}catch(e){}var s=text==null?'':String(text);host.value=s;"
                     + "var inp=host.querySelector('input, textarea');if(inp){inp.value=s;"
                     + "try{inp.dispatchEvent(new Event('input',{bubbles:true}));}catch(e2){}}"
                     + "try{host.dispatchEvent(new Event('input',{bubbles:true,composed:true}));}catch(e3){}"
                     + "try{host.dispatchEvent(new CustomEvent('value-changed',{bubbles:true,composed:true,"
-                    + "detail:{value:s}}));}catch(e4){}return true;}";
+                    + "detail:{value:s}}));}catch(e4){}return true;}");
 
     private static final String FIELD_SEL =
             "vaadin-text-field, vaadin-text-area, vaadin-email-field, vaadin-integer-field, "
@@ -44,10 +45,8 @@ public final class VaadinFormFieldSnapshot {
                     + "return document.body;})()";
 
     public static String snapshot(WebDriver driver, String rootExpr) {
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        Object o = js.executeScript(
-                READ_VAL
-                        + "var root = "
+        Object o = ScriptRegistry.script(
+                "var root = "
                         + rootExpr
                         + ";"
                         + "if (!root) return null;"
@@ -59,7 +58,8 @@ public final class VaadinFormFieldSnapshot {
                         + "  arr.push({tag: host.tagName.toLowerCase(), label: host.getAttribute('label')||'',"
                         + "    value: readVal(host), prop: host.value != null ? String(host.value) : ''});"
                         + "});"
-                        + "return JSON.stringify(arr);");
+                        + "return JSON.stringify(arr);",
+                READ_VAL).execute(driver);
         return o == null ? null : String.valueOf(o);
     }
 
@@ -67,10 +67,8 @@ public final class VaadinFormFieldSnapshot {
         if (json == null || json.isBlank() || "null".equals(json)) {
             return;
         }
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript(
-                SET_HOST
-                        + "var root = "
+        ScriptRegistry.script(
+                "var root = "
                         + rootExpr
                         + ";"
                         + "if (!root) return;"
@@ -99,6 +97,6 @@ public final class VaadinFormFieldSnapshot {
                         + "    break;"
                         + "  }"
                         + "});",
-                json);
+                SET_HOST).execute(driver, json);
     }
 }
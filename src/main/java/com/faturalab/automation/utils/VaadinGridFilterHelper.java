@@ -22,12 +22,16 @@ public final class VaadinGridFilterHelper {
 
     private static final Logger log = LogManager.getLogger(VaadinGridFilterHelper.class);
 
-    /** JS'e enjekte edilen Türkçe→ASCII katlama fonksiyonu (config ASCII ↔ ekran Türkçe eşleşmesi). */
-    private static final String TR_FOLD_JS =
-            "function fold(s){return (s||'')" +
+    /**
+     * Türkçe→ASCII katlama fonksiyonu (config ASCII ↔ ekran Türkçe eşleşmesi); sayfaya
+     * {@code window.__fl.fold} olarak bir kez kurulur. Script'ler {@code uses(TR_FOLD)} ile
+     * {@code fold(...)} adıyla çağırır.
+     */
+    public static final ScriptRegistry.Helper TR_FOLD = ScriptRegistry.define("fold",
+            "function(s){return (s||'')" +
             ".replace(/[İıI]/g,'i').replace(/[şŞ]/g,'s').replace(/[ğĞ]/g,'g')" +
             ".replace(/[üÜ]/g,'u').replace(/[öÖ]/g,'o').replace(/[çÇ]/g,'c')" +
-            ".replace(/[âÂ]/g,'a').toLowerCase().replace(/\\s+/g,' ').trim();}";
+            ".replace(/[âÂ]/g,'a').toLowerCase().replace(/\\s+/g,' ').trim();}");
 
     private VaadinGridFilterHelper() {
     }
@@ -35,121 +39,131 @@ public final class VaadinGridFilterHelper {
     /**
      * Verilen kolonda yalnızca istenen değerler seçili kalacak şekilde filtre uygular
      * ve ilk değerin grid'de GÖRÜNÜR olmasını bekler.
+     *
+     * Adımlar {@link JsBatch} ile birleştirilir: (ikon + dialog + tümünü kaldır), her değer için
+     * (Ara'ya yaz + eşleşen checkbox'ı işaretle) ve (Tamam + ilk değer görünür) birer round trip.
+     * Sunucu cevabı gereken beklemeler sabit sleep yerine sayfa içinde poll edilir.
      */
     public static boolean applyOnlyValues(WebDriver driver, String columnKeyword, List<String> values) {
-        JavascriptExecutor js = (JavascriptExecutor) driver;
         try {
-            // 1. Kolon başlığındaki filtre ikonuna tıkla
-            Object headerHit = js.executeScript(
-                "var kw = arguments[0].toLowerCase();" +
-                "var headers = document.querySelectorAll('vaadin-grid-cell-content .filter-header-cell');" +
-                "for (var h of headers) {" +
-                "  var txtEl = h.querySelector('span.filter-text');" +
-                "  var t = ((txtEl ? txtEl.textContent : h.textContent) || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
-                "  if (t === kw || t.includes(kw)) {" +
-                "    var icon = h.querySelector('span.filter-icon');" +
-                "    (icon || h).click();" +
-                "    return t;" +
-                "  }" +
-                "}" +
-                "return null;", columnKeyword.toLowerCase(java.util.Locale.ROOT));
-            if (headerHit == null) {
-                log.warn("Filtre kolonu bulunamadı: {}", columnKeyword);
-                return false;
-            }
-            log.info("Filtre ikonuna tıklandı: '{}'", headerHit);
-
-            // 2. Dialog'u bekle
-            if (!waitForJs(driver, 8,
-                    "return !!document.querySelector('vaadin-dialog-overlay.table-filter-dialog');")) {
-                log.warn("table-filter-dialog açılmadı ({}).", columnKeyword);
+            // 1-3. Kolon başlığındaki filtre ikonuna tıkla → dialog'u bekle → "(Tümünü seç)" kaldır
+            JsBatch.Result open = JsBatch.create()
+                .step("header",
+                    "var kw = arguments[0].toLowerCase();" +
+                    "var headers = document.querySelectorAll('vaadin-grid-cell-content .filter-header-cell');" +
+                    "for (var h of headers) {" +
+                    "  var txtEl = h.querySelector('span.filter-text');" +
+                    "  var t = ((txtEl ? txtEl.textContent : h.textContent) || '').toLowerCase().replace(/\\s+/g,' ').trim();" +
+                    "  if (t === kw || t.includes(kw)) {" +
+                    "    var icon = h.querySelector('span.filter-icon');" +
+                    "    (icon || h).click();" +
+                    "    return t;" +
+                    "  }" +
+                    "}" +
+                    "return null;", columnKeyword.toLowerCase(java.util.Locale.ROOT))
+                .waitFor("dialog",
+                    "return !!document.querySelector('vaadin-dialog-overlay.table-filter-dialog " +
+                    "vaadin-grid.check-table vaadin-grid-cell-content');", 8000)
+                .step("unselectAll",
+                    "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
+                    "var cells = Array.from(dlg.querySelectorAll('vaadin-grid.check-table vaadin-grid-cell-content'));" +
+                    "var idx = cells.findIndex(function(c) { return (c.textContent||'').indexOf('münü seç') >= 0; });" +
+                    "if (idx < 1) return 'tumunu_sec_yok';" +
+                    "var cb = cells[idx - 1].querySelector('vaadin-checkbox, input[type=checkbox]');" +
+                    "if (!cb) return 'checkbox_yok';" +
+                    "if (cb.checked === true) { cb.click(); return 'temizlendi'; }" +
+                    "return 'zaten_bos';")
+                .run(driver);
+            if (!open.succeeded()) {
+                if ("header".equals(open.failedAt())) {
+                    log.warn("Filtre kolonu bulunamadı: {}", columnKeyword);
+                } else if ("dialog".equals(open.failedAt())) {
+                    log.warn("table-filter-dialog açılmadı ({}).", columnKeyword);
+                } else {
+                    log.warn("Filtre dialogu hazırlanamadı ({}): {}", columnKeyword, open);
+                }
                 return false;
             }
+            log.info("Filtre ikonuna tıklandı: '{}'", open.string("header"));
+            log.info("Tümünü seç: {}", open.string("unselectAll"));
+            VaadinSync.waitUntilSettled(driver);
 
-            // 3. "(Tümünü seç)" kaldır → tüm seçimler temizlenir
-            Object unselectAll = js.executeScript(
-                "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
-                "var cells = Array.from(dlg.querySelectorAll('vaadin-grid.check-table vaadin-grid-cell-content'));" +
-                "var idx = cells.findIndex(function(c) { return (c.textContent||'').indexOf('münü seç') >= 0; });" +
-                "if (idx < 1) return 'tumunu_sec_yok';" +
-                "var cb = cells[idx - 1].querySelector('vaadin-checkbox, input[type=checkbox]');" +
-                "if (!cb) return 'checkbox_yok';" +
-                "if (cb.checked === true) { cb.click(); return 'temizlendi'; }" +
-                "return 'zaten_bos';");
-            log.info("Tümünü seç: {}", unselectAll);
-            sleep(1200);
-
-            // 4. Her değer için: Ara'ya yaz → eşleşen checkbox'ı işaretle
+            // 4. Her değer için: Ara'ya yaz → eşleşen checkbox görünene kadar bekle ve işaretle
             for (String value : values) {
-                Boolean typed = (Boolean) js.executeScript(
-                    "var target = arguments[0];" +
-                    "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
-                    "var inp = dlg.querySelector('vaadin-text-field[label=\"Ara\"] input');" +
-                    "if (!inp) {" +
-                    "  var inputs = Array.from(dlg.querySelectorAll('input[type=\"text\"], input:not([type])'));" +
-                    "  inp = inputs.length ? inputs[inputs.length - 1] : null;" +
-                    "}" +
-                    "if (!inp) return false;" +
-                    "inp.focus();" +
-                    "inp.value = target;" +
-                    "inp.dispatchEvent(new Event('input', {bubbles: true}));" +
-                    "inp.dispatchEvent(new Event('change', {bubbles: true}));" +
-                    "return true;", value);
-                if (!Boolean.TRUE.equals(typed)) {
+                JsBatch.Result pick = JsBatch.create()
+                    .uses(TR_FOLD)
+                    .step("typed",
+                        "var target = arguments[0];" +
+                        "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
+                        "var inp = dlg.querySelector('vaadin-text-field[label=\"Ara\"] input');" +
+                        "if (!inp) {" +
+                        "  var inputs = Array.from(dlg.querySelectorAll('input[type=\"text\"], input:not([type])'));" +
+                        "  inp = inputs.length ? inputs[inputs.length - 1] : null;" +
+                        "}" +
+                        "if (!inp) return false;" +
+                        "inp.focus();" +
+                        "inp.value = target;" +
+                        "inp.dispatchEvent(new Event('input', {bubbles: true}));" +
+                        "inp.dispatchEvent(new Event('change', {bubbles: true}));" +
+                        "return true;", value)
+                    .waitFor("checked",
+                        "var target = fold(arguments[0]);" +
+                        "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
+                        "var cells = Array.from(dlg.querySelectorAll('vaadin-grid.check-table vaadin-grid-cell-content'));" +
+                        "var idx = cells.findIndex(function(c) {" +
+                        "  var raw = (c.textContent||'');" +
+                        "  if (raw.indexOf('münü seç') >= 0) return false;" +
+                        "  var t = fold(raw);" +
+                        "  return t.length > 0 && t.includes(target);" +
+                        "});" +
+                        "if (idx < 1) return null;" +
+                        "var cb = cells[idx - 1].querySelector('vaadin-checkbox, input[type=checkbox]');" +
+                        "if (!cb) return null;" +
+                        "if (cb.checked !== true) { cb.click(); return 'isaretlendi'; }" +
+                        "return 'zaten_isaretli';", 6000, value)
+                    .onFailure("listed",
+                        "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
+                        "if (!dlg) return 'dialog_yok';" +
+                        "return Array.from(dlg.querySelectorAll('vaadin-grid.check-table vaadin-grid-cell-content'))" +
+                        ".map(c => (c.textContent||'').trim()).filter(t => t.length > 0).slice(0, 15).join(' | ');")
+                    .run(driver);
+                if ("typed".equals(pick.failedAt())) {
                     log.warn("Filtre 'Ara' kutusu bulunamadı.");
                     return false;
                 }
-                sleep(1500);
-
-                Object checked = js.executeScript(
-                    TR_FOLD_JS +
-                    "var target = fold(arguments[0]);" +
-                    "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
-                    "var cells = Array.from(dlg.querySelectorAll('vaadin-grid.check-table vaadin-grid-cell-content'));" +
-                    "var idx = cells.findIndex(function(c) {" +
-                    "  var raw = (c.textContent||'');" +
-                    "  if (raw.indexOf('münü seç') >= 0) return false;" +
-                    "  var t = fold(raw);" +
-                    "  return t.length > 0 && t.includes(target);" +
-                    "});" +
-                    "if (idx < 1) return null;" +
-                    "var cb = cells[idx - 1].querySelector('vaadin-checkbox, input[type=checkbox]');" +
-                    "if (!cb) return null;" +
-                    "if (cb.checked !== true) { cb.click(); return 'isaretlendi'; }" +
-                    "return 'zaten_isaretli';", value);
-                if (checked == null) {
-                    log.warn("Filtre listesinde değer bulunamadı: {}", value);
+                if (!pick.succeeded()) {
+                    log.warn("Filtre listesinde değer bulunamadı: {} (liste: {})", value, pick.string("listed"));
                     return false;
                 }
-                log.info("Filtre değeri {}: {}", value, checked);
-                sleep(700);
+                log.info("Filtre değeri {}: {}", value, pick.string("checked"));
+                VaadinSync.waitUntilSettled(driver);
             }
 
-            // 5. Tamam
-            Boolean confirmed = (Boolean) js.executeScript(
-                "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
-                "var btns = dlg.querySelectorAll('vaadin-button, button');" +
-                "for (var b of btns) {" +
-                "  if ((b.textContent || '').trim() === 'Tamam') { b.click(); return true; }" +
-                "}" +
-                "return false;");
-            if (!Boolean.TRUE.equals(confirmed)) {
+            // 5-6. Tamam → ilk değerin görünür satırda belirmesini bekle (ASCII-fold)
+            JsBatch.Result apply = JsBatch.create()
+                .uses(TR_FOLD)
+                .step("confirmed",
+                    "var dlg = document.querySelector('vaadin-dialog-overlay.table-filter-dialog');" +
+                    "var btns = dlg.querySelectorAll('vaadin-button, button');" +
+                    "for (var b of btns) {" +
+                    "  if ((b.textContent || '').trim() === 'Tamam') { b.click(); return true; }" +
+                    "}" +
+                    "return false;")
+                .waitFor("visible",
+                    "var target = fold(arguments[0]);" +
+                    "var cells = document.querySelectorAll('vaadin-grid vaadin-grid-cell-content');" +
+                    "for (var c of cells) {" +
+                    "  var r = c.getBoundingClientRect();" +
+                    "  if (r.width < 2 || r.height < 2) continue;" +
+                    "  if (fold(c.textContent||'').includes(target)) return true;" +
+                    "}" +
+                    "return false;", 12000, values.get(0))
+                .run(driver);
+            if ("confirmed".equals(apply.failedAt())) {
                 log.warn("Filtre dialogu 'Tamam' bulunamadı.");
                 return false;
             }
-
-            // 6. İlk değerin görünür satırda belirmesini bekle (ASCII-fold)
-            String first = values.get(0).replace("'", "\\'");
-            boolean visible = waitForJs(driver, 12,
-                TR_FOLD_JS +
-                "var target = fold('" + first + "');" +
-                "var cells = document.querySelectorAll('vaadin-grid vaadin-grid-cell-content');" +
-                "for (var c of cells) {" +
-                "  var r = c.getBoundingClientRect();" +
-                "  if (r.width < 2 || r.height < 2) continue;" +
-                "  if (fold(c.textContent||'').includes(target)) return true;" +
-                "}" +
-                "return false;");
+            boolean visible = apply.isTruthy("visible");
             log.info("Filtre uygulandı ({}), ilk değer görünür: {}", columnKeyword, visible);
             return visible;
         } catch (Exception e) {
@@ -177,12 +191,4 @@ public final class VaadinGridFilterHelper {
         }
         return false;
     }
-
-    private static void sleep(long ms) {
-        try {
-            Thread.sleep(ms);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
 }
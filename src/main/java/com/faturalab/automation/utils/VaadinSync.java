@@ -0,0 +1,104 @@
+package com.faturalab.automation.utils;
+
+import com.faturalab.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Sabit Thread.sleep yerine Vaadin istemcisinin gerçekten boşta olmasını bekleyen senkronizasyon.
+ *
+ * Tek executeScript ile şunlar kontrol edilir:
+ *  - document.readyState === 'complete'
+ *  - Vaadin.Flow.clients[*].isActive() false (bekleyen UIDL isteği / cevap işleme yok)
+ *  - .v-loading-indicator görünür değil
+ *  - açılış/kapanış animasyonundaki overlay yok ([opening], [closing])
+ *  - sonlu süreli, çalışan CSS/Web animasyonu yok (sonsuz spinner'lar sayılmaz)
+ *
+ * Koşul art arda {@code vaadin.sync.stable.polls} kez sağlanınca döner: bir tıklamanın
+ * tetiklediği istek ile cevabın render'ı arasındaki kısa boşlukta erken dönülmez.
+ * Zaman aşımında hata fırlatmaz (eski sabit bekleme davranışıyla uyumlu); debug loglar.
+ *
+ * Ayarlar (properties veya -D):
+ *  vaadin.sync.timeout.ms=15000
+ *  vaadin.sync.poll.ms=100
+ *  vaadin.sync.stable.polls=2
+ */
+public final class VaadinSync {
+
+    private static final Logger log = LogManager.getLogger(VaadinSync.class);
+
+    private static final String SETTLED_JS =
+            "if (document.readyState !== 'complete') return 'loading';" +
+            "var V = window.Vaadin;" +
+            "if (V && V.Flow && V.Flow.clients) {" +
+            "  for (var k in V.Flow.clients) {" +
+            "    var c = V.Flow.clients[k];" +
+            "    try { if (c && typeof c.isActive === 'function' && c.isActive()) return 'flow-active'; } catch (e) {}" +
+            "  }" +
+            "}" +
+            "var li = document.querySelector('.v-loading-indicator');" +
+            "if (li) { var cs = getComputedStyle(li); if (cs.display !== 'none' && cs.visibility !== 'hidden' && li.offsetWidth > 0) return 'loading-indicator'; }" +
+            "if (document.querySelector('[opening], [closing]')) return 'overlay-animating';" +
+            "if (document.getAnimations) {" +
+            "  var anims = document.getAnimations();" +
+            "  for (var i = 0; i < anims.length; i++) {" +
+            "    var a = anims[i];" +
+            "    if (a.playState !== 'running') continue;" +
+            "    var t = a.effect && a.effect.getComputedTiming ? a.effect.getComputedTiming() : null;" +
+            "    if (t && t.iterations !== Infinity && t.endTime !== Infinity) return 'animation';" +
+            "  }" +
+            "}" +
+            "return 'idle';";
+
+    // İlk kullanımda bir kez okunur (her poll'da config okuyup uyarı loglamamak için)
+    private static final int TIMEOUT_MS = ConfigReader.getInt("vaadin.sync.timeout.ms", 15000);
+    private static final int POLL_MS = ConfigReader.getInt("vaadin.sync.poll.ms", 100);
+    private static final int STABLE_POLLS = Math.max(1, ConfigReader.getInt("vaadin.sync.stable.polls", 2));
+
+    private VaadinSync() {
+    }
+
+    /** Varsayılan zaman aşımıyla bekler. */
+    public static boolean waitUntilSettled(WebDriver driver) {
+        return waitUntilSettled(driver, TIMEOUT_MS);
+    }
+
+    /**
+     * UI boşta olana kadar poll eder.
+     *
+     * @return zaman aşımından önce boşta görüldüyse true
+     */
+    public static boolean waitUntilSettled(WebDriver driver, long timeoutMillis) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMillis;
+        int stable = 0;
+        String state = "unknown";
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        while (true) {
+            try {
+                Object r = js.executeScript(SETTLED_JS);
+                state = r != null ? r.toString() : "null";
+            } catch (Exception e) {
+                // Navigasyon sırasında script context'i yok olabilir: meşgul say
+                state = "script-error";
+            }
+            stable = "idle".equals(state) ? stable + 1 : 0;
+            if (stable >= STABLE_POLLS) {
+                log.trace("VaadinSync: {} ms içinde boşta.", System.currentTimeMillis() - start);
+                return true;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                log.debug("VaadinSync: {} ms içinde boşta değil (son durum: {}).", timeoutMillis, state);
+                return false;
+            }
+            try {
+                Thread.sleep(POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
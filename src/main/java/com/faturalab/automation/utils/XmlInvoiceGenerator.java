@@ -5,17 +5,26 @@ import com.faturalab.automation.context.TzfScenarioContext.TzfInvoice;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Queue;
 import java.util.UUID;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
 
 /**
  * Dummy imzalı UBL e-fatura XML'i ve XML'li ZIP üretir.
@@ -28,22 +37,29 @@ import java.util.zip.ZipOutputStream;
  * Şablondaki taraflar SABİTTİR: tedarikçi EFG (3960656675), alıcı ALBC (3456789010).
  * Bu yüzden üretilen XML/ZIP yalnızca ALBC alıcısıyla (veya EFG tedarikçisiyle)
  * yüklenebilir — buyer TIN eşleşmezse API AddInvoiceListDialog.106 hatası verir.
+ *
+ * Şablonlar bir kez derlenir ({@link XmlInvoiceTemplate}); ZIP'ler çekirdek sayısı kadar thread'de
+ * render + sıkıştırılıp tek yazıcıyla ({@link PrecompressedZipWriter}) sırayla diske eklenir.
+ * Stres dosyaları (10k+ fatura) için sıkıştırma seviyesi seçilebilir: 0 = sıkıştırmasız (en hızlı),
+ * 1 = hızlı, 9 = en küçük. Fatura numaraları "önek + sıra" olduğundan context'e yalnızca aralık yazılır.
  */
 public final class XmlInvoiceGenerator {
 
     private static final Logger log = LogManager.getLogger(XmlInvoiceGenerator.class);
     private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyMMddHHmmss");
+    private static final DateTimeFormatter ISO_DATE = BusinessCalendar.ISO_DATE;
+    private static final String EFG_TEMPLATE = "testdata/test-invoice.xml";
+    private static final String ALBC_TEMPLATE = "testdata/albc-bcd-invoice.xml";
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
 
     private XmlInvoiceGenerator() {
     }
 
     /** Benzersiz numaralı tek XML üretir; fatura no'yu context'e ekler. Dönen: dosya yolu. */
-    public static String generateXml(String seqSuffix) {
+    public static String generateXml() {
         try {
-            String year = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy"));
-            String stamp = java.time.LocalDateTime.now().format(STAMP);
-            String invoiceId = "EFG" + year + stamp.substring(2) + seqSuffix; // EFG{yyyy}{MMddHHmmss}{seq}
-            String content = fillTemplate(invoiceId);
+            String invoiceId = InvoiceNumberAllocator.next(InvoiceNumberAllocator.Series.EFG); // EFG{yyyy}{düğüm}{sıra}
+            String content = render(EFG_TEMPLATE, invoiceId);
 
             File outDir = ensureOutDir();
             File xml = new File(outDir, invoiceId + ".xml");
@@ -63,23 +79,17 @@ public final class XmlInvoiceGenerator {
      * Fatura no'ları context'e yazılır; yol context.excelPath'e konur.
      */
     public static String generateXmlZip(int count) {
+        return generateXmlZip(count, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /** {@link #generateXmlZip(int)}; {@code compressionLevel}: 0–9 ya da -1 (varsayılan). */
+    public static String generateXmlZip(int count, int compressionLevel) {
         TzfScenarioContext.reset();
         String stamp = java.time.LocalDateTime.now().format(STAMP);
         try {
-            File outDir = ensureOutDir();
-            File zip = new File(outDir, "xml-invoices-" + stamp + ".zip");
-            try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zip))) {
-                for (int i = 1; i <= count; i++) {
-                    String invoiceId = "EFG" + LocalDate.now().getYear() + stamp.substring(2) + i;
-                    String content = fillTemplate(invoiceId);
-                    zos.putNextEntry(new ZipEntry(invoiceId + ".xml"));
-                    zos.write(content.getBytes(StandardCharsets.UTF_8));
-                    zos.closeEntry();
-                    TzfScenarioContext.addInvoice(new TzfInvoice(i, invoiceId, "", "", "", ""));
-                }
-            }
-            TzfScenarioContext.setExcelPath(zip.getAbsolutePath());
-            log.info("XML'li ZIP üretildi: {} ({} fatura)", zip.getAbsolutePath(), count);
+            InvoiceNumberAllocator.Range numbers = InvoiceNumberAllocator.of(InvoiceNumberAllocator.Series.EFG).reserve(count);
+            File zip = new File(ensureOutDir(), "xml-invoices-" + stamp + "-" + numbers.get(0) + ".zip");
+            writeZip(zip, XmlInvoiceTemplate.load(EFG_TEMPLATE), numbers, compressionLevel);
             return zip.getAbsolutePath();
         } catch (Exception e) {
             throw new IllegalStateException("XML ZIP üretimi başarısız: " + e.getMessage(), e);
@@ -92,12 +102,10 @@ public final class XmlInvoiceGenerator {
      * — ikisi de dev'de mevcut hesaplar. İmza geçersiz olur ama dev kabul eder (kullanıcı onayı).
      * Alıcı (ALBC) tarafından fatura yükleme testinde kullanılır.
      */
-    public static String generateAlbcXml(String seqSuffix) {
+    public static String generateAlbcXml() {
         try {
-            String year = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy"));
-            String stamp = java.time.LocalDateTime.now().format(STAMP);
-            String invoiceId = "GNS" + year + stamp.substring(2) + seqSuffix;
-            String content = fillTemplateFrom("testdata/albc-bcd-invoice.xml", invoiceId);
+            String invoiceId = InvoiceNumberAllocator.next(InvoiceNumberAllocator.Series.GNS);
+            String content = render(ALBC_TEMPLATE, invoiceId);
 
             File outDir = ensureOutDir();
             File xml = new File(outDir, invoiceId + ".xml");
@@ -113,55 +121,173 @@ public final class XmlInvoiceGenerator {
 
     /** ALBC/BCD şablonundan N adet XML içeren ZIP üretir (alıcı isXmlZipFile akışı). */
     public static String generateAlbcXmlZip(int count) {
+        return generateAlbcXmlZip(count, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /** {@link #generateAlbcXmlZip(int)}; {@code compressionLevel}: 0–9 ya da -1 (varsayılan). */
+    public static String generateAlbcXmlZip(int count, int compressionLevel) {
         TzfScenarioContext.reset();
         String stamp = java.time.LocalDateTime.now().format(STAMP);
         try {
-            File outDir = ensureOutDir();
-            File zip = new File(outDir, "albc-xml-invoices-" + stamp + ".zip");
-            try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zip))) {
-                for (int i = 1; i <= count; i++) {
-                    String invoiceId = "GNS" + LocalDate.now().getYear() + stamp.substring(2) + i;
-                    String content = fillTemplateFrom("testdata/albc-bcd-invoice.xml", invoiceId);
-                    zos.putNextEntry(new ZipEntry(invoiceId + ".xml"));
-                    zos.write(content.getBytes(StandardCharsets.UTF_8));
-                    zos.closeEntry();
-                    TzfScenarioContext.addInvoice(new TzfInvoice(i, invoiceId, "", "", "", ""));
-                }
-            }
-            TzfScenarioContext.setExcelPath(zip.getAbsolutePath());
-            log.info("ALBC/BCD XML'li ZIP üretildi: {} ({} fatura)", zip.getAbsolutePath(), count);
+            InvoiceNumberAllocator.Range numbers = InvoiceNumberAllocator.of(InvoiceNumberAllocator.Series.GNS).reserve(count);
+            File zip = new File(ensureOutDir(), "albc-xml-invoices-" + stamp + "-" + numbers.get(0) + ".zip");
+            writeZip(zip, XmlInvoiceTemplate.load(ALBC_TEMPLATE), numbers, compressionLevel);
             return zip.getAbsolutePath();
         } catch (Exception e) {
             throw new IllegalStateException("ALBC XML ZIP üretimi başarısız: " + e.getMessage(), e);
         }
     }
 
-    private static String fillTemplate(String invoiceId) throws Exception {
-        return fillTemplateFrom("testdata/test-invoice.xml", invoiceId);
+    /**
+     * Ayrılan aralıktaki faturaları paralel render edip sıkıştırır; tek yazıcı sırayla ZIP'e ekler.
+     * Bellekte en fazla (thread × 4) hazır girdi bekler. Context'e aralık ve yol yazılır.
+     */
+    private static void writeZip(File zip, XmlInvoiceTemplate template, InvoiceNumberAllocator.Range numbers,
+                                 int level) throws Exception {
+        if (level < -1 || level > 9) {
+            throw new IllegalArgumentException("Sıkıştırma seviyesi -1..9 olmalı: " + level);
+        }
+        int count = numbers.getCount();
+        byte[][] fixed = fixedSlotValues();
+        int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), count));
+        int maxPending = threads * 4;
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "xml-zip-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        Queue<Renderer> created = new ConcurrentLinkedQueue<>();
+        ThreadLocal<Renderer> renderers = ThreadLocal.withInitial(() -> {
+            Renderer renderer = new Renderer(template, fixed, level);
+            created.add(renderer);
+            return renderer;
+        });
+        long start = System.nanoTime();
+        long rawBytes = 0;
+        boolean complete = false;
+        try {
+            try (PrecompressedZipWriter out = new PrecompressedZipWriter(
+                    new BufferedOutputStream(new FileOutputStream(zip), 256 * 1024))) {
+                ArrayDeque<Future<PrecompressedZipWriter.Entry>> pending = new ArrayDeque<>();
+                int next = 0;
+                while (next < count || !pending.isEmpty()) {
+                    while (next < count && pending.size() < maxPending) {
+                        String invoiceId = numbers.get(next++);
+                        pending.add(pool.submit(() -> renderers.get().entry(invoiceId)));
+                    }
+                    PrecompressedZipWriter.Entry entry = pending.poll().get();
+                    rawBytes += entry.size;
+                    out.write(entry);
+                }
+            }
+            complete = true;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            pool.shutdownNow();
+            endDeflaters(pool, created);
+            // Yazıcı kapanırken merkezi dizini yazdığından yarım ZIP geçerli görünür; yüklenmesin diye silinir
+            if (!complete && zip.exists() && !zip.delete()) {
+                log.warn("Yarım kalan ZIP silinemedi: {}", zip.getAbsolutePath());
+            }
+        }
+        TzfScenarioContext.setInvoiceNumberRange(numbers.getPrefix(), numbers.getFirst(), count, numbers.getWidth());
+        TzfScenarioContext.setExcelPath(zip.getAbsolutePath());
+        log.info("XML'li ZIP üretildi: {} ({} fatura, şablon {}, {} MB → {} MB, seviye {}, {} thread, {} ms)",
+                zip.getAbsolutePath(), count, template.getResourcePath(), rawBytes >> 20, zip.length() >> 20,
+                level, threads, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Deflater'ın native zlib belleği GC'yi beklemeden bırakılır. Hata yolunda çalışan görev kalmış
+     * olabileceğinden havuzun durması kısa süre beklenir.
+     */
+    private static void endDeflaters(ExecutorService pool, Queue<Renderer> renderers) {
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("xml-zip thread'leri 5 sn içinde durmadı; Deflater'lar yine de kapatılıyor");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Renderer renderer : renderers) {
+            renderer.end();
+        }
     }
 
-    private static String fillTemplateFrom(String resourcePath, String invoiceId) throws Exception {
-        String template = readTemplate(resourcePath);
-        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        LocalDate due = LocalDate.now().plusDays(90);
-        while (due.getDayOfWeek() == DayOfWeek.SATURDAY || due.getDayOfWeek() == DayOfWeek.SUNDAY) {
-            due = due.plusDays(1);
+    /** Thread'e ait render tamponu ve Deflater; faturadan faturaya yeniden kullanılır. */
+    private static final class Renderer {
+        private final XmlInvoiceTemplate template;
+        private final byte[][] values;
+        private final Deflater deflater;
+        private final int level;
+        private byte[] buf = new byte[64 * 1024];
+
+        Renderer(XmlInvoiceTemplate template, byte[][] fixed, int level) {
+            this.template = template;
+            this.values = fixed.clone();
+            this.level = level;
+            this.deflater = level == 0 ? null : new Deflater(level, true);
+        }
+
+        PrecompressedZipWriter.Entry entry(String invoiceId) {
+            values[XmlInvoiceTemplate.Slot.INVOICE_ID.ordinal()] = invoiceId.getBytes(StandardCharsets.US_ASCII);
+            values[XmlInvoiceTemplate.Slot.UUID.ordinal()] = randomUuid();
+            buf = template.render(buf, values);
+            return PrecompressedZipWriter.prepare(invoiceId + ".xml", buf, template.renderedLength(values), deflater, level);
         }
-        return template
-                .replace("{INVOICE_ID}", invoiceId)
-                .replace("{UUID}", UUID.randomUUID().toString().toUpperCase())
-                .replace("{ISSUE_DATE}", today)
-                .replace("{SIGN_DATE}", today)
-                .replace("{DUE_DATE}", due.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+
+        void end() {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static String render(String resourcePath, String invoiceId) {
+        byte[][] values = fixedSlotValues();
+        values[XmlInvoiceTemplate.Slot.INVOICE_ID.ordinal()] = invoiceId.getBytes(StandardCharsets.UTF_8);
+        values[XmlInvoiceTemplate.Slot.UUID.ordinal()] =
+                UUID.randomUUID().toString().toUpperCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+        return XmlInvoiceTemplate.load(resourcePath).renderToString(values);
+    }
+
+    /** Koşu boyunca sabit yuvalar: düzenleme / imza tarihi bugün, vade 90 gün sonrası (iş günü). */
+    private static byte[][] fixedSlotValues() {
+        byte[][] values = new byte[XmlInvoiceTemplate.Slot.values().length][];
+        byte[] today = LocalDate.now().format(ISO_DATE).getBytes(StandardCharsets.US_ASCII);
+        LocalDate due = BusinessCalendar.turkey().nextOrSame(LocalDate.now().plusDays(90));
+        values[XmlInvoiceTemplate.Slot.ISSUE_DATE.ordinal()] = today;
+        values[XmlInvoiceTemplate.Slot.SIGN_DATE.ordinal()] = today;
+        values[XmlInvoiceTemplate.Slot.DUE_DATE.ordinal()] = due.format(ISO_DATE).getBytes(StandardCharsets.US_ASCII);
+        return values;
     }
 
-    private static String readTemplate(String resourcePath) throws Exception {
-        URL url = XmlInvoiceGenerator.class.getClassLoader().getResource(resourcePath);
-        if (url != null) {
-            return new String(Files.readAllBytes(new File(url.toURI()).toPath()), StandardCharsets.UTF_8);
+    /**
+     * Büyük harfli rastgele (v4) UUID metni. UUID.randomUUID() SecureRandom'u paylaştığından
+     * paralel üretimde thread'leri sıraya sokar; test verisi için ThreadLocalRandom yeterli.
+     */
+    private static byte[] randomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        byte[] out = new byte[36];
+        int p = 0;
+        for (int i = 15; i >= 0; i--) {
+            out[p++] = HEX[(int) (msb >>> (i * 4)) & 0xF];
+            if (i == 8 || i == 4) {
+                out[p++] = '-';
+            }
+        }
+        out[p++] = '-';
+        for (int i = 15; i >= 0; i--) {
+            out[p++] = HEX[(int) (lsb >>> (i * 4)) & 0xF];
+            if (i == 12) {
+                out[p++] = '-';
+            }
         }
-        return new String(Files.readAllBytes(
-                new File("src/test/resources/" + resourcePath).toPath()), StandardCharsets.UTF_8);
+        return out;
     }
 
     private static File ensureOutDir() {
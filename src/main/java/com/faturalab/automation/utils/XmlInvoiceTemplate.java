@@ -0,0 +1,129 @@
+package com.faturalab.automation.utils;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Önceden derlenmiş XML fatura şablonu: şablon bir kez okunup sabit byte parçalarına ve placeholder
+ * yuvalarına bölünür. Render, parçalarla yuva değerlerini sırayla bir tampona kopyalamaktan ibarettir
+ * (her faturada tüm şablon üzerinde String.replace yapılmaz). Değişmezdir; thread'ler arasında paylaşılır.
+ */
+final class XmlInvoiceTemplate {
+
+    /** Şablondaki placeholder'lar ({INVOICE_ID} …); bilinmeyen {..} metni olduğu gibi kalır. */
+    enum Slot { INVOICE_ID, UUID, ISSUE_DATE, SIGN_DATE, DUE_DATE }
+
+    private static final Map<String, XmlInvoiceTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String resourcePath;
+    private final byte[][] segments;   // segments[i] → slots[i] → segments[i+1] …; son parçanın yuvası yok
+    private final Slot[] slots;
+    private final int fixedLength;
+
+    private XmlInvoiceTemplate(String resourcePath, byte[][] segments, Slot[] slots) {
+        this.resourcePath = resourcePath;
+        this.segments = segments;
+        this.slots = slots;
+        this.fixedLength = Arrays.stream(segments).mapToInt(s -> s.length).sum();
+    }
+
+    /** Sınıf yolundan (yoksa src/test/resources altından) okur; derlenen şablon önbelleğe alınır. */
+    static XmlInvoiceTemplate load(String resourcePath) {
+        return CACHE.computeIfAbsent(resourcePath, path -> {
+            try {
+                return compile(path, read(path));
+            } catch (Exception e) {
+                throw new IllegalStateException("XML şablonu okunamadı: " + path, e);
+            }
+        });
+    }
+
+    static XmlInvoiceTemplate compile(String name, String text) {
+        List<byte[]> segments = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int pos = 0;
+        while (pos < text.length()) {
+            int open = text.indexOf('{', pos);
+            int close = open < 0 ? -1 : text.indexOf('}', open);
+            Slot slot = close < 0 ? null : slotOf(text.substring(open + 1, close));
+            if (slot == null) {
+                int end = open < 0 ? text.length() : open + 1;
+                literal.append(text, pos, end);
+                pos = end;
+                continue;
+            }
+            literal.append(text, pos, open);
+            segments.add(literal.toString().getBytes(StandardCharsets.UTF_8));
+            slots.add(slot);
+            literal.setLength(0);
+            pos = close + 1;
+        }
+        segments.add(literal.toString().getBytes(StandardCharsets.UTF_8));
+        return new XmlInvoiceTemplate(name, segments.toArray(new byte[0][]), slots.toArray(new Slot[0]));
+    }
+
+    private static Slot slotOf(String name) {
+        for (Slot s : Slot.values()) {
+            if (s.name().equals(name)) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    String getResourcePath() {
+        return resourcePath;
+    }
+
+    /**
+     * Şablonu {@code values}[slot.ordinal()] değerleriyle {@code buf}'a yazar (tampon gerekirse büyütülür).
+     * @return yeni (ya da aynı) tampon; yazılan uzunluk {@link #renderedLength}
+     */
+    byte[] render(byte[] buf, byte[][] values) {
+        int length = renderedLength(values);
+        if (buf.length < length) {
+            buf = new byte[Math.max(length, buf.length * 2)];
+        }
+        int p = 0;
+        for (int i = 0; i < slots.length; i++) {
+            System.arraycopy(segments[i], 0, buf, p, segments[i].length);
+            p += segments[i].length;
+            byte[] v = values[slots[i].ordinal()];
+            System.arraycopy(v, 0, buf, p, v.length);
+            p += v.length;
+        }
+        byte[] last = segments[segments.length - 1];
+        System.arraycopy(last, 0, buf, p, last.length);
+        return buf;
+    }
+
+    int renderedLength(byte[][] values) {
+        int length = fixedLength;
+        for (Slot s : slots) {
+            length += values[s.ordinal()].length;
+        }
+        return length;
+    }
+
+    String renderToString(byte[][] values) {
+        byte[] buf = render(new byte[0], values);
+        return new String(buf, 0, renderedLength(values), StandardCharsets.UTF_8);
+    }
+
+    private static String read(String resourcePath) throws Exception {
+        URL url = XmlInvoiceTemplate.class.getClassLoader().getResource(resourcePath);
+        if (url != null) {
+            return new String(Files.readAllBytes(new File(url.toURI()).toPath()), StandardCharsets.UTF_8);
+        }
+        return new String(Files.readAllBytes(
+                new File("src/test/resources/" + resourcePath).toPath()), StandardCharsets.UTF_8);
+    }
+}
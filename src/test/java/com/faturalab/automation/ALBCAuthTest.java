@@ -1,5 +1,6 @@
 package com.faturalab.automation;
 
+import com.faturalab.automation.api.ExchangeCapture;
 import com.faturalab.automation.api.FaturalabAPI;
 import com.faturalab.automation.config.EnvironmentManager;
 import io.restassured.response.Response;
@@ -21,7 +22,6 @@ public class ALBCAuthTest {
             
             System.out.println("✅ Environment yüklendi: " + faturalabAPI.getEnvironment().getAlias());
             System.out.println("🌐 Host: " + faturalabAPI.getEnvironment().getHost());
-            System.out.println("🔑 API Key: " + faturalabAPI.getEnvironment().getApiKey());
             System.out.println("👤 Alias: " + faturalabAPI.getEnvironment().getAlias());
             System.out.println("📞 Tax Number: " + faturalabAPI.getEnvironment().getTaxNumber());
             System.out.println("📧 Email: " + faturalabAPI.getEnvironment().getUserEmail());
@@ -33,14 +33,14 @@ public class ALBCAuthTest {
             
             System.out.println("📊 Sonuçlar:");
             System.out.println("   Status Code: " + response.getStatusCode());
-            System.out.println("   Response: " + response.getBody().asString());
+            System.out.println("   Response: " + ExchangeCapture.redact(response.getBody().asString()));
             System.out.println("");
             
             // Sonuç değerlendirmesi
             boolean isSuccessful = faturalabAPI.isResponseSuccessful();
             if (isSuccessful) {
                 System.out.println("🎉 ✅ BAŞARILI! ALBC Authentication çalışıyor!");
-                System.out.println("🆔 Session ID: " + faturalabAPI.getSessionId());
+                System.out.println("🆔 Session ID alındı");
                 System.out.println("");
                 System.out.println("🚀 ALBC environment'ı ile testleri çalıştırabilirsiniz!");
                 System.out.println("   mvn clean test -Dtest=ALBCTestRunner");
@@ -53,7 +53,7 @@ public class ALBCAuthTest {
                 System.out.println("   @invoiceTypes - E-Arşiv fatura testi");
             } else {
                 System.out.println("❌ BAŞARISIZ! Authentication hatası:");
-                System.out.println("   " + response.getBody().asString());
+                System.out.println("   " + ExchangeCapture.redact(response.getBody().asString()));
                 System.out.println("");
                 System.out.println("💡 Öneriler:");
                 System.out.println("   - ALBC environment credential'larını kontrol edin");
@@ -1,5 +1,6 @@
 package com.faturalab.automation;
 
+import com.faturalab.automation.api.ExchangeCapture;
 import com.faturalab.automation.api.FaturalabAPI;
 import com.faturalab.automation.config.EnvironmentManager;
 import io.restassured.response.Response;
@@ -21,7 +22,6 @@ public class BienAuthTest {
             
             System.out.println("✅ Environment yüklendi: " + faturalabAPI.getEnvironment().getAlias());
             System.out.println("🌐 Host: " + faturalabAPI.getEnvironment().getHost());
-            System.out.println("🔑 API Key: " + faturalabAPI.getEnvironment().getApiKey());
             System.out.println("👤 Alias: " + faturalabAPI.getEnvironment().getAlias());
             System.out.println("📞 Tax Number: " + faturalabAPI.getEnvironment().getTaxNumber());
             System.out.println("📧 Email: " + faturalabAPI.getEnvironment().getUserEmail());
@@ -33,19 +33,19 @@ public class BienAuthTest {
             
             System.out.println("📊 Sonuçlar:");
             System.out.println("   Status Code: " + response.getStatusCode());
-            System.out.println("   Response: " + response.getBody().asString());
+            System.out.println("   Response: " + ExchangeCapture.redact(response.getBody().asString()));
             System.out.println("");
             
             // Sonuç değerlendirmesi
             boolean isSuccessful = faturalabAPI.isResponseSuccessful();
             if (isSuccessful) {
                 System.out.println("🎉 ✅ BAŞARILI! Authentication çalışıyor!");
-                System.out.println("🆔 Session ID: " + faturalabAPI.getSessionId());
+                System.out.println("🆔 Session ID alındı");
                 System.out.println("");
                 System.out.println("🚀 BIEN environment'ı ile testleri çalıştırabilirsiniz!");
             } else {
                 System.out.println("❌ BAŞARISIZ! Authentication hatası:");
-                System.out.println("   " + response.getBody().asString());
+                System.out.println("   " + ExchangeCapture.redact(response.getBody().asString()));
                 System.out.println("");
                 System.out.println("💡 Öneriler:");
                 System.out.println("   - BIEN environment credential'larını kontrol edin");
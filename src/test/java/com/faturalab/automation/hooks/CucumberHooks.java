@@ -12,28 +12,28 @@ public class CucumberHooks {
     
     private static final Logger log = LogManager.getLogger(CucumberHooks.class);
     
-    // Static shared API instance
-    private static FaturalabAPI sharedFaturalabAPI;
-    // Static shared last response for cross-step fallback (auction ↔ invoice)
-    private static Response sharedLastResponse;
+    // Shared API instance, confined to the scenario thread so parallel scenarios don't collide
+    private static final ThreadLocal<FaturalabAPI> sharedFaturalabAPI = new ThreadLocal<>();
+    // Shared last response for cross-step fallback (auction ↔ invoice), also per thread
+    private static final ThreadLocal<Response> sharedLastResponse = new ThreadLocal<>();
     
     // Static methods to share API instance
     public static void setSharedAPI(FaturalabAPI api) {
-        sharedFaturalabAPI = api;
+        sharedFaturalabAPI.set(api);
         log.info("Shared FaturalabAPI instance set in CucumberHooks");
     }
     
     public static FaturalabAPI getSharedAPI() {
-        return sharedFaturalabAPI;
+        return sharedFaturalabAPI.get();
     }
     
     // Shared response accessors (optional fallback)
     public static void setSharedLastResponse(Response response) {
-        sharedLastResponse = response;
+        sharedLastResponse.set(response);
     }
     
     public static Response getSharedLastResponse() {
-        return sharedLastResponse;
+        return sharedLastResponse.get();
     }
     
     @Before
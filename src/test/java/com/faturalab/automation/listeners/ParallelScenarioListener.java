@@ -0,0 +1,66 @@
+package com.faturalab.automation.listeners;
+
+import com.faturalab.automation.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.xml.XmlSuite;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Cucumber senaryolarını paralel koşturma anahtarı.
+ *
+ * Runner'lardaki {@code @DataProvider(parallel = false)} derleme zamanında sabit olduğu için
+ * paralel mod bu transformer ile çalışma anında açılır; thread sayısı suite'in
+ * data-provider-thread-count değerine yazılır.
+ *
+ *   mvn test -DsuiteXmlFile=testng-ui.xml -Dparallel.scenarios=true -Dparallel.threads=4
+ *
+ * parallel.threads verilmezse makinedeki çekirdek sayısı kullanılır. Senaryo durumu
+ * (DriverManager, RoleSessionManager, TzfScenarioContext, CucumberHooks) thread'e bağlıdır;
+ * her thread kendi tarayıcısını açar.
+ *
+ * IAnnotationTransformer, @Listeners ile değil yalnızca testng*.xml içinden kaydedilebilir.
+ */
+public class ParallelScenarioListener implements IAnnotationTransformer, IAlterSuiteListener {
+
+    private static final Logger log = LogManager.getLogger(ParallelScenarioListener.class);
+
+    public static boolean isParallelEnabled() {
+        return Boolean.parseBoolean(ConfigReader.getProperty("parallel.scenarios", "false"));
+    }
+
+    public static int threadCount() {
+        String value = ConfigReader.getProperty("parallel.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors()));
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Geçersiz parallel.threads değeri '{}', 1 kullanılıyor.", value);
+            return 1;
+        }
+    }
+
+    @Override
+    public void transform(IDataProviderAnnotation annotation, Method method) {
+        if (isParallelEnabled() && "scenarios".equals(method.getName())) {
+            annotation.setParallel(true);
+        }
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!isParallelEnabled()) {
+            return;
+        }
+        int threads = threadCount();
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(threads);
+        }
+        log.info("Paralel senaryo modu açık: {} thread.", threads);
+    }
+}
@@ -0,0 +1,52 @@
+package com.faturalab.automation.runner;
+
+import com.faturalab.automation.api.ApiTransport;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.DataProvider;
+
+/**
+ * Load Test Runner — {@code @load} senaryoları (fatura yükleme yük testi).
+ *
+ * Glue yalnızca stepdefinitions.load paketidir: tarayıcı açan Hooks yüklenmez.
+ * Sonuç raporları target/load-reports/load-*.json altına yazılır.
+ *
+ * Çalıştırma:
+ *   mvn test -Dtest=LoadTestRunner -Denv=dev
+ *
+ * Yerel stub / performans ortamına karşı:
+ *   mvn test -Dtest=LoadTestRunner -Dload.target.host=http://127.0.0.1:8089/app/api/integration/buyer/v0
+ *
+ * Komut satırından (Cucumber olmadan):
+ *   java -cp ... com.faturalab.automation.load.InvoiceUploadLoadGenerator --rps 20 --duration 60
+ */
+@CucumberOptions(
+        features = {"src/test/resources/features"},
+        glue = {
+                "com.faturalab.automation.stepdefinitions.load"
+        },
+        tags = "@load and not @disabled",
+        plugin = {
+                "pretty",
+                "html:target/cucumber-reports/load/index.html",
+                "json:target/cucumber-reports/load/cucumber.json"
+        },
+        monochrome = true
+)
+public class LoadTestRunner extends AbstractTestNGCucumberTests {
+
+    @Override
+    @DataProvider(parallel = false)
+    public Object[][] scenarios() {
+        return super.scenarios();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void printTransportStats() {
+        String apiStats = ApiTransport.summary();
+        if (!apiStats.isEmpty()) {
+            System.out.println("[LoadTestRunner] API bağlantı havuzu: " + apiStats);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.faturalab.automation.runner;
 
+import com.faturalab.automation.driver.CommandTimings;
 import com.faturalab.automation.reporting.CucumberExtendedReportGenerator;
 import com.faturalab.automation.utils.ReportOpener;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
@@ -58,6 +59,7 @@ public class ReCaptchaTestRunner extends AbstractTestNGCucumberTests {
     @AfterSuite
     public void report() {
         File json   = new File("target/cucumber-reports/recaptcha/cucumber.json");
+        CommandTimings.writeReport(json.getParentFile());
         File outDir = new File("target/cucumber-reports/recaptcha/advanced-reports");
         CucumberExtendedReportGenerator.generate(json, outDir, "FaturaLab reCAPTCHA Tests");
         try { Thread.sleep(1000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
@@ -1,5 +1,7 @@
 package com.faturalab.automation.runner;
 
+import com.faturalab.automation.driver.CommandTimings;
+import com.faturalab.automation.driver.DriverManager;
 import com.faturalab.automation.reporting.CucumberExtendedReportGenerator;
 import com.faturalab.automation.utils.ReportOpener;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
@@ -58,7 +60,10 @@ public class RegressionTestRunner extends AbstractTestNGCucumberTests {
     // alwaysRun=true: fail durumunda da rapor üretilsin (kronik bayat rapor fix'iyle uyumlu)
     @AfterSuite(alwaysRun = true)
     public void printReport() {
+        // Havuz modunda açık kalan tarayıcıları kapat, borrow/yeniden kullanım istatistiğini logla
+        DriverManager.shutdownPool();
         File json = new File("target/cucumber-reports/regression/cucumber.json");
+        CommandTimings.writeReport(json.getParentFile());
         File outDir = new File("target/cucumber-reports/regression/advanced-reports");
         try {
             CucumberExtendedReportGenerator.generate(json, outDir, "Faturalab Regression Automation");
@@ -0,0 +1,39 @@
+package com.faturalab.automation.runner;
+
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.DataProvider;
+
+/**
+ * Replay Test Runner — {@code @replay} senaryoları (kaydedilmiş UIDL cevaplarıyla HTTP login).
+ *
+ * Glue yalnızca stepdefinitions.replay paketidir: tarayıcı açan Hooks yüklenmez, ortama gidilmez.
+ *
+ * Çalıştırma:
+ *   mvn test -Dtest=ReplayTestRunner
+ *
+ * Yeni kayıt almak (gerçek ortam, tek rol):
+ *   mvn test -Dlogin.mode=http -Dlogin.http.record.dir=target/uidl-record/company ...
+ *   → dosyaları src/test/resources/testdata/uidl-replay/company altına kopyalayın.
+ */
+@CucumberOptions(
+        features = {"src/test/resources/features"},
+        glue = {
+                "com.faturalab.automation.stepdefinitions.replay"
+        },
+        tags = "@replay and not @disabled",
+        plugin = {
+                "pretty",
+                "html:target/cucumber-reports/replay/index.html",
+                "json:target/cucumber-reports/replay/cucumber.json"
+        },
+        monochrome = true
+)
+public class ReplayTestRunner extends AbstractTestNGCucumberTests {
+
+    @Override
+    @DataProvider(parallel = false)
+    public Object[][] scenarios() {
+        return super.scenarios();
+    }
+}
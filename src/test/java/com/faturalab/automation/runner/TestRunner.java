@@ -8,6 +8,9 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.DataProvider;
 
 import java.io.File;
+import com.faturalab.automation.api.ApiTransport;
+import com.faturalab.automation.driver.CommandTimings;
+import com.faturalab.automation.driver.DriverManager;
 import com.faturalab.automation.reporting.CucumberExtendedReportGenerator;
 import com.faturalab.automation.stepdefinitions.HomePageSteps;
 import com.faturalab.automation.stepdefinitions.Hooks;
@@ -25,7 +28,9 @@ import com.faturalab.automation.stepdefinitions.auction.AuctionInvoiceUploadStep
         // non-UI testler; @ui -> UITestRunner, @regression -> RegressionTestRunner.
         // @regression: step definition'ları henüz yazılmamış / geniş kapsam senaryoları —
         // günlük API sağlık koşumunu kirletmemesi için varsayılan kapsam dışıdır.
-        tags = "not @disabled and not @ui and not @regression",
+        // @load -> LoadTestRunner (dakikalarca sürer, ortama yük bindirir).
+        // @replay -> ReplayTestRunner (yerel UIDL stub'ı; tarayıcı açan Hooks'a ihtiyaç duymaz).
+        tags = "not @disabled and not @ui and not @regression and not @load and not @replay",
         plugin = {
                 "pretty",
                 "html:target/cucumber-reports/index.html",
@@ -115,7 +120,14 @@ public class TestRunner extends AbstractTestNGCucumberTests {
     
     @AfterSuite
     public void generateReport() {
+        // Havuz modunda açık kalan tarayıcıları kapat, borrow/yeniden kullanım istatistiğini logla
+        DriverManager.shutdownPool();
+        String apiStats = ApiTransport.summary();
+        if (!apiStats.isEmpty()) {
+            System.out.println("[TestRunner] API bağlantı havuzu: " + apiStats);
+        }
         File jsonFile = new File("target/cucumber-reports/cucumber.json");
+        CommandTimings.writeReport(jsonFile.getParentFile());
         File outDir = new File("target/cucumber-reports/advanced-reports");
         CucumberExtendedReportGenerator.generate(jsonFile, outDir, "Faturalab Web Automation");
 
@@ -2,8 +2,13 @@ package com.faturalab.automation.runner;
 
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import com.faturalab.automation.context.RoleSessionManager;
+import com.faturalab.automation.context.RoleSessionWarmup;
+import com.faturalab.automation.driver.CommandTimings;
+import com.faturalab.automation.driver.DriverManager;
 import com.faturalab.automation.reporting.CucumberExtendedReportGenerator;
 import com.faturalab.automation.utils.ReportOpener;
+import com.faturalab.automation.utils.ScriptRegistry;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.DataProvider;
@@ -59,6 +64,8 @@ public class UATTestRunner extends AbstractTestNGCucumberTests {
         }
         new File("target/cucumber-reports/uat").mkdirs();
         new File("target/screenshots").mkdirs();
+        // session.prewarm.enabled=true ise 4 rol oturumu ayrı tarayıcılarda paralel hazırlanır
+        RoleSessionWarmup.warmUpIfEnabled();
         System.out.println("[UATTestRunner] Ortam: " + System.getProperty("env", "dev2"));
         System.out.println("[UATTestRunner] UAT raporlama dizinleri hazırlandı.");
         System.out.println("[UATTestRunner] UAT senaryoları: FL-001 — FL-019");
@@ -74,7 +81,20 @@ public class UATTestRunner extends AbstractTestNGCucumberTests {
     // üretilip açılsın. Kronik "fail olunca rapor açılmıyor/bayat kalıyor" sorununa karşı.
     @AfterSuite(alwaysRun = true)
     public void printReport() {
+        // Havuz modunda açık kalan tarayıcıları kapat, borrow/yeniden kullanım istatistiğini logla
+        DriverManager.shutdownPool();
+        // Isınmada yayınlanan cookie'ler aynı JVM'deki sonraki suite'e taşınmasın
+        RoleSessionManager.clearPublishedSessions();
+        String switchTimings = RoleSessionManager.switchTimingSummary();
+        if (!switchTimings.isEmpty()) {
+            System.out.println("[UATTestRunner] Rol geçiş süreleri: " + switchTimings);
+        }
+        String scriptStats = ScriptRegistry.summary();
+        if (!scriptStats.isEmpty()) {
+            System.out.println("[UATTestRunner] JS yardımcıları: " + scriptStats);
+        }
         File json = new File("target/cucumber-reports/uat/cucumber.json");
+        CommandTimings.writeReport(json.getParentFile());
         File outDir = new File("target/cucumber-reports/uat/advanced-reports");
         try {
             CucumberExtendedReportGenerator.generate(json, outDir, "Faturalab UAT Automation");
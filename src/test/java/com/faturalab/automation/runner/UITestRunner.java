@@ -2,8 +2,13 @@ package com.faturalab.automation.runner;
 
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import com.faturalab.automation.context.RoleSessionManager;
+import com.faturalab.automation.context.RoleSessionWarmup;
+import com.faturalab.automation.driver.CommandTimings;
+import com.faturalab.automation.driver.DriverManager;
 import com.faturalab.automation.reporting.CucumberExtendedReportGenerator;
 import com.faturalab.automation.utils.ReportOpener;
+import com.faturalab.automation.utils.ScriptRegistry;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.DataProvider;
@@ -50,6 +55,8 @@ public class UITestRunner extends AbstractTestNGCucumberTests {
         }
         new File("target/cucumber-reports/ui").mkdirs();
         new File("target/screenshots").mkdirs();
+        // session.prewarm.enabled=true ise 4 rol oturumu ayrı tarayıcılarda paralel hazırlanır
+        RoleSessionWarmup.warmUpIfEnabled();
         System.out.println("[UITestRunner] Ortam: " + System.getProperty("env", "dev2"));
         System.out.println("[UITestRunner] Raporlama dizinleri hazırlandı.");
         System.out.println("[UITestRunner] UI step definition sınıfları yüklendi (glue: ui.*).");
@@ -65,7 +72,20 @@ public class UITestRunner extends AbstractTestNGCucumberTests {
     // üretilip açılsın. Kronik "fail olunca rapor açılmıyor/bayat kalıyor" sorununa karşı.
     @AfterSuite(alwaysRun = true)
     public void printReport() {
+        // Havuz modunda açık kalan tarayıcıları kapat, borrow/yeniden kullanım istatistiğini logla
+        DriverManager.shutdownPool();
+        // Isınmada yayınlanan cookie'ler aynı JVM'deki sonraki suite'e taşınmasın
+        RoleSessionManager.clearPublishedSessions();
+        String switchTimings = RoleSessionManager.switchTimingSummary();
+        if (!switchTimings.isEmpty()) {
+            System.out.println("[UITestRunner] Rol geçiş süreleri: " + switchTimings);
+        }
+        String scriptStats = ScriptRegistry.summary();
+        if (!scriptStats.isEmpty()) {
+            System.out.println("[UITestRunner] JS yardımcıları: " + scriptStats);
+        }
         File json = new File("target/cucumber-reports/ui/cucumber.json");
+        CommandTimings.writeReport(json.getParentFile());
         File outDir = new File("target/cucumber-reports/ui/advanced-reports");
         try {
             CucumberExtendedReportGenerator.generate(json, outDir, "Faturalab UI Automation");
@@ -1,7 +1,9 @@
 package com.faturalab.automation.runners;
 
+import com.faturalab.automation.api.ApiTransport;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.DataProvider;
 
 @CucumberOptions(
@@ -21,4 +23,12 @@ public class APITestRunner extends AbstractTestNGCucumberTests {
     public Object[][] scenarios() {
         return super.scenarios();
     }
+
+    @AfterSuite(alwaysRun = true)
+    public void printTransportStats() {
+        String apiStats = ApiTransport.summary();
+        if (!apiStats.isEmpty()) {
+            System.out.println("[APITestRunner] API bağlantı havuzu: " + apiStats);
+        }
+    }
 } 
\ No newline at end of file
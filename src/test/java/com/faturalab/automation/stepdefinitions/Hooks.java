@@ -1,5 +1,7 @@
 package com.faturalab.automation.stepdefinitions;
 
+import com.faturalab.automation.api.ExchangeCapture;
+import com.faturalab.automation.driver.CommandTimings;
 import com.faturalab.automation.driver.DriverManager;
 import io.cucumber.java.After;
 import io.cucumber.java.AfterStep;
@@ -14,16 +16,24 @@ import org.openqa.selenium.WebDriver;
 
 import java.io.File;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 public class Hooks {
     
     private static final Logger log = LogManager.getLogger(Hooks.class);
+    private static final DateTimeFormatter SCREENSHOT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    
+    // Bu senaryodan önceki son API çağrısı; hata olursa sonrakiler rapora eklenir
+    private long apiCaptureMark;
     
     @Before
     public void setUp(Scenario scenario) {
         log.info("Starting scenario: {}", scenario.getName());
+        apiCaptureMark = ExchangeCapture.mark();
+        CommandTimings.startScenario(scenario.getName());
         
         // Ensure WebDriver directory exists for screenshots
         File screenshotsDir = new File("target/screenshots");
@@ -41,12 +51,14 @@ public class Hooks {
         log.info("Finishing scenario: {}, Status: {}", scenario.getName(), scenario.getStatus());
         
         if (scenario.isFailed()) {
+            attachApiExchanges(scenario);
             WebDriver driver = DriverManager.getDriver();
             captureScreenshot(scenario, driver);
         }
         
-        // Quit the WebDriver
-        DriverManager.quitDriver();
+        // Quit the WebDriver (or return it to the pool in pooled mode)
+        DriverManager.releaseDriver();
+        CommandTimings.endScenario(scenario.getStatus().name());
     }
     
     @AfterStep
@@ -59,13 +71,23 @@ public class Hooks {
         }
     }
     
+    private void attachApiExchanges(Scenario scenario) {
+        List<ExchangeCapture.Exchange> exchanges = ExchangeCapture.since(apiCaptureMark);
+        if (exchanges.isEmpty()) {
+            return;
+        }
+        String dump = ExchangeCapture.render(exchanges);
+        scenario.attach(dump.getBytes(StandardCharsets.UTF_8), "text/plain", "API çağrıları (" + exchanges.size() + ")");
+        log.info("Failed scenario API exchanges:\n{}", dump);
+    }
+    
     private void captureScreenshot(Scenario scenario, WebDriver driver) {
         try {
             // Take screenshot as file
             File srcFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
             
             // Format filename with timestamp
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+            String timestamp = LocalDateTime.now().format(SCREENSHOT_TIMESTAMP);
             String scenarioName = scenario.getName().replaceAll("\\s+", "_");
             String filename = "screenshot_" + scenarioName + "_" + timestamp + ".png";
             
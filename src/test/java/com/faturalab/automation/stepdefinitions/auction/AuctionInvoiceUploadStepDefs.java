@@ -1,5 +1,6 @@
 package com.faturalab.automation.stepdefinitions.auction;
 
+import com.faturalab.automation.api.ExchangeCapture;
 import com.faturalab.automation.api.FaturalabAPI;
 import com.faturalab.automation.hooks.CucumberHooks;
 import com.faturalab.automation.models.auction.*;
@@ -61,7 +62,6 @@ public class AuctionInvoiceUploadStepDefs {
         
         // Additional check for AuctionAPI availability
         log.info("🔍 FaturalabAPI Status Check:");
-        log.info("  SessionID: {}", faturalabAPI.getSessionId());
         log.info("  Environment: {}", faturalabAPI.getEnvironment().getAlias());
         log.info("  User Email: {}", faturalabAPI.getEnvironment().getUserEmail());
         
@@ -70,31 +70,13 @@ public class AuctionInvoiceUploadStepDefs {
         }
     }
     
-    // Helper method to log API details both to Cucumber report and console
-    private void logAPIDetailsToReport(String apiCall, String requestDetails, String responseDetails) {
-        String fullLog = "=== 🚀 " + apiCall + " ===" + "\n" +
-                        "📤 REQUEST DETAILS:\n" + requestDetails + "\n\n" +
-                        "📥 RESPONSE DETAILS:\n" + responseDetails + "\n" +
-                        "================================\n";
-        
-        // Log to console/file
-        log.info("\n{}", fullLog);
-        
-        // Log to Cucumber report if scenario is available
+    // One-line call summary for the Cucumber report; headers/bodies are not copied here.
+    // Full request/response stays in ExchangeCapture and is dumped by Hooks only when the scenario fails.
+    private void logAPICallToReport(String apiCall, int statusCode, String summary) {
+        log.info("{} -> HTTP {} | {}", apiCall, statusCode, summary);
         if (scenario != null) {
-            scenario.log("=== 🚀 " + apiCall + " ===");
-            scenario.log("");
-            scenario.log("📤 REQUEST DETAILS:");
-            scenario.log(requestDetails);
-            scenario.log("");
-            scenario.log("📥 RESPONSE DETAILS:");
-            scenario.log(responseDetails);
-            scenario.log("================================");
-            scenario.log("");
+            scenario.log("🚀 " + apiCall + " -> HTTP " + statusCode + " | " + summary);
         }
-        
-        // Also try to print to System.out for additional visibility
-        System.out.println("\n" + fullLog);
     }
     
     @When("^geçerli auction fatura bilgileri ile fatura yüklerse$")
@@ -162,29 +144,9 @@ public class AuctionInvoiceUploadStepDefs {
         // Call API
         lastResponse = faturalabAPI.uploadAuction(lastAuctionRequest);
         CucumberHooks.setSharedLastResponse(lastResponse);
-        
-        // Prepare request details for report
-        StringBuilder requestDetails = new StringBuilder();
-        requestDetails.append("Endpoint: POST ").append(faturalabAPI.getEnvironment().getHost()).append("/auction\n");
-        requestDetails.append("Reference No: ").append(lastReferenceNo).append("\n");
-        requestDetails.append("User Email: ").append(userEmail).append("\n");
-        requestDetails.append("Total Invoices: ").append(auctionInvoices.size()).append("\n");
-        requestDetails.append("Total Amount: ").append(lastAuctionRequest.getTotalPayableAmount()).append("\n");
-        requestDetails.append("Invoice Details:\n");
-        for (AuctionInvoice invoice : auctionInvoices) {
-            requestDetails.append("  - Package: ").append(invoice.getPackageNo())
-                    .append(", Amount: ").append(invoice.getInvoiceAmount())
-                    .append(", Type: ").append(invoice.getInvoiceType()).append("\n");
-        }
-        
-        // Prepare response details for report
-        StringBuilder responseDetails = new StringBuilder();
-        responseDetails.append("Status Code: ").append(lastResponse.getStatusCode()).append("\n");
-        responseDetails.append("Response Headers: ").append(lastResponse.getHeaders()).append("\n");
-        responseDetails.append("Response Body: ").append(lastResponse.getBody().asString()).append("\n");
-        
-        // Attach to Cucumber report
-        logAPIDetailsToReport("UPLOAD AUCTION", requestDetails.toString(), responseDetails.toString());
+        logAPICallToReport("UPLOAD AUCTION", lastResponse.getStatusCode(),
+                "reference " + lastReferenceNo + ", " + auctionInvoices.size() + " invoices, total "
+                        + lastAuctionRequest.getTotalPayableAmount());
     }
     
     @Then("^auction fatura başarıyla yüklenmiş olmalı$")
@@ -219,7 +181,6 @@ public class AuctionInvoiceUploadStepDefs {
         log.info("✅ Auction upload successful!");
         log.info("Reference Number: {}", lastReferenceNo);
         log.info("Response Status: {}", lastResponse.getStatusCode());
-        log.info("Response Body: {}", lastResponse.getBody().asString());
         log.info("=============================================");
     }
     
@@ -244,38 +205,23 @@ public class AuctionInvoiceUploadStepDefs {
         lastResponse = faturalabAPI.getAuctionDetail(detailRequest);
         CucumberHooks.setSharedLastResponse(lastResponse);
         
-        // Prepare request details for report
-        StringBuilder requestDetails = new StringBuilder();
-        requestDetails.append("Endpoint: POST ").append(faturalabAPI.getEnvironment().getHost()).append("/auction/detail\n");
-        requestDetails.append("Reference No: ").append(lastReferenceNo).append("\n");
-        requestDetails.append("User Email: ").append(userEmail).append("\n");
-        
-        // Prepare response details for report
-        StringBuilder responseDetails = new StringBuilder();
-        responseDetails.append("Status Code: ").append(lastResponse.getStatusCode()).append("\n");
-        responseDetails.append("Response Headers: ").append(lastResponse.getHeaders()).append("\n");
-        responseDetails.append("Response Body: ").append(lastResponse.getBody().asString()).append("\n");
-        
         // Get detailed status information
         AuctionStatusInfo statusInfo = faturalabAPI.getDetailedAuctionStatus();
+        StringBuilder summary = new StringBuilder("reference ").append(lastReferenceNo);
         if (statusInfo != null) {
-            responseDetails.append("\n📊 DETAILED STATUS INFO:\n");
-            responseDetails.append("Status: ").append(statusInfo.getStatus()).append("\n");
-            responseDetails.append("Success: ").append(statusInfo.isSuccess()).append("\n");
-            responseDetails.append("Message: ").append(statusInfo.getMessage()).append("\n");
+            summary.append(", status ").append(statusInfo.getStatus())
+                    .append(", success ").append(statusInfo.isSuccess());
             if (statusInfo.getErrorMessage() != null) {
-                responseDetails.append("Error: ").append(statusInfo.getErrorMessage()).append("\n");
+                summary.append(", error ").append(statusInfo.getErrorMessage());
             }
             if (statusInfo.getTotalAmount() != null) {
-                responseDetails.append("Total Amount: ").append(statusInfo.getTotalAmount()).append("\n");
+                summary.append(", total ").append(statusInfo.getTotalAmount());
             }
             if (statusInfo.getInvoiceCount() != null) {
-                responseDetails.append("Invoice Count: ").append(statusInfo.getInvoiceCount()).append("\n");
+                summary.append(", invoices ").append(statusInfo.getInvoiceCount());
             }
         }
-        
-        // Attach to Cucumber report
-        logAPIDetailsToReport("GET AUCTION DETAIL", requestDetails.toString(), responseDetails.toString());
+        logAPICallToReport("GET AUCTION DETAIL", lastResponse.getStatusCode(), summary.toString());
         
         Assert.assertEquals(lastResponse.getStatusCode(), 200, "Get auction detail should return 200 status");
         
@@ -318,21 +264,7 @@ public class AuctionInvoiceUploadStepDefs {
         // Call API
         lastResponse = faturalabAPI.rejectAuction(rejectRequest);
         CucumberHooks.setSharedLastResponse(lastResponse);
-        
-        // Prepare request details for report
-        StringBuilder requestDetails = new StringBuilder();
-        requestDetails.append("Endpoint: POST ").append(faturalabAPI.getEnvironment().getHost()).append("/auction/reject\n");
-        requestDetails.append("Reference No: ").append(lastReferenceNo).append("\n");
-        requestDetails.append("User Email: ").append(userEmail).append("\n");
-        
-        // Prepare response details for report
-        StringBuilder responseDetails = new StringBuilder();
-        responseDetails.append("Status Code: ").append(lastResponse.getStatusCode()).append("\n");
-        responseDetails.append("Response Headers: ").append(lastResponse.getHeaders()).append("\n");
-        responseDetails.append("Response Body: ").append(lastResponse.getBody().asString()).append("\n");
-        
-        // Attach to Cucumber report
-        logAPIDetailsToReport("REJECT AUCTION", requestDetails.toString(), responseDetails.toString());
+        logAPICallToReport("REJECT AUCTION", lastResponse.getStatusCode(), "reference " + lastReferenceNo);
     }
     
     @Then("^auction fatura reddetme işlemi başarıyla tamamlanmış olmalı$")
@@ -345,7 +277,6 @@ public class AuctionInvoiceUploadStepDefs {
         log.info("✅ Auction rejection successful!");
         log.info("Reference Number: {}", lastReferenceNo);
         log.info("Response Status: {}", lastResponse.getStatusCode());
-        log.info("Response Body: {}", lastResponse.getBody().asString());
         log.info("===============================================");
     }
     
@@ -385,9 +316,7 @@ public class AuctionInvoiceUploadStepDefs {
         // Call API - this should fail
         lastResponse = faturalabAPI.uploadAuction(lastAuctionRequest);
         
-        // Log for debugging
-        log.info("Empty auction upload attempt - Status: {}, Response: {}", 
-                lastResponse.getStatusCode(), lastResponse.getBody().asString());
+        log.info("Empty auction upload attempt - Status: {}", lastResponse.getStatusCode());
     }
     
     @When("^geçersiz auction tip ile fatura yüklerse$")
@@ -442,8 +371,7 @@ public class AuctionInvoiceUploadStepDefs {
         // ve yanıtı shared holder'dan okur — set edilmezse yanlış/eski yanıt kontrol edilir.
         CucumberHooks.setSharedLastResponse(lastResponse);
 
-        log.info("Invalid invoice type upload attempt - Status: {}, Response: {}",
-                lastResponse.getStatusCode(), lastResponse.getBody().asString());
+        log.info("Invalid invoice type upload attempt - Status: {}", lastResponse.getStatusCode());
     }
     
     @When("^zaten var olan invoice numarası ile auction fatura yüklerse$")
@@ -465,8 +393,7 @@ public class AuctionInvoiceUploadStepDefs {
         lastResponse = faturalabAPI.uploadAuction(lastAuctionRequest);
         CucumberHooks.setSharedLastResponse(lastResponse);
         
-        log.info("Duplicate invoice upload attempt - Status: {}, Response: {}", 
-                lastResponse.getStatusCode(), lastResponse.getBody().asString());
+        log.info("Duplicate invoice upload attempt - Status: {}", lastResponse.getStatusCode());
     }
     
     @Then("^auction fatura yüklenmemiş olmalı$")
@@ -475,15 +402,18 @@ public class AuctionInvoiceUploadStepDefs {
         
         // Check for error conditions
         boolean isError = lastResponse.getStatusCode() >= 400 || 
-                         !faturalabAPI.isResponseSuccessful() ||
-                         lastResponse.getBody().asString().contains("error") ||
-                         lastResponse.getBody().asString().contains("fail");
+                         !faturalabAPI.isResponseSuccessful();
+        if (!isError) {
+            String body = lastResponse.getBody().asString();
+            isError = body.contains("error") || body.contains("fail");
+        }
         
         log.info("Verifying auction upload failed - Error detected: {}", isError);
         
-        Assert.assertTrue(isError, 
-                "Auction upload should have failed. Status: " + lastResponse.getStatusCode() + 
-                ", Response: " + lastResponse.getBody().asString());
+        if (!isError) {
+            Assert.fail("Auction upload should have failed. Status: " + lastResponse.getStatusCode() +
+                    ", Response: " + ExchangeCapture.redact(lastResponse.getBody().asString()));
+        }
         
         log.info("✅ Auction upload correctly failed as expected");
     }
@@ -0,0 +1,133 @@
+package com.faturalab.automation.stepdefinitions.load;
+
+import com.faturalab.automation.api.stub.IntegrationStubServer;
+import com.faturalab.automation.config.ConfigReader;
+import com.faturalab.automation.config.EnvironmentManager;
+import com.faturalab.automation.load.InvoiceUploadLoadGenerator;
+import com.faturalab.automation.load.LoadProfile;
+import com.faturalab.automation.load.LoadResult;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.And;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+
+import java.io.File;
+
+/**
+ * Fatura yükleme yük testi adımları (LoadTestRunner). Tarayıcı açan Hooks bu paketin
+ * glue'sunda olmadığı için senaryo yalnızca API'ye yük bindirir.
+ */
+public class InvoiceUploadLoadStepDefs {
+
+    private static final Logger log = LogManager.getLogger(InvoiceUploadLoadStepDefs.class);
+
+    private Scenario scenario;
+    private EnvironmentManager.EnvironmentConfig environment;
+    private final LoadProfile.Builder profile = LoadProfile.builder();
+    private LoadResult result;
+    private IntegrationStubServer stub;
+
+    @Before
+    public void setScenario(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    @After
+    public void stopStub() {
+        if (stub != null) {
+            if (scenario != null) {
+                scenario.log("Stub istekleri: " + stub.getRequestCounts());
+            }
+            stub.stop();
+            stub = null;
+        }
+    }
+
+    @Given("^\"([^\"]*)\" ortamına fatura yükleme yük testi hazırlanıyor$")
+    public void prepareLoadTest(String environmentName) {
+        environment = EnvironmentManager.loadEnvironment(environmentName).copy();
+        // Yerel stub veya ayrı bir performans ortamı için host değiştirilebilir
+        String targetHost = System.getProperty("load.target.host", ConfigReader.getProperty("load.target.host", ""));
+        if (!targetHost.isEmpty()) {
+            environment.setHost(targetHost);
+        }
+        profile.name("invoice-upload-" + environmentName.replaceAll("[^A-Za-z0-9]+", "-"));
+        log.info("Yük testi hedefi: {}", environment.getHost());
+    }
+
+    @And("^yerel entegrasyon stub'ı (\\d+) ms gecikme ile hedef alınır$")
+    public void useLocalStub(long latencyMillis) {
+        Assert.assertNotNull(environment, "Önce yük testi ortamı hazırlanmalı");
+        stub = IntegrationStubServer.fromConfig().latencyMillis(latencyMillis).build().start();
+        environment.setHost(stub.getBaseUrl());
+        log.info("Yük testi yerel stub'a yönlendirildi: {}", stub.getBaseUrl());
+    }
+
+    @And("^hedef yük saniyede ([\\d.]+) istek ve süre (\\d+) saniye$")
+    public void setTargetLoad(double rps, int seconds) {
+        profile.targetRps(rps).durationSeconds(seconds);
+    }
+
+    @And("^yük (\\d+) saniyede saniyede ([\\d.]+) istekten hedefe çıkarılır$")
+    public void setRamp(int rampSeconds, double startRps) {
+        profile.rampSeconds(rampSeconds).startRps(startRps);
+    }
+
+    @And("^(\\d+) işçi thread kullanılır$")
+    public void setWorkers(int workers) {
+        profile.workers(workers);
+    }
+
+    @And("^yük testinde \"([^\"]*)\" tipi fatura yüklenir$")
+    public void setInvoiceType(String invoiceType) {
+        profile.invoiceType(invoiceType);
+    }
+
+    @When("^fatura yükleme yük testi çalıştırılırsa$")
+    public void runLoadTest() {
+        Assert.assertNotNull(environment, "Önce yük testi ortamı hazırlanmalı");
+        result = new InvoiceUploadLoadGenerator(environment, profile.build()).run();
+        File report = result.writeJson(new File("target/load-reports"));
+        if (scenario != null) {
+            scenario.log(result.summary());
+            scenario.log("Rapor: " + report.getPath());
+        }
+    }
+
+    @Then("^yük testinde p([\\d.]+) gecikmesi (\\d+) ms altında olmalı$")
+    public void assertLatencyPercentile(double percentile, long maxMillis) {
+        double actual = result.latencyMillis(percentile);
+        Assert.assertTrue(actual < maxMillis,
+                String.format("p%s gecikmesi %.1f ms, beklenen < %d ms — %s", percentile, actual, maxMillis, result.summary()));
+    }
+
+    @Then("^yük testinde hata oranı yüzde ([\\d.]+) altında olmalı$")
+    public void assertErrorRate(double maxPercent) {
+        double actual = result.errorRate() * 100;
+        Assert.assertTrue(actual < maxPercent,
+                String.format("Hata oranı %%%.2f, beklenen < %%%s — hatalar: %s", actual, maxPercent, result.getErrorCounts()));
+    }
+
+    @Then("^yük testinde verim hedefin en az yüzde (\\d+)'i olmalı$")
+    public void assertThroughput(int minPercent) {
+        // Sabit hız penceresinde saniye başına tamamlanan istek, profilin hedef hızıyla karşılaştırılır
+        double target = result.steadyTargetRps();
+        double actual = result.steadyThroughput();
+        Assert.assertTrue(actual >= target * minPercent / 100.0,
+                String.format("Sabit pencerede verim %.2f istek/sn, beklenen ≥ %%%d x %.1f — %s",
+                        actual, minPercent, target, result.summary()));
+    }
+
+    @Then("^yük testinde planlanan isteklerin en az yüzde (\\d+)'i başarıyla tamamlanmalı$")
+    public void assertCompletionRatio(int minPercent) {
+        double actual = result.completionRatio() * 100;
+        Assert.assertTrue(actual >= minPercent,
+                String.format("Tamamlanma oranı %%%.1f, beklenen ≥ %%%d — %s", actual, minPercent, result.summary()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.faturalab.automation.stepdefinitions.replay;
+
+import com.faturalab.automation.context.HttpSessionBootstrapper;
+import com.faturalab.automation.context.RoleSessionManager.Role;
+import com.faturalab.automation.utils.VaadinReplayStubServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import io.cucumber.java.en.And;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.testng.Assert;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * HTTP login / impersonation akışını kayıttan oynatan adımlar (ReplayTestRunner). Tarayıcı açan
+ * Hooks bu paketin glue'sunda olmadığı için senaryo yalnızca yerel stub ile konuşur.
+ */
+public class HttpLoginReplayStepDefs {
+
+    private static final Logger log = LogManager.getLogger(HttpLoginReplayStepDefs.class);
+
+    private static final Path RECORDINGS = Paths.get("src/test/resources/testdata/uidl-replay");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Scenario scenario;
+    private VaadinReplayStubServer stub;
+    private List<Cookie> cookies;
+
+    @Before
+    public void setScenario(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    @After
+    public void stopStub() {
+        if (stub != null) {
+            if (scenario != null) {
+                scenario.log("Oynatılan UIDL kaydı: " + stub.replayed() + "/" + stub.recordingCount());
+            }
+            stub.close();
+            stub = null;
+            System.clearProperty("login.http.base.url");
+        }
+    }
+
+    @Given("^\"([^\"]*)\" UIDL kaydı yerel Vaadin stub'ında oynatılıyor$")
+    public void startReplay(String recording) throws IOException {
+        stub = new VaadinReplayStubServer(RECORDINGS.resolve(recording), 0);
+        System.setProperty("login.http.base.url", stub.appUrl());
+        log.info("UIDL kaydı oynatılıyor: {} ({} cevap)", recording, stub.recordingCount());
+    }
+
+    @When("^\"([^\"]*)\" rolü için \"([^\"]*)\" kullanıcısına HTTP üzerinden geçilirse$")
+    public void bootstrap(String role, String identifier) throws IOException, InterruptedException {
+        cookies = HttpSessionBootstrapper.bootstrap(Role.valueOf(role.toUpperCase(Locale.ROOT)), identifier);
+    }
+
+    @Then("^UIDL kaydının tüm cevapları sırayla oynatılmış olmalı$")
+    public void allRecordingsReplayed() {
+        Assert.assertEquals(stub.replayed(), stub.recordingCount(), "Oynatılmayan UIDL cevabı kaldı");
+        Assert.assertEquals(stub.received().size(), stub.recordingCount(), "Kayıttan fazla istek gönderildi");
+    }
+
+    @And("^HTTP geçişi oturum cookie'si döndürmüş olmalı$")
+    public void sessionCookieReturned() {
+        Assert.assertTrue(cookies.stream().anyMatch(c -> "JSESSIONID".equals(c.getName())),
+                "JSESSIONID dönmedi: " + cookies);
+    }
+
+    @And("^stub'a (\\d+) numaralı node için \"([^\"]*)\" olayı gönderilmiş olmalı$")
+    public void eventSent(int node, String event) throws IOException {
+        Assert.assertTrue(eventCount(node, event) > 0, node + " numaralı node için '" + event + "' gönderilmedi");
+    }
+
+    @And("^stub'a (\\d+) numaralı node için \"([^\"]*)\" olayı gönderilmemiş olmalı$")
+    public void eventNotSent(int node, String event) throws IOException {
+        Assert.assertEquals(eventCount(node, event), 0, node + " numaralı node için beklenmeyen '" + event + "'");
+    }
+
+    private int eventCount(int node, String event) throws IOException {
+        int count = 0;
+        for (String[] request : stub.received()) {
+            if (!"uidl".equals(request[0])) continue;
+            for (JsonNode rpc : mapper.readTree(request[1]).path("rpc")) {
+                if ("event".equals(rpc.path("type").asText()) && rpc.path("node").asInt() == node
+                        && event.equals(rpc.path("event").asText())) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
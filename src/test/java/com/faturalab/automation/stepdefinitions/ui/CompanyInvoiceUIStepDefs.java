@@ -2,6 +2,8 @@ package com.faturalab.automation.stepdefinitions.ui;
 
 import com.faturalab.automation.driver.DriverManager;
 import com.faturalab.automation.pages.CompanyInvoicePage;
+import com.faturalab.automation.utils.BusinessCalendar;
+import com.faturalab.automation.utils.InvoiceNumberAllocator;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -16,10 +18,8 @@ import java.io.File;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 public class CompanyInvoiceUIStepDefs {
@@ -94,24 +94,18 @@ public class CompanyInvoiceUIStepDefs {
     }
 
     /**
-     * test-invoice.xml şablonundaki placeholder'ları timestamp bazlı unique değerlerle doldurur,
+     * test-invoice.xml şablonundaki placeholder'ları benzersiz değerlerle doldurur,
      * geçici bir dosyaya yazar ve mutlak yolunu döner.
      */
     private String buildInvoiceFile() {
         try {
             // Fatura no: EFG + YYYY + 9 rakamlı sıra (toplam 16 karakter — standart TR e-fatura formatı)
-            // Örn: EFG2026143022123
-            String seq = String.format("%09d", System.currentTimeMillis() % 1_000_000_000L);
-            String year = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy"));
-            String invoiceId = "EFG" + year + seq;
-            String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            // Vade tarihi: hafta sonu/tatil uyarısını önlemek için iş günü seç (+90 gün, Pzt-Cuma)
-            LocalDate dueDate = LocalDate.now().plusDays(90);
-            while (dueDate.getDayOfWeek() == DayOfWeek.SATURDAY
-                    || dueDate.getDayOfWeek() == DayOfWeek.SUNDAY) {
-                dueDate = dueDate.plusDays(1);
-            }
-            String due = dueDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            // Örn: EFG2026030000123 (düğüm 03, sıra 123)
+            String invoiceId = InvoiceNumberAllocator.next(InvoiceNumberAllocator.Series.EFG);
+            String today = LocalDate.now().format(BusinessCalendar.ISO_DATE);
+            // Vade tarihi: hafta sonu/tatil uyarısını önlemek için iş günü seç (+90 gün)
+            String due = BusinessCalendar.turkey().nextOrSame(LocalDate.now().plusDays(90))
+                    .format(BusinessCalendar.ISO_DATE);
             String uuid = UUID.randomUUID().toString().toUpperCase();
 
             URL templateUrl = getClass().getClassLoader().getResource("testdata/test-invoice.xml");
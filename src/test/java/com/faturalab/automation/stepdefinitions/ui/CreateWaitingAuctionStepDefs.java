@@ -30,8 +30,15 @@ public class CreateWaitingAuctionStepDefs {
         log.info("[WAITING-AUCTION] Tedarikçi (identifier): {}", supplierName);
         log.info("[WAITING-AUCTION] Alıcı (identifier): {}", buyerIdentifier);
         log.info("[WAITING-AUCTION] Teklif alınan fatura no: {}", offeredInvoiceNo);
-        TzfScenarioContext.getInvoices().forEach(inv ->
-                log.info("[WAITING-AUCTION] Üretilen fatura: no={} tutar={} vade={}",
-                        inv.invoiceNo, inv.amount, inv.dueDate));
+        if (!TzfScenarioContext.getInvoices().isEmpty()) {
+            TzfScenarioContext.getInvoices().forEach(inv ->
+                    log.info("[WAITING-AUCTION] Üretilen fatura: no={} tutar={} vade={}",
+                            inv.invoiceNo, inv.amount, inv.dueDate));
+        } else if (TzfScenarioContext.getInvoiceCount() > 0) {
+            // Toplu (aralık) üretim: satır ayrıntısı tutulmaz, yalnızca numara aralığı loglanır
+            java.util.List<String> invoiceNos = TzfScenarioContext.getInvoiceNumbers();
+            log.info("[WAITING-AUCTION] Üretilen faturalar: {} adet, {} … {}", invoiceNos.size(),
+                    invoiceNos.get(0), invoiceNos.get(invoiceNos.size() - 1));
+        }
     }
 }
@@ -68,7 +68,7 @@ public class DosyaTipiUploadStepDefs {
         String path = null;
         // ALBC/BCD gerçek imzalı şablon: alıcı ALBC (3456789010) fatura buyer'ıyla eşleşir.
         for (int i = 1; i <= adet; i++) {
-            path = com.faturalab.automation.utils.XmlInvoiceGenerator.generateAlbcXml(String.valueOf(i));
+            path = com.faturalab.automation.utils.XmlInvoiceGenerator.generateAlbcXml();
         }
         TzfScenarioContext.setExcelPath(path); // tekil senaryoda son üretilen yüklenir
         Assert.assertNotNull(path);
@@ -71,6 +71,8 @@ public class LoginRoleStepDefs {
     public void tumRolOturumlariHazirla(io.cucumber.datatable.DataTable dataTable) {
         // Lazy initialization: rolleri sadece kaydet, gerçek login switchTo sırasında yapılır.
         // 4 ardışık login dev2 Vaadin SPA'sını art arda yükleyerek Chrome'u çökertebilir.
+        // session.prewarm.enabled=true ise roller suite başında ayrı tarayıcılarda hazırlanmıştır
+        // (RoleSessionWarmup); switchTo bu durumda login yerine yayınlanmış oturumu yükler.
         WebDriver driver = DriverManager.getDriver();
         java.util.List<java.util.Map<String, String>> rows = dataTable.asMaps();
         log.info("Rol listesi okundu ({} rol). İlk rol girişi yapılıyor...", rows.size());
@@ -79,7 +81,11 @@ public class LoginRoleStepDefs {
             String ilkRol = rows.get(0).get("rol");
             Role role = parseRole(ilkRol);
             log.info("[{}] ilk oturum açılıyor...", ilkRol);
-            RoleSessionManager.loginAsDefault(driver, role);
+            if (RoleSessionManager.hasSession(role)) {
+                RoleSessionManager.switchToRole(driver, role);
+            } else {
+                RoleSessionManager.loginAsDefault(driver, role);
+            }
         }
         log.info("İlk rol oturumu hazır. Diğer roller switchTo sırasında yüklenecek.");
     }
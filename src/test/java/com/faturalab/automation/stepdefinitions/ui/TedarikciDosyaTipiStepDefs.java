@@ -73,7 +73,7 @@ public class TedarikciDosyaTipiStepDefs {
         TzfScenarioContext.reset();
         String path = null;
         for (int i = 1; i <= adet; i++) {
-            path = com.faturalab.automation.utils.XmlInvoiceGenerator.generateXml(String.valueOf(i));
+            path = com.faturalab.automation.utils.XmlInvoiceGenerator.generateXml();
         }
         TzfScenarioContext.setExcelPath(path);
         Assert.assertNotNull(path);
@@ -100,9 +100,9 @@ public class TedarikciDosyaTipiStepDefs {
 
     @And("kağıt fatura detay modalında zorunlu alanlar doldurulur ve kaydedilir")
     public void detayModaliDoldurulurKaydedilir() {
-        String invoiceNo = TzfScenarioContext.getInvoices().isEmpty()
+        String invoiceNo = TzfScenarioContext.getInvoiceCount() == 0
                 ? "OTOIMG" + System.currentTimeMillis()
-                : TzfScenarioContext.getInvoices().get(0).invoiceNo;
+                : TzfScenarioContext.getInvoiceNumbers().get(0);
         Assert.assertTrue(page().fillPaperInvoiceDetailsAndSave(invoiceNo),
                 "Kağıt fatura detay modalı doldurulup kaydedilemedi");
     }
@@ -1,6 +1,7 @@
 package com.faturalab.automation.stepdefinitions.ui;
 
 import com.faturalab.automation.context.RoleSessionManager;
+import com.faturalab.automation.driver.CommandTimings;
 import com.faturalab.automation.driver.DriverManager;
 import com.faturalab.automation.utils.QAHubReporter;
 import io.cucumber.java.After;
@@ -21,6 +22,7 @@ public class UIHooks {
     public void uiSetup(Scenario scenario) {
         log.info("[UI] Senaryo baslatiliyor: {}", scenario.getName());
         QAHubReporter.initRun();
+        CommandTimings.startScenario(scenario.getName());
         DriverManager.getDriver(); // initialize driver
     }
 
@@ -39,7 +41,8 @@ public class UIHooks {
             }
         }
         RoleSessionManager.clearAllSessions();
-        DriverManager.quitDriver();
+        DriverManager.releaseDriver();
+        CommandTimings.endScenario(scenario.getStatus().name());
     }
 
     @AfterStep("@ui")
@@ -0,0 +1,127 @@
+package com.faturalab.automation.utils;
+
+import com.faturalab.automation.context.HttpSessionBootstrapper;
+import com.faturalab.automation.context.RoleSessionManager.Role;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.Cookie;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HttpSessionBootstrapper'ı dev2'ye gitmeden denemek için yerel Vaadin stub'ı.
+ *
+ * login.http.record.dir ile kaydedilmiş UIDL cevaplarını (001-init.json, 002-uidl.json, ...)
+ * gelen isteklere SIRAYLA geri oynatır; istek tipi (v-r=init / v-r=uidl) kayıttaki tiple
+ * uyuşmazsa 409 döner. İlk cevapta bir JSESSIONID cookie'si set edilir. Gelen istek gövdeleri
+ * {@link #received()} ile doğrulama için saklanır.
+ *
+ * Otomatik kontrol: features/HttpLoginReplay.feature (ReplayTestRunner), kayıt
+ * testdata/uidl-replay/company. Bu kayıt elle hazırlanmış sentetik bir akıştır (Flow UIDL
+ * biçiminde); dev2'den alınan gerçek kayıtla aynı dizin yapısında değiştirilebilir.
+ *
+ * Kayıt almak (gerçek ortam):
+ *   mvn test -Dlogin.mode=http -Dlogin.http.record.dir=target/uidl-record/company ...
+ *
+ * Geri oynatma + bootstrap smoke:
+ *   java -cp <cp> com.faturalab.automation.utils.VaadinReplayStubServer target/uidl-record/company COMPANY "Test Otomasyon"
+ */
+public final class VaadinReplayStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<Path> recordings;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final List<String[]> received = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+    public VaadinReplayStubServer(Path recordDir, int port) throws IOException {
+        File[] files = recordDir.toFile().listFiles((d, n) -> n.endsWith(".json"));
+        if (files == null || files.length == 0) {
+            throw new IOException("Kayıt bulunamadı: " + recordDir.toAbsolutePath());
+        }
+        Arrays.sort(files);
+        this.recordings = Arrays.stream(files).map(File::toPath).collect(java.util.stream.Collectors.toList());
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /** Stub'ın uygulama URL'i; login.http.base.url olarak verilir. */
+    public String appUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/app/";
+    }
+
+    /** Oynatılan kayıt sayısı. */
+    public int replayed() {
+        return Math.min(cursor.get(), recordings.size());
+    }
+
+    public int recordingCount() {
+        return recordings.size();
+    }
+
+    /** Gelen istekler sırayla: {tip (init/uidl), gövde}. */
+    public List<String[]> received() {
+        return received;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+        String query = exchange.getRequestURI().getQuery() == null ? "" : exchange.getRequestURI().getQuery();
+        String kind = query.contains("v-r=init") ? "init" : "uidl";
+        received.add(new String[]{kind, body});
+
+        int index = cursor.getAndIncrement();
+        if (index >= recordings.size()) {
+            respond(exchange, 410, "{\"error\":\"kayıt bitti\"}");
+            return;
+        }
+        Path file = recordings.get(index);
+        if (!file.getFileName().toString().contains("-" + kind)) {
+            respond(exchange, 409, "{\"error\":\"beklenen " + file.getFileName() + ", gelen " + kind + "\"}");
+            return;
+        }
+        if (index == 0) {
+            exchange.getResponseHeaders().add("Set-Cookie", "JSESSIONID=stub-session; Path=/app; HttpOnly");
+        }
+        respond(exchange, 200, Files.readString(file));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Kullanım: VaadinReplayStubServer <kayıt-dizini> <ADMIN|COMPANY|BUYER|FACTORING> [identifier]");
+            return;
+        }
+        Role role = Role.valueOf(args[1].toUpperCase(Locale.ROOT));
+        String identifier = args.length > 2 ? args[2] : "";
+        try (VaadinReplayStubServer stub = new VaadinReplayStubServer(Paths.get(args[0]), 0)) {
+            System.setProperty("login.http.base.url", stub.appUrl());
+            List<Cookie> cookies = HttpSessionBootstrapper.bootstrap(role, identifier);
+            System.out.println("[VaadinReplayStubServer] " + stub.replayed() + "/" + stub.recordingCount()
+                    + " kayıt oynatıldı, cookie'ler: " + cookies);
+        }
+    }
+}
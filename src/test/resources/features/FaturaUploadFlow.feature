@@ -4,6 +4,11 @@
   
   Bu özellik ALBC firma için fatura yükleme, listeleme ve silme flow'unu test eder.
   
+  @smoke @auth @albc @buyer
+  Senaryo: ALBC - Kimlik doğrulama testi
+    Diyelim ki "dev.faturalab.buyer.albc" ortamı kullanılıyor
+    Ve kullanıcı yeni oturum açarak kimlik doğrulaması yapıldı
+
   @smoke @albc @buyer
   Senaryo: ALBC - Basit fatura yükleme testi
     Diyelim ki "dev.faturalab.buyer.albc" ortamı kullanılıyor
@@ -42,4 +47,12 @@
     Eğer ki E-Arşiv fatura bilgileri ile fatura yüklerse
       | invoiceNo      | supplierTaxNo | invoiceAmount | invoiceType |
       | ALBC-ARSIV-001 | 4050604050    | 1000          | E_ARSIV     |
-    O zaman fatura başarıyla yüklenmiş olmalı
\ No newline at end of file
+    O zaman fatura başarıyla yüklenmiş olmalı
+
+  @concurrent @albc @buyer
+  Senaryo: ALBC - Eşzamanlı çoklu fatura yükleme testi
+    Diyelim ki "dev.faturalab.buyer.albc" ortamı kullanılıyor
+    Ve kullanıcı kimlik doğrulaması yapıldı
+    Eğer ki 20 geçerli fatura eşzamanlı olarak yüklenirse
+    O zaman eşzamanlı yüklenen faturaların tümü başarılı olmalı
+    Ve eşzamanlı yüklenen faturalar silinirse
@@ -0,0 +1,18 @@
+# language: tr
+@replay
+Özellik: HTTP login ve impersonation - UIDL kaydından oynatma
+
+  HttpSessionBootstrapper'ın Vaadin UIDL akışı (admin login, Kullanıcılar, rol sekmesi, grid
+  satırları, GİT, onay) kaydedilmiş cevapları sırayla dönen yerel stub'a karşı koşar; tarayıcı
+  açılmaz, dev2'ye gidilmez. Varsayılan koşumda yer almaz: mvn test -Dtest=ReplayTestRunner
+  Kayıt dizini: src/test/resources/testdata/uidl-replay/<rol>
+
+  @company
+  Senaryo: Ticari işletme kullanıcısına HTTP üzerinden geçiş
+    Diyelim ki "company" UIDL kaydı yerel Vaadin stub'ında oynatılıyor
+    Eğer ki "COMPANY" rolü için "EFG Gida" kullanıcısına HTTP üzerinden geçilirse
+    O zaman UIDL kaydının tüm cevapları sırayla oynatılmış olmalı
+    Ve HTTP geçişi oturum cookie'si döndürmüş olmalı
+    Ve stub'a 20 numaralı node için "click" olayı gönderilmiş olmalı
+    Ve stub'a 22 numaralı node için "click" olayı gönderilmemiş olmalı
+    Ve stub'a 30 numaralı node için "confirm" olayı gönderilmiş olmalı
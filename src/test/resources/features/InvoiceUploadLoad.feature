@@ -0,0 +1,40 @@
+# language: tr
+@load
+Özellik: Fatura Yükleme Yük Testi
+
+  Buyer entegrasyon API'sine hedef hızda (istek/sn) fatura yükler; gecikme planlanan gönderim
+  zamanından ölçülür. Varsayılan koşumda yer almaz: mvn test -Dtest=LoadTestRunner
+  Yerel stub için: -Dload.target.host=http://127.0.0.1:8089/app/api/integration/buyer/v0
+
+  @buyer
+  Senaryo: ALBC - Sabit hızda fatura yükleme
+    Diyelim ki "dev.faturalab.buyer.albc" ortamına fatura yükleme yük testi hazırlanıyor
+    Ve hedef yük saniyede 2 istek ve süre 30 saniye
+    Ve 8 işçi thread kullanılır
+    Eğer ki fatura yükleme yük testi çalıştırılırsa
+    O zaman yük testinde hata oranı yüzde 1 altında olmalı
+    Ve yük testinde p99 gecikmesi 5000 ms altında olmalı
+    Ve yük testinde verim hedefin en az yüzde 90'i olmalı
+
+  @buyer @ramp
+  Senaryo: ALBC - Kademeli artan hızda fatura yükleme
+    Diyelim ki "dev.faturalab.buyer.albc" ortamına fatura yükleme yük testi hazırlanıyor
+    Ve yük 20 saniyede saniyede 1 istekten hedefe çıkarılır
+    Ve hedef yük saniyede 5 istek ve süre 20 saniye
+    Ve 16 işçi thread kullanılır
+    Eğer ki fatura yükleme yük testi çalıştırılırsa
+    O zaman yük testinde hata oranı yüzde 1 altında olmalı
+    Ve yük testinde p90 gecikmesi 3000 ms altında olmalı
+    Ve yük testinde p99 gecikmesi 8000 ms altında olmalı
+    Ve yük testinde planlanan isteklerin en az yüzde 99'i başarıyla tamamlanmalı
+
+  @buyer @stub
+  Senaryo: Yerel stub - İstemci tarafı fatura yükleme verimi
+    Diyelim ki "dev.faturalab.buyer.albc" ortamına fatura yükleme yük testi hazırlanıyor
+    Ve yerel entegrasyon stub'ı 20 ms gecikme ile hedef alınır
+    Ve hedef yük saniyede 50 istek ve süre 10 saniye
+    Ve 8 işçi thread kullanılır
+    Eğer ki fatura yükleme yük testi çalıştırılırsa
+    O zaman yük testinde hata oranı yüzde 0.1 altında olmalı
+    Ve yük testinde p99 gecikmesi 500 ms altında olmalı
+    Ve yük testinde verim hedefin en az yüzde 95'i olmalı
@@ -23,3 +23,15 @@ Feature: TZF İşlemi UAT
     Then bordro numarası yakalanır
     When admin olarak günlük işlemler raporuna gidilir
     Then oluşturulan işlem günlük işlemler listesinde görünmeli
+
+  # Toplu yükleme: Excel SXSSF ile akışla üretilir, context'te yalnızca numara aralığı tutulur
+  @ui @uat @tzf @stress @tzf-002
+  Scenario: TZF-002 - Alıcı büyük Excel ile toplu fatura yükleme ve tedarikçi listesinde doğrulama
+    Given TZF toplu yükleme için 200 adet E-Fatura içeren büyük Excel akışla hazırlanır
+    When admin TZF alıcı kullanıcısına geçiş yapar
+    And alıcı ekranında hazırlanan Excel ile faturalar yüklenir
+    Then faturaların başarıyla yüklendiği doğrulanır
+    When admin TZF tedarikçi kullanıcısına geçiş yapar
+    Then yüklenen faturalar tedarikçi listesinde görünmeli
+    When yüklenen faturalardan biri için teklif alınır
+    And teklif modalı onaylanır ve işlemdekiler sayfasına yönlenilir